@@ -42,9 +42,14 @@
 package ch.bfh.unicrypt.crypto.mixer.abstracts;
 
 import ch.bfh.unicrypt.crypto.mixer.interfaces.Mixer;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
 import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
+import ch.bfh.unicrypt.helper.concurrent.ConcurrentUtil;
+import ch.bfh.unicrypt.helper.math.Permutation;
 import ch.bfh.unicrypt.helper.random.RandomByteSequence;
 import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementVector;
+import ch.bfh.unicrypt.math.algebra.general.classes.MappedElementArray;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationElement;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationGroup;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
@@ -53,6 +58,11 @@ import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.function.classes.PermutationFunction;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.Executor;
 
 /**
  *
@@ -63,6 +73,9 @@ import ch.bfh.unicrypt.math.function.interfaces.Function;
 public abstract class AbstractMixer<C extends Set, R extends Set>
 	   implements Mixer {
 
+	// executes all tasks in the calling thread
+	private static final Executor SEQUENTIAL_EXECUTOR = task -> task.run();
+
 	final private int size;
 
 	private Function shuffleFunction;
@@ -110,23 +123,74 @@ public abstract class AbstractMixer<C extends Set, R extends Set>
 
 	@Override
 	public final Tuple shuffle(final Tuple elements, RandomByteSequence randomByteSequence) {
+		return this.shuffle(elements, randomByteSequence, SEQUENTIAL_EXECUTOR);
+	}
+
+	@Override
+	public final Tuple shuffle(final Tuple elements, final PermutationElement permutation, final Tuple randomizations) {
+		return this.shuffle(elements, permutation, randomizations, SEQUENTIAL_EXECUTOR);
+	}
+
+	@Override
+	public final Tuple shuffle(final Tuple elements, RandomByteSequence randomByteSequence, Executor executor) {
+		// the permutation and the randomizations are generated sequentially, which keeps the result independent of the
+		// executor
 		PermutationElement permutation
 			   = PermutationGroup.getInstance(this.getSize()).getRandomElement(randomByteSequence);
 		Tuple randomizations = this.generateRandomizations(randomByteSequence);
-		return this.shuffle(elements, permutation, randomizations);
+		return this.shuffle(elements, permutation, randomizations, executor);
 	}
 
 	@Override
-	public final Tuple shuffle(final Tuple elements, final PermutationElement permutation, final Tuple randomizations) {
-		if (!this.getShufflesSpace().contains(elements) || !this.getRandomizationsSpace().contains(randomizations)
-			   || permutation == null || permutation.getValue().getSize() != this.getSize()) {
-			throw new IllegalArgumentException();
+	public final Tuple shuffle(final Tuple elements, final PermutationElement permutation, final Tuple randomizations,
+		   Executor executor) {
+		this.checkArguments(elements, permutation, randomizations, executor);
+		// the shuffled elements are written directly to their permuted positions
+		final Function function = this.getShuffleFunction();
+		final Permutation pi = permutation.getValue();
+		final Element[] elementsPrime = new Element[this.getSize()];
+		ConcurrentUtil.forEach(this.getSize(), i -> {
+			int j = pi.permute(i);
+			elementsPrime[i] = function.apply(elements.getAt(j), randomizations.getAt(j));
+		}, executor);
+		// the representation of the given elements is kept
+		if (elements.getValue() instanceof ElementVector) {
+			return this.getShufflesSpace().getCompactElement(DenseArray.getInstance(elementsPrime));
 		}
-		Element[] elementsPrime = new Element[this.getSize()];
-		for (int i = 0; i < this.getSize(); i++) {
-			elementsPrime[i] = this.getShuffleFunction().apply(elements.getAt(i), randomizations.getAt(i));
+		return this.getShufflesSpace().getElement(elementsPrime);
+	}
+
+	/**
+	 * Shuffles the elements like {@link #shuffle(Tuple, PermutationElement, Tuple, Executor)}, but writes the shuffled
+	 * elements into a new file, which backs the resulting tuple. The file must not exist yet. It is created with
+	 * owner-only permissions (if supported by the file system), such that other users cannot modify the shuffled
+	 * elements before the shuffle proof is generated.
+	 * <p>
+	 * @param elements       The elements
+	 * @param permutation    The permutation
+	 * @param randomizations The randomizations
+	 * @param executor       The executor
+	 * @param path           The path of the new file
+	 * @return The shuffled elements
+	 * @throws IOException if the file exists or cannot be created
+	 */
+	@Override
+	public final Tuple shuffle(final Tuple elements, final PermutationElement permutation, final Tuple randomizations,
+		   Executor executor, Path path) throws IOException {
+		this.checkArguments(elements, permutation, randomizations, executor);
+		if (path == null) {
+			throw new IllegalArgumentException();
 		}
-		return this.getPermutationFunction().apply(Tuple.getInstance(elementsPrime), permutation);
+		createFile(path);
+		// the input elements are read sequentially and the shuffled elements are written to their permuted positions
+		final Function function = this.getShuffleFunction();
+		final Permutation piInverse = permutation.getValue().invert();
+		final MappedElementArray.Writer writer
+			   = MappedElementArray.getWriter(path, this.getShuffleSpace(), this.getSize());
+		ConcurrentUtil.forEach(this.getSize(), j -> {
+			writer.setAt(piInverse.permute(j), function.apply(elements.getAt(j), randomizations.getAt(j)));
+		}, executor);
+		return Tuple.getInstance(writer.getArray());
 	}
 
 	@Override
@@ -142,6 +206,29 @@ public abstract class AbstractMixer<C extends Set, R extends Set>
 		return this.defaultGenerateRandomizations(randomByteSequence);
 	}
 
+	/**
+	 * Generates the randomizations like {@link #generateRandomizations(RandomByteSequence)}, but writes them into a new
+	 * file, which backs the resulting tuple. The file must not exist yet. It is created with owner-only permissions
+	 * (if supported by the file system). The randomizations are secret witness material of the shuffle proof, i.e.,
+	 * the caller is responsible for deleting the file as soon as it is no longer needed.
+	 * <p>
+	 * @param randomByteSequence The random byte sequence
+	 * @param path               The path of the new file
+	 * @return The randomizations
+	 * @throws IOException if the file exists or cannot be created
+	 */
+	@Override
+	public final Tuple generateRandomizations(RandomByteSequence randomByteSequence, Path path) throws IOException {
+		if (randomByteSequence == null || path == null) {
+			throw new IllegalArgumentException();
+		}
+		createFile(path);
+		MappedElementArray.Writer writer
+			   = MappedElementArray.getWriter(path, this.getRandomizationSpace(), this.getSize());
+		this.defaultGenerateRandomizations(randomByteSequence, writer);
+		return Tuple.getInstance(writer.getArray());
+	}
+
 	@Override
 	public PermutationGroup getPermutationGroup() {
 		return PermutationGroup.getInstance(this.size);
@@ -151,8 +238,36 @@ public abstract class AbstractMixer<C extends Set, R extends Set>
 		return this.getRandomizationsSpace().getRandomElement(randomByteSequence);
 	}
 
+	// this method is overridden in IdentityMixer
+	protected void defaultGenerateRandomizations(RandomByteSequence randomByteSequence,
+		   MappedElementArray.Writer writer) {
+		// all randomizations are taken from the same sequence of random elements
+		int i = 0;
+		for (Object randomization : this.getRandomizationSpace().getRandomElements(randomByteSequence).limit(
+			   this.getSize())) {
+			writer.setAt(i++, (Element) randomization);
+		}
+	}
+
 	protected abstract Function abstractGetShuffleFunction();
 
+	private void checkArguments(Tuple elements, PermutationElement permutation, Tuple randomizations,
+		   Executor executor) {
+		if (!this.getShufflesSpace().contains(elements) || !this.getRandomizationsSpace().contains(randomizations)
+			   || permutation == null || permutation.getValue().getSize() != this.getSize() || executor == null) {
+			throw new IllegalArgumentException();
+		}
+	}
+
+	// creates a new file, which is readable and writable only by its owner if the file system supports POSIX permissions
+	private static void createFile(Path path) throws IOException {
+		if (path.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+			Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+		} else {
+			Files.createFile(path);
+		}
+	}
+
 	private ProductSet getRandomizationsSpace() {
 		return ProductSet.getInstance(this.getRandomizationSpace(), this.getSize());
 	}
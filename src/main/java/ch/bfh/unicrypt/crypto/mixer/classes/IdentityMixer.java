@@ -45,6 +45,7 @@ import ch.bfh.unicrypt.crypto.mixer.abstracts.AbstractMixer;
 import ch.bfh.unicrypt.helper.random.RandomByteSequence;
 import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.MappedElementArray;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationElement;
 import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
@@ -100,6 +101,15 @@ public class IdentityMixer
 		return this.createRandomizationTuple(r);
 	}
 
+	@Override
+	protected void defaultGenerateRandomizations(RandomByteSequence randomByteSequence,
+		   MappedElementArray.Writer writer) {
+		Element r = this.generateRandomization(randomByteSequence);
+		for (int i = 0; i < this.getSize(); i++) {
+			writer.setAt(i, r);
+		}
+	}
+
 	@Override
 	protected Function abstractGetShuffleFunction() {
 		return SelfApplyFunction.getInstance(this.getCyclicGroup());
@@ -48,6 +48,9 @@ import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.function.classes.PermutationFunction;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
 
 public interface Mixer {
 
@@ -69,10 +72,24 @@ public interface Mixer {
 
 	public Tuple shuffle(Tuple elements, PermutationElement permutation, Tuple randomizations);
 
+	// same as above, but the elements are shuffled in parallel by the given executor
+	public Tuple shuffle(Tuple elements, RandomByteSequence randomByteSequence, Executor executor);
+
+	public Tuple shuffle(Tuple elements, PermutationElement permutation, Tuple randomizations, Executor executor);
+
+	// same as above, but the shuffled elements are written into a new file with owner-only permissions, which backs the
+	// resulting tuple (see MappedElementArray)
+	public Tuple shuffle(Tuple elements, PermutationElement permutation, Tuple randomizations, Executor executor,
+		   Path path) throws IOException;
+
 	public Tuple generateRandomizations();
 
 	public Tuple generateRandomizations(RandomByteSequence randomByteSequence);
 
+	// same as above, but the randomizations are written into a new file with owner-only permissions, which backs the
+	// resulting tuple; the file contains secret witness material and must be deleted by the caller
+	public Tuple generateRandomizations(RandomByteSequence randomByteSequence, Path path) throws IOException;
+
 	public PermutationGroup getPermutationGroup();
 
 	public PermutationFunction getPermutationFunction();
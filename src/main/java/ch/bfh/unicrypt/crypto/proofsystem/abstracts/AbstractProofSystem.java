@@ -42,11 +42,18 @@
 package ch.bfh.unicrypt.crypto.proofsystem.abstracts;
 
 import ch.bfh.unicrypt.UniCrypt;
+import ch.bfh.unicrypt.crypto.proofsystem.classes.BatchVerifier;
 import ch.bfh.unicrypt.crypto.proofsystem.interfaces.ProofSystem;
+import ch.bfh.unicrypt.helper.concurrent.ConcurrentUtil;
 import ch.bfh.unicrypt.helper.random.RandomByteSequence;
 import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementVector;
+import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Monoid;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import java.math.BigInteger;
+import java.util.concurrent.Executor;
 
 /**
  * The abstract implementation of the {@link ProofSystem}. Most method calls are routed directly to the abstract-method
@@ -79,6 +86,27 @@ public abstract class AbstractProofSystem<PRS extends Set, PRE extends Element,
 		return this.abstractGenerate((PRE) privateInput, (PUE) publicInput, randomByteSequence);
 	}
 
+	/**
+	 * Generates a proof like {@link #generate(Element, Element, RandomByteSequence)}, but distributes the expensive
+	 * computations to the threads of the given executor. All random values are taken from the random byte sequence in
+	 * the same order as in the sequential case, i.e., the resulting proof is identical to the proof generated
+	 * sequentially.
+	 * <p>
+	 * @param privateInput       The private input
+	 * @param publicInput        The public input
+	 * @param randomByteSequence The random byte sequence
+	 * @param executor           The executor
+	 * @return The generated proof
+	 */
+	public final PE generate(final Element privateInput, final Element publicInput,
+		   final RandomByteSequence randomByteSequence, final Executor executor) {
+		if (!this.getPrivateInputSpace().contains(privateInput) || !this.getPublicInputSpace().contains(publicInput)
+			   || randomByteSequence == null || executor == null) {
+			throw new IllegalArgumentException();
+		}
+		return this.defaultGenerate((PRE) privateInput, (PUE) publicInput, randomByteSequence, executor);
+	}
+
 	@Override
 	public final boolean verify(Element proof, Element publicInput) {
 		if (!this.getProofSpace().contains(proof) || !this.getPublicInputSpace().contains(publicInput)) {
@@ -87,6 +115,48 @@ public abstract class AbstractProofSystem<PRS extends Set, PRE extends Element,
 		return this.abstractVerify((PE) proof, (PUE) publicInput);
 	}
 
+	/**
+	 * Verifies multiple proofs, for example the proofs of all mix nodes of a mix cascade, by a single randomized check
+	 * (see {@link BatchVerifier}). The i-th proof is verified against the i-th public input.
+	 * <p>
+	 * @param proofs       The proofs
+	 * @param publicInputs The public inputs
+	 * @return {@code true} if all proofs are accepted, {@code false} otherwise
+	 */
+	public final boolean verifyBatch(final Tuple proofs, final Tuple publicInputs) {
+		return this.verifyBatch(proofs, publicInputs, HybridRandomByteSequence.getInstance());
+	}
+
+	public final boolean verifyBatch(final Tuple proofs, final Tuple publicInputs,
+		   final RandomByteSequence randomByteSequence) {
+		if (proofs == null || publicInputs == null || proofs.getArity() != publicInputs.getArity()
+			   || randomByteSequence == null) {
+			throw new IllegalArgumentException();
+		}
+		final BatchVerifier verifier = BatchVerifier.getInstance(randomByteSequence);
+		for (int i = 0; i < proofs.getArity(); i++) {
+			this.addVerificationEquations(verifier, proofs.getAt(i), publicInputs.getAt(i));
+		}
+		return verifier.verify();
+	}
+
+	/**
+	 * Adds the verification equations of a single proof to a batch verifier. This allows combining the verification
+	 * of proofs generated by different proof systems into a single check.
+	 * <p>
+	 * @param verifier    The batch verifier
+	 * @param proof       The proof
+	 * @param publicInput The public input
+	 */
+	public final void addVerificationEquations(final BatchVerifier verifier, final Element proof,
+		   final Element publicInput) {
+		if (verifier == null || !this.getProofSpace().contains(proof)
+			   || !this.getPublicInputSpace().contains(publicInput)) {
+			throw new IllegalArgumentException();
+		}
+		this.defaultAddVerificationEquations(verifier, (PE) proof, (PUE) publicInput);
+	}
+
 	@Override
 	public final PRS getPrivateInputSpace() {
 		return this.abstractGetPrivateInputSpace();
@@ -102,6 +172,18 @@ public abstract class AbstractProofSystem<PRS extends Set, PRE extends Element,
 		return this.abstractGetProofSpace();
 	}
 
+	// this method is overridden in PermutationCommitmentProofSystem and ReEncryptionShuffleProofSystem
+	protected PE defaultGenerate(final PRE privateInput, final PUE publicInput,
+		   final RandomByteSequence randomByteSequence, final Executor executor) {
+		return this.abstractGenerate(privateInput, publicInput, randomByteSequence);
+	}
+
+	// this method is overridden in PermutationCommitmentProofSystem and ReEncryptionShuffleProofSystem
+	protected void defaultAddVerificationEquations(final BatchVerifier verifier, final PE proof,
+		   final PUE publicInput) {
+		verifier.addResult(this.abstractVerify(proof, publicInput));
+	}
+
 	protected abstract PE abstractGenerate(PRE secretInput, PUE publicInput, RandomByteSequence randomByteSequence);
 
 	protected abstract boolean abstractVerify(PE proof, PUE publicInput);
@@ -112,4 +194,76 @@ public abstract class AbstractProofSystem<PRS extends Set, PRE extends Element,
 
 	protected abstract PS abstractGetProofSpace();
 
+	//===================================================================================
+	// Helpers
+	//
+	// Helper to compute the inner product
+	// - Additive:       Sum(t1_i*t2_i)
+	// - Multiplicative: Prod(t1_i^(t2_i))
+	// If one of the tuples contains secret values of the prover, each term is computed by a single selfApply, which
+	// uses the constant-time exponentiation of the group. The simultaneous multi-exponentiation is faster, but its
+	// running time depends on the exponents, so it is only used if both tuples are public.
+	protected static Element computeInnerProduct(Tuple t1, Tuple t2, boolean secret) {
+		if (!t1.getSet().isGroup() || t1.getArity() < 1) {
+			throw new IllegalArgumentException();
+		}
+		return computeInnerProduct((Monoid) t1.getSet().getAt(0), t1, t2, 0, t1.getArity(), secret);
+	}
+
+	// Helper to compute the inner product in parallel. The partial products of the chunks are multiplied in their
+	// natural order, which gives the same result as computeInnerProduct(t1, t2, secret).
+	protected static Element computeInnerProduct(final Tuple t1, final Tuple t2, final boolean secret,
+		   final Executor executor) {
+		if (!t1.getSet().isGroup() || t1.getArity() < 1) {
+			throw new IllegalArgumentException();
+		}
+		final Monoid monoid = (Monoid) t1.getSet().getAt(0);
+		return ConcurrentUtil.reduce(t1.getArity(), (from, to) -> computeInnerProduct(monoid, t1, t2, from, to, secret),
+									 (element1, element2) -> element1.apply(element2), executor);
+	}
+
+	// Helper to compute the inner product in chunks of at most chunkSize elements. Only the elements of the current
+	// chunk are held in memory, and the partial products are multiplied in their natural order, which gives the same
+	// result as computeInnerProduct(t1, t2, secret).
+	protected static Element computeInnerProduct(final Tuple t1, final Tuple t2, final boolean secret,
+		   final int chunkSize) {
+		if (!t1.getSet().isGroup() || t1.getArity() < 1 || chunkSize < 1) {
+			throw new IllegalArgumentException();
+		}
+		final Monoid monoid = (Monoid) t1.getSet().getAt(0);
+		Element result = null;
+		for (int from = 0; from < t1.getArity(); from += chunkSize) {
+			final int to = Math.min(from + chunkSize, t1.getArity());
+			final Element partialResult = computeInnerProduct(monoid, t1, t2, from, to, secret);
+			result = result == null ? partialResult : result.apply(partialResult);
+		}
+		return result;
+	}
+
+	// Helper to compute the partial inner product of the elements from (inclusive) to (exclusive)
+	private static Element computeInnerProduct(Monoid monoid, Tuple t1, Tuple t2, int from, int to, boolean secret) {
+		if (secret) {
+			Element result = monoid.getIdentityElement();
+			for (int i = from; i < to; i++) {
+				result = result.apply(t1.getAt(i).selfApply(getAmount(t2, i)));
+			}
+			return result;
+		}
+		final Element[] elements = new Element[to - from];
+		final BigInteger[] amounts = new BigInteger[to - from];
+		for (int i = from; i < to; i++) {
+			elements[i - from] = t1.getAt(i);
+			amounts[i - from] = getAmount(t2, i);
+		}
+		return monoid.multiSelfApply(elements, amounts);
+	}
+
+	// Helper to read an amount of the inner product, directly from the limbs if the tuple is backed by an element vector
+	private static BigInteger getAmount(Tuple tuple, int index) {
+		if (tuple.getValue() instanceof ElementVector) {
+			return ((ElementVector) tuple.getValue()).getBigIntegerAt(index);
+		}
+		return ((Element<BigInteger>) tuple.getAt(index)).getValue();
+	}
+
 }
@@ -54,14 +54,15 @@ import ch.bfh.unicrypt.helper.converter.classes.bytearray.BigIntegerToByteArray;
 import ch.bfh.unicrypt.helper.converter.interfaces.Converter;
 import ch.bfh.unicrypt.helper.hash.HashMethod;
 import ch.bfh.unicrypt.helper.math.MathUtil;
+import ch.bfh.unicrypt.helper.random.RandomByteSequence;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.MappedElementArray;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
 import ch.bfh.unicrypt.math.algebra.general.classes.Triple;
 import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
-import ch.bfh.unicrypt.math.algebra.general.interfaces.Monoid;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import java.math.BigInteger;
 
@@ -89,6 +90,11 @@ public abstract class AbstractShuffleProofSystem
 	 */
 	final public static int DEFAULT_KR = 20;
 
+	// the convert and hash methods are shared by the default challenge generators, which allows the transcript to
+	// hash the public input only once
+	final private static ConvertMethod<ByteArray> DEFAULT_CONVERT_METHOD = ConvertMethod.getInstance();
+	final private static HashMethod<ByteArray> DEFAULT_HASH_METHOD = HashMethod.getInstance();
+
 	/**
 	 * Holds the sigma challenge generator.
 	 */
@@ -223,20 +229,114 @@ public abstract class AbstractShuffleProofSystem
 	}
 
 	//===================================================================================
-	// Helpers
+	// Streaming generation and verification
 	//
-	// Helper to compute the inner product
-	// - Additive:       Sum(t1_i*t2_i)
-	// - Multiplicative: Prod(t1_i^(t2_i))
-	protected static Element computeInnerProduct(Tuple t1, Tuple t2) {
-		if (!t1.getSet().isGroup() || t1.getArity() < 1) {
+	/**
+	 * Generates a proof like {@link #generate(Element, Element, RandomByteSequence)}, but processes the elements of
+	 * the public and private input in chunks of the given size. The inner products are accumulated chunk by chunk, and
+	 * if possible, the public input is hashed only once for both challenge generators (see {@link Transcript}). For
+	 * inputs backed by a {@link MappedElementArray}, only the elements of the current chunk are held in memory. The
+	 * resulting proof is identical to the proof generated without chunks.
+	 * <p>
+	 * @param privateInput       The private input
+	 * @param publicInput        The public input
+	 * @param randomByteSequence The random byte sequence
+	 * @param chunkSize          The chunk size
+	 * @return The generated proof
+	 */
+	public final Tuple generate(final Element privateInput, final Element publicInput,
+		   final RandomByteSequence randomByteSequence, final int chunkSize) {
+		if (!this.getPrivateInputSpace().contains(privateInput) || !this.getPublicInputSpace().contains(publicInput)
+			   || randomByteSequence == null || chunkSize < 1) {
 			throw new IllegalArgumentException();
 		}
-		Element innerProduct = ((Monoid) t1.getSet().getAt(0)).getIdentityElement();
-		for (int i = 0; i < t1.getArity(); i++) {
-			innerProduct = innerProduct.apply(t1.getAt(i).selfApply(t2.getAt(i)));
+		return this.defaultGenerate((Triple) privateInput, (Tuple) publicInput, randomByteSequence, chunkSize);
+	}
+
+	// this method is overriden in ReEncryptionShuffleProofSystem
+	protected Tuple defaultGenerate(final Triple privateInput, final Tuple publicInput,
+		   final RandomByteSequence randomByteSequence, final int chunkSize) {
+		return this.abstractGenerate(privateInput, publicInput, randomByteSequence);
+	}
+
+	/**
+	 * Verifies a proof like {@link #verify(Element, Element)}, but processes the elements of the public input in chunks
+	 * of the given size (see {@link #generate(Element, Element, RandomByteSequence, int)}).
+	 * <p>
+	 * @param proof       The proof
+	 * @param publicInput The public input
+	 * @param chunkSize   The chunk size
+	 * @return {@code true} if the proof is accepted, {@code false} otherwise
+	 */
+	public final boolean verify(final Element proof, final Element publicInput, final int chunkSize) {
+		if (!this.getProofSpace().contains(proof) || !this.getPublicInputSpace().contains(publicInput)
+			   || chunkSize < 1) {
+			throw new IllegalArgumentException();
 		}
-		return innerProduct;
+		return this.defaultVerify((Tuple) proof, (Tuple) publicInput, chunkSize);
+	}
+
+	// this method is overriden in ReEncryptionShuffleProofSystem
+	protected boolean defaultVerify(final Tuple proof, final Tuple publicInput, final int chunkSize) {
+		return this.abstractVerify(proof, publicInput);
+	}
+
+	//===================================================================================
+	// Nested class Transcript
+	//
+	// Creates a new transcript for the given public input
+	protected final Transcript createTranscript(Tuple publicInput) {
+		return new Transcript(publicInput);
+	}
+
+	/**
+	 * The transcript of the Fiat-Shamir heuristic used in the streaming mode. If the e-values generator and the sigma
+	 * challenge generator are the non-interactive generators created by this class, and if they share the same CRH
+	 * convert and hash methods, the public input is hashed only once. The e-values are then derived from this hash
+	 * value, and the sigma challenge from this hash value and the hash value of the commitment. Otherwise, the two
+	 * challenge generators are called as usual. In both cases, the results are the same.
+	 */
+	protected class Transcript {
+
+		private final Tuple publicInput;
+
+		// the hash value of the public input, or null if it can not be shared by the challenge generators
+		private final ByteArray publicInputHash;
+
+		private Transcript(Tuple publicInput) {
+			this.publicInput = publicInput;
+			ByteArray hashValue = null;
+			if (eValuesGenerator instanceof MultiValuesNonInteractiveChallengeGenerator
+				   && sigmaChallengeGenerator instanceof FiatShamirSigmaChallengeGenerator) {
+				MultiValuesNonInteractiveChallengeGenerator generator1
+					   = (MultiValuesNonInteractiveChallengeGenerator) eValuesGenerator;
+				FiatShamirSigmaChallengeGenerator generator2
+					   = (FiatShamirSigmaChallengeGenerator) sigmaChallengeGenerator;
+				if (generator2.getHashMethod().isRecursive()
+					   && generator1.getHashMethod().equals(generator2.getHashMethod())
+					   && generator1.getConvertMethod().equals(generator2.getConvertMethod())) {
+					hashValue = publicInput.getHashValue((ConvertMethod) generator1.getConvertMethod(),
+														 (HashMethod) generator1.getHashMethod());
+				}
+			}
+			this.publicInputHash = hashValue;
+		}
+
+		public Tuple getEValues() {
+			if (this.publicInputHash == null) {
+				return (Tuple) eValuesGenerator.generate(this.publicInput);
+			}
+			return ((MultiValuesNonInteractiveChallengeGenerator) eValuesGenerator).generate(this.publicInputHash);
+		}
+
+		public Element getChallenge(Element commitment) {
+			if (this.publicInputHash == null) {
+				return sigmaChallengeGenerator.generate(this.publicInput, commitment);
+			}
+			return ((FiatShamirSigmaChallengeGenerator) sigmaChallengeGenerator).generate(this.publicInputHash,
+																						 commitment);
+		}
+
 	}
 
 	//===================================================================================
@@ -282,7 +382,10 @@ public abstract class AbstractShuffleProofSystem
 
 	public static FiatShamirSigmaChallengeGenerator createNonInteractiveSigmaChallengeGenerator(
 		   final ZMod challengeSpace, final Element proverId) {
-		return FiatShamirSigmaChallengeGenerator.getInstance(challengeSpace, proverId);
+		int hashLength = DEFAULT_HASH_METHOD.getHashAlgorithm().getByteLength();
+		Converter<ByteArray, BigInteger> converter = ByteArrayToBigInteger.getInstance(hashLength);
+		return createNonInteractiveSigmaChallengeGenerator(challengeSpace, proverId, DEFAULT_CONVERT_METHOD,
+														   DEFAULT_HASH_METHOD, converter);
 	}
 
 	public static <V> FiatShamirSigmaChallengeGenerator createNonInteractiveSigmaChallengeGenerator(
@@ -313,12 +416,11 @@ public abstract class AbstractShuffleProofSystem
 
 	public static NonInteractiveChallengeGenerator createNonInteractiveEValuesGenerator(final ZMod challengeSpace,
 		   final int size, final Element proverId) {
-		ConvertMethod<ByteArray> convertMethod = ConvertMethod.getInstance();
-		HashMethod<ByteArray> hashMethod = HashMethod.getInstance();
-		int hashLength = hashMethod.getHashAlgorithm().getByteLength();
+		int hashLength = DEFAULT_HASH_METHOD.getHashAlgorithm().getByteLength();
 		Converter<ByteArray, BigInteger> converter = ByteArrayToBigInteger.getInstance(hashLength);
 		Converter<BigInteger, ByteArray> indexConverter = BigIntegerToByteArray.getInstance();
-		return createNonInteractiveEValuesGenerator(challengeSpace, size, proverId, convertMethod, hashMethod, converter, indexConverter);
+		return createNonInteractiveEValuesGenerator(challengeSpace, size, proverId, DEFAULT_CONVERT_METHOD,
+													DEFAULT_HASH_METHOD, converter, indexConverter);
 	}
 
 	public static <V> NonInteractiveChallengeGenerator createNonInteractiveEValuesGenerator(final ZMod eChallengeSpace,
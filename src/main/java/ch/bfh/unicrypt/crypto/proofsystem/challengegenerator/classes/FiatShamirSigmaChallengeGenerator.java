@@ -92,6 +92,32 @@ public class FiatShamirSigmaChallengeGenerator
 			   .getElement(this.converter.convert(hashedInput).mod(this.challengeSpace.getModulus()));
 	}
 
+	/**
+	 * Generates the challenge from the hash value of the public input, which must have been computed using the convert
+	 * method and the hash method of this generator, and the commitment. The result is the same as for
+	 * {@code generate(publicInput, commitment)}, but the hash value of a large public input can be computed once and
+	 * shared with other challenge generators. This is only possible for a CRH hash method (see
+	 * {@link HashMethod#isRecursive()}).
+	 * <p>
+	 * @param publicInputHash The hash value of the public input
+	 * @param commitment      The commitment
+	 * @return The challenge
+	 */
+	public final ZModElement generate(ByteArray publicInputHash, Element<?> commitment) {
+		if (publicInputHash == null || commitment == null || !this.hashMethod.isRecursive()) {
+			throw new IllegalArgumentException();
+		}
+		// the input is hashed as (publicInput, commitment) or ((publicInput, commitment), proverId)
+		ByteArray hashedInput = this.hashMethod.getNodeHashValue(
+			   publicInputHash, commitment.getHashValue(this.convertMethod, this.hashMethod));
+		if (this.proverId != null) {
+			hashedInput = this.hashMethod.getNodeHashValue(
+				   hashedInput, this.proverId.getHashValue(this.convertMethod, this.hashMethod));
+		}
+		return this.getChallengeSpace()
+			   .getElement(this.converter.convert(hashedInput).mod(this.challengeSpace.getModulus()));
+	}
+
 	public static FiatShamirSigmaChallengeGenerator getInstance(ZMod challengeSpace) {
 		return FiatShamirSigmaChallengeGenerator.getInstance(challengeSpace, null);
 	}
@@ -109,11 +109,33 @@ public class MultiValuesNonInteractiveChallengeGenerator
 
 		Element<?> publicInput = this.getProverId() == null ? input : ((Pair) input).getFirst();
 
+		// the hash values of the public input and the prover id are the same for all indices
+		return this.generateFromHashValue(publicInput.getHashValue(this.convertMethod, this.hashMethod));
+	}
+
+	/**
+	 * Generates the challenge values from the hash value of the public input, which must have been computed using the
+	 * convert method and the hash method of this generator. The result is the same as for the public input itself,
+	 * but the hash value of a large public input can be computed once and shared with other challenge generators.
+	 * <p>
+	 * @param publicInputHash The hash value of the public input
+	 * @return The challenge values
+	 */
+	public final Tuple generate(ByteArray publicInputHash) {
+		if (publicInputHash == null) {
+			throw new IllegalArgumentException();
+		}
+		return this.generateFromHashValue(publicInputHash);
+	}
+
+	private Tuple generateFromHashValue(ByteArray publicInputHash) {
+		ByteArray proverIdHash = this.getProverId() == null ? null : this.getProverId().getHashValue(this.convertMethod, this.hashMethod);
+
 		Element[] elements = new Element[size];
 		for (int i = 1; i <= size; i++) {
 			Tree<ByteArray> indexedInput = this.getProverId() == null
-				   ? Tree.getInstance(publicInput.getHashValue(this.convertMethod, this.hashMethod), this.indexConverter.convert(BigInteger.valueOf(i)))
-				   : Tree.getInstance(publicInput.getHashValue(this.convertMethod, this.hashMethod), this.indexConverter.convert(BigInteger.valueOf(i)), this.getProverId().getHashValue(this.convertMethod, this.hashMethod));
+				   ? Tree.getInstance(publicInputHash, this.indexConverter.convert(BigInteger.valueOf(i)))
+				   : Tree.getInstance(publicInputHash, this.indexConverter.convert(BigInteger.valueOf(i)), proverIdHash);
 			ByteArray hashedInput = this.hashMethod.getHashValue(indexedInput);
 
 			elements[i - 1] = this.singleChallengeSpace.getElement(this.converter.convert(hashedInput).mod(this.singleChallengeSpace.getModulus()));
@@ -0,0 +1,225 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.crypto.proofsystem.classes;
+
+import ch.bfh.unicrypt.UniCrypt;
+import ch.bfh.unicrypt.helper.math.MathUtil;
+import ch.bfh.unicrypt.helper.random.RandomByteSequence;
+import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
+import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Group;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instances of this class verify a batch of equations of the form {@code prod(x_i^(a_i)) = 1} by a single randomized
+ * check (small-exponent test). Each equation is raised to an independent random exponent of {@code kb} bits (one for
+ * each component, if the equation is defined over a product group), and all resulting terms are combined into one
+ * multi-exponentiation per underlying group. Terms with equal bases are merged, which makes the combined check
+ * considerably cheaper than the individual verification of each equation. This is particularly effective for the
+ * shuffle proofs of a mix cascade, which share the independent generators and the intermediate ciphertexts. If one of
+ * the equations does not hold, the batch is accepted with a probability of at most {@code 2^(-kb)}.
+ * <p>
+ * This bound only holds if all elements are members of groups of known prime order. In a group of composite order, an
+ * equation that fails only in a small subgroup may pass the randomized check with a much higher probability. Therefore,
+ * {@link #addEquation(Element[], BigInteger[])} accepts only elements whose (non-product) components belong to groups
+ * of known prime order. The membership of the elements is not tested again, i.e., they must have been obtained from
+ * their groups, which test the membership of all constructed elements.
+ * <p>
+ * @see "Bellare, Garay, Rabin: Fast Batch Verification for Modular Exponentiation and Digital Signatures"
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public class BatchVerifier
+	   extends UniCrypt {
+
+	/**
+	 * The default bit length of the random exponents.
+	 */
+	final public static int DEFAULT_KB = 64;
+
+	private final int kb;
+	private final RandomByteSequence randomByteSequence;
+	private final Map<Set, Map<Element, BigInteger>> terms;
+	private boolean result;
+
+	private BatchVerifier(int kb, RandomByteSequence randomByteSequence) {
+		this.kb = kb;
+		this.randomByteSequence = randomByteSequence;
+		this.terms = new LinkedHashMap<>();
+		this.result = true;
+	}
+
+	/**
+	 * Returns the bit length of the random exponents.
+	 * <p>
+	 * @return The bit length of the random exponents
+	 */
+	public int getKb() {
+		return this.kb;
+	}
+
+	/**
+	 * Adds the equation {@code prod(x_i^(a_i)) = 1} to the batch. All elements must belong to the same group, which
+	 * may be a product group. The order of each non-product group must be a known prime.
+	 * <p>
+	 * @param elements The elements {@code x_i}
+	 * @param amounts  The amounts {@code a_i}
+	 */
+	public void addEquation(Element[] elements, BigInteger[] amounts) {
+		if (elements == null || amounts == null || elements.length == 0 || elements.length != amounts.length) {
+			throw new IllegalArgumentException();
+		}
+		Set set = elements[0].getSet();
+		if (!set.isGroup()) {
+			throw new IllegalArgumentException();
+		}
+		List<BigInteger> randomizers = null;
+		for (int i = 0; i < elements.length; i++) {
+			if (elements[i] == null || amounts[i] == null || !set.isEquivalent(elements[i].getSet())) {
+				throw new IllegalArgumentException();
+			}
+			List<Element> components = new ArrayList<>();
+			this.getComponents(elements[i], components);
+			if (randomizers == null) {
+				// the random exponents lie in [1,...,2^kb]
+				randomizers = new ArrayList<>();
+				for (BigInteger randomizer : this.randomByteSequence
+					   .getRandomBigIntegerSequence(MathUtil.ONE, MathUtil.powerOfTwo(this.kb))
+					   .limit(components.size())) {
+					randomizers.add(randomizer);
+				}
+			}
+			for (int j = 0; j < components.size(); j++) {
+				Element component = components.get(j);
+				BigInteger amount = amounts[i].multiply(randomizers.get(j));
+				Map<Element, BigInteger> setTerms = this.terms.get(component.getSet());
+				if (setTerms == null) {
+					setTerms = new LinkedHashMap<>();
+					this.terms.put(component.getSet(), setTerms);
+				}
+				setTerms.merge(component, amount, BigInteger::add);
+			}
+		}
+	}
+
+	/**
+	 * Adds the result of a verification that has been performed outside the batch.
+	 * <p>
+	 * @param result The result of the verification
+	 */
+	public void addResult(boolean result) {
+		this.result = this.result && result;
+	}
+
+	/**
+	 * Performs the randomized check of all equations added so far. Returns {@code true} if the check succeeds and if
+	 * all results added by {@link #addResult(boolean)} are {@code true}.
+	 * <p>
+	 * @return {@code true} if the batch is accepted, {@code false} otherwise
+	 */
+	public boolean verify() {
+		if (!this.result) {
+			return false;
+		}
+		for (Map.Entry<Set, Map<Element, BigInteger>> entry : this.terms.entrySet()) {
+			Group group = (Group) entry.getKey();
+			Map<Element, BigInteger> setTerms = entry.getValue();
+			Element[] elements = new Element[setTerms.size()];
+			BigInteger[] amounts = new BigInteger[setTerms.size()];
+			int i = 0;
+			for (Map.Entry<Element, BigInteger> term : setTerms.entrySet()) {
+				elements[i] = term.getKey();
+				amounts[i] = term.getValue();
+				i++;
+			}
+			if (!group.multiSelfApply(elements, amounts).isIdentity()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	protected String defaultToStringContent() {
+		return "kb=" + this.kb;
+	}
+
+	// collects the non-product components of an element in depth-first order, the groups already contained in the terms
+	// have been checked to be of prime order before
+	private void getComponents(Element element, List<Element> components) {
+		Set set = element.getSet();
+		if (set.isProduct()) {
+			for (Element component : (Tuple) element) {
+				this.getComponents(component, components);
+			}
+		} else {
+			if (!this.terms.containsKey(set)
+				   && (!set.isGroup() || !set.hasKnownOrder() || !MathUtil.isPrime(set.getOrder()))) {
+				throw new IllegalArgumentException();
+			}
+			components.add(element);
+		}
+	}
+
+	public static BatchVerifier getInstance() {
+		return getInstance(DEFAULT_KB, HybridRandomByteSequence.getInstance());
+	}
+
+	public static BatchVerifier getInstance(RandomByteSequence randomByteSequence) {
+		return getInstance(DEFAULT_KB, randomByteSequence);
+	}
+
+	public static BatchVerifier getInstance(int kb, RandomByteSequence randomByteSequence) {
+		if (kb < 1 || randomByteSequence == null) {
+			throw new IllegalArgumentException();
+		}
+		return new BatchVerifier(kb, randomByteSequence);
+	}
+
+}
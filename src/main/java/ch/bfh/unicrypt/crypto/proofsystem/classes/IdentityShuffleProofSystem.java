@@ -138,7 +138,7 @@ public class IdentityShuffleProofSystem
 		final Tuple eV = (Tuple) this.getEValuesGenerator().generate(publicInput);
 
 		// Compute private values for sigma proof
-		final Element w = computeInnerProduct(sV, eV);
+		final Element w = computeInnerProduct(sV, eV, true);
 		Tuple ePrimeV = PermutationFunction.getInstance(eV.getSet()).apply(eV, pi);
 
 		// Map ePrimeV to Z_q^N
@@ -147,13 +147,13 @@ public class IdentityShuffleProofSystem
 			   ePrimeV.getLength()).apply(ePrimeV);
 
 		// Compute u                                                                    [N]
-		final Element u = computeInnerProduct(uV, eV);
+		final Element u = computeInnerProduct(uV, eV, false);
 
 		// Create sigma proof
 		PreimageProofFunction f = new PreimageProofFunction(this.getCyclicGroup(), this.getSize(),
 															this.getResponseSpace(), this.getCommitmentSpace(),
 															this.getIndependentGenerators(), u, uPrimeV, gK_1,
-															this.identityGroup);
+															this.identityGroup, true);
 
 		Tuple randomElement = this.getResponseSpace().extractPrefix(2).getRandomElement(randomByteSequence);
 		Tuple randEV = ProductGroup.getInstance(
@@ -191,12 +191,12 @@ public class IdentityShuffleProofSystem
 		final Tuple eV = (Tuple) this.getEValuesGenerator().generate(publicInput);
 
 		// Compute u                                                                    [N]
-		final Element u = computeInnerProduct(uV, eV);
+		final Element u = computeInnerProduct(uV, eV, false);
 
 		// Compute image of preimage proof
 		final Element[] ps = new Element[3];
 		// - p_1 == c_pi^e                                                              [N]
-		ps[0] = computeInnerProduct(cPiV, eV);
+		ps[0] = computeInnerProduct(cPiV, eV, false);
 		// - p_2 = 1
 		ps[1] = this.identityGroup.getIdentityElement();
 		// - p_3 = g_k
@@ -208,7 +208,7 @@ public class IdentityShuffleProofSystem
 		PreimageProofFunction f = new PreimageProofFunction(this.getCyclicGroup(), this.getSize(),
 															this.getResponseSpace(), this.getCommitmentSpace(),
 															this.getIndependentGenerators(), u, uPrimeV, gK_1,
-															this.identityGroup);
+															this.identityGroup, false);
 		final Element challenge = this.getSigmaChallengeGenerator().generate(publicInput, commitment);
 		final Element left = f.apply(response);                                   // [2N+3]
 		final Element right = commitment.apply(pV.selfApply(challenge));          //    [3]
@@ -228,10 +228,14 @@ public class IdentityShuffleProofSystem
 		private final Element gK_1;
 		private final CyclicGroup identityGroup;
 		private final GeneralizedPedersenCommitmentScheme gpcs;
+		private final boolean secret;
 
+		// the function is applied to secret values if secret is true, i.e., when it is used by the prover
 		protected PreimageProofFunction(CyclicGroup cyclicGroup, int size, ProductGroup domain, ProductGroup coDomain,
-			   Tuple independentGenerators, Element u, Tuple uPrimeV, Element gK_1, CyclicGroup identityGroup) {
+			   Tuple independentGenerators, Element u, Tuple uPrimeV, Element gK_1, CyclicGroup identityGroup,
+			   boolean secret) {
 			super(domain, coDomain);
+			this.secret = secret;
 			this.cyclicGroup = cyclicGroup;
 			this.u = u;
 			this.uPrimeV = uPrimeV;
@@ -259,10 +263,11 @@ public class IdentityShuffleProofSystem
 			for (int i = 0; i < ePrimeV.getArity(); i++) {
 				ePrimeVs[i] = zMod.getElement(((ZModElement) ePrimeV.getAt(i)).getValue().mod(zMod.getOrder()));
 			}
-			cV[0] = this.gpcs.commit(Tuple.getInstance(ePrimeVs), w);
+			cV[0] = this.gpcs.getRandomizationGenerator().selfApply(w).apply(
+				   computeInnerProduct(this.gpcs.getMessageGenerators(), Tuple.getInstance(ePrimeVs), this.secret));
 
 			// - Prod(u'_i^(e'_i)) * u^(-alpha)          [n+1]
-			final Element a = computeInnerProduct(this.uPrimeV, ePrimeV);
+			final Element a = computeInnerProduct(this.uPrimeV, ePrimeV, this.secret);
 			final Element b = this.u.selfApply(alpha.invert());
 			cV[1] = a.apply(b);
 
@@ -50,6 +50,7 @@ import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.interfaces.SigmaCha
 import ch.bfh.unicrypt.crypto.schemes.commitment.classes.GeneralizedPedersenCommitmentScheme;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
+import ch.bfh.unicrypt.helper.concurrent.ConcurrentUtil;
 import ch.bfh.unicrypt.helper.converter.classes.ConvertMethod;
 import ch.bfh.unicrypt.helper.converter.classes.biginteger.ByteArrayToBigInteger;
 import ch.bfh.unicrypt.helper.converter.classes.bytearray.BigIntegerToByteArray;
@@ -69,13 +70,13 @@ import ch.bfh.unicrypt.math.algebra.general.classes.Triple;
 import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
-import ch.bfh.unicrypt.math.algebra.general.interfaces.Monoid;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.function.abstracts.AbstractFunction;
 import ch.bfh.unicrypt.math.function.classes.ConvertFunction;
 import ch.bfh.unicrypt.math.function.classes.PermutationFunction;
 import ch.bfh.unicrypt.math.function.classes.ProductFunction;
 import java.math.BigInteger;
+import java.util.concurrent.Executor;
 
 //
 // @see [TW10] Protocol 1: Permutation Matrix
@@ -195,6 +196,18 @@ public class PermutationCommitmentProofSystem
 	//
 	@Override
 	protected Tuple abstractGenerate(Pair privateInput, Tuple publicInput, RandomByteSequence randomByteSequence) {
+		return this.generateProof(privateInput, publicInput, randomByteSequence, null);
+	}
+
+	@Override
+	protected Tuple defaultGenerate(Pair privateInput, Tuple publicInput, RandomByteSequence randomByteSequence,
+		   Executor executor) {
+		return this.generateProof(privateInput, publicInput, randomByteSequence, executor);
+	}
+
+	// the proof is generated sequentially if no executor is given
+	private Tuple generateProof(Pair privateInput, Tuple publicInput, RandomByteSequence randomByteSequence,
+		   Executor executor) {
 
 		// Unfold privat and public input
 		final PermutationElement pi = (PermutationElement) privateInput.getFirst();
@@ -205,7 +218,7 @@ public class PermutationCommitmentProofSystem
 		// v = <1,sV> = sum(sV)
 		final Element v = this.cyclicGroup.getZModOrder().add(sV);
 		// w = <sV,eV>
-		final Element w = computeInnerProduct(sV, eV);
+		final Element w = computeInnerProduct(sV, eV, true);
 		final Tuple rV
 			   = ProductGroup.getInstance(this.cyclicGroup.getZModOrder(), this.size)
 					  .getRandomElement(randomByteSequence);
@@ -218,12 +231,27 @@ public class PermutationCommitmentProofSystem
 		final Element[] cs = new Element[this.size];
 		final Element[] ds = new Element[this.size];
 		ds[0] = rV.getAt(0);
-		for (int i = 0; i < this.size; i++) {
-			Element c_i_1 = i == 0 ? h : cs[i - 1];
-			cs[i] = g.selfApply(rV.getAt(i)).apply(c_i_1.selfApply(ePrimeV.getAt(i)));  //   [2n]
-			if (i > 0) {
+		if (executor == null) {
+			for (int i = 0; i < this.size; i++) {
+				Element c_i_1 = i == 0 ? h : cs[i - 1];
+				cs[i] = g.selfApply(rV.getAt(i)).apply(c_i_1.selfApply(ePrimeV.getAt(i)));  //   [2n]
+				if (i > 0) {
+					ds[i] = rV.getAt(i).apply(ds[i - 1].selfApply(ePrimeV.getAt(i)));
+				}
+			}
+		} else {
+			// The recursion c_i = g^r_i * c_i-1^e'_i is resolved into c_i = g^d_i * h^(prod(e'_1,...,e'_i)), which
+			// allows computing the c_i independently of each other. Since d_i and prod(e'_1,...,e'_i) are secret, no
+			// precomputed tables are used for g and h.
+			final BigInteger[] es = new BigInteger[this.size];
+			es[0] = ePrimeV.getAt(0).convertToBigInteger().mod(this.cyclicGroup.getOrder());
+			for (int i = 1; i < this.size; i++) {
 				ds[i] = rV.getAt(i).apply(ds[i - 1].selfApply(ePrimeV.getAt(i)));
+				es[i] = es[i - 1].multiply(ePrimeV.getAt(i).convertToBigInteger()).mod(this.cyclicGroup.getOrder());
 			}
+			ConcurrentUtil.forEach(this.size, i -> {
+				cs[i] = g.selfApply(ds[i]).apply(h.selfApply(es[i]));                      //   [2n]
+			}, executor);
 		}
 		final Tuple cV = Tuple.getInstance(cs);
 		final Element d = ds[ds.length - 1];
@@ -236,7 +264,7 @@ public class PermutationCommitmentProofSystem
 		// Create sigma proof
 		PreimageProofFunction f
 			   = new PreimageProofFunction(this.cyclicGroup, this.size, this.getResponseSpace(),
-										   this.getCommitmentSpace(), this.independentGenerators, cV);
+										   this.getCommitmentSpace(), this.independentGenerators, cV, true, executor);
 		Tuple randomElement = this.getResponseSpace().extractPrefix(4).getRandomElement(randomByteSequence);
 		Tuple randEV = ProductGroup.getInstance(ZMod.getInstance(MathUtil.powerOfTwo(this.ke + this.kc + this.kr)),
 												this.size).getRandomElement(randomByteSequence);
@@ -275,7 +303,7 @@ public class PermutationCommitmentProofSystem
 		// - p_0 = c_pi^1/prod(g_i) = prod(c_pi_i)/prod(g_i)
 		ps[0] = this.cyclicGroup.apply(publicInput).applyInverse(this.cyclicGroup.apply(gV));
 		// - p_1 = c_pi^e                                                                     [N]
-		ps[1] = computeInnerProduct(publicInput, eV);
+		ps[1] = computeInnerProduct(publicInput, eV, false);
 		// - p_2...p_(N+2) = c_1 ... c_N
 		for (int i = 0; i < this.size; i++) {
 			ps[i + 2] = cV.getAt(i);
@@ -292,7 +320,8 @@ public class PermutationCommitmentProofSystem
 
 		// Verify preimage proof
 		PreimageProofFunction f = new PreimageProofFunction(this.cyclicGroup, this.size, this.getResponseSpace(),
-															this.getCommitmentSpace(), this.independentGenerators, cV);
+															this.getCommitmentSpace(), this.independentGenerators, cV,
+															false, null);
 		final Element challenge = this.sigmaChallengeGenerator.generate(Pair.getInstance(publicInput, cV), commitment);
 		final Element left = f.apply(response);                                         // [3N+3]
 		final Element right = commitment.apply(pV.selfApply(challenge));                //  [N+3]
@@ -301,20 +330,75 @@ public class PermutationCommitmentProofSystem
 	}
 
 	//===================================================================================
-	// Private Helpers
+	// Batch verification
 	//
-	// Helper to compute the inner product
-	// - Additive:       Sum(t1_i*t2_i)
-	// - Multiplicative: Prod(t1_i^(t2_i))
-	private static Element computeInnerProduct(Tuple t1, Tuple t2) {
-		if (!t1.getSet().isGroup() || t1.getArity() < 1) {
-			throw new IllegalArgumentException();
+	// The N+3 equations of abstractVerify are rearranged such that all terms are on the left-hand side:
+	// 1.   g^v * t_1^(-1) * Prod(c_pi_i^(-c)) * Prod(g_i^c) = 1
+	// 2.   g^w * Prod(g_i^(e'_i)) * t_2^(-1) * Prod(c_pi_i^(-c*e_i)) = 1
+	// 3.   g^(r_i) * c_(i-1)^(e'_i) * t_(i+2)^(-1) * c_i^(-c) = 1, for c_0 = h and i = 1,...,N
+	// N+3. g^d * t_(N+3)^(-1) * c_N^(-c) * h^(c*prod(e)) = 1
+	@Override
+	protected void defaultAddVerificationEquations(final BatchVerifier verifier, final Tuple proof,
+		   final Tuple publicInput) {
+
+		// Unfold proof and public input
+		final Tuple cPiV = publicInput;
+		final Tuple cV = (Tuple) proof.getAt(1);
+		final Tuple commitment = (Tuple) proof.getAt(2);
+		final Tuple response = (Tuple) proof.getAt(4);
+		final Tuple rV = (Tuple) response.getAt(2);
+
+		// Get additional values
+		final Tuple eV = (Tuple) this.eValuesGenerator.generate(cPiV);
+		final Element challenge = this.sigmaChallengeGenerator.generate(Pair.getInstance(cPiV, cV), commitment);
+		final BigInteger c = ((Element<BigInteger>) challenge).getValue();
+		final Tuple ePrimeV = (Tuple) response.getAt(4);
+		final Element g = this.independentGenerators.getAt(0);
+		final Element h = this.independentGenerators.getAt(1);
+		final BigInteger minusOne = MathUtil.ONE.negate();
+
+		// Equations 1 and 2
+		final Element[] elements1 = new Element[2 * this.size + 2];
+		final Element[] elements2 = new Element[2 * this.size + 2];
+		final BigInteger[] amounts1 = new BigInteger[2 * this.size + 2];
+		final BigInteger[] amounts2 = new BigInteger[2 * this.size + 2];
+		elements1[0] = g;
+		amounts1[0] = ((Element<BigInteger>) response.getAt(0)).getValue();
+		elements1[1] = commitment.getAt(0);
+		amounts1[1] = minusOne;
+		elements2[0] = g;
+		amounts2[0] = ((Element<BigInteger>) response.getAt(1)).getValue();
+		elements2[1] = commitment.getAt(1);
+		amounts2[1] = minusOne;
+		BigInteger eProd = MathUtil.ONE;
+		for (int i = 0; i < this.size; i++) {
+			final BigInteger e = ((Element<BigInteger>) eV.getAt(i)).getValue();
+			eProd = eProd.multiply(e).mod(this.cyclicGroup.getOrder());
+			elements1[i + 2] = cPiV.getAt(i);
+			amounts1[i + 2] = c.negate();
+			elements1[this.size + i + 2] = this.independentGenerators.getAt(i + 1);
+			amounts1[this.size + i + 2] = c;
+			elements2[i + 2] = this.independentGenerators.getAt(i + 1);
+			amounts2[i + 2] = ((Element<BigInteger>) ePrimeV.getAt(i)).getValue();
+			elements2[this.size + i + 2] = cPiV.getAt(i);
+			amounts2[this.size + i + 2] = c.multiply(e).negate();
 		}
-		Element innerProduct = ((Monoid) t1.getSet().getAt(0)).getIdentityElement();
-		for (int i = 0; i < t1.getArity(); i++) {
-			innerProduct = innerProduct.apply(t1.getAt(i).selfApply(t2.getAt(i)));
+		verifier.addEquation(elements1, amounts1);
+		verifier.addEquation(elements2, amounts2);
+
+		// Equations 3,...,N+2
+		for (int i = 0; i < this.size; i++) {
+			verifier.addEquation(
+				   new Element[]{g, i == 0 ? h : cV.getAt(i - 1), commitment.getAt(i + 2), cV.getAt(i)},
+				   new BigInteger[]{((Element<BigInteger>) rV.getAt(i)).getValue(),
+									((Element<BigInteger>) ePrimeV.getAt(i)).getValue(), minusOne, c.negate()});
 		}
-		return innerProduct;
+
+		// Equation N+3
+		verifier.addEquation(
+			   new Element[]{g, commitment.getAt(this.size + 2), cV.getAt(this.size - 1), h},
+			   new BigInteger[]{((Element<BigInteger>) response.getAt(3)).getValue(), minusOne, c.negate(),
+								c.multiply(eProd)});
 	}
 
 	//===================================================================================
@@ -329,13 +413,18 @@ public class PermutationCommitmentProofSystem
 		private final GeneralizedPedersenCommitmentScheme gpcs;
 		private final Element g;
 		private final Element h;
+		private final boolean secret;
+		private final Executor executor;
 
+		// the function is applied to secret values if secret is true, i.e., when it is used by the prover
 		protected PreimageProofFunction(CyclicGroup cyclicGroup, int size, ProductGroup domain,
-			   ProductGroup coDomain, Tuple independentGenerators, Tuple cV) {
+			   ProductGroup coDomain, Tuple independentGenerators, Tuple cV, boolean secret, Executor executor) {
 			super(domain, coDomain);
 			this.cyclicGroup = cyclicGroup;
 			this.size = size;
 			this.cV = cV;
+			this.secret = secret;
+			this.executor = executor;
 			this.g = independentGenerators.getAt(0);
 			this.h = independentGenerators.getAt(1);
 
@@ -365,12 +454,22 @@ public class PermutationCommitmentProofSystem
 			for (int i = 0; i < ePrimeV.getArity(); i++) {
 				ePrimeVs[i] = zMod.getElement(((ZModElement) ePrimeV.getAt(i)).getValue().mod(zMod.getOrder()));
 			}
-			pV[1] = this.gpcs.commit(Tuple.getInstance(ePrimeVs), w);
+			pV[1] = this.gpcs.getRandomizationGenerator().selfApply(w).apply(this.executor == null
+				   ? computeInnerProduct(this.gpcs.getMessageGenerators(), Tuple.getInstance(ePrimeVs), this.secret)
+				   : computeInnerProduct(this.gpcs.getMessageGenerators(), Tuple.getInstance(ePrimeVs), this.secret,
+										 this.executor));
 
 			// - g^r_i * c_i-1^e'_i                [2n]
-			for (int i = 0; i < this.size; i++) {
-				Element c_i_1 = i == 0 ? this.h : this.cV.getAt(i - 1);
-				pV[i + 2] = g.selfApply(rV.getAt(i)).apply(c_i_1.selfApply(ePrimeV.getAt(i)));
+			if (this.executor == null) {
+				for (int i = 0; i < this.size; i++) {
+					Element c_i_1 = i == 0 ? this.h : this.cV.getAt(i - 1);
+					pV[i + 2] = g.selfApply(rV.getAt(i)).apply(c_i_1.selfApply(ePrimeV.getAt(i)));
+				}
+			} else {
+				ConcurrentUtil.forEach(this.size, i -> {
+					Element c_i_1 = i == 0 ? this.h : this.cV.getAt(i - 1);
+					pV[i + 2] = g.selfApply(rV.getAt(i)).apply(c_i_1.selfApply(ePrimeV.getAt(i)));
+				}, this.executor);
 			}
 
 			// - Com(0, d)                          [1]
@@ -67,6 +67,8 @@ import ch.bfh.unicrypt.math.function.abstracts.AbstractFunction;
 import ch.bfh.unicrypt.math.function.classes.ConvertFunction;
 import ch.bfh.unicrypt.math.function.classes.PermutationFunction;
 import ch.bfh.unicrypt.math.function.classes.ProductFunction;
+import java.math.BigInteger;
+import java.util.concurrent.Executor;
 
 /**
  * The implementation of the re-encryption shuffle proof according to Wikström (@see Wik09 Protocol2:
@@ -143,17 +145,38 @@ public class ReEncryptionShuffleProofSystem
 	//
 	@Override
 	protected Tuple abstractGenerate(Triple privateInput, Tuple publicInput, RandomByteSequence randomByteSequence) {
+		return this.generateProof(privateInput, publicInput, randomByteSequence, null, 0);
+	}
+
+	@Override
+	protected Tuple defaultGenerate(Triple privateInput, Tuple publicInput, RandomByteSequence randomByteSequence,
+		   Executor executor) {
+		return this.generateProof(privateInput, publicInput, randomByteSequence, executor, 0);
+	}
+
+	@Override
+	protected Tuple defaultGenerate(Triple privateInput, Tuple publicInput, RandomByteSequence randomByteSequence,
+		   int chunkSize) {
+		return this.generateProof(privateInput, publicInput, randomByteSequence, null, chunkSize);
+	}
+
+	// the proof is generated sequentially if no executor is given, and in chunks if a chunk size is given
+	private Tuple generateProof(Triple privateInput, Tuple publicInput, RandomByteSequence randomByteSequence,
+		   Executor executor, int chunkSize) {
 
 		// Unfold private and public input
 		final PermutationElement pi = (PermutationElement) privateInput.getFirst();
 		final Tuple sV = (Tuple) privateInput.getSecond();
 		final Tuple rV = (Tuple) privateInput.getThird();
 		final Tuple uPrimeV = (Tuple) publicInput.getAt(2);
-		final Tuple eV = (Tuple) this.getEValuesGenerator().generate(publicInput);
+		final Transcript transcript = chunkSize > 0 ? this.createTranscript(publicInput) : null;
+		final Tuple eV = transcript == null
+			   ? (Tuple) this.getEValuesGenerator().generate(publicInput)
+			   : transcript.getEValues();
 
 		// Compute private values for sigma proof
-		final Element r = computeInnerProduct(rV, eV);
-		final Element w = computeInnerProduct(sV, eV);
+		final Element r = computeInnerProduct(rV, eV, true, null, chunkSize);
+		final Element w = computeInnerProduct(sV, eV, true, null, chunkSize);
 		Tuple ePrimeV = PermutationFunction.getInstance(eV.getSet()).apply(eV, pi);
 
 		// Map ePrimeV to Z_q^N
@@ -165,7 +188,7 @@ public class ReEncryptionShuffleProofSystem
 		PreimageProofFunction f
 			   = new PreimageProofFunction(this.getCyclicGroup(), this.getSize(), this.getResponseSpace(),
 										   this.getCommitmentSpace(), this.getIndependentGenerators(), uPrimeV,
-										   this.encryptionScheme, this.encryptionPK);
+										   this.encryptionScheme, this.encryptionPK, true, executor, chunkSize);
 
 		Tuple randomElement = this.getResponseSpace().extractPrefix(2).getRandomElement(randomByteSequence);
 		Tuple randEV = ProductGroup.getInstance(
@@ -182,7 +205,9 @@ public class ReEncryptionShuffleProofSystem
 		randomElement = randomElement.append(Tuple.getInstance(randEV));
 
 		final Element commitment = f.apply(randomElement);                        // [3N+3]
-		final Element challenge = this.getSigmaChallengeGenerator().generate(publicInput, commitment);
+		final Element challenge = transcript == null
+			   ? this.getSigmaChallengeGenerator().generate(publicInput, commitment)
+			   : transcript.getChallenge(commitment);
 		final Element response = randomElement.apply(Tuple.getInstance(r, w, ePrimeV).selfApply(challenge));
 		Triple preimageProof = Triple.getInstance(commitment, challenge, response);
 		//                                                                          --------
@@ -191,6 +216,16 @@ public class ReEncryptionShuffleProofSystem
 
 	@Override
 	protected boolean abstractVerify(Tuple proof, Tuple publicInput) {
+		return this.verifyProof(proof, publicInput, 0);
+	}
+
+	@Override
+	protected boolean defaultVerify(Tuple proof, Tuple publicInput, int chunkSize) {
+		return this.verifyProof(proof, publicInput, chunkSize);
+	}
+
+	// the proof is verified in chunks if a chunk size is given
+	private boolean verifyProof(Tuple proof, Tuple publicInput, int chunkSize) {
 
 		// Unfold proof and public input
 		final Tuple commitment = (Tuple) proof.getAt(1);
@@ -198,14 +233,17 @@ public class ReEncryptionShuffleProofSystem
 		final Tuple cPiV = (Tuple) publicInput.getFirst();
 		final Tuple uV = (Tuple) publicInput.getAt(1);
 		final Tuple uPrimeV = (Tuple) publicInput.getAt(2);
-		final Tuple eV = (Tuple) this.getEValuesGenerator().generate(publicInput);
+		final Transcript transcript = chunkSize > 0 ? this.createTranscript(publicInput) : null;
+		final Tuple eV = transcript == null
+			   ? (Tuple) this.getEValuesGenerator().generate(publicInput)
+			   : transcript.getEValues();
 
 		// Compute image of preimage proof
 		final Element[] ps = new Element[2];
 		// - p_1 == c_pi^e                                                              [N]
-		ps[0] = computeInnerProduct(cPiV, eV);
+		ps[0] = computeInnerProduct(cPiV, eV, false, null, chunkSize);
 		// - p_2 = u                                                                   [2N]
-		ps[1] = computeInnerProduct(uV, eV);
+		ps[1] = computeInnerProduct(uV, eV, false, null, chunkSize);
 
 		final Tuple pV = Tuple.getInstance(ps);
 
@@ -213,14 +251,79 @@ public class ReEncryptionShuffleProofSystem
 		PreimageProofFunction f = new PreimageProofFunction(this.getCyclicGroup(), this.getSize(),
 															this.getResponseSpace(), this.getCommitmentSpace(),
 															this.getIndependentGenerators(), uPrimeV,
-															this.encryptionScheme, this.encryptionPK);
-		final Element challenge = this.getSigmaChallengeGenerator().generate(publicInput, commitment);
+															this.encryptionScheme, this.encryptionPK, false,
+															null, chunkSize);
+		final Element challenge = transcript == null
+			   ? this.getSigmaChallengeGenerator().generate(publicInput, commitment)
+			   : transcript.getChallenge(commitment);
 		final Element left = f.apply(response);                                   // [3N+3]
 		final Element right = commitment.apply(pV.selfApply(challenge));          //    [3]
 		//                                                                          --------
 		return left.isEquivalent(right);                                          // [6N+6]
 	}
 
+	// The two equations of abstractVerify are rearranged such that all terms are on the left-hand side:
+	// 1. h^w * Prod(g_i^(e'_i)) * t_1^(-1) * Prod(c_pi_i^(-c*e_i)) = 1
+	// 2. Enc(1, -r) * Prod(u'_i^(e'_i)) * t_2^(-1) * Prod(u_i^(-c*e_i)) = 1
+	@Override
+	protected void defaultAddVerificationEquations(BatchVerifier verifier, Tuple proof, Tuple publicInput) {
+
+		// Unfold proof and public input
+		final Tuple commitment = (Tuple) proof.getAt(1);
+		final Tuple response = (Tuple) proof.getAt(3);
+		final Tuple cPiV = (Tuple) publicInput.getFirst();
+		final Tuple uV = (Tuple) publicInput.getAt(1);
+		final Tuple uPrimeV = (Tuple) publicInput.getAt(2);
+		final Tuple eV = (Tuple) this.getEValuesGenerator().generate(publicInput);
+		final Element challenge = this.getSigmaChallengeGenerator().generate(publicInput, commitment);
+		final BigInteger c = ((Element<BigInteger>) challenge).getValue();
+		final Element r = response.getAt(0);
+		final Tuple ePrimeV = (Tuple) response.getAt(2);
+		final Tuple generators = this.getIndependentGenerators();
+		final int size = this.getSize();
+
+		final Element[] elements1 = new Element[2 * size + 2];
+		final Element[] elements2 = new Element[2 * size + 2];
+		final BigInteger[] amounts1 = new BigInteger[2 * size + 2];
+		final BigInteger[] amounts2 = new BigInteger[2 * size + 2];
+		elements1[0] = generators.getAt(0);
+		amounts1[0] = ((Element<BigInteger>) response.getAt(1)).getValue();
+		elements1[1] = commitment.getAt(0);
+		amounts1[1] = MathUtil.ONE.negate();
+		elements2[0] = this.encryptionScheme.encrypt(this.encryptionPK,
+													 this.encryptionScheme.getMessageSpace().getIdentityElement(),
+													 r.invert());                         // [2]
+		amounts2[0] = MathUtil.ONE;
+		elements2[1] = commitment.getAt(1);
+		amounts2[1] = MathUtil.ONE.negate();
+		for (int i = 0; i < size; i++) {
+			final BigInteger ePrime = ((Element<BigInteger>) ePrimeV.getAt(i)).getValue();
+			final BigInteger ce = c.multiply(((Element<BigInteger>) eV.getAt(i)).getValue()).negate();
+			elements1[i + 2] = generators.getAt(i + 1);
+			amounts1[i + 2] = ePrime;
+			elements1[size + i + 2] = cPiV.getAt(i);
+			amounts1[size + i + 2] = ce;
+			elements2[i + 2] = uPrimeV.getAt(i);
+			amounts2[i + 2] = ePrime;
+			elements2[size + i + 2] = uV.getAt(i);
+			amounts2[size + i + 2] = ce;
+		}
+		verifier.addEquation(elements1, amounts1);
+		verifier.addEquation(elements2, amounts2);
+	}
+
+	// Helper to compute the inner product sequentially, in parallel if an executor is given, or in chunks if a chunk
+	// size is given
+	private static Element computeInnerProduct(Tuple t1, Tuple t2, boolean secret, Executor executor, int chunkSize) {
+		if (executor != null) {
+			return computeInnerProduct(t1, t2, secret, executor);
+		}
+		if (chunkSize > 0) {
+			return computeInnerProduct(t1, t2, secret, chunkSize);
+		}
+		return computeInnerProduct(t1, t2, secret);
+	}
+
 	//===================================================================================
 	// Nested class PreimageProofFunction
 	//
@@ -232,14 +335,22 @@ public class ReEncryptionShuffleProofSystem
 		private final ReEncryptionScheme encryptionScheme;
 		private final Element encryptionPK;
 		private final GeneralizedPedersenCommitmentScheme gpcs;
+		private final boolean secret;
+		private final Executor executor;
+		private final int chunkSize;
 
+		// the function is applied to secret values if secret is true, i.e., when it is used by the prover
 		protected PreimageProofFunction(CyclicGroup cyclicGroup, int size, ProductGroup domain, ProductGroup coDomain,
-			   Tuple independentGenerators, Tuple uPrimeV, ReEncryptionScheme encryptionScheme, Element encryptionPK) {
+			   Tuple independentGenerators, Tuple uPrimeV, ReEncryptionScheme encryptionScheme, Element encryptionPK,
+			   boolean secret, Executor executor, int chunkSize) {
 			super(domain, coDomain);
 			this.cyclicGroup = cyclicGroup;
 			this.uPrimeV = uPrimeV;
 			this.encryptionScheme = encryptionScheme;
 			this.encryptionPK = encryptionPK;
+			this.secret = secret;
+			this.executor = executor;
+			this.chunkSize = chunkSize;
 			this.gpcs = GeneralizedPedersenCommitmentScheme.getInstance(independentGenerators.getAt(0),
 																		independentGenerators.extract(1, size));
 		}
@@ -262,10 +373,12 @@ public class ReEncryptionShuffleProofSystem
 			for (int i = 0; i < ePrimeV.getArity(); i++) {
 				ePrimeVs[i] = zMod.getElement(((ZModElement) ePrimeV.getAt(i)).getValue().mod(zMod.getOrder()));
 			}
-			cV[0] = gpcs.commit(Tuple.getInstance(ePrimeVs), w);
+			cV[0] = gpcs.getRandomizationGenerator().selfApply(w).apply(
+				   computeInnerProduct(gpcs.getMessageGenerators(), Tuple.getInstance(ePrimeVs), this.secret,
+									   this.executor, this.chunkSize));
 
 			// - Prod(u'_i^(e'_i)) * Enc(1, -r)         [2n+2]
-			final Element a = computeInnerProduct(this.uPrimeV, ePrimeV);
+			final Element a = computeInnerProduct(this.uPrimeV, ePrimeV, this.secret, this.executor, this.chunkSize);
 			final Element b
 				   = encryptionScheme.encrypt(encryptionPK, encryptionScheme.getMessageSpace().getIdentityElement(),
 											  r.invert());
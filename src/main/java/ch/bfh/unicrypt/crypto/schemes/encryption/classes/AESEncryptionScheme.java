@@ -46,22 +46,30 @@ import ch.bfh.unicrypt.UniCryptRuntimeException;
 import ch.bfh.unicrypt.crypto.keygenerator.classes.ByteArrayKeyGenerator;
 import ch.bfh.unicrypt.crypto.schemes.encryption.abstracts.AbstractSymmetricEncryptionScheme;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.concurrent.ConcurrentUtil;
+import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.helper.random.RandomByteSequence;
+import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
 import ch.bfh.unicrypt.math.algebra.concatenative.classes.ByteArrayElement;
 import ch.bfh.unicrypt.math.algebra.concatenative.classes.ByteArrayMonoid;
 import ch.bfh.unicrypt.math.algebra.general.classes.FiniteByteArrayElement;
 import ch.bfh.unicrypt.math.algebra.general.classes.FixedByteArraySet;
 import ch.bfh.unicrypt.math.algebra.general.classes.Pair;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.function.abstracts.AbstractFunction;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
+import java.nio.ByteBuffer;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 
@@ -87,7 +95,7 @@ public class AESEncryptionScheme
 
 	public enum Mode {
 
-		CBC, ECB
+		CBC, ECB, CTR
 
 	};
 
@@ -99,21 +107,26 @@ public class AESEncryptionScheme
 	public static final ByteArrayMonoid AES_SPACE = ByteArrayMonoid.getInstance(AES_BLOCK_SIZE / Byte.SIZE);
 	public static final ByteArray DEFAULT_IV = ByteArray.getInstance(false, AES_BLOCK_SIZE / Byte.SIZE);
 
+	// in CTR mode, each encryption starts at a fresh random counter block, which precedes the encrypted bytes (the
+	// initialization vector of the scheme is not used in this mode)
+	public static final int NONCE_LENGTH = AES_BLOCK_SIZE / Byte.SIZE;
+
+	// the size of the segments processed in parallel (a multiple of the block size)
+	private static final int SEGMENT_SIZE = 1 << 20;
+
 	private final KeyLength keyLength;
 	private final Mode mode;
 	private final ByteArray initializationVector;
-	private Cipher cipher;
+
+	// the ciphers used by the different threads, which are only re-initialized when the key changes
+	private final transient ThreadLocal<CipherState> cipherStates;
 
 	protected AESEncryptionScheme(KeyLength keyLength, Mode mode, ByteArray initializationVector) {
 		super(AES_SPACE, AES_SPACE);
 		this.keyLength = keyLength;
 		this.mode = mode;
 		this.initializationVector = initializationVector;
-		try {
-			this.cipher = Cipher.getInstance(ALGORITHM_NAME + "/" + mode + "/NoPadding");
-		} catch (NoSuchAlgorithmException | NoSuchPaddingException exception) {
-			throw new UniCryptRuntimeException(ErrorCode.JAVA_AES_FAILURE, exception);
-		}
+		this.cipherStates = ThreadLocal.withInitial(() -> new CipherState(mode));
 	}
 
 	public KeyLength getKeyLength() {
@@ -154,20 +167,15 @@ public class AESEncryptionScheme
 		protected ByteArrayElement abstractApply(Pair element, RandomByteSequence randomByteSequence) {
 			FiniteByteArrayElement key = (FiniteByteArrayElement) element.getFirst();
 			ByteArrayElement message = (ByteArrayElement) element.getSecond();
-			SecretKeySpec secretKeySpec = new SecretKeySpec(key.getValue().getBytes(), ALGORITHM_NAME);
-			byte[] encryptedBytes;
-			try {
-				if (mode == Mode.CBC) {
-					cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec,
-								new IvParameterSpec(initializationVector.getBytes()));
-				} else {
-					cipher.init(Cipher.ENCRYPT_MODE, secretKeySpec);
-				}
-				encryptedBytes = cipher.doFinal(message.getValue().getBytes());
-			} catch (InvalidKeyException | IllegalBlockSizeException | BadPaddingException
-				   | InvalidAlgorithmParameterException exception) {
-				throw new UniCryptRuntimeException(ErrorCode.JAVA_AES_FAILURE, exception);
+			if (mode == Mode.CTR) {
+				byte[] nonce = randomByteSequence.iterator().next(NONCE_LENGTH).getBytes();
+				byte[] encryptedBytes = cipherStates.get().doFinal(Cipher.ENCRYPT_MODE, key.getValue().getBytes(), nonce,
+																   message.getValue().getBytes());
+				ByteArray encryption = ByteArray.getInstance(nonce).append(ByteArray.getInstance(encryptedBytes));
+				return this.getCoDomain().getElement(encryption);
 			}
+			byte[] encryptedBytes = cipherStates.get().doFinal(Cipher.ENCRYPT_MODE, key.getValue().getBytes(),
+															   initializationVector.getBytes(), message.getValue().getBytes());
 			return this.getCoDomain().getElement(encryptedBytes);
 		}
 
@@ -184,25 +192,175 @@ public class AESEncryptionScheme
 		protected ByteArrayElement abstractApply(Pair element, RandomByteSequence randomByteSequence) {
 			FiniteByteArrayElement key = (FiniteByteArrayElement) element.getFirst();
 			ByteArrayElement encryption = (ByteArrayElement) element.getSecond();
-			SecretKeySpec secretKeySpec = new SecretKeySpec(key.getValue().getBytes(), ALGORITHM_NAME);
-			byte[] message;
-			try {
-				if (mode == Mode.CBC) {
-					cipher.init(Cipher.DECRYPT_MODE, secretKeySpec,
-								new IvParameterSpec(initializationVector.getBytes()));
-				} else {
-					cipher.init(Cipher.DECRYPT_MODE, secretKeySpec);
+			if (mode == Mode.CTR) {
+				ByteArray bytes = encryption.getValue();
+				if (bytes.getLength() < NONCE_LENGTH) {
+					throw new UniCryptRuntimeException(ErrorCode.INVALID_LENGTH, this, bytes.getLength());
 				}
-				message = cipher.doFinal(encryption.getValue().getBytes());
-			} catch (InvalidKeyException | IllegalBlockSizeException | BadPaddingException
-				   | InvalidAlgorithmParameterException exception) {
-				throw new UniCryptRuntimeException(ErrorCode.JAVA_AES_FAILURE, exception);
+				byte[] message = cipherStates.get().doFinal(Cipher.DECRYPT_MODE, key.getValue().getBytes(),
+															bytes.extractPrefix(NONCE_LENGTH).getBytes(),
+															bytes.removePrefix(NONCE_LENGTH).getBytes());
+				return this.getCoDomain().getElement(message);
 			}
+			byte[] message = cipherStates.get().doFinal(Cipher.DECRYPT_MODE, key.getValue().getBytes(),
+														initializationVector.getBytes(), encryption.getValue().getBytes());
 			return this.getCoDomain().getElement(message);
 		}
 
 	}
 
+	/**
+	 * Encrypts the remaining bytes of the input buffer and writes the encryption into the output buffer. Unlike
+	 * {@link #encrypt(Element, Element)}, this method does not represent the message and the encryption as elements,
+	 * which avoids copying large payloads. Except in CTR mode, the number of remaining bytes must be a multiple of the
+	 * AES block size. In CTR mode, a fresh random counter block of length {@link #NONCE_LENGTH} is written to the
+	 * output buffer before the encrypted bytes, i.e., the output buffer must provide space for this additional block.
+	 * The positions of both buffers are advanced by the number of processed bytes.
+	 * <p>
+	 * @param key    The secret key
+	 * @param input  The input buffer
+	 * @param output The output buffer
+	 */
+	public final void encrypt(Element key, ByteBuffer input, ByteBuffer output) {
+		this.checkArguments(Cipher.ENCRYPT_MODE, key, input, output);
+		byte[] ivBytes = this.getInitializationVector(Cipher.ENCRYPT_MODE, input, output);
+		this.process(Cipher.ENCRYPT_MODE, key, ivBytes, input, output);
+	}
+
+	/**
+	 * Encrypts the remaining bytes of the input buffer and writes the encryption into the output buffer. In CTR and ECB
+	 * mode, the input is split into independent segments, which are encrypted in parallel by the given executor. The
+	 * result is the same as the one of {@link #encrypt(Element, ByteBuffer, ByteBuffer)}. In CBC mode, where each
+	 * block depends on the previous one, the encryption is computed sequentially. In CTR mode, the encryption is preceded
+	 * by a fresh random counter block as in {@link #encrypt(Element, ByteBuffer, ByteBuffer)}.
+	 * <p>
+	 * @param key      The secret key
+	 * @param input    The input buffer
+	 * @param output   The output buffer
+	 * @param executor The executor
+	 */
+	public final void encrypt(Element key, ByteBuffer input, ByteBuffer output, Executor executor) {
+		this.checkArguments(Cipher.ENCRYPT_MODE, key, input, output);
+		if (executor == null) {
+			throw new IllegalArgumentException();
+		}
+		byte[] ivBytes = this.getInitializationVector(Cipher.ENCRYPT_MODE, input, output);
+		this.process(Cipher.ENCRYPT_MODE, key, ivBytes, input, output, executor);
+	}
+
+	/**
+	 * Decrypts the remaining bytes of the input buffer and writes the message into the output buffer. This is the
+	 * inverse operation of {@link #encrypt(Element, ByteBuffer, ByteBuffer)}. In CTR mode, the counter block is read
+	 * from the beginning of the input buffer.
+	 * <p>
+	 * @param key    The secret key
+	 * @param input  The input buffer
+	 * @param output The output buffer
+	 */
+	public final void decrypt(Element key, ByteBuffer input, ByteBuffer output) {
+		this.checkArguments(Cipher.DECRYPT_MODE, key, input, output);
+		byte[] ivBytes = this.getInitializationVector(Cipher.DECRYPT_MODE, input, output);
+		this.process(Cipher.DECRYPT_MODE, key, ivBytes, input, output);
+	}
+
+	/**
+	 * Decrypts the remaining bytes of the input buffer and writes the message into the output buffer. In CTR and ECB
+	 * mode, the input is split into independent segments, which are decrypted in parallel by the given executor. This
+	 * is the inverse operation of {@link #encrypt(Element, ByteBuffer, ByteBuffer, Executor)}.
+	 * <p>
+	 * @param key      The secret key
+	 * @param input    The input buffer
+	 * @param output   The output buffer
+	 * @param executor The executor
+	 */
+	public final void decrypt(Element key, ByteBuffer input, ByteBuffer output, Executor executor) {
+		this.checkArguments(Cipher.DECRYPT_MODE, key, input, output);
+		if (executor == null) {
+			throw new IllegalArgumentException();
+		}
+		byte[] ivBytes = this.getInitializationVector(Cipher.DECRYPT_MODE, input, output);
+		this.process(Cipher.DECRYPT_MODE, key, ivBytes, input, output, executor);
+	}
+
+	private void checkArguments(int operationMode, Element key, ByteBuffer input, ByteBuffer output) {
+		if (key == null || input == null || output == null || !this.getEncryptionKeySpace().contains(key)) {
+			throw new IllegalArgumentException();
+		}
+		// the length of the counter block is added to or removed from the output in CTR mode
+		int outputLength = input.remaining();
+		if (this.mode == Mode.CTR) {
+			outputLength += operationMode == Cipher.ENCRYPT_MODE ? NONCE_LENGTH : -NONCE_LENGTH;
+		}
+		if (outputLength < 0 || output.remaining() < outputLength) {
+			throw new IllegalArgumentException();
+		}
+		if (this.mode != Mode.CTR && input.remaining() % AES_SPACE.getBlockLength() != 0) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_LENGTH, this, input.remaining());
+		}
+	}
+
+	// in CTR mode, a fresh counter block is written to the output when encrypting and read from the input when
+	// decrypting, in the other modes the scheme's initialization vector is used
+	private byte[] getInitializationVector(int operationMode, ByteBuffer input, ByteBuffer output) {
+		if (this.mode != Mode.CTR) {
+			return this.initializationVector.getBytes();
+		}
+		byte[] nonce;
+		if (operationMode == Cipher.ENCRYPT_MODE) {
+			nonce = HybridRandomByteSequence.getInstance().iterator().next(NONCE_LENGTH).getBytes();
+			output.put(nonce);
+		} else {
+			nonce = new byte[NONCE_LENGTH];
+			input.get(nonce);
+		}
+		return nonce;
+	}
+
+	private void process(int operationMode, Element key, byte[] ivBytes, ByteBuffer input, ByteBuffer output) {
+		byte[] keyBytes = ((FiniteByteArrayElement) key).getValue().getBytes();
+		this.cipherStates.get().doFinal(operationMode, keyBytes, ivBytes, input, output);
+	}
+
+	private void process(final int operationMode, Element key, final byte[] ivBytes, final ByteBuffer input,
+		   final ByteBuffer output, Executor executor) {
+		if (this.mode == Mode.CBC || input.remaining() <= SEGMENT_SIZE) {
+			this.process(operationMode, key, ivBytes, input, output);
+			return;
+		}
+		final byte[] keyBytes = ((FiniteByteArrayElement) key).getValue().getBytes();
+		final int inputPosition = input.position();
+		final int outputPosition = output.position();
+		final int length = input.remaining();
+		ConcurrentUtil.forEach(MathUtil.divideUp(length, SEGMENT_SIZE), i -> {
+			int offset = i * SEGMENT_SIZE;
+			ByteBuffer segmentInput = input.duplicate();
+			segmentInput.limit(inputPosition + Math.min(length, offset + SEGMENT_SIZE));
+			segmentInput.position(inputPosition + offset);
+			ByteBuffer segmentOutput = output.duplicate();
+			segmentOutput.position(outputPosition + offset);
+			// in CTR mode, the counter of a segment starts at the initial counter plus the number of preceding blocks
+			byte[] segmentIV = this.mode == Mode.CTR
+				   ? AESEncryptionScheme.addToCounter(ivBytes, offset / AES_SPACE.getBlockLength())
+				   : ivBytes;
+			this.cipherStates.get().doFinal(operationMode, keyBytes, segmentIV, segmentInput, segmentOutput);
+		}, executor);
+		input.position(inputPosition + length);
+		output.position(outputPosition + length);
+	}
+
+	// adds the given number of blocks to the 128-bit big-endian counter
+	private static byte[] addToCounter(byte[] counter, long blocks) {
+		byte[] result = counter.clone();
+		int carry = 0;
+		for (int i = result.length - 1; i >= 0 && (blocks != 0 || carry != 0); i--) {
+			int sum = (result[i] & 0xFF) + (int) (blocks & 0xFF) + carry;
+			result[i] = (byte) sum;
+			carry = sum >>> Byte.SIZE;
+			blocks >>>= Byte.SIZE;
+		}
+		return result;
+	}
+
 	/**
 	 * Convenience method in order to easily get a secret AES-key given a password
 	 * <p>
@@ -237,4 +395,73 @@ public class AESEncryptionScheme
 		return new AESEncryptionScheme(keyLength, mode, initializationVector);
 	}
 
+	// the transient cipher states are restored by creating a new instance
+	private Object readResolve() {
+		return new AESEncryptionScheme(this.keyLength, this.mode, this.initializationVector);
+	}
+
+	// the cipher of a single thread together with the parameters of its last initialization
+	private static class CipherState {
+
+		private final Cipher cipher;
+		private final Mode mode;
+		private int operationMode;
+		private byte[] key;
+		private byte[] initializationVector;
+
+		private CipherState(Mode mode) {
+			this.mode = mode;
+			try {
+				this.cipher = Cipher.getInstance(ALGORITHM_NAME + "/" + mode + "/NoPadding");
+			} catch (NoSuchAlgorithmException | NoSuchPaddingException exception) {
+				throw new UniCryptRuntimeException(ErrorCode.JAVA_AES_FAILURE, exception);
+			}
+		}
+
+		private byte[] doFinal(int operationMode, byte[] key, byte[] initializationVector, byte[] input) {
+			this.init(operationMode, key, initializationVector);
+			try {
+				return this.cipher.doFinal(input);
+			} catch (IllegalBlockSizeException | BadPaddingException exception) {
+				this.key = null;
+				throw new UniCryptRuntimeException(ErrorCode.JAVA_AES_FAILURE, exception);
+			}
+		}
+
+		private void doFinal(int operationMode, byte[] key, byte[] initializationVector, ByteBuffer input,
+			   ByteBuffer output) {
+			this.init(operationMode, key, initializationVector);
+			try {
+				this.cipher.doFinal(input, output);
+			} catch (ShortBufferException | IllegalBlockSizeException | BadPaddingException exception) {
+				this.key = null;
+				throw new UniCryptRuntimeException(ErrorCode.JAVA_AES_FAILURE, exception);
+			}
+		}
+
+		// after doFinal, the cipher returns to the state of its last initialization, which can therefore be skipped
+		// if the parameters are unchanged
+		private void init(int operationMode, byte[] key, byte[] initializationVector) {
+			if (this.key != null && this.operationMode == operationMode && Arrays.equals(this.key, key)
+				   && (this.mode == Mode.ECB || Arrays.equals(this.initializationVector, initializationVector))) {
+				return;
+			}
+			SecretKeySpec secretKeySpec = new SecretKeySpec(key, ALGORITHM_NAME);
+			try {
+				if (this.mode == Mode.ECB) {
+					this.cipher.init(operationMode, secretKeySpec);
+				} else {
+					this.cipher.init(operationMode, secretKeySpec, new IvParameterSpec(initializationVector));
+				}
+			} catch (InvalidKeyException | InvalidAlgorithmParameterException exception) {
+				this.key = null;
+				throw new UniCryptRuntimeException(ErrorCode.JAVA_AES_FAILURE, exception);
+			}
+			this.operationMode = operationMode;
+			this.key = key;
+			this.initializationVector = initializationVector;
+		}
+
+	}
+
 }
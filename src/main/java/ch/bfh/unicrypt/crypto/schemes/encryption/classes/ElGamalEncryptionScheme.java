@@ -43,11 +43,17 @@ package ch.bfh.unicrypt.crypto.schemes.encryption.classes;
 
 import ch.bfh.unicrypt.crypto.keygenerator.classes.DiscreteLogarithmKeyGenerator;
 import ch.bfh.unicrypt.crypto.schemes.encryption.abstracts.AbstractReEncryptionScheme;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.concurrent.ConcurrentUtil;
+import ch.bfh.unicrypt.helper.random.RandomByteSequence;
+import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModElement;
 import ch.bfh.unicrypt.math.algebra.general.classes.Pair;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementVector;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
+import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.function.classes.ApplyFunction;
@@ -59,6 +65,7 @@ import ch.bfh.unicrypt.math.function.classes.SelectionFunction;
 import ch.bfh.unicrypt.math.function.classes.SelfApplyFunction;
 import ch.bfh.unicrypt.math.function.classes.SharedDomainFunction;
 import ch.bfh.unicrypt.math.function.interfaces.Function;
+import java.util.concurrent.Executor;
 
 /**
  *
@@ -137,6 +144,119 @@ public class ElGamalEncryptionScheme
 		return this.encryptionFunctionRight;
 	}
 
+	/**
+	 * Encrypts a batch of messages with the same encryption key using the library's default random byte sequence and
+	 * the default executor {@link ConcurrentUtil#getDefaultExecutor()}.
+	 * <p>
+	 * @param encryptionKey The encryption key
+	 * @param messages      The messages
+	 * @return The encrypted messages
+	 * @see ElGamalEncryptionScheme#encryptBatch(Element, Tuple, RandomByteSequence, Executor)
+	 */
+	public final Tuple encryptBatch(Element encryptionKey, Tuple messages) {
+		return this.encryptBatch(encryptionKey, messages, HybridRandomByteSequence.getInstance());
+	}
+
+	/**
+	 * Encrypts a batch of messages with the same encryption key using the given random byte sequence and the default
+	 * executor {@link ConcurrentUtil#getDefaultExecutor()}.
+	 * <p>
+	 * @param encryptionKey      The encryption key
+	 * @param messages           The messages
+	 * @param randomByteSequence The given random byte sequence
+	 * @return The encrypted messages
+	 * @see ElGamalEncryptionScheme#encryptBatch(Element, Tuple, RandomByteSequence, Executor)
+	 */
+	public final Tuple encryptBatch(Element encryptionKey, Tuple messages, RandomByteSequence randomByteSequence) {
+		return this.encryptBatch(encryptionKey, messages, randomByteSequence, ConcurrentUtil.getDefaultExecutor());
+	}
+
+	/**
+	 * Encrypts a batch of messages with the same encryption key. The randomizations are taken sequentially from the
+	 * given random byte sequence, and the encryptions are then computed in parallel by the given executor. The result
+	 * is therefore the same as encrypting the messages one after another using
+	 * {@link ElGamalEncryptionScheme#encrypt(Element, Element, RandomByteSequence)}, independently of the executor.
+	 * No precomputed tables are used, since the randomizations are secret. If the messages are stored in an
+	 * {@link ElementVector}, the encryptions are stored in an element vector as well.
+	 * <p>
+	 * @param encryptionKey      The encryption key
+	 * @param messages           The messages
+	 * @param randomByteSequence The given random byte sequence
+	 * @param executor           The executor
+	 * @return The encrypted messages
+	 */
+	public final Tuple encryptBatch(Element encryptionKey, final Tuple messages, RandomByteSequence randomByteSequence,
+		   Executor executor) {
+		if (encryptionKey == null || messages == null || randomByteSequence == null || executor == null
+			   || !this.getEncryptionKeySpace().contains(encryptionKey)) {
+			throw new IllegalArgumentException();
+		}
+		final int n = messages.getArity();
+		final Element[] randomizations = new Element[n];
+		for (int i = 0; i < n; i++) {
+			randomizations[i] = this.getRandomizationSpace().getRandomElement(randomByteSequence);
+		}
+		final ProductGroup encryptionSpace = this.getEncryptionSpace();
+		final Function generatorFunction = this.getEncryptionFunctionLeft();
+		final Element[] encryptions = new Element[n];
+		ConcurrentUtil.forEach(n, i -> {
+			Element message = messages.getAt(i);
+			if (!cyclicGroup.contains(message)) {
+				throw new IllegalArgumentException();
+			}
+			Element randomization = randomizations[i];
+			encryptions[i] = encryptionSpace.getElement(generatorFunction.apply(randomization),
+														message.apply(encryptionKey.selfApply(randomization)));
+		}, executor);
+		// the representation of the given messages is kept
+		if (n > 0 && messages.getValue() instanceof ElementVector) {
+			return ProductGroup.getInstance(encryptionSpace, n).getCompactElement(DenseArray.getInstance(encryptions));
+		}
+		return Tuple.getInstance(encryptions);
+	}
+
+	/**
+	 * Decrypts a batch of encryptions with the same decryption key using the default executor
+	 * {@link ConcurrentUtil#getDefaultExecutor()}.
+	 * <p>
+	 * @param decryptionKey The decryption key
+	 * @param encryptions   The encryptions
+	 * @return The decrypted messages
+	 * @see ElGamalEncryptionScheme#decryptBatch(Element, Tuple, Executor)
+	 */
+	public final Tuple decryptBatch(Element decryptionKey, Tuple encryptions) {
+		return this.decryptBatch(decryptionKey, encryptions, ConcurrentUtil.getDefaultExecutor());
+	}
+
+	/**
+	 * Decrypts a batch of encryptions with the same decryption key. The decryptions are computed in parallel by the
+	 * given executor. The result is the same as decrypting the encryptions one after another using
+	 * {@link ElGamalEncryptionScheme#decrypt(Element, Element)}.
+	 * <p>
+	 * @param decryptionKey The decryption key
+	 * @param encryptions   The encryptions
+	 * @param executor      The executor
+	 * @return The decrypted messages
+	 */
+	public final Tuple decryptBatch(final Element decryptionKey, final Tuple encryptions, Executor executor) {
+		if (decryptionKey == null || encryptions == null || executor == null
+			   || !this.getDecryptionKeySpace().contains(decryptionKey)) {
+			throw new IllegalArgumentException();
+		}
+		final int n = encryptions.getArity();
+		final ProductGroup encryptionSpace = this.getEncryptionSpace();
+		final Element[] messages = new Element[n];
+		ConcurrentUtil.forEach(n, i -> {
+			Element encryption = encryptions.getAt(i);
+			if (!encryptionSpace.contains(encryption)) {
+				throw new IllegalArgumentException();
+			}
+			Tuple pair = (Tuple) encryption;
+			messages[i] = pair.getAt(1).applyInverse(pair.getAt(0).selfApply(decryptionKey));
+		}, executor);
+		return Tuple.getInstance(messages);
+	}
+
 	public static ElGamalEncryptionScheme getInstance(CyclicGroup cyclicGroup) {
 		if (cyclicGroup == null) {
 			throw new IllegalArgumentException();
@@ -42,6 +42,8 @@
 package ch.bfh.unicrypt.crypto.schemes.sharing.classes;
 
 import ch.bfh.unicrypt.crypto.schemes.sharing.abstracts.AbstractThresholdSecretSharingScheme;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.random.RandomByteSequence;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.PolynomialElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.PolynomialRing;
@@ -111,23 +113,28 @@ public class ShamirSecretSharingScheme
 	@Override
 	protected ZModElement abstractRecover(Tuple shares) {
 		int length = shares.getArity();
-		// Calculating the lagrange coefficients for each point we got
-		DualisticElement product;
-		DualisticElement[] lagrangeCoefficients = new DualisticElement[length];
+		// Calculating the numerators and denominators of the lagrange coefficients for each point we got
+		ZModElement[] numerators = new ZModElement[length];
+		ZModElement[] denominators = new ZModElement[length];
 		for (int j = 0; j < length; j++) {
-			product = null;
-			DualisticElement elementJ = (DualisticElement) shares.getAt(j, 0);
+			ZModElement numerator = this.zModPrime.getOneElement();
+			ZModElement denominator = this.zModPrime.getOneElement();
+			ZModElement elementJ = (ZModElement) shares.getAt(j, 0);
 			for (int l = 0; l < length; l++) {
-				DualisticElement elementL = (DualisticElement) shares.getAt(l, 0);
+				ZModElement elementL = (ZModElement) shares.getAt(l, 0);
 				if (!elementJ.equals(elementL)) {
-					if (product == null) {
-						product = elementL.divide(elementL.subtract(elementJ));
-					} else {
-						product = product.multiply(elementL.divide(elementL.subtract(elementJ)));
-					}
+					numerator = numerator.multiply(elementL);
+					denominator = denominator.multiply(elementL.subtract(elementJ));
 				}
 			}
-			lagrangeCoefficients[j] = product;
+			numerators[j] = numerator;
+			denominators[j] = denominator;
+		}
+		// all denominators are inverted at once
+		ImmutableArray<ZModElement> inverses = this.zModPrime.oneOverAll(DenseArray.getInstance(denominators));
+		DualisticElement[] lagrangeCoefficients = new DualisticElement[length];
+		for (int j = 0; j < length; j++) {
+			lagrangeCoefficients[j] = numerators[j].multiply(inverses.getAt(j));
 		}
 		// multiply the y-value of the point with the lagrange coefficient and sum everything up
 		ZModElement result = this.zModPrime.getIdentityElement();
@@ -43,10 +43,18 @@ package ch.bfh.unicrypt.helper.aggregator.classes;
 
 import ch.bfh.unicrypt.helper.aggregator.abstracts.AbstractAggregator;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.converter.interfaces.Converter;
 import ch.bfh.unicrypt.helper.sequence.Sequence;
 import ch.bfh.unicrypt.helper.sequence.SequenceIterator;
+import ch.bfh.unicrypt.helper.tree.Leaf;
+import ch.bfh.unicrypt.helper.tree.Node;
+import ch.bfh.unicrypt.helper.tree.Tree;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * The single instance of this class specifies the invertible aggregation of a tree of {@code ByteArray} values. Leaves
@@ -84,6 +92,70 @@ public class ByteArrayAggregator
 		return ByteArrayAggregator.instance;
 	}
 
+	/**
+	 * Updates a given message digest with the bytes of {@code aggregate(converter.convert(tree))}, but without
+	 * constructing the tree of byte arrays and the aggregated byte array. The values of the tree are converted one by
+	 * one, and the prefixes and the converted values are fed directly into the message digest. Since the prefixes of
+	 * the nodes depend on the lengths of their children, each value is converted twice.
+	 * <p>
+	 * @param <V>           The generic type of the values stored in the tree
+	 * @param tree          The given tree
+	 * @param converter     The converter for the values stored in the tree
+	 * @param messageDigest The given message digest
+	 */
+	public <V> void aggregate(Tree<V> tree, Converter<V, ByteArray> converter, MessageDigest messageDigest) {
+		if (tree == null || converter == null || messageDigest == null) {
+			throw new IllegalArgumentException();
+		}
+		// the prefix of a node depends on the length of its children, which must therefore be known in advance; the
+		// first pass computes only the lengths of the nodes, the second pass converts the leaves again and feeds them
+		// into the message digest, i.e., no more than one converted value is held in memory at a time
+		List<Integer> nodeLengths = new ArrayList<>();
+		this.computeNodeLengths(tree, converter, nodeLengths);
+		this.update(tree, converter, nodeLengths.iterator(), new byte[PREFIX_LENGTH], messageDigest);
+	}
+
+	// computes the lengths of the nodes in depth-first order, and returns the length of the aggregated tree
+	private <V> int computeNodeLengths(Tree<V> tree, Converter<V, ByteArray> converter, List<Integer> nodeLengths) {
+		if (tree.isLeaf()) {
+			return PREFIX_LENGTH + converter.convert(((Leaf<V>) tree).getValue()).getLength();
+		}
+		int index = nodeLengths.size();
+		nodeLengths.add(0);
+		int byteLength = 0;
+		for (Tree<V> child : ((Node<V>) tree).getChildren()) {
+			byteLength = byteLength + this.computeNodeLengths(child, converter, nodeLengths);
+		}
+		nodeLengths.set(index, byteLength);
+		return PREFIX_LENGTH + byteLength;
+	}
+
+	// feeds the prefixes and the converted values into the message digest in depth-first order
+	private <V> void update(Tree<V> tree, Converter<V, ByteArray> converter, Iterator<Integer> nodeLengths,
+		   byte[] prefix, MessageDigest messageDigest) {
+		if (tree.isLeaf()) {
+			ByteArray value = converter.convert(((Leaf<V>) tree).getValue());
+			setPrefix(prefix, LEAF_IDENTIFIER, value.getLength());
+			messageDigest.update(prefix);
+			value.updateDigest(messageDigest);
+			return;
+		}
+		setPrefix(prefix, NODE_IDENTIFIER, nodeLengths.next());
+		messageDigest.update(prefix);
+		for (Tree<V> child : ((Node<V>) tree).getChildren()) {
+			this.update(child, converter, nodeLengths, prefix, messageDigest);
+		}
+	}
+
+	// big-endian encoding as in ByteBuffer.putInt
+	private static void setPrefix(byte[] prefix, byte identifier, int length) {
+		prefix[0] = identifier;
+		prefix[1] = (byte) (length >>> 24);
+		prefix[2] = (byte) (length >>> 16);
+		prefix[3] = (byte) (length >>> 8);
+		prefix[4] = (byte) length;
+	}
+
 	@Override
 	protected ByteArray abstractAggregateLeaf(ByteArray value) {
 		ByteBuffer buffer = ByteBuffer.allocate(PREFIX_LENGTH + value.getLength());
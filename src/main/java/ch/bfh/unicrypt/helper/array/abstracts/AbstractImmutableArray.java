@@ -95,19 +95,22 @@ abstract public class AbstractImmutableArray<A extends AbstractImmutableArray<A,
 
 	@Override
 	public final boolean isUniform() {
-		if (this.uniform == null) {
-			this.uniform = true;
+		Boolean result = this.uniform;
+		if (result == null) {
+			// the result is computed locally, such that other threads never see an intermediate value
+			result = true;
 			if (this.length > 1) {
 				V first = this.abstractGetAt(0);
 				for (int i = 1; i < this.length; i++) {
 					if (!first.equals(this.abstractGetAt(i))) {
-						this.uniform = false;
+						result = false;
 						break;
 					}
 				}
 			}
+			this.uniform = result;
 		}
-		return this.uniform;
+		return result;
 	}
 
 	@Override
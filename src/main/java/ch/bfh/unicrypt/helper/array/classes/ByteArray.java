@@ -52,6 +52,7 @@ import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.helper.random.RandomByteSequence;
 import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
 import ch.bfh.unicrypt.helper.sequence.Sequence;
+import java.security.MessageDigest;
 import java.util.Arrays;
 
 /**
@@ -291,10 +292,26 @@ public class ByteArray
 			throw new IllegalArgumentException();
 		}
 		this.normalize();
-		byte[] hash = hashAlgorithm.getHashValue(this.bytes);
+		// the internal array of a normalized prefix may be longer than the byte array
+		byte[] hash = new byte[hashAlgorithm.getByteLength()];
+		hashAlgorithm.getHashValue(this.bytes, 0, this.length, hash, 0);
 		return new ByteArray(hash);
 	}
 
+	/**
+	 * Updates a given message digest with the bytes of the byte array. Unlike {@code update(getBytes())}, this method
+	 * does not create a copy of the byte array.
+	 * <p>
+	 * @param messageDigest The given message digest
+	 */
+	public void updateDigest(MessageDigest messageDigest) {
+		if (messageDigest == null) {
+			throw new IllegalArgumentException();
+		}
+		this.normalize();
+		messageDigest.update(this.bytes, 0, this.length);
+	}
+
 	/**
 	 * Creates a new byte array by reversing the bits of each byte. The order of the values in the array remains
 	 * unchanged. Keeping the order of the bytes in the array distinguishes this method from
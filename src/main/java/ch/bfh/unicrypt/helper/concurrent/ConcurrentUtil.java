@@ -0,0 +1,149 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.concurrent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+
+/**
+ * This is a helper class with some static methods for distributing independent computations to the threads of an
+ * {@link Executor}. By contract, the methods of this class do not check the validity of the parameters.
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public final class ConcurrentUtil {
+
+	// the number of chunks per available processor, which balances the load if the chunks are of unequal cost
+	private static final int CHUNKS_PER_PROCESSOR = 4;
+
+	/**
+	 * Returns the executor used by default for parallel computations, which is the common fork-join pool.
+	 * <p>
+	 * @return The default executor
+	 */
+	public static Executor getDefaultExecutor() {
+		return ForkJoinPool.commonPool();
+	}
+
+	/**
+	 * Performs the given task for all indices {@code 0<=i<n}. The indices are split into contiguous chunks, which are
+	 * submitted to the given executor. The method returns when all tasks have been performed. If some of the tasks
+	 * fails, the corresponding exception is re-thrown. Since the order in which the tasks are performed is undefined,
+	 * the task for index {@code i} should only write to a location which is exclusively reserved for {@code i}, for
+	 * example to the {@code i}-th position of an array.
+	 * <p>
+	 * @param n        The number of indices
+	 * @param task     The task
+	 * @param executor The executor
+	 */
+	public static void forEach(int n, IntConsumer task, Executor executor) {
+		int numberOfChunks = getNumberOfChunks(n);
+		if (numberOfChunks <= 1) {
+			for (int i = 0; i < n; i++) {
+				task.accept(i);
+			}
+			return;
+		}
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[numberOfChunks];
+		for (int j = 0; j < numberOfChunks; j++) {
+			final int from = (int) ((long) n * j / numberOfChunks);
+			final int to = (int) ((long) n * (j + 1) / numberOfChunks);
+			futures[j] = CompletableFuture.runAsync(() -> {
+				for (int i = from; i < to; i++) {
+					task.accept(i);
+				}
+			}, executor);
+		}
+		try {
+			CompletableFuture.allOf(futures).join();
+		} catch (CompletionException exception) {
+			// tasks cannot throw checked exceptions
+			Throwable cause = exception.getCause();
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw (RuntimeException) cause;
+		}
+	}
+
+	/**
+	 * Splits the indices {@code 0<=i<n} into contiguous chunks, computes a partial result for each chunk by applying the
+	 * given task to the chunk's lower (inclusive) and upper (exclusive) bound, and combines the partial results from
+	 * left to right. The chunks are processed by the given executor. The result does not depend on the number of
+	 * threads of the executor, provided that the combiner is associative and that the task computes the same result
+	 * as the combination of the results of any partition of the chunk.
+	 * <p>
+	 * @param <T>      The generic type of the result
+	 * @param n        The number of indices
+	 * @param task     The task computing the partial result of a chunk
+	 * @param combiner The combiner of two partial results
+	 * @param executor The executor
+	 * @return The combined result
+	 */
+	public static <T> T reduce(int n, BiFunction<Integer, Integer, T> task, BinaryOperator<T> combiner,
+		   Executor executor) {
+		final int numberOfChunks = getNumberOfChunks(n);
+		if (numberOfChunks <= 1) {
+			return task.apply(0, n);
+		}
+		final Object[] results = new Object[numberOfChunks];
+		forEach(numberOfChunks, j -> {
+			results[j] = task.apply((int) ((long) n * j / numberOfChunks), (int) ((long) n * (j + 1) / numberOfChunks));
+		}, executor);
+		T result = (T) results[0];
+		for (int j = 1; j < numberOfChunks; j++) {
+			result = combiner.apply(result, (T) results[j]);
+		}
+		return result;
+	}
+
+	private static int getNumberOfChunks(int n) {
+		return Math.min(n, CHUNKS_PER_PROCESSOR * Runtime.getRuntime().availableProcessors());
+	}
+
+}
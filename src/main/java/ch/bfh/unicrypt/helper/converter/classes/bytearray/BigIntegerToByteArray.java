@@ -60,11 +60,12 @@ public class BigIntegerToByteArray
 
 	private static final long serialVersionUID = 1L;
 
-	private final ByteOrder byteOrder;
+	// the byte order is stored as a boolean, since ByteOrder is not serializable
+	private final boolean littleEndian;
 
 	protected BigIntegerToByteArray(ByteOrder byteOrder) {
 		super(BigInteger.class);
-		this.byteOrder = byteOrder;
+		this.littleEndian = byteOrder == ByteOrder.LITTLE_ENDIAN;
 	}
 
 	/**
@@ -107,7 +108,7 @@ public class BigIntegerToByteArray
 	@Override
 	public ByteArray abstractConvert(BigInteger value) {
 		ByteArray result = new SafeByteArray(value.toByteArray());
-		if (this.byteOrder == ByteOrder.LITTLE_ENDIAN) {
+		if (this.littleEndian) {
 			return result.reverse();
 		}
 		return result;
@@ -116,7 +117,7 @@ public class BigIntegerToByteArray
 	@Override
 	public BigInteger abstractReconvert(ByteArray byteArray) {
 		byte[] bytes;
-		if (this.byteOrder == ByteOrder.LITTLE_ENDIAN) {
+		if (this.littleEndian) {
 			bytes = byteArray.reverse().getBytes();
 		} else {
 			bytes = byteArray.getBytes();
@@ -0,0 +1,199 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.hash;
+
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.math.MathUtil;
+import java.security.DigestException;
+import java.security.MessageDigest;
+
+/**
+ * Instances of this class compute HMAC values as defined in RFC 2104 "HMAC: Keyed-Hashing for Message Authentication"
+ * for a fixed key and hash algorithm. The states of the underlying {@link MessageDigest} after processing the inner
+ * and the outer padded key are computed once, when the instance is created. Every HMAC computation continues from
+ * copies of these states, which saves two calls of the hash algorithm's compression function. This is useful when many
+ * HMAC values are computed for the same key, for example in PBKDF2.
+ * <p>
+ * Instances of this class are not thread-safe. Independent instances for the same key can be created by calling
+ * {@link #getInstance(HashAlgorithm, ByteArray)} multiple times.
+ * <p>
+ * @see HashAlgorithm#getHashValue(ByteArray, ByteArray)
+ * @author R. Haenni
+ * @version 2.0
+ */
+public final class HMAC {
+
+	private static final byte INNER_PAD_BYTE = MathUtil.getByte(0x36);
+	private static final byte OUTER_PAD_BYTE = MathUtil.getByte(0x5C);
+
+	private final HashAlgorithm hashAlgorithm;
+
+	// the padded keys XOR-ed with the inner and outer pad bytes
+	private final byte[] innerPad;
+	private final byte[] outerPad;
+
+	// the states of the hash algorithm after processing the padded keys
+	private final MessageDigest innerDigest;
+	private final MessageDigest outerDigest;
+
+	// a buffer for the inner hash value
+	private final byte[] innerHash;
+
+	private HMAC(HashAlgorithm hashAlgorithm, byte[] key) {
+		this.hashAlgorithm = hashAlgorithm;
+		int blockLength = hashAlgorithm.getBlockLength();
+		if (key.length > blockLength) {
+			key = hashAlgorithm.getHashValue(key);
+		}
+		this.innerPad = new byte[blockLength];
+		this.outerPad = new byte[blockLength];
+		for (int i = 0; i < blockLength; i++) {
+			// keys shorter than the block length are padded with zeros
+			byte keyByte = i < key.length ? key[i] : 0;
+			this.innerPad[i] = MathUtil.xor(keyByte, INNER_PAD_BYTE);
+			this.outerPad[i] = MathUtil.xor(keyByte, OUTER_PAD_BYTE);
+		}
+		this.innerDigest = hashAlgorithm.createMessageDigest();
+		this.innerDigest.update(this.innerPad);
+		this.outerDigest = hashAlgorithm.createMessageDigest();
+		this.outerDigest.update(this.outerPad);
+		this.innerHash = new byte[hashAlgorithm.getByteLength()];
+	}
+
+	/**
+	 * Creates a new HMAC instance for the given hash algorithm and key.
+	 * <p>
+	 * @param hashAlgorithm The given hash algorithm
+	 * @param key           The given key
+	 * @return The new HMAC instance
+	 */
+	public static HMAC getInstance(HashAlgorithm hashAlgorithm, ByteArray key) {
+		if (hashAlgorithm == null || key == null) {
+			throw new IllegalArgumentException();
+		}
+		return new HMAC(hashAlgorithm, key.getBytes());
+	}
+
+	/**
+	 * Returns the hash algorithm used for computing the HMAC values.
+	 * <p>
+	 * @return The hash algorithm
+	 */
+	public HashAlgorithm getHashAlgorithm() {
+		return this.hashAlgorithm;
+	}
+
+	/**
+	 * Returns the byte length of the HMAC values, which is equal to the byte length of the hash algorithm.
+	 * <p>
+	 * @return The byte length
+	 */
+	public int getByteLength() {
+		return this.hashAlgorithm.getByteLength();
+	}
+
+	/**
+	 * Computes the HMAC value of the given byte array.
+	 * <p>
+	 * @param message The given byte array
+	 * @return The HMAC value
+	 */
+	public ByteArray getHashValue(ByteArray message) {
+		if (message == null) {
+			throw new IllegalArgumentException();
+		}
+		MessageDigest messageDigest = this.getKeyedDigest(this.innerDigest, this.innerPad);
+		message.updateDigest(messageDigest);
+		byte[] hashValue = new byte[this.getByteLength()];
+		this.finish(messageDigest, hashValue, 0);
+		return ByteArray.getInstance(hashValue);
+	}
+
+	/**
+	 * Computes the HMAC value of the bytes {@code message[offset]} to {@code message[offset+length-1]} and writes it
+	 * into the given Java array, starting at {@code hashOffset}. The message and the target array may be identical, for
+	 * example when HMAC values are computed iteratively.
+	 * <p>
+	 * @param message    The Java array containing the message
+	 * @param offset     The offset of the message
+	 * @param length     The length of the message
+	 * @param hashValue  The Java array for the HMAC value
+	 * @param hashOffset The offset of the HMAC value
+	 */
+	public void getHashValue(byte[] message, int offset, int length, byte[] hashValue, int hashOffset) {
+		if (message == null || hashValue == null || offset < 0 || length < 0 || offset > message.length - length
+			   || hashOffset < 0 || hashOffset > hashValue.length - this.getByteLength()) {
+			throw new IllegalArgumentException();
+		}
+		MessageDigest messageDigest = this.getKeyedDigest(this.innerDigest, this.innerPad);
+		messageDigest.update(message, offset, length);
+		this.finish(messageDigest, hashValue, hashOffset);
+	}
+
+	// completes the inner hash and computes the outer hash
+	private void finish(MessageDigest messageDigest, byte[] hashValue, int hashOffset) {
+		HMAC.digest(messageDigest, this.innerHash, 0);
+		messageDigest = this.getKeyedDigest(this.outerDigest, this.outerPad);
+		messageDigest.update(this.innerHash);
+		HMAC.digest(messageDigest, hashValue, hashOffset);
+	}
+
+	// returns a copy of the state after processing the padded key
+	private MessageDigest getKeyedDigest(MessageDigest keyedDigest, byte[] pad) {
+		try {
+			return (MessageDigest) keyedDigest.clone();
+		} catch (final CloneNotSupportedException exception) {
+			MessageDigest messageDigest = this.hashAlgorithm.createMessageDigest();
+			messageDigest.update(pad);
+			return messageDigest;
+		}
+	}
+
+	private static void digest(MessageDigest messageDigest, byte[] hashValue, int hashOffset) {
+		try {
+			messageDigest.digest(hashValue, hashOffset, messageDigest.getDigestLength());
+		} catch (final DigestException exception) {
+			throw new IllegalStateException(exception); // impossible case
+		}
+	}
+
+}
@@ -43,7 +43,7 @@ package ch.bfh.unicrypt.helper.hash;
 
 import ch.bfh.unicrypt.UniCrypt;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
-import ch.bfh.unicrypt.helper.math.MathUtil;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
@@ -53,7 +53,11 @@ import java.security.NoSuchAlgorithmException;
  * byte arrays into fixed-length byte arrays. The resulting byte array is called hash value of the input.
  * <p>
  * There are also methods to compute keyed hash values based on HMAC as defined in RFC 2104 "HMAC: Keyed-Hashing for
- * Message Authentication".
+ * Message Authentication". They are computed by instances of {@link HMAC}.
+ * <p>
+ * Instances of this class are thread-safe without synchronization. Each thread computes hash values with its own
+ * instance of {@link MessageDigest}, and independent instances for incremental hashing can be obtained from
+ * {@link #createMessageDigest()}.
  * <p>
  * @author R. Haenni
  * @author R. E. Koenig
@@ -92,8 +96,14 @@ public class HashAlgorithm
 	// The name of the algorithm
 	private final String algorithmName;
 
-	// An instance of MessageDigest to execute the algorithm
-	private final MessageDigest messageDigest;
+	// An instance of MessageDigest, which is never used directly, but cloned for creating new instances
+	private final transient MessageDigest prototype;
+
+	// The instances of MessageDigest used by the different threads
+	private final transient ThreadLocal<MessageDigest> messageDigests;
+
+	// The byte length of the hash values
+	private final int byteLength;
 
 	// The block length of the algorithm (used in HMAC)
 	private final int blockLength;
@@ -101,10 +111,12 @@ public class HashAlgorithm
 	private HashAlgorithm(String algorithmName) {
 		this.algorithmName = algorithmName;
 		try {
-			this.messageDigest = MessageDigest.getInstance(algorithmName);
+			this.prototype = MessageDigest.getInstance(algorithmName);
 		} catch (final NoSuchAlgorithmException e) {
 			throw new IllegalArgumentException();
 		}
+		this.messageDigests = ThreadLocal.withInitial(() -> this.createMessageDigest());
+		this.byteLength = this.prototype.getDigestLength();
 		switch (algorithmName) {
 			case "SHA-1":
 				this.blockLength = 64;
@@ -136,20 +148,61 @@ public class HashAlgorithm
 	}
 
 	/**
-	 * Returns the hash value of a given Java byte array.
+	 * Creates a new instance of {@link MessageDigest} for this hash algorithm. It can be used for computing hash values
+	 * incrementally with {@link MessageDigest#update(byte[], int, int)} and
+	 * {@link MessageDigest#digest(byte[], int, int)}, i.e., without allocating new byte arrays for the input or the
+	 * hash value. Like every instance of {@link MessageDigest}, the returned instance is not thread-safe.
 	 * <p>
-	 * This method must be synchronized in order to work properly in multi-threaded environment. The underlying
-	 * messageDigest is not thread safe
+	 * @return The new instance of {@link MessageDigest}
+	 */
+	public MessageDigest createMessageDigest() {
+		try {
+			return (MessageDigest) this.prototype.clone();
+		} catch (final CloneNotSupportedException e) {
+			try {
+				return MessageDigest.getInstance(this.algorithmName);
+			} catch (final NoSuchAlgorithmException ex) {
+				throw new IllegalStateException(ex); // impossible case
+			}
+		}
+	}
+
+	/**
+	 * Returns the hash value of a given Java byte array.
 	 * <p>
 	 * @param message The given Java byte array
 	 * @return The hash value
 	 */
-	public synchronized byte[] getHashValue(byte[] message) {
+	public byte[] getHashValue(byte[] message) {
 		if (message == null) {
 			throw new IllegalArgumentException();
 		}
-		return this.messageDigest.digest(message);
+		return this.messageDigests.get().digest(message);
+	}
 
+	/**
+	 * Computes the hash value of {@code length} bytes of a given Java byte array starting at {@code offset}, and writes
+	 * the result into a given Java byte array starting at {@code hashOffset}. No new byte arrays are allocated.
+	 * <p>
+	 * @param message    The given Java byte array
+	 * @param offset     The offset of the input bytes
+	 * @param length     The number of input bytes
+	 * @param hashValue  The Java byte array for the hash value
+	 * @param hashOffset The offset of the hash value
+	 */
+	public void getHashValue(byte[] message, int offset, int length, byte[] hashValue, int hashOffset) {
+		if (message == null || hashValue == null || offset < 0 || length < 0 || offset > message.length - length
+			   || hashOffset < 0 || hashOffset > hashValue.length - this.byteLength) {
+			throw new IllegalArgumentException();
+		}
+		MessageDigest messageDigest = this.messageDigests.get();
+		messageDigest.update(message, offset, length);
+		try {
+			messageDigest.digest(hashValue, hashOffset, this.byteLength);
+		} catch (final DigestException e) {
+			messageDigest.reset();
+			throw new IllegalArgumentException(e);
+		}
 	}
 
 	/**
@@ -178,7 +231,8 @@ public class HashAlgorithm
 	}
 
 	/**
-	 * Returns the HMAC value (RFC 2104) for a given byte array and key.
+	 * Returns the HMAC value (RFC 2104) for a given byte array and key. To compute multiple HMAC values for the same
+	 * key, it is more efficient to create a single instance of {@link HMAC}.
 	 * <p>
 	 * @param message The given byte array
 	 * @param key     The given key
@@ -188,20 +242,7 @@ public class HashAlgorithm
 		if (message == null || key == null) {
 			throw new IllegalArgumentException();
 		}
-		if (key.getLength() > this.blockLength) {
-			key = key.getHashValue(this);
-		}
-		if (key.getLength() < this.blockLength) {
-			key = key.addSuffix(this.blockLength - key.getLength());
-		}
-		ByteArray ipad = ByteArray.getInstance(MathUtil.getByte(0x36), this.blockLength);
-		ByteArray byteArray1 = key.xor(ipad).append(message).getHashValue(this);
-		ByteArray opad = ByteArray.getInstance(MathUtil.getByte(0x5C), this.blockLength);
-		ByteArray byteArray2 = key.xor(opad);
-		// according to RFC 2104
-		return byteArray2.append(byteArray1).getHashValue(this);
-		// according to FIPS 198
-		//return byteArray2.append(byteArray1).append(message).getHashValue(this);
+		return HMAC.getInstance(this, key).getHashValue(message);
 	}
 
 	/**
@@ -222,7 +263,17 @@ public class HashAlgorithm
 	 * @return The byte length
 	 */
 	public int getByteLength() {
-		return this.messageDigest.getDigestLength();
+		return this.byteLength;
+	}
+
+	/**
+	 * Returns the block length (number of bytes) of the input blocks processed by this hash algorithm. The block length
+	 * determines the length of the padded keys in HMAC.
+	 * <p>
+	 * @return The block length
+	 */
+	public int getBlockLength() {
+		return this.blockLength;
 	}
 
 	/**
@@ -266,6 +317,11 @@ public class HashAlgorithm
 		throw new IllegalArgumentException();
 	}
 
+	// the transient fields are restored by replacing deserialized instances by the corresponding constant
+	private Object readResolve() {
+		return HashAlgorithm.getInstance(this.algorithmName);
+	}
+
 	@Override
 	protected String defaultToStringContent() {
 		return this.algorithmName;
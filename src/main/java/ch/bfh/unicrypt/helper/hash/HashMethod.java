@@ -42,6 +42,7 @@
 package ch.bfh.unicrypt.helper.hash;
 
 import ch.bfh.unicrypt.UniCrypt;
+import ch.bfh.unicrypt.helper.aggregator.classes.ByteArrayAggregator;
 import ch.bfh.unicrypt.helper.aggregator.interfaces.Aggregator;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.converter.classes.bytearray.ByteArrayToByteArray;
@@ -49,7 +50,10 @@ import ch.bfh.unicrypt.helper.converter.interfaces.Converter;
 import ch.bfh.unicrypt.helper.tree.Leaf;
 import ch.bfh.unicrypt.helper.tree.Node;
 import ch.bfh.unicrypt.helper.tree.Tree;
-import java.nio.ByteBuffer;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The purpose of this class is to extend the applicability of hash algorithms from single byte array input objects to
@@ -75,6 +79,9 @@ import java.nio.ByteBuffer;
  * All instances of this class allow the computation of hash values for single values of type {@code V} (using the
  * converter only) and trees of type {@code Tree<V>}.
  * <p>
+ * In CRH, and in CAH for the default byte array aggregator, the values stored in the tree are converted one by one and
+ * fed directly into the hash algorithm. Neither the tree of byte arrays nor the aggregated byte array are constructed.
+ * <p>
  * @author R. Haenni
  * @version 2.0
  * @param <V> The generic type of this hash method
@@ -291,8 +298,9 @@ public class HashMethod<V>
 		}
 		switch (this.mode) {
 			case CRH: {
-				Tree<ByteArray> byteArrayTree = this.converter.convert(tree);
-				return new SafeByteArray(this.getRecursiveHashValue(byteArrayTree));
+				byte[] hashValue = new byte[this.hashAlgorithm.getByteLength()];
+				this.computeRecursiveHashValue(tree, new ArrayList<>(), 0, hashValue);
+				return new SafeByteArray(hashValue);
 			}
 			case ACH: {
 				V value = this.valueAggregator.aggregate(tree);
@@ -300,6 +308,11 @@ public class HashMethod<V>
 				return this.hashAlgorithm.getHashValue(byteArray);
 			}
 			case CAH: {
+				if (this.byteArrayAggregator.getClass() == ByteArrayAggregator.class) {
+					MessageDigest messageDigest = this.hashAlgorithm.createMessageDigest();
+					((ByteArrayAggregator) this.byteArrayAggregator).aggregate(tree, this.converter, messageDigest);
+					return new SafeByteArray(messageDigest.digest());
+				}
 				Tree<ByteArray> byteArrayTree = this.converter.convert(tree);
 				ByteArray byteArray = this.byteArrayAggregator.aggregate(byteArrayTree);
 				return this.hashAlgorithm.getHashValue(byteArray);
@@ -308,6 +321,40 @@ public class HashMethod<V>
 		throw new IllegalStateException(); // impossible case
 	}
 
+	/**
+	 * Returns {@code true} if this is a CRH hash method. In CRH, the hash value of a node depends only on the hash
+	 * values of its children. Therefore, the hash values of large subtrees can be computed separately and combined
+	 * later using {@link #getNodeHashValue(ByteArray...)}.
+	 * <p>
+	 * @return {@code true} if this is a CRH hash method, {@code false} otherwise
+	 */
+	public final boolean isRecursive() {
+		return this.mode == Mode.CRH;
+	}
+
+	/**
+	 * Returns the hash value of a node from the hash values of its children. This is only possible in CRH, where the
+	 * result is equal to the hash value of the whole tree. For example, {@code getNodeHashValue(h1, h2)} returns the
+	 * same hash value as {@code getHashValue(Tree.getInstance(t1, t2))}, if {@code h1} and {@code h2} are the hash
+	 * values of the trees {@code t1} and {@code t2}.
+	 * <p>
+	 * @param hashValues The hash values of the children
+	 * @return The resulting hash value
+	 */
+	public final ByteArray getNodeHashValue(ByteArray... hashValues) {
+		if (hashValues == null || this.mode != Mode.CRH) {
+			throw new IllegalArgumentException();
+		}
+		MessageDigest messageDigest = this.hashAlgorithm.createMessageDigest();
+		for (ByteArray hashValue : hashValues) {
+			if (hashValue == null || hashValue.getLength() != this.hashAlgorithm.getByteLength()) {
+				throw new IllegalArgumentException();
+			}
+			hashValue.updateDigest(messageDigest);
+		}
+		return new SafeByteArray(messageDigest.digest());
+	}
+
 	/**
 	 * Returns that hash algorithm used in this hash method.
 	 * <p>
@@ -344,20 +391,31 @@ public class HashMethod<V>
 		return this.byteArrayAggregator;
 	}
 
-	// a private method to compute hash value recursively
-	private byte[] getRecursiveHashValue(Tree<ByteArray> tree) {
+	// a private method to compute hash value recursively, which writes the result into the given Java byte array; the
+	// message digests for the different levels of the tree are taken from the given list
+	private void computeRecursiveHashValue(Tree<V> tree, List<MessageDigest> messageDigests, int level,
+		   byte[] hashValue) {
+		if (messageDigests.size() == level) {
+			messageDigests.add(this.hashAlgorithm.createMessageDigest());
+		}
+		MessageDigest messageDigest = messageDigests.get(level);
 		// Case 1: tree is a leaf
 		if (tree.isLeaf()) {
-			Leaf<ByteArray> leaf = (Leaf<ByteArray>) tree;
-			return this.hashAlgorithm.getHashValue(leaf.getValue().getBytes());
+			Leaf<V> leaf = (Leaf<V>) tree;
+			this.converter.convert(leaf.getValue()).updateDigest(messageDigest);
+		} else {
+			// Case 2: tree is a node
+			Node<V> node = (Node<V>) tree;
+			for (Tree<V> child : node.getChildren()) {
+				this.computeRecursiveHashValue(child, messageDigests, level + 1, hashValue);
+				messageDigest.update(hashValue);
+			}
 		}
-		// Case 2: tree is a node
-		Node<ByteArray> node = (Node<ByteArray>) tree;
-		ByteBuffer bb = ByteBuffer.allocate(node.getSize() * this.hashAlgorithm.getByteLength());
-		for (Tree<ByteArray> child : node.getChildren()) {
-			bb.put(this.getRecursiveHashValue(child));
+		try {
+			messageDigest.digest(hashValue, 0, hashValue.length);
+		} catch (DigestException exception) {
+			throw new IllegalStateException(exception); // impossible case
 		}
-		return this.hashAlgorithm.getHashValue(bb.array());
 	}
 
 }
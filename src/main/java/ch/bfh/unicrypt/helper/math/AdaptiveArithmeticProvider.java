@@ -0,0 +1,149 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.math;
+
+import java.math.BigInteger;
+
+/**
+ * This class implements {@link ModularArithmeticProvider} by delegating each operation to one of two providers,
+ * depending on the bit length of the operands. Operations on small operands are delegated to
+ * {@link JavaArithmeticProvider}, for which the cost of a native call would dominate, whereas operations on large
+ * operands are delegated to {@link GmpArithmeticProvider}, provided that the native GMP library is available.
+ * <p>
+ * Modular exponentiations are an exception. Since their exponents are often secret, they are always delegated to
+ * {@link GmpArithmeticProvider} (if available), which computes them in constant time for odd moduli. Delegating
+ * modular exponentiations for small moduli to the faster, but not constant-time {@link BigInteger#modPow} must be
+ * enabled explicitly by setting the system property {@link #VARIABLE_TIME_PROPERTY} to {@code true}.
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public final class AdaptiveArithmeticProvider
+	   implements ModularArithmeticProvider {
+
+	/**
+	 * Operands up to this bit length are considered small. On HotSpot, {@link BigInteger#modPow} is faster than a
+	 * native call to GMP up to a modulus of about 600 bits.
+	 */
+	public static final int SMALL_BIT_LENGTH = 640;
+
+	/**
+	 * The name of the system property for enabling variable-time modular exponentiations for small moduli.
+	 */
+	public static final String VARIABLE_TIME_PROPERTY = "unicrypt.arithmetic.variableTime";
+
+	private static AdaptiveArithmeticProvider instance = null;
+
+	private final ModularArithmeticProvider smallProvider;
+	private final ModularArithmeticProvider largeProvider;
+	private final boolean variableTime;
+
+	private AdaptiveArithmeticProvider(ModularArithmeticProvider smallProvider, ModularArithmeticProvider largeProvider,
+		   boolean variableTime) {
+		this.smallProvider = smallProvider;
+		this.largeProvider = largeProvider;
+		this.variableTime = variableTime;
+	}
+
+	@Override
+	public String getName() {
+		return AUTO;
+	}
+
+	/**
+	 * Returns the provider for operands of a given bit length.
+	 * <p>
+	 * @param bitLength The bit length
+	 * @return The provider for this bit length
+	 */
+	public ModularArithmeticProvider getProvider(int bitLength) {
+		return bitLength <= SMALL_BIT_LENGTH ? this.smallProvider : this.largeProvider;
+	}
+
+	/**
+	 * Returns the provider for modular exponentiations with a modulus of a given bit length. Unless
+	 * {@link #VARIABLE_TIME_PROPERTY} is set, this is the provider for large operands, independently of the bit length.
+	 * <p>
+	 * @param bitLength The bit length of the modulus
+	 * @return The provider for modular exponentiations
+	 */
+	public ModularArithmeticProvider getModExpProvider(int bitLength) {
+		return this.variableTime ? this.getProvider(bitLength) : this.largeProvider;
+	}
+
+	@Override
+	public BigInteger gcd(BigInteger x, BigInteger y) {
+		return this.getProvider(Math.max(x.bitLength(), y.bitLength())).gcd(x, y);
+	}
+
+	@Override
+	public BigInteger modExp(BigInteger b, BigInteger e, BigInteger m) {
+		return this.getModExpProvider(m.bitLength()).modExp(b, e, m);
+	}
+
+	@Override
+	public BigInteger modInv(BigInteger x, BigInteger m) {
+		return this.getProvider(m.bitLength()).modInv(x, m);
+	}
+
+	@Override
+	public int kronecker(BigInteger x, BigInteger n) {
+		return this.getProvider(n.bitLength()).kronecker(x, n);
+	}
+
+	/**
+	 * Returns the unique instance of this class. The availability of the native GMP library and the system property
+	 * {@link #VARIABLE_TIME_PROPERTY} are checked when the instance is created.
+	 * <p>
+	 * @return The unique instance
+	 */
+	public static synchronized AdaptiveArithmeticProvider getInstance() {
+		if (instance == null) {
+			ModularArithmeticProvider javaProvider = JavaArithmeticProvider.getInstance();
+			ModularArithmeticProvider largeProvider = GmpArithmeticProvider.isAvailable() ? GmpArithmeticProvider.getInstance() : javaProvider;
+			boolean variableTime = Boolean.getBoolean(VARIABLE_TIME_PROPERTY);
+			instance = new AdaptiveArithmeticProvider(javaProvider, largeProvider, variableTime);
+		}
+		return instance;
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.math;
+
+import ch.bfh.unicrypt.ErrorCode;
+import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
+import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.DualisticElement;
+import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.Field;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * This is a helper class with a static method for inverting multiple elements {@code x_1,...,x_n} of a commutative
+ * group at once. By Montgomery's trick, the {@code n} inversions are replaced by a single inversion of the product
+ * {@code x_1*...*x_n} and {@code 3(n-1)} multiplications. This is beneficial whenever an inversion is considerably
+ * more expensive than a multiplication, for example in modular arithmetic. Like {@link MultiExponentiation}, the
+ * computation is generic in the sense that the underlying group is given by its binary operation and its inversion
+ * only, and the method of this class does not check the validity of the parameters.
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public final class BatchInversion {
+
+	private BatchInversion() {
+	}
+
+	/**
+	 * Computes the inverses {@code x_1^{-1},...,x_n^{-1}} of the given values. The input array is not modified.
+	 * <p>
+	 * @param <T>       The generic type of the values
+	 * @param values    The values {@code x_1,...,x_n}
+	 * @param operator  The (associative and commutative) binary operation
+	 * @param inversion The inversion
+	 * @return The array of inverses
+	 */
+	public static <T> T[] compute(T[] values, BinaryOperator<T> operator, UnaryOperator<T> inversion) {
+		int n = values.length;
+		T[] results = Arrays.copyOf(values, n);
+		if (n == 0) {
+			return results;
+		}
+		// results[i] = x_1*...*x_i
+		for (int i = 1; i < n; i++) {
+			results[i] = operator.apply(results[i - 1], values[i]);
+		}
+		// inverse = (x_1*...*x_i)^{-1}
+		T inverse = inversion.apply(results[n - 1]);
+		for (int i = n - 1; i > 0; i--) {
+			results[i] = operator.apply(inverse, results[i - 1]);
+			inverse = operator.apply(inverse, values[i]);
+		}
+		results[0] = inverse;
+		return results;
+	}
+
+	/**
+	 * Computes the inverses of the given elements of a field. Unlike
+	 * {@link #compute(Object[], BinaryOperator, UnaryOperator)}, it is checked that all elements are non-zero members
+	 * of the field. This method implements {@link Field#oneOverAll(ImmutableArray)} for the abstract field classes,
+	 * which provide their multiplication and inversion without parameter checks.
+	 * <p>
+	 * @param <E>            The generic type of the field elements
+	 * @param field          The field
+	 * @param elements       The elements
+	 * @param multiplication The multiplication of the field
+	 * @param inversion      The multiplicative inversion of the field
+	 * @return The inverses of the elements
+	 */
+	public static <E extends DualisticElement> DenseArray<E> compute(Field field, ImmutableArray<Element> elements,
+		   BinaryOperator<E> multiplication, UnaryOperator<E> inversion) {
+		if (elements == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, field);
+		}
+		DualisticElement[] values = new DualisticElement[elements.getLength()];
+		int i = 0;
+		for (Element element : elements) {
+			if (!field.contains(element)) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, field, element);
+			}
+			if (((E) element).isZero()) {
+				throw new UniCryptRuntimeException(ErrorCode.DIVISION_BY_ZERO, field, element);
+			}
+			values[i++] = (E) element;
+		}
+		return DenseArray.getInstance(BatchInversion.compute((E[]) values, multiplication, inversion));
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.math;
+
+import java.math.BigInteger;
+import java.util.function.BinaryOperator;
+
+/**
+ * Instances of this class compute powers {@code b^e} of a fixed base {@code b} from a precomputed table. For a window
+ * size {@code w}, the exponent is split into {@code k} digits {@code e_j} of {@code w} bits each, and the table
+ * contains the powers {@code b^(d*2^(w*j))} for all digits {@code 0<d<2^w} and all windows {@code 0<=j<k}. Computing
+ * {@code b^e} then requires no squarings at all and at most {@code k-1} multiplications. The size of the table is
+ * {@code k*(2^w-1)} elements. Like {@link MultiExponentiation}, the computation is generic in the sense that the
+ * underlying semigroup is given by its binary operation only, and the methods of this class do not check the
+ * validity of the parameters.
+ * <p>
+ * @param <T> The generic type of the base
+ * @see "Handbook of Applied Cryptography, Algorithm 14.109"
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public final class FixedBaseExponentiation<T> {
+
+	private final int bitLength;
+	private final int windowSize;
+	private final BinaryOperator<T> operator;
+	private final Object[][] table;
+
+	private FixedBaseExponentiation(int bitLength, int windowSize, BinaryOperator<T> operator, Object[][] table) {
+		this.bitLength = bitLength;
+		this.windowSize = windowSize;
+		this.operator = operator;
+		this.table = table;
+	}
+
+	/**
+	 * Returns the maximal bit length of the exponents supported by the table.
+	 * <p>
+	 * @return The maximal bit length
+	 */
+	public int getBitLength() {
+		return this.bitLength;
+	}
+
+	/**
+	 * Returns the window size of the table.
+	 * <p>
+	 * @return The window size
+	 */
+	public int getWindowSize() {
+		return this.windowSize;
+	}
+
+	/**
+	 * Computes the power {@code b^e} for an exponent {@code 0<e<2^l}, where {@code l} denotes the maximal bit length
+	 * of the table.
+	 * <p>
+	 * @param exponent The exponent
+	 * @return The power {@code b^e}
+	 */
+	public T compute(BigInteger exponent) {
+		T result = null;
+		for (int j = 0; j < this.table.length; j++) {
+			int digit = MultiExponentiation.getDigit(exponent, j * this.windowSize, this.windowSize);
+			if (digit > 0) {
+				T value = (T) this.table[j][digit];
+				result = (result == null) ? value : this.operator.apply(result, value);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Precomputes the table for a given base, maximal bit length of the exponents, and window size. The
+	 * precomputation requires about {@code k*(2^w-1)} applications of the binary operation, where {@code k} denotes
+	 * the number of windows.
+	 * <p>
+	 * @param <T>        The generic type of the base
+	 * @param base       The base
+	 * @param bitLength  The maximal bit length of the exponents
+	 * @param windowSize The window size
+	 * @param operator   The (associative) binary operation
+	 * @return The precomputed table
+	 */
+	public static <T> FixedBaseExponentiation<T> getInstance(T base, int bitLength, int windowSize, BinaryOperator<T> operator) {
+		int numberOfWindows = MathUtil.divideUp(bitLength, windowSize);
+		int tableSize = 1 << windowSize;
+		Object[][] table = new Object[numberOfWindows][tableSize];
+		T power = base;
+		for (int j = 0; j < numberOfWindows; j++) {
+			// table[j][d] = b^(d*2^(w*j))
+			table[j][1] = power;
+			for (int d = 2; d < tableSize; d++) {
+				table[j][d] = operator.apply((T) table[j][d - 1], power);
+			}
+			if (j < numberOfWindows - 1) {
+				power = operator.apply((T) table[j][tableSize - 1], power);
+			}
+		}
+		return new FixedBaseExponentiation<>(bitLength, windowSize, operator, table);
+	}
+
+}
@@ -0,0 +1,122 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.math;
+
+import com.squareup.jnagmp.Gmp;
+import java.math.BigInteger;
+
+/**
+ * This class implements {@link ModularArithmeticProvider} by calling the native GMP library through JNA. Modular
+ * exponentiations for odd moduli are computed in constant time. Because of the marshalling overhead of each native
+ * call, this provider is most efficient for large operands.
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public final class GmpArithmeticProvider
+	   implements ModularArithmeticProvider {
+
+	private static GmpArithmeticProvider instance = null;
+	private static Boolean available = null;
+
+	private GmpArithmeticProvider() {
+	}
+
+	@Override
+	public String getName() {
+		return GMP;
+	}
+
+	@Override
+	public BigInteger gcd(BigInteger x, BigInteger y) {
+		return Gmp.gcd(x, y);
+	}
+
+	@Override
+	public BigInteger modExp(BigInteger b, BigInteger e, BigInteger m) {
+		if (m.testBit(0)) {
+			return Gmp.modPowSecure(b, e, m);
+		} else {
+			return Gmp.modPowInsecure(b, e, m); // Gmp.modPowSecure requires modulus to be odd
+		}
+	}
+
+	@Override
+	public BigInteger modInv(BigInteger x, BigInteger m) {
+		return Gmp.modInverse(x, m);
+	}
+
+	@Override
+	public int kronecker(BigInteger x, BigInteger n) {
+		return Gmp.kronecker(x, n);
+	}
+
+	/**
+	 * Checks if the native GMP library can be loaded on this host.
+	 * <p>
+	 * @return {@code true} if GMP is available, {@code false} otherwise
+	 */
+	public static synchronized boolean isAvailable() {
+		if (available == null) {
+			try {
+				Gmp.checkLoaded();
+				available = true;
+			} catch (LinkageError | RuntimeException exception) {
+				available = false;
+			}
+		}
+		return available;
+	}
+
+	/**
+	 * Returns the unique instance of this class.
+	 * <p>
+	 * @return The unique instance
+	 */
+	public static synchronized GmpArithmeticProvider getInstance() {
+		if (instance == null) {
+			instance = new GmpArithmeticProvider();
+		}
+		return instance;
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.math;
+
+import java.math.BigInteger;
+
+/**
+ * This class implements {@link ModularArithmeticProvider} by the methods of Java's {@link BigInteger} class, which
+ * are compiled into efficient intrinsics by most JVMs. The Kronecker symbol, which is not available in
+ * {@link BigInteger}, is computed by the binary algorithm for the Jacobi symbol. No native library is required, but
+ * the running times of the exponentiations depend on the exponents.
+ * <p>
+ * @see "Handbook of Applied Cryptography, Algorithm 2.149"
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public class JavaArithmeticProvider
+	   implements ModularArithmeticProvider {
+
+	// (2/x) for x mod 8
+	private static final int[] KRONECKER_TWO = {0, 1, 0, -1, 0, -1, 0, 1};
+
+	private static JavaArithmeticProvider instance = null;
+
+	protected JavaArithmeticProvider() {
+	}
+
+	@Override
+	public String getName() {
+		return JAVA;
+	}
+
+	@Override
+	public BigInteger gcd(BigInteger x, BigInteger y) {
+		return x.gcd(y);
+	}
+
+	@Override
+	public BigInteger modExp(BigInteger b, BigInteger e, BigInteger m) {
+		return b.modPow(e, m);
+	}
+
+	@Override
+	public BigInteger modInv(BigInteger x, BigInteger m) {
+		return x.modInverse(m);
+	}
+
+	@Override
+	public final int kronecker(BigInteger x, BigInteger n) {
+		if (n.signum() == 0) {
+			return x.abs().equals(MathUtil.ONE) ? 1 : 0;
+		}
+		if (!x.testBit(0) && !n.testBit(0)) {
+			return 0;
+		}
+		int result = 1;
+		// remove the factors 2 of n
+		int v = n.getLowestSetBit();
+		if (v % 2 == 1) {
+			result = KRONECKER_TWO[x.intValue() & 7];
+		}
+		n = n.shiftRight(v);
+		if (n.signum() < 0) {
+			n = n.negate();
+			if (x.signum() < 0) {
+				result = -result;
+			}
+		}
+		// Jacobi symbol (x/n) for odd n>0
+		x = x.mod(n);
+		while (x.signum() != 0) {
+			v = x.getLowestSetBit();
+			x = x.shiftRight(v);
+			if (v % 2 == 1) {
+				result = result * KRONECKER_TWO[n.intValue() & 7];
+			}
+			// quadratic reciprocity for odd x and n
+			if ((x.intValue() & n.intValue() & 2) != 0) {
+				result = -result;
+			}
+			BigInteger r = n.mod(x);
+			n = x;
+			x = r;
+		}
+		return n.equals(MathUtil.ONE) ? result : 0;
+	}
+
+	/**
+	 * Returns the unique instance of this class.
+	 * <p>
+	 * @return The unique instance
+	 */
+	public static synchronized JavaArithmeticProvider getInstance() {
+		if (instance == null) {
+			instance = new JavaArithmeticProvider();
+		}
+		return instance;
+	}
+
+}
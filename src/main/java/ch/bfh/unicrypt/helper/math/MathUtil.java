@@ -43,10 +43,10 @@ package ch.bfh.unicrypt.helper.math;
 
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.prime.Factorization;
-import com.squareup.jnagmp.Gmp;
 import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.function.BinaryOperator;
 
 /**
  * This is a helper class with some static methods for various mathematical functions. By contract, the methods of this
@@ -60,6 +60,17 @@ public final class MathUtil {
 
 	private static final int NUMBER_OF_PRIME_TESTS = 40;
 
+	// multiplications inside the modular exponentiation of GMP or BigInteger are about five times faster than Barrett
+	// multiplications
+	private static final int MODEXP_SPEEDUP = 5;
+
+	// Montgomery multiplications on primitive limbs beat Barrett multiplications on BigInteger up to this bit length
+	private static final int MONTGOMERY_MAX_BIT_LENGTH = 256;
+
+	// selected once according to the system property ModularArithmeticProvider.PROPERTY
+	private static final ModularArithmeticProvider PROVIDER
+		   = ModularArithmeticProvider.getInstance(System.getProperty(ModularArithmeticProvider.PROPERTY, ModularArithmeticProvider.AUTO));
+
 	public static final BigInteger ZERO = BigInteger.valueOf(0);
 	public static final BigInteger ONE = BigInteger.valueOf(1);
 	public static final BigInteger TWO = BigInteger.valueOf(2);
@@ -81,19 +92,29 @@ public final class MathUtil {
 	}
 
 	/**
-	 * GMP wrapper method for computing the greatest common divisor (gcd) of two integers {@code x} and {@code y}.
+	 * Returns the provider of the basic number-theoretic operations used by this class. It is selected by the system
+	 * property {@link ModularArithmeticProvider#PROPERTY} when this class is loaded.
+	 * <p>
+	 * @return The provider
+	 */
+	public static ModularArithmeticProvider getModularArithmeticProvider() {
+		return PROVIDER;
+	}
+
+	/**
+	 * Wrapper method for computing the greatest common divisor (gcd) of two integers {@code x} and {@code y}.
 	 *
 	 * @param x First integer
 	 * @param y Second integer
 	 * @return Greatest common divisor of {@code x} and {@code y}
 	 */
 	public static BigInteger gcd(BigInteger x, BigInteger y) {
-		return Gmp.gcd(x, y);
+		return PROVIDER.gcd(x, y);
 	}
 
 	/**
-	 * GMP wrapper method for computing modular exponentiations for base {@code b>=0}, exponent {@code e>=0}, and
-	 * modulus {@code m>0}.
+	 * Wrapper method for computing modular exponentiations for base {@code b>=0}, exponent {@code e>=0}, and modulus
+	 * {@code m>0}.
 	 *
 	 * @param b The base
 	 * @param e The exponent
@@ -101,15 +122,89 @@ public final class MathUtil {
 	 * @return {@code b^e mod m}
 	 */
 	public static BigInteger modExp(BigInteger b, BigInteger e, BigInteger m) {
-		if (m.testBit(0)) {
-			return Gmp.modPowSecure(b, e, m);
-		} else {
-			return Gmp.modPowInsecure(b, e, m); // Gmp.modPowSecure requires modulus to be odd
+		return PROVIDER.modExp(b, e, m);
+	}
+
+	/**
+	 * Computes the product of modular exponentiations {@code b_1^e_1*...*b_n^e_n mod m} for bases {@code 0<=b_i<m},
+	 * exponents {@code e_i>0}, and modulus {@code m>0}. Depending on the number of bases and the size of the
+	 * exponents, the result is computed either by {@code n} independent calls to {@link #modExp} or simultaneously by
+	 * {@link MultiExponentiation#compute} using Barrett reduction.
+	 * <p>
+	 * @param bs The bases
+	 * @param es The exponents
+	 * @param m  The modulus
+	 * @return {@code b_1^e_1*...*b_n^e_n mod m}
+	 */
+	public static BigInteger modMultiExp(BigInteger[] bs, BigInteger[] es, BigInteger m) {
+		int n = bs.length;
+		if (n == 1) {
+			return modExp(bs[0], es[0], m);
+		}
+		int bitLength = 0;
+		for (BigInteger e : es) {
+			bitLength = Math.max(bitLength, e.bitLength());
+		}
+		// a single exponentiation requires about 1.5 multiplications per exponent bit
+		if (MultiExponentiation.getCost(n, bitLength) * MODEXP_SPEEDUP > 3L * n * bitLength / 2) {
+			BigInteger result = ONE;
+			for (int i = 0; i < n; i++) {
+				result = result.multiply(modExp(bs[i], es[i], m)).mod(m);
+			}
+			return result;
+		}
+		return MultiExponentiation.compute(bs, es, getModMultiplication(m));
+	}
+
+	/**
+	 * Returns the modular multiplication {@code (x,y) -> x*y mod m} for values {@code 0<=x,y<m} and modulus
+	 * {@code m>0} as a binary operator. The reduction is performed by Barrett's method, which replaces the division by
+	 * two multiplications with a precomputed constant. This is considerably faster than
+	 * {@code x.multiply(y).mod(m)} when many multiplications are performed for the same modulus.
+	 * <p>
+	 * @param m The modulus
+	 * @return The modular multiplication
+	 * @see "Handbook of Applied Cryptography, Algorithm 14.42"
+	 */
+	public static BinaryOperator<BigInteger> getModMultiplication(final BigInteger m) {
+		final int k = m.bitLength();
+		final BigInteger mu = powerOfTwo(2 * k).divide(m);
+		return (x, y) -> {
+			BigInteger z = x.multiply(y);
+			z = z.subtract(z.shiftRight(k - 1).multiply(mu).shiftRight(k + 1).multiply(m));
+			while (z.compareTo(m) >= 0) {
+				z = z.subtract(m);
+			}
+			return z;
+		};
+	}
+
+	/**
+	 * Computes the modular product {@code x_1*...*x_n mod m} of the given values {@code 0<=x_i<m} for a modulus
+	 * {@code m>0}. For an empty input, the result is {@code 1 mod m}. Depending on the size and parity of the modulus,
+	 * the product is computed either in the Montgomery domain (see {@link MontgomeryArithmetic}) or by Barrett
+	 * multiplications (see {@link #getModMultiplication(BigInteger)}). In both cases, no long division is performed
+	 * for the individual factors. The instances of {@link MontgomeryArithmetic} are shared with
+	 * {@link MontgomeryArithmeticProvider}, which caches them per modulus.
+	 * <p>
+	 * @param values The values
+	 * @param m      The modulus
+	 * @return {@code x_1*...*x_n mod m}
+	 */
+	public static BigInteger modProduct(Iterable<BigInteger> values, BigInteger m) {
+		if (m.testBit(0) && m.compareTo(ONE) > 0 && m.bitLength() <= MONTGOMERY_MAX_BIT_LENGTH) {
+			return MontgomeryArithmeticProvider.getInstance().getMontgomeryArithmetic(m).product(values);
+		}
+		BinaryOperator<BigInteger> multiplication = getModMultiplication(m);
+		BigInteger result = ONE.mod(m);
+		for (BigInteger value : values) {
+			result = multiplication.apply(result, value);
 		}
+		return result;
 	}
 
 	/**
-	 * GMP wrapper method for computing modular inverses of a positive integer {@code x>0} and a positive modulus
+	 * Wrapper method for computing modular inverses of a positive integer {@code x>0} and a positive modulus
 	 * {@code m>0}.
 	 *
 	 * @param x The value
@@ -117,11 +212,25 @@ public final class MathUtil {
 	 * @return {@code x^{.1} mod m}
 	 */
 	public static BigInteger modInv(BigInteger x, BigInteger m) {
-		return Gmp.modInverse(x, m);
+		return PROVIDER.modInv(x, m);
+	}
+
+	/**
+	 * Computes the modular inverses {@code x_i^{-1} mod m} of multiple positive integers {@code 0<x_i<m} for the same
+	 * modulus {@code m>0}. By Montgomery's trick, the {@code n} inversions are replaced by a single inversion of the
+	 * product {@code x_1*...*x_n} and {@code 3(n-1)} modular multiplications (see {@link BatchInversion}).
+	 * <p>
+	 * @param xs The values
+	 * @param m  The modulus
+	 * @return The array of inverses {@code x_i^{-1} mod m}
+	 * @throws ArithmeticException if some value is not invertible modulo {@code m}
+	 */
+	public static BigInteger[] modInvAll(BigInteger[] xs, BigInteger m) {
+		return BatchInversion.compute(xs, getModMultiplication(m), x -> modInv(x, m));
 	}
 
 	/**
-	 * GMP wrapper method for computing the Legendre (Kronecker) symbol {@code (x/n)} of a non-negative integer
+	 * Wrapper method for computing the Legendre (Kronecker) symbol {@code (x/n)} of a non-negative integer
 	 * {@code x>=0} and a prime number {@code p>2}.
 	 * <p>
 	 * @param x The given integer
@@ -129,7 +238,7 @@ public final class MathUtil {
 	 * @return The Legendre symbol {@code (x/n)}
 	 */
 	public static int legendreSymbol(BigInteger x, BigInteger p) {
-		return Gmp.kronecker(x, p);
+		return PROVIDER.kronecker(x, p);
 	}
 
 	/**
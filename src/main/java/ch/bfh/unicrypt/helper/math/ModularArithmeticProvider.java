@@ -0,0 +1,158 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.math;
+
+import ch.bfh.unicrypt.ErrorCode;
+import ch.bfh.unicrypt.UniCryptRuntimeException;
+import java.math.BigInteger;
+
+/**
+ * This interface represents the concept of a service provider for the basic number-theoretic operations on large
+ * integers, on which all modular groups and rings of this library are based. The provider used by {@link MathUtil} is
+ * selected once when the class is loaded, according to the system property {@link #PROPERTY}. Its value is one of
+ * the names {@link #AUTO}, {@link #GMP}, {@link #JAVA}, or {@link #MONTGOMERY}. By default, an adaptive provider is
+ * used, which selects the fastest available implementation depending on the size of the operands.
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public interface ModularArithmeticProvider {
+
+	/**
+	 * The name of the system property for selecting the provider used by {@link MathUtil}.
+	 */
+	public static final String PROPERTY = "unicrypt.arithmetic";
+
+	/**
+	 * The name of the adaptive provider, which uses {@link JavaArithmeticProvider} for small moduli and
+	 * {@link GmpArithmeticProvider} for large moduli and for all modular exponentiations (if GMP is available).
+	 */
+	public static final String AUTO = "auto";
+
+	/**
+	 * The name of the provider based on the native GMP library.
+	 */
+	public static final String GMP = "gmp";
+
+	/**
+	 * The name of the provider based on Java's {@link BigInteger} class.
+	 */
+	public static final String JAVA = "java";
+
+	/**
+	 * The name of the provider based on {@link MontgomeryArithmetic}.
+	 */
+	public static final String MONTGOMERY = "montgomery";
+
+	/**
+	 * Returns the name of the provider.
+	 * <p>
+	 * @return The name
+	 */
+	public String getName();
+
+	/**
+	 * Computes the greatest common divisor of two integers.
+	 * <p>
+	 * @param x The first integer
+	 * @param y The second integer
+	 * @return The greatest common divisor of {@code x} and {@code y}
+	 */
+	public BigInteger gcd(BigInteger x, BigInteger y);
+
+	/**
+	 * Computes the modular exponentiation {@code b^e mod m} for a base {@code b>=0}, an exponent {@code e>=0}, and a
+	 * modulus {@code m>0}.
+	 * <p>
+	 * @param b The base
+	 * @param e The exponent
+	 * @param m The modulus
+	 * @return {@code b^e mod m}
+	 */
+	public BigInteger modExp(BigInteger b, BigInteger e, BigInteger m);
+
+	/**
+	 * Computes the modular inverse {@code x^{-1} mod m} of a positive integer {@code x>0} and a modulus {@code m>0}.
+	 * <p>
+	 * @param x The value
+	 * @param m The modulus
+	 * @return {@code x^{-1} mod m}
+	 * @throws ArithmeticException if {@code x} is not invertible modulo {@code m}
+	 */
+	public BigInteger modInv(BigInteger x, BigInteger m);
+
+	/**
+	 * Computes the Kronecker symbol {@code (x/n)}, which generalizes the Legendre symbol for prime numbers {@code n}
+	 * and the Jacobi symbol for odd integers {@code n}.
+	 * <p>
+	 * @param x The integer {@code x}
+	 * @param n The integer {@code n}
+	 * @return The Kronecker symbol {@code (x/n)}, which is either {@code -1}, {@code 0}, or {@code 1}
+	 */
+	public int kronecker(BigInteger x, BigInteger n);
+
+	/**
+	 * Returns the provider for the given name. For {@link #AUTO}, the availability of the native GMP library is
+	 * checked, whereas the GMP provider returned for {@link #GMP} fails on its first usage if GMP is not available.
+	 * <p>
+	 * @param name The name of the provider
+	 * @return The provider
+	 */
+	public static ModularArithmeticProvider getInstance(String name) {
+		if (name == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER);
+		}
+		switch (name.trim().toLowerCase()) {
+			case AUTO:
+				return AdaptiveArithmeticProvider.getInstance();
+			case GMP:
+				return GmpArithmeticProvider.getInstance();
+			case JAVA:
+				return JavaArithmeticProvider.getInstance();
+			case MONTGOMERY:
+				return MontgomeryArithmeticProvider.getInstance();
+			default:
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_ARGUMENT, name);
+		}
+	}
+
+}
@@ -0,0 +1,336 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.math;
+
+import ch.bfh.unicrypt.ErrorCode;
+import ch.bfh.unicrypt.UniCryptRuntimeException;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Instances of this class perform modular multiplications in the Montgomery domain of an odd modulus {@code m>1}.
+ * Residues are represented as arrays of {@code k} limbs of 32 bits each, which are stored in the lower half of
+ * primitive {@code long} values (least significant limb first). For {@code R=2^(32k)}, the Montgomery form of a
+ * residue {@code x} is {@code x*R mod m}, and the Montgomery product of two limb arrays {@code a} and {@code b} is
+ * {@code a*b*R^{-1} mod m}. The product is computed by interleaving the multiplication with the reduction, which
+ * avoids long divisions altogether. Chains of multiplications can therefore be performed entirely on primitive
+ * arrays, and the conversion back to {@link BigInteger} is only necessary for the final result. By contract, the
+ * methods of this class do not check the validity of their parameters, i.e., limb arrays must be of length
+ * {@code k} and represent values {@code 0<=x<m}.
+ * <p>
+ * @see "Handbook of Applied Cryptography, Algorithm 14.36"
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public final class MontgomeryArithmetic {
+
+	private static final int LIMB_SIZE = Integer.SIZE;
+	private static final long LIMB_MASK = 0xFFFFFFFFL;
+
+	// exponents of bit length at most WINDOW_THRESHOLDS[w-1] are processed with window size w (same as in BigInteger)
+	private static final int[] WINDOW_THRESHOLDS = {7, 25, 81, 241, 673, 1793};
+
+	private final BigInteger modulus;
+	private final int length;
+	private final long[] modulusLimbs;
+	private final long inverse;
+	private final long[] one;
+	private final long[] rSquare;
+	private final BigInteger r;
+
+	private MontgomeryArithmetic(BigInteger modulus) {
+		this.modulus = modulus;
+		this.length = MathUtil.divideUp(modulus.bitLength(), LIMB_SIZE);
+		this.modulusLimbs = this.getLimbs(modulus);
+		// -m^{-1} mod 2^32 by Newton iteration, which doubles the number of correct bits in each step
+		long m0 = this.modulusLimbs[0];
+		long x = m0;
+		for (int i = 0; i < 5; i++) {
+			x = (x * (2 - m0 * x)) & LIMB_MASK;
+		}
+		this.inverse = (-x) & LIMB_MASK;
+		this.r = MathUtil.powerOfTwo(LIMB_SIZE * this.length).mod(modulus);
+		this.one = this.getLimbs(this.r);
+		this.rSquare = this.getLimbs(MathUtil.powerOfTwo(2 * LIMB_SIZE * this.length).mod(modulus));
+	}
+
+	/**
+	 * Returns the modulus {@code m}.
+	 * <p>
+	 * @return The modulus
+	 */
+	public BigInteger getModulus() {
+		return this.modulus;
+	}
+
+	/**
+	 * Returns the number {@code k} of 32-bit limbs of the residues.
+	 * <p>
+	 * @return The number of limbs
+	 */
+	public int getLength() {
+		return this.length;
+	}
+
+	/**
+	 * Returns the Montgomery form {@code R mod m} of the residue {@code 1}.
+	 * <p>
+	 * @return The Montgomery form of {@code 1}
+	 */
+	public long[] getOne() {
+		return this.one.clone();
+	}
+
+	/**
+	 * Returns the limbs of a residue {@code 0<=x<m} without converting it into the Montgomery domain.
+	 * <p>
+	 * @param value The residue
+	 * @return The limbs of {@code x}
+	 */
+	public long[] getLimbs(BigInteger value) {
+		long[] limbs = new long[this.length];
+		byte[] bytes = value.toByteArray();
+		for (int i = 0; i < bytes.length; i++) {
+			int position = bytes.length - 1 - i;
+			if (i / 4 < this.length) {
+				limbs[i / 4] |= (bytes[position] & 0xFFL) << (8 * (i % 4));
+			}
+		}
+		return limbs;
+	}
+
+	/**
+	 * Returns the value represented by the given limbs without converting it back from the Montgomery domain.
+	 * <p>
+	 * @param limbs The limbs
+	 * @return The value represented by the limbs
+	 */
+	public BigInteger getValue(long[] limbs) {
+		byte[] bytes = new byte[4 * this.length + 1];
+		for (int i = 0; i < this.length; i++) {
+			int limb = (int) limbs[i];
+			int offset = bytes.length - 4 * i;
+			bytes[offset - 1] = (byte) limb;
+			bytes[offset - 2] = (byte) (limb >>> 8);
+			bytes[offset - 3] = (byte) (limb >>> 16);
+			bytes[offset - 4] = (byte) (limb >>> 24);
+		}
+		return new BigInteger(bytes);
+	}
+
+	/**
+	 * Converts a residue {@code 0<=x<m} into its Montgomery form {@code x*R mod m}.
+	 * <p>
+	 * @param value The residue
+	 * @return The Montgomery form of {@code x}
+	 */
+	public long[] convertTo(BigInteger value) {
+		return this.multiply(this.getLimbs(value), this.rSquare);
+	}
+
+	/**
+	 * Converts the Montgomery form {@code x*R mod m} of a residue back into the residue {@code x}.
+	 * <p>
+	 * @param limbs The Montgomery form of {@code x}
+	 * @return The residue {@code x}
+	 */
+	public BigInteger convertFrom(long[] limbs) {
+		long[] unit = new long[this.length];
+		unit[0] = 1;
+		return this.getValue(this.multiply(limbs, unit));
+	}
+
+	/**
+	 * Computes the Montgomery product {@code a*b*R^{-1} mod m} of two limb arrays. If both arguments are in Montgomery
+	 * form, the result is the Montgomery form of their modular product.
+	 * <p>
+	 * @param limbs1 The first limb array {@code a}
+	 * @param limbs2 The second limb array {@code b}
+	 * @return The Montgomery product {@code a*b*R^{-1} mod m}
+	 */
+	public long[] multiply(long[] limbs1, long[] limbs2) {
+		final int k = this.length;
+		final long[] m = this.modulusLimbs;
+		final long[] t = new long[k + 1];
+		for (int i = 0; i < k; i++) {
+			final long a = limbs1[i];
+			long s1 = t[0] + a * limbs2[0];
+			final long u = ((s1 & LIMB_MASK) * this.inverse) & LIMB_MASK;
+			long s2 = (s1 & LIMB_MASK) + u * m[0];
+			long c1 = s1 >>> LIMB_SIZE;
+			long c2 = s2 >>> LIMB_SIZE;
+			for (int j = 1; j < k; j++) {
+				// no overflow: (2^32-1) + (2^32-1)^2 + (2^32-1) = 2^64-1
+				s1 = t[j] + a * limbs2[j] + c1;
+				s2 = (s1 & LIMB_MASK) + u * m[j] + c2;
+				c1 = s1 >>> LIMB_SIZE;
+				c2 = s2 >>> LIMB_SIZE;
+				t[j - 1] = s2 & LIMB_MASK;
+			}
+			s1 = t[k] + c1 + c2;
+			t[k - 1] = s1 & LIMB_MASK;
+			t[k] = s1 >>> LIMB_SIZE;
+		}
+		if (t[k] != 0 || !this.isLess(t)) {
+			long borrow = 0;
+			for (int j = 0; j < k; j++) {
+				long d = t[j] - m[j] - borrow;
+				t[j] = d & LIMB_MASK;
+				borrow = d >>> (Long.SIZE - 1);
+			}
+		}
+		return Arrays.copyOf(t, k);
+	}
+
+	/**
+	 * Computes the modular product {@code x_1*...*x_n mod m} of the given residues. The residues are multiplied in
+	 * their ordinary form using Montgomery multiplications, which removes one factor {@code R} in each step. This is
+	 * compensated at the end by a single multiplication with {@code R^{n-1} mod m}. Therefore, no long division nor
+	 * any conversion into the Montgomery domain is required for the individual residues. For an empty input, the
+	 * result is {@code 1 mod m}.
+	 * <p>
+	 * @param values The residues
+	 * @return The modular product of the residues
+	 */
+	public BigInteger product(Iterable<BigInteger> values) {
+		Iterator<BigInteger> iterator = values.iterator();
+		if (!iterator.hasNext()) {
+			return MathUtil.ONE.mod(this.modulus);
+		}
+		long[] result = this.getLimbs(iterator.next());
+		long count = 0;
+		while (iterator.hasNext()) {
+			result = this.multiply(result, this.getLimbs(iterator.next()));
+			count++;
+		}
+		if (count == 0) {
+			return this.getValue(result);
+		}
+		// result = x_1*...*x_n*R^{-(n-1)}, a final Montgomery multiplication with R^n mod m fixes this
+		BigInteger correction = MathUtil.modExp(this.r, BigInteger.valueOf(count + 1), this.modulus);
+		return this.getValue(this.multiply(result, this.getLimbs(correction)));
+	}
+
+	/**
+	 * Computes the modular power {@code b^e mod m} of a residue {@code 0<=b<m} and an exponent {@code e>=0} by the
+	 * sliding-window method. All squarings and multiplications are performed in the Montgomery domain, i.e., the
+	 * base is converted once at the beginning and the result is converted back once at the end. Note that the running
+	 * time of this method depends on the exponent.
+	 * <p>
+	 * @param base     The base {@code b}
+	 * @param exponent The exponent {@code e}
+	 * @return {@code b^e mod m}
+	 * @see "Handbook of Applied Cryptography, Algorithm 14.85"
+	 */
+	public BigInteger power(BigInteger base, BigInteger exponent) {
+		int bitLength = exponent.bitLength();
+		if (bitLength == 0) {
+			return MathUtil.ONE;
+		}
+		int windowSize = 1;
+		while (windowSize <= WINDOW_THRESHOLDS.length && bitLength > WINDOW_THRESHOLDS[windowSize - 1]) {
+			windowSize++;
+		}
+		// table[j] = b^(2j+1)
+		long[][] table = new long[1 << (windowSize - 1)][];
+		table[0] = this.convertTo(base);
+		if (table.length > 1) {
+			long[] square = this.multiply(table[0], table[0]);
+			for (int j = 1; j < table.length; j++) {
+				table[j] = this.multiply(table[j - 1], square);
+			}
+		}
+		long[] result = null;
+		int i = bitLength - 1;
+		while (i >= 0) {
+			if (!exponent.testBit(i)) {
+				result = this.multiply(result, result);
+				i--;
+			} else {
+				// find the longest window e_i...e_l with e_l=1
+				int l = Math.max(i - windowSize + 1, 0);
+				while (!exponent.testBit(l)) {
+					l++;
+				}
+				int digit = 0;
+				for (int j = i; j >= l; j--) {
+					digit = (digit << 1) | (exponent.testBit(j) ? 1 : 0);
+				}
+				if (result == null) {
+					result = table[digit >>> 1];
+				} else {
+					for (int j = l; j <= i; j++) {
+						result = this.multiply(result, result);
+					}
+					result = this.multiply(result, table[digit >>> 1]);
+				}
+				i = l - 1;
+			}
+		}
+		return this.convertFrom(result);
+	}
+
+	/**
+	 * Returns an instance of this class for a given odd modulus {@code m>1}.
+	 * <p>
+	 * @param modulus The modulus
+	 * @return The instance for the given modulus
+	 */
+	public static MontgomeryArithmetic getInstance(BigInteger modulus) {
+		if (modulus == null || modulus.compareTo(MathUtil.ONE) <= 0 || !modulus.testBit(0)) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_ARGUMENT, modulus);
+		}
+		return new MontgomeryArithmetic(modulus);
+	}
+
+	private boolean isLess(long[] limbs) {
+		for (int j = this.length - 1; j >= 0; j--) {
+			if (limbs[j] != this.modulusLimbs[j]) {
+				return limbs[j] < this.modulusLimbs[j];
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.math;
+
+import ch.bfh.unicrypt.helper.cache.Cache;
+import java.math.BigInteger;
+
+/**
+ * This class implements {@link ModularArithmeticProvider} by computing modular exponentiations for odd moduli in
+ * pure Java using {@link MontgomeryArithmetic}. The Montgomery parameters of the most recently used moduli are kept in
+ * a cache. All other operations are inherited from {@link JavaArithmeticProvider}. This provider is intended for JVMs
+ * that do not provide intrinsics for the arithmetic of {@link BigInteger}.
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public final class MontgomeryArithmeticProvider
+	   extends JavaArithmeticProvider {
+
+	private static MontgomeryArithmeticProvider instance = null;
+
+	private final Cache<BigInteger, MontgomeryArithmetic> cache;
+
+	private MontgomeryArithmeticProvider() {
+		this.cache = new Cache<>(Cache.SIZE_XS);
+	}
+
+	@Override
+	public String getName() {
+		return MONTGOMERY;
+	}
+
+	@Override
+	public BigInteger modExp(BigInteger b, BigInteger e, BigInteger m) {
+		if (!m.testBit(0) || m.equals(MathUtil.ONE)) {
+			return super.modExp(b, e, m);
+		}
+		if (b.signum() < 0 || b.compareTo(m) >= 0) {
+			b = b.mod(m);
+		}
+		if (e.signum() < 0) {
+			b = this.modInv(b, m);
+			e = e.negate();
+		}
+		return this.getMontgomeryArithmetic(m).power(b, e);
+	}
+
+	// returns the Montgomery arithmetic of an odd modulus m>1 from the cache, which avoids the setup for every call;
+	// this method is also used by MathUtil.modProduct
+	MontgomeryArithmetic getMontgomeryArithmetic(BigInteger m) {
+		MontgomeryArithmetic montgomery = this.cache.get(m);
+		if (montgomery == null) {
+			montgomery = MontgomeryArithmetic.getInstance(m);
+			this.cache.put(m, montgomery);
+		}
+		return montgomery;
+	}
+
+	/**
+	 * Returns the unique instance of this class.
+	 * <p>
+	 * @return The unique instance
+	 */
+	public static synchronized MontgomeryArithmeticProvider getInstance() {
+		if (instance == null) {
+			instance = new MontgomeryArithmeticProvider();
+		}
+		return instance;
+	}
+
+}
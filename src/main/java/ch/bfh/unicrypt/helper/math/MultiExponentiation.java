@@ -0,0 +1,244 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.math;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
+
+/**
+ * This is a helper class with static methods for computing products of powers {@code b_1^e_1*...*b_n^e_n}
+ * simultaneously. The computation is generic in the sense that the underlying commutative semigroup is given by its
+ * binary operation only. Two algorithms are available: Straus' interleaving method with fixed windows, which is the
+ * better choice for a small number of bases, and Pippenger's bucket method, which is asymptotically better for a large
+ * number of bases. Both methods share the squarings among all bases. By contract, the methods of this class do not
+ * check the validity of the parameters. In particular, all exponents must be non-negative and at least one of them
+ * must be positive.
+ * <p>
+ * @see "Handbook of Applied Cryptography, Algorithm 14.88"
+ * @see "N. Pippenger, On the Evaluation of Powers and Monomials, SIAM Journal on Computing, 9(2), 1980"
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public final class MultiExponentiation {
+
+	private static final int MAX_INTERLEAVED_WINDOW_SIZE = 8;
+	private static final int MAX_BUCKET_WINDOW_SIZE = 16;
+
+	/**
+	 * Computes the product of powers {@code b_1^e_1*...*b_n^e_n} using the cheaper of the two available algorithms.
+	 * <p>
+	 * @param <T>       The generic type of the bases
+	 * @param bases     The bases
+	 * @param exponents The non-negative exponents
+	 * @param operator  The (associative and commutative) binary operation
+	 * @return The product of powers
+	 */
+	public static <T> T compute(T[] bases, BigInteger[] exponents, BinaryOperator<T> operator) {
+		int n = bases.length;
+		int bitLength = getMaxBitLength(exponents);
+		if (getInterleavedCost(n, bitLength) <= getBucketCost(n, bitLength)) {
+			return computeInterleaved(bases, exponents, operator);
+		}
+		return computeBucketed(bases, exponents, operator);
+	}
+
+	/**
+	 * Computes the product of powers {@code b_1^e_1*...*b_n^e_n} using Straus' interleaving method. For each base, the
+	 * powers {@code b_i^1,...,b_i^(2^w-1)} are precomputed, and the exponents are then processed simultaneously in
+	 * windows of {@code w} bits from left to right.
+	 * <p>
+	 * @param <T>       The generic type of the bases
+	 * @param bases     The bases
+	 * @param exponents The non-negative exponents
+	 * @param operator  The (associative and commutative) binary operation
+	 * @return The product of powers
+	 */
+	public static <T> T computeInterleaved(T[] bases, BigInteger[] exponents, BinaryOperator<T> operator) {
+		int n = bases.length;
+		int bitLength = getMaxBitLength(exponents);
+		int windowSize = getInterleavedWindowSize(bitLength);
+		int tableSize = 1 << windowSize;
+		Object[][] tables = new Object[n][tableSize];
+		for (int i = 0; i < n; i++) {
+			// smaller exponents do not require the full table
+			int maxDigit = exponents[i].bitLength() < windowSize ? exponents[i].intValue() : tableSize - 1;
+			tables[i][1] = bases[i];
+			for (int d = 2; d <= maxDigit; d++) {
+				tables[i][d] = operator.apply((T) tables[i][d - 1], bases[i]);
+			}
+		}
+		T result = null;
+		for (int j = MathUtil.divideUp(bitLength, windowSize) - 1; j >= 0; j--) {
+			result = square(result, windowSize, operator);
+			for (int i = 0; i < n; i++) {
+				int digit = getDigit(exponents[i], j * windowSize, windowSize);
+				if (digit > 0) {
+					result = multiply(result, (T) tables[i][digit], operator);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the product of powers {@code b_1^e_1*...*b_n^e_n} using Pippenger's bucket method. The exponents are
+	 * processed in windows of {@code c} bits from left to right. In each window, the bases are first sorted into
+	 * {@code 2^c-1} buckets according to their digits, and the buckets are then combined by running products.
+	 * <p>
+	 * @param <T>       The generic type of the bases
+	 * @param bases     The bases
+	 * @param exponents The non-negative exponents
+	 * @param operator  The (associative and commutative) binary operation
+	 * @return The product of powers
+	 */
+	public static <T> T computeBucketed(T[] bases, BigInteger[] exponents, BinaryOperator<T> operator) {
+		int n = bases.length;
+		int bitLength = getMaxBitLength(exponents);
+		int windowSize = getBucketWindowSize(n, bitLength);
+		Object[] buckets = new Object[1 << windowSize];
+		T result = null;
+		for (int j = MathUtil.divideUp(bitLength, windowSize) - 1; j >= 0; j--) {
+			result = square(result, windowSize, operator);
+			Arrays.fill(buckets, null);
+			for (int i = 0; i < n; i++) {
+				int digit = getDigit(exponents[i], j * windowSize, windowSize);
+				if (digit > 0) {
+					buckets[digit] = multiply((T) buckets[digit], bases[i], operator);
+				}
+			}
+			// sum_d d*B_d = B_m + (B_m+B_{m-1}) + ... + (B_m+...+B_1)
+			T partial = null;
+			T sum = null;
+			for (int d = buckets.length - 1; d > 0; d--) {
+				partial = multiply(partial, (T) buckets[d], operator);
+				sum = multiply(sum, partial, operator);
+			}
+			result = multiply(result, sum, operator);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns an estimate of the number of group operations required by {@link #compute} for {@code n} bases and
+	 * exponents of a given bit length.
+	 * <p>
+	 * @param n         The number of bases
+	 * @param bitLength The maximal bit length of the exponents
+	 * @return The estimated number of group operations
+	 */
+	public static long getCost(int n, int bitLength) {
+		return Math.min(getInterleavedCost(n, bitLength), getBucketCost(n, bitLength));
+	}
+
+	private static long getInterleavedCost(int n, int bitLength) {
+		int w = getInterleavedWindowSize(bitLength);
+		return bitLength + (long) n * ((1L << w) - 2 + MathUtil.divideUp(bitLength, w));
+	}
+
+	private static long getBucketCost(int n, int bitLength) {
+		int c = getBucketWindowSize(n, bitLength);
+		return bitLength + (long) MathUtil.divideUp(bitLength, c) * (n + (2L << c));
+	}
+
+	// the window size w minimizes the number of operations 2^w-2+b/w per base
+	private static int getInterleavedWindowSize(int bitLength) {
+		int best = 1;
+		for (int w = 2; w <= MAX_INTERLEAVED_WINDOW_SIZE; w++) {
+			if ((1L << w) - 2 + MathUtil.divideUp(bitLength, w) < (1L << best) - 2 + MathUtil.divideUp(bitLength, best)) {
+				best = w;
+			}
+		}
+		return best;
+	}
+
+	// the window size c minimizes the number of operations (b/c)*(n+2^(c+1))
+	private static int getBucketWindowSize(int n, int bitLength) {
+		int best = 1;
+		for (int c = 2; c <= MAX_BUCKET_WINDOW_SIZE; c++) {
+			if ((long) MathUtil.divideUp(bitLength, c) * (n + (2L << c))
+				   < (long) MathUtil.divideUp(bitLength, best) * (n + (2L << best))) {
+				best = c;
+			}
+		}
+		return best;
+	}
+
+	private static int getMaxBitLength(BigInteger[] exponents) {
+		int bitLength = 0;
+		for (BigInteger exponent : exponents) {
+			bitLength = Math.max(bitLength, exponent.bitLength());
+		}
+		return bitLength;
+	}
+
+	static int getDigit(BigInteger exponent, int offset, int length) {
+		int digit = 0;
+		for (int k = length - 1; k >= 0; k--) {
+			digit = (digit << 1) | (exponent.testBit(offset + k) ? 1 : 0);
+		}
+		return digit;
+	}
+
+	// null represents the identity element
+	private static <T> T multiply(T value1, T value2, BinaryOperator<T> operator) {
+		if (value1 == null) {
+			return value2;
+		}
+		if (value2 == null) {
+			return value1;
+		}
+		return operator.apply(value1, value2);
+	}
+
+	private static <T> T square(T value, int times, BinaryOperator<T> operator) {
+		if (value == null) {
+			return null;
+		}
+		for (int k = 0; k < times; k++) {
+			value = operator.apply(value, value);
+		}
+		return value;
+	}
+
+}
@@ -387,7 +387,9 @@ public class Prime
 	}
 
 	/**
-	 * Creates a new random prime number of a given bit length using a given random byte sequence.
+	 * Creates a new random prime number of a given bit length using a given random byte sequence. Except for small bit
+	 * lengths, the prime is found by a sieved incremental search from a random start value, in which the remaining
+	 * candidates are tested in parallel. The result is determined by the random byte sequence.
 	 * <p>
 	 * @param bitLength          The bit length
 	 * @param randomByteSequence The given source of randomness
@@ -397,6 +399,9 @@ public class Prime
 		if (bitLength < 2 || randomByteSequence == null) {
 			throw new IllegalArgumentException();
 		}
+		if (bitLength >= PrimeSieve.MIN_BIT_LENGTH) {
+			return new Prime(PrimeSieve.getRandomPrime(bitLength, randomByteSequence));
+		}
 		return new Prime(randomByteSequence.getRandomBigIntegerSequence(bitLength).find(value -> MathUtil.isPrime(value)));
 	}
 
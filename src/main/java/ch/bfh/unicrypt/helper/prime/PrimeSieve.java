@@ -0,0 +1,228 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.prime;
+
+import ch.bfh.unicrypt.helper.concurrent.ConcurrentUtil;
+import ch.bfh.unicrypt.helper.math.MathUtil;
+import ch.bfh.unicrypt.helper.random.RandomByteSequence;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This is a helper class for generating random primes and safe primes of a given bit length. Starting from a random
+ * value, the search proceeds incrementally through a window of candidates. Candidates with a small prime factor are
+ * excluded by a sieve, which is computed from the residues of the window's first candidate modulo all small primes.
+ * For safe primes {@code p=2q+1}, the sieve excludes both {@code q} and {@code p}. The remaining candidates are tested
+ * in parallel, and the smallest candidate of the window passing all tests is returned. Therefore, the result depends
+ * only on the given random byte sequence, not on the number of threads.
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+final class PrimeSieve {
+
+	// primes and safe primes of smaller bit lengths are not generated by this class
+	static final int MIN_BIT_LENGTH = 24;
+
+	// the sieve excludes candidates with a factor smaller than this bound
+	private static final int SIEVE_BOUND = 1 << 16;
+
+	// the number of consecutive candidates in a window
+	private static final int WINDOW_SIZE = 1 << 12;
+
+	// the odd primes smaller than SIEVE_BOUND
+	private static final int[] SMALL_PRIMES = PrimeSieve.computeSmallPrimes();
+
+	// the inverses of the steps 2 and 6 modulo the small primes (the second table is undefined for 3)
+	private static final int[] INVERSES_OF_2 = PrimeSieve.computeInverses(2);
+	private static final int[] INVERSES_OF_6 = PrimeSieve.computeInverses(6);
+
+	private PrimeSieve() {
+	}
+
+	/**
+	 * Returns a random prime of the given bit length, which must be at least {@link #MIN_BIT_LENGTH}.
+	 * <p>
+	 * @param bitLength          The bit length
+	 * @param randomByteSequence The source of randomness
+	 * @return The random prime
+	 */
+	static BigInteger getRandomPrime(int bitLength, RandomByteSequence randomByteSequence) {
+		while (true) {
+			BigInteger start = randomByteSequence.getRandomBigIntegerSequence(bitLength).get().setBit(0);
+			BigInteger result = PrimeSieve.search(start, bitLength, false);
+			if (result != null) {
+				return result;
+			}
+		}
+	}
+
+	/**
+	 * Returns a random safe prime {@code p=2q+1} of the given bit length, which must be at least
+	 * {@link #MIN_BIT_LENGTH}. As in {@link SafePrime#getRandomInstance(int, RandomByteSequence)}, the result satisfies
+	 * {@code p mod 12 = 11}, i.e., {@code q mod 6 = 5}.
+	 * <p>
+	 * @param bitLength          The bit length
+	 * @param randomByteSequence The source of randomness
+	 * @return The random safe prime
+	 */
+	static BigInteger getRandomSafePrime(int bitLength, RandomByteSequence randomByteSequence) {
+		while (true) {
+			BigInteger start = randomByteSequence.getRandomBigIntegerSequence(bitLength - 1).get();
+			start = start.subtract(start.mod(MathUtil.SIX)).add(MathUtil.FIVE);
+			BigInteger result = PrimeSieve.search(start, bitLength - 1, true);
+			if (result != null) {
+				return result.shiftLeft(1).add(MathUtil.ONE);
+			}
+		}
+	}
+
+	// returns the smallest candidate start+k*step not exceeding the bit length, or null if no such candidate exists
+	private static BigInteger search(BigInteger start, int bitLength, boolean safe) {
+		int step = safe ? 6 : 2;
+		int[] inverses = safe ? INVERSES_OF_6 : INVERSES_OF_2;
+		// the prime 3 divides the step of safe primes, but it divides neither q nor 2q+1 for q mod 6 = 5
+		int first = safe ? 1 : 0;
+		int[] residues = new int[SMALL_PRIMES.length];
+		for (int i = first; i < SMALL_PRIMES.length; i++) {
+			residues[i] = start.mod(BigInteger.valueOf(SMALL_PRIMES[i])).intValue();
+		}
+		BigInteger base = start;
+		while (base.bitLength() <= bitLength) {
+			boolean[] composite = new boolean[WINDOW_SIZE];
+			for (int i = first; i < SMALL_PRIMES.length; i++) {
+				int prime = SMALL_PRIMES[i];
+				int residue = residues[i];
+				// base+k*step is divisible by prime if and only if k = -residue/step mod prime
+				PrimeSieve.mark(composite, (int) ((long) (prime - residue) * inverses[i] % prime), prime);
+				if (safe) {
+					// 2(base+k*step)+1 is divisible by prime if and only if k = ((prime-1)/2-residue)/step mod prime
+					int target = ((prime - 1) / 2 - residue + prime) % prime;
+					PrimeSieve.mark(composite, (int) ((long) target * inverses[i] % prime), prime);
+				}
+				residues[i] = (int) ((residue + (long) WINDOW_SIZE * step) % prime);
+			}
+			int[] survivors = new int[WINDOW_SIZE];
+			int n = 0;
+			for (int k = 0; k < WINDOW_SIZE; k++) {
+				if (!composite[k]) {
+					survivors[n++] = k;
+				}
+			}
+			final BigInteger windowBase = base;
+			final int[] windowSurvivors = survivors;
+			final AtomicInteger found = new AtomicInteger(n);
+			// a candidate is skipped only if a smaller one has already passed the tests
+			ConcurrentUtil.forEach(n, j -> {
+				if (j < found.get()) {
+					BigInteger candidate = windowBase.add(BigInteger.valueOf((long) windowSurvivors[j] * step));
+					if (PrimeSieve.test(candidate, safe)) {
+						found.accumulateAndGet(j, Math::min);
+					}
+				}
+			}, ConcurrentUtil.getDefaultExecutor());
+			if (found.get() < n) {
+				BigInteger result = base.add(BigInteger.valueOf((long) survivors[found.get()] * step));
+				return result.bitLength() <= bitLength ? result : null;
+			}
+			base = base.add(BigInteger.valueOf((long) WINDOW_SIZE * step));
+		}
+		return null;
+	}
+
+	private static void mark(boolean[] composite, int from, int prime) {
+		for (int k = from; k < composite.length; k += prime) {
+			composite[k] = true;
+		}
+	}
+
+	// a Fermat test to base 2 excludes most remaining composites before the more expensive primality tests
+	private static boolean test(BigInteger candidate, boolean safe) {
+		if (!PrimeSieve.fermatTest(candidate)) {
+			return false;
+		}
+		if (!safe) {
+			return MathUtil.isPrime(candidate);
+		}
+		BigInteger safeCandidate = candidate.shiftLeft(1).add(MathUtil.ONE);
+		return PrimeSieve.fermatTest(safeCandidate) && MathUtil.isPrime(candidate) && MathUtil.isPrime(safeCandidate);
+	}
+
+	private static boolean fermatTest(BigInteger candidate) {
+		return MathUtil.modExp(MathUtil.TWO, candidate.subtract(MathUtil.ONE), candidate).equals(MathUtil.ONE);
+	}
+
+	private static int[] computeSmallPrimes() {
+		boolean[] composite = new boolean[SIEVE_BOUND];
+		int n = 0;
+		for (int i = 3; i < SIEVE_BOUND; i += 2) {
+			if (!composite[i]) {
+				n++;
+				for (long j = (long) i * i; j < SIEVE_BOUND; j += 2 * i) {
+					composite[(int) j] = true;
+				}
+			}
+		}
+		int[] primes = new int[n];
+		n = 0;
+		for (int i = 3; i < SIEVE_BOUND; i += 2) {
+			if (!composite[i]) {
+				primes[n++] = i;
+			}
+		}
+		return primes;
+	}
+
+	private static int[] computeInverses(int step) {
+		int[] inverses = new int[SMALL_PRIMES.length];
+		BigInteger bigStep = BigInteger.valueOf(step);
+		for (int i = 0; i < SMALL_PRIMES.length; i++) {
+			BigInteger prime = BigInteger.valueOf(SMALL_PRIMES[i]);
+			if (!prime.gcd(bigStep).equals(MathUtil.ONE)) {
+				continue;
+			}
+			inverses[i] = bigStep.modInverse(prime).intValue();
+		}
+		return inverses;
+	}
+
+}
@@ -235,7 +235,9 @@ public class SafePrime
 	}
 
 	/**
-	 * Creates a new random safe prime of a given bit length using a given source of randomness.
+	 * Creates a new random safe prime of a given bit length using a given source of randomness. Except for small bit
+	 * lengths, the safe prime is found by a sieved incremental search from a random start value, in which the remaining
+	 * candidates are tested in parallel. The result is determined by the random byte sequence.
 	 * <p>
 	 * @param bitLength          The bit length
 	 * @param randomByteSequence The given random random byte sequence
@@ -253,6 +255,9 @@ public class SafePrime
 				return new SafePrime(MathUtil.SEVEN);
 			}
 		}
+		if (bitLength >= PrimeSieve.MIN_BIT_LENGTH) {
+			return new SafePrime(PrimeSieve.getRandomSafePrime(bitLength, randomByteSequence));
+		}
 		return new SafePrime(randomByteSequence.getRandomBigIntegerSequence(bitLength - 1)
 			   .filter(value -> MathUtil.isPrime(value))
 			   .map(value -> value.shiftLeft(1).add(MathUtil.ONE))
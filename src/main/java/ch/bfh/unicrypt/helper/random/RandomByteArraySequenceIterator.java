@@ -45,9 +45,10 @@ import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.sequence.SequenceIterator;
 
 /**
- * The purpose of this abstract sub-class of {@link SequenceIterator} is twofold. First, it sets the length of the
+ * The purpose of this abstract sub-class of {@link SequenceIterator} is threefold. First, it sets the length of the
  * sequence to infinity. Second, it transfers the visibility of {@link #updateBefore()}, {@link #updateAfter()}, and
- * {@link #abstractNext()} to this package.
+ * {@link #abstractNext()} to this package. Finally, it allows sub-classes to provide the next byte array as a Java
+ * array, which is used when the byte arrays are concatenated into a byte sequence.
  * <p>
  * @author R. Haenni
  * @version 2.0
@@ -71,4 +72,10 @@ public abstract class RandomByteArraySequenceIterator
 	@Override
 	protected abstract ByteArray abstractNext();
 
+	// this method is overridden in sub-classes generating the byte arrays in place, the returned Java array may then be
+	// overwritten by the next call
+	protected byte[] defaultNextBytes() {
+		return this.abstractNext().getBytes();
+	}
+
 }
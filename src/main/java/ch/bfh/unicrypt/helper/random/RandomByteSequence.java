@@ -44,6 +44,7 @@ package ch.bfh.unicrypt.helper.random;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.helper.sequence.Sequence;
+import ch.bfh.unicrypt.helper.sequence.SequenceIterator;
 import java.math.BigInteger;
 
 /**
@@ -78,13 +79,9 @@ public abstract class RandomByteSequence
 
 					@Override
 					protected ByteArray abstractNext() {
-						int i = 0;
 						byte[] result = new byte[groupLength];
-						while (i < groupLength) {
-							result[i] = iterator.abstractNext();
-							i++;
-						}
-						return SafeByteArray.getInstance(result);
+						iterator.defaultNextBytes(result, 0, groupLength);
+						return new SafeByteArray(result);
 					}
 
 					@Override
@@ -190,20 +187,42 @@ public abstract class RandomByteSequence
 			throw new IllegalArgumentException();
 		}
 		final int bitLength = maxValue.subtract(minValue).bitLength();
-		return this.group(MathUtil.divideUp(bitLength, 8))
-			   .map(byteArray -> {
-				   if (bitLength == 0) {
-					   return minValue;
-				   }
-				   int shift = 8 - (bitLength % 8);
-				   if (shift == 8) {
-					   shift = 0;
-				   }
-				   byte[] bytes = byteArray.getBytes();
-				   bytes[0] = MathUtil.shiftRight(MathUtil.shiftLeft(bytes[0], shift), shift);
-				   return new BigInteger(1, bytes).add(minValue);
-			   })
-			   .filter(value -> value.compareTo(maxValue) <= 0);
+		final int byteLength = MathUtil.divideUp(bitLength, 8);
+		final int shift = byteLength * 8 - bitLength;
+		final RandomByteSequence source = this;
+		return new Sequence<BigInteger>(Sequence.INFINITE) {
+
+			@Override
+			public SequenceIterator<BigInteger> iterator() {
+				return new SequenceIterator<BigInteger>() {
+
+					private final RandomByteSequenceIterator iterator = source.iterator();
+					private final byte[] bytes = new byte[byteLength];
+
+					@Override
+					public boolean hasNext() {
+						return true;
+					}
+
+					@Override
+					protected BigInteger abstractNext() {
+						if (bitLength == 0) {
+							return minValue;
+						}
+						// rejection sampling, each attempt draws fresh bytes as a single request
+						while (true) {
+							this.iterator.nextBytes(this.bytes, 0, byteLength);
+							this.bytes[0] = MathUtil.shiftRight(MathUtil.shiftLeft(this.bytes[0], shift), shift);
+							BigInteger value = new BigInteger(1, this.bytes).add(minValue);
+							if (value.compareTo(maxValue) <= 0) {
+								return value;
+							}
+						}
+					}
+				};
+			}
+
+		};
 	}
 
 	@Override
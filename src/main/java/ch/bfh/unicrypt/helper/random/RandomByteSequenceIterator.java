@@ -45,10 +45,11 @@ import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.sequence.SequenceIterator;
 
 /**
- * The purpose of this abstract sub-class of {@link SequenceIterator} is threefold. First, it adjusts the return type of
+ * The purpose of this abstract sub-class of {@link SequenceIterator} is fourfold. First, it adjusts the return type of
  * the method {@link SequenceIterator#next(int)} to {@link ByteArray}. Second, it sets the length of the sequence to
- * infinity. Finally, it transfers the visibility of {@link #updateBefore()}, {@link #updateAfter()}, and
- * {@link #abstractNext()} to this package.
+ * infinity. Third, it provides the method {@link #nextBytes(byte[], int, int)} for generating multiple bytes at once
+ * without boxing them. Finally, it transfers the visibility of {@link #updateBefore()}, {@link #updateAfter()},
+ * {@link #abstractNext()}, and {@link #defaultNextBytes(byte[], int, int)} to this package.
  * <p>
  * @author R. Haenni
  * @version 2.0
@@ -61,15 +62,26 @@ public abstract class RandomByteSequenceIterator
 		if (n < 0) {
 			throw new IllegalArgumentException();
 		}
-		this.updateBefore();
-		int i = 0;
 		byte[] bytes = new byte[n];
-		while (i < n && this.hasNext()) {
-			bytes[i] = this.abstractNext();
-			i++;
+		this.nextBytes(bytes, 0, n);
+		return new SafeByteArray(bytes);
+	}
+
+	/**
+	 * Writes the next {@code length} bytes of the sequence into the given Java array, starting at the given offset. The
+	 * generated bytes are the same as the ones returned by {@link #next(int)}, but no objects are created in between.
+	 * <p>
+	 * @param bytes  The given Java array
+	 * @param offset The offset of the first byte to write
+	 * @param length The number of bytes to write
+	 */
+	public final void nextBytes(byte[] bytes, int offset, int length) {
+		if (bytes == null || offset < 0 || length < 0 || offset > bytes.length - length) {
+			throw new IllegalArgumentException();
 		}
+		this.updateBefore();
+		this.defaultNextBytes(bytes, offset, length);
 		this.updateAfter();
-		return SafeByteArray.getInstance(bytes);
 	}
 
 	@Override
@@ -88,4 +100,11 @@ public abstract class RandomByteSequenceIterator
 	@Override
 	protected abstract Byte abstractNext();
 
+	// this method is overridden in sub-classes generating multiple bytes more efficiently
+	protected void defaultNextBytes(byte[] bytes, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
+			bytes[i] = this.abstractNext();
+		}
+	}
+
 }
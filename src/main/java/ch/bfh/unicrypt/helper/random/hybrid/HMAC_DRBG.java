@@ -42,10 +42,12 @@
 package ch.bfh.unicrypt.helper.random.hybrid;
 
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.hash.HMAC;
 import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
 import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.helper.random.RandomByteArraySequenceIterator;
 import ch.bfh.unicrypt.helper.random.nondeterministic.NonDeterministicRandomByteSequence;
+import java.util.Arrays;
 
 /**
  * This class is an implementation of the NIST standard HMAC_DRBG as described in NIST SP 800-90A "Recommendation for
@@ -60,6 +62,7 @@ public class HMAC_DRBG
 
 	private static final byte BYTE_ZERO = MathUtil.getByte(0x00);
 	private static final byte BYTE_ONE = MathUtil.getByte(0x01);
+	private static final byte[] NO_DATA = new byte[0];
 
 	private final HashAlgorithm hashAlgorithm;
 	private final int minEntropy;
@@ -78,32 +81,57 @@ public class HMAC_DRBG
 
 		return new RandomByteArraySequenceIterator() {
 
-			private ByteArray key = ByteArray.getInstance(BYTE_ZERO, hashAlgorithm.getByteLength());
-			private ByteArray value = ByteArray.getInstance(BYTE_ONE, hashAlgorithm.getByteLength());
+			// the internal state and the output buffer are updated in place
+			private final byte[] key = new byte[hashAlgorithm.getByteLength()];
+			private final byte[] value = new byte[hashAlgorithm.getByteLength()];
+			private final byte[] output = new byte[hashAlgorithm.getByteLength()];
+			private HMAC hmac = HMAC.getInstance(hashAlgorithm, ByteArray.getInstance(this.key));
 
 			{
 				// initialize internal state
-				this.stateUpdate(entropySource.next(minEntropy / Byte.SIZE).append(personalizationString));
+				Arrays.fill(this.value, BYTE_ONE);
+				this.stateUpdate(entropySource.next(minEntropy / Byte.SIZE).append(personalizationString).getBytes());
 			}
 
 			@Override
 			protected void updateAfter() {
 				// update operation is called after each call to next() or next(n)
-				this.stateUpdate(ByteArray.getInstance());
+				this.stateUpdate(NO_DATA);
 			}
 
-			protected void stateUpdate(ByteArray data) {
-				this.key = hashAlgorithm.getHashValue(this.value.add(BYTE_ZERO).append(data), this.key);
-				this.value = hashAlgorithm.getHashValue(this.value, this.key);
-				if (!data.isEmpty()) {
-					this.key = hashAlgorithm.getHashValue(this.value.add(BYTE_ONE).append(data), this.key);
-					this.value = hashAlgorithm.getHashValue(this.value, this.key);
+			protected void stateUpdate(byte[] data) {
+				this.updateKey(BYTE_ZERO, data);
+				this.updateValue();
+				if (data.length > 0) {
+					this.updateKey(BYTE_ONE, data);
+					this.updateValue();
 				}
 			}
 
 			@Override
 			public ByteArray abstractNext() {
-				return this.value = hashAlgorithm.getHashValue(this.value, this.key);
+				return ByteArray.getInstance(this.defaultNextBytes());
+			}
+
+			@Override
+			protected byte[] defaultNextBytes() {
+				this.updateValue();
+				System.arraycopy(this.value, 0, this.output, 0, this.value.length);
+				return this.output;
+			}
+
+			// key = HMAC(key, value || separator || data)
+			private void updateKey(byte separator, byte[] data) {
+				byte[] input = Arrays.copyOf(this.value, this.value.length + 1 + data.length);
+				input[this.value.length] = separator;
+				System.arraycopy(data, 0, input, this.value.length + 1, data.length);
+				this.hmac.getHashValue(input, 0, input.length, this.key, 0);
+				this.hmac = HMAC.getInstance(hashAlgorithm, ByteArray.getInstance(this.key));
+			}
+
+			// value = HMAC(key, value)
+			private void updateValue() {
+				this.hmac.getHashValue(this.value, 0, this.value.length, this.value, 0);
 			}
 
 		};
@@ -42,12 +42,12 @@
 package ch.bfh.unicrypt.helper.random.hybrid;
 
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
-import ch.bfh.unicrypt.helper.converter.classes.biginteger.ByteArrayToBigInteger;
 import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
 import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.helper.random.RandomByteArraySequenceIterator;
 import ch.bfh.unicrypt.helper.random.nondeterministic.NonDeterministicRandomByteSequence;
-import java.math.BigInteger;
+import java.security.DigestException;
+import java.security.MessageDigest;
 
 /**
  * This class is an implementation of the NIST standard Hash_DRBG as described in NIST SP 800-90A "Recommendation for
@@ -66,7 +66,6 @@ public class Hash_DRBG
 	private final HashAlgorithm hashAlgorithm;
 	private final int minEntropy;
 	private final int seedLength;
-	private final ByteArrayToBigInteger converter;
 
 	private Hash_DRBG(HashAlgorithm hashAlgorithm, NonDeterministicRandomByteSequence entropySource,
 		   ByteArray personalizationString) {
@@ -81,34 +80,50 @@ public class Hash_DRBG
 		} else {
 			this.seedLength = 888;
 		}
-		this.converter = ByteArrayToBigInteger.getInstance(this.seedLength / Byte.SIZE);
 	}
 
-	private ByteArray hashDerivationFunction(ByteArray input) {
+	// the hash derivation function from Section 10.3.1 in NIST SP 800-90A, the result is written into the given array
+	private void hashDerivationFunction(MessageDigest messageDigest, byte[] input, byte[] result) {
+		byte[] lengthBytes = MathUtil.getByteArray(this.seedLength).getBytes();
+		byte[] hash = new byte[this.hashAlgorithm.getByteLength()];
 		int max = MathUtil.divideUp(this.seedLength, this.hashAlgorithm.getBitLength());
-		ByteArray[] hashes = new ByteArray[max];
 		for (int i = 0; i < max; i++) {
-			ByteArray hashInput = ByteArray.getInstance(ByteArray.getInstance(MathUtil.getByte(i + 1)), MathUtil.
-														getByteArray(seedLength), input);
-			hashes[i] = this.hashAlgorithm.getHashValue(hashInput);
+			messageDigest.update(MathUtil.getByte(i + 1));
+			messageDigest.update(lengthBytes);
+			messageDigest.update(input);
+			Hash_DRBG.digest(messageDigest, hash);
+			int offset = i * hash.length;
+			System.arraycopy(hash, 0, result, offset, Math.min(hash.length, result.length - offset));
 		}
-		return ByteArray.getInstance(hashes).extractPrefix(this.seedLength / Byte.SIZE);
 	}
 
-	// b1.getLength() = b3.getLength() = seedLength/Byte.SIZE, b3.getLength() <= seedLength/Byte.SIZE
-	private ByteArray byteArraySum(ByteArray b1, ByteArray b2, ByteArray b3, long counter) {
-		BigInteger i1 = this.converter.convert(b1);
-		BigInteger i2 = this.converter.convert(b2.addPrefix(this.seedLength / Byte.SIZE - b2.getLength()));
-		BigInteger i3 = this.converter.convert(b3);
-		BigInteger sum = i1.add(i2).add(i3).add(BigInteger.valueOf(counter)).mod(MathUtil.powerOfTwo(this.seedLength));
-		return this.converter.reconvert(sum);
+	private static void digest(MessageDigest messageDigest, byte[] result) {
+		try {
+			messageDigest.digest(result, 0, result.length);
+		} catch (final DigestException exception) {
+			throw new IllegalStateException(exception); // impossible case
+		}
 	}
 
-	// b.getLength() = seedLength/Byte.SIZE
-	private ByteArray byteArrayAddOne(ByteArray b) {
-		BigInteger i = converter.convert(b);
-		BigInteger iPlusOne = i.add(MathUtil.ONE).mod(MathUtil.powerOfTwo(this.seedLength));
-		return this.converter.reconvert(iPlusOne);
+	// adds the (shorter or equally long) big-endian integer b2 to b1 modulo 2^(8*b1.length)
+	private static void add(byte[] b1, byte[] b2) {
+		int carry = 0;
+		for (int i = b1.length - 1, j = b2.length - 1; i >= 0; i--, j--) {
+			int sum = (b1[i] & 0xFF) + (j >= 0 ? b2[j] & 0xFF : 0) + carry;
+			b1[i] = (byte) sum;
+			carry = sum >>> Byte.SIZE;
+		}
+	}
+
+	// adds the non-negative value to the big-endian integer b modulo 2^(8*b.length)
+	private static void add(byte[] b, long value) {
+		int carry = 0;
+		for (int i = b.length - 1; i >= 0 && (value != 0 || carry != 0); i--) {
+			int sum = (b[i] & 0xFF) + (int) (value & 0xFF) + carry;
+			b[i] = (byte) sum;
+			carry = sum >>> Byte.SIZE;
+			value >>>= Byte.SIZE;
+		}
 	}
 
 	@Override
@@ -116,25 +131,50 @@ public class Hash_DRBG
 
 		return new RandomByteArraySequenceIterator() {
 
-			private ByteArray value = hashDerivationFunction(entropySource.next(minEntropy / Byte.SIZE).append(
-				   personalizationString));
-			private final ByteArray constant = hashDerivationFunction(this.value.insert(BYTE_ZERO));
-			private ByteArray data = this.value;
+			// the internal state and the buffers are updated in place
+			private final MessageDigest messageDigest = hashAlgorithm.createMessageDigest();
+			private final byte[] value = new byte[seedLength / Byte.SIZE];
+			private final byte[] constant = new byte[seedLength / Byte.SIZE];
+			private final byte[] data = new byte[seedLength / Byte.SIZE];
+			private final byte[] hash = new byte[hashAlgorithm.getByteLength()];
+			private final byte[] output = new byte[hashAlgorithm.getByteLength()];
 			private long counter = 1;
 
+			{
+				// initialize internal state
+				hashDerivationFunction(this.messageDigest,
+									   entropySource.next(minEntropy / Byte.SIZE).append(personalizationString).getBytes(),
+									   this.value);
+				byte[] input = new byte[this.value.length + 1];
+				input[0] = BYTE_ZERO;
+				System.arraycopy(this.value, 0, input, 1, this.value.length);
+				hashDerivationFunction(this.messageDigest, input, this.constant);
+				System.arraycopy(this.value, 0, this.data, 0, this.value.length);
+			}
+
 			@Override
 			protected void updateAfter() {
-				ByteArray hash = hashAlgorithm.getHashValue(this.value.insert(BYTE_THREE));
-				this.value = byteArraySum(this.value, hash, this.constant, this.counter);
+				this.messageDigest.update(BYTE_THREE);
+				this.messageDigest.update(this.value);
+				Hash_DRBG.digest(this.messageDigest, this.hash);
+				Hash_DRBG.add(this.value, this.hash);
+				Hash_DRBG.add(this.value, this.constant);
+				Hash_DRBG.add(this.value, this.counter);
 				this.counter++;
-				this.data = this.value;
+				System.arraycopy(this.value, 0, this.data, 0, this.value.length);
 			}
 
 			@Override
 			public ByteArray abstractNext() {
-				ByteArray next = hashAlgorithm.getHashValue(this.data);
-				this.data = byteArrayAddOne(this.data);
-				return next;
+				return ByteArray.getInstance(this.defaultNextBytes());
+			}
+
+			@Override
+			protected byte[] defaultNextBytes() {
+				this.messageDigest.update(this.data);
+				Hash_DRBG.digest(this.messageDigest, this.output);
+				Hash_DRBG.add(this.data, 1);
+				return this.output;
 			}
 
 		};
@@ -44,6 +44,7 @@ package ch.bfh.unicrypt.helper.random.password;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.converter.classes.bytearray.StringToByteArray;
 import ch.bfh.unicrypt.helper.converter.interfaces.Converter;
+import ch.bfh.unicrypt.helper.hash.HMAC;
 import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
 import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.helper.random.RandomByteArraySequenceIterator;
@@ -65,8 +66,6 @@ public class PBKDF2
 	 */
 	public static final int DEFAULT_ROUNDS = 100000;
 
-	private static final byte BYTE_ZERO = MathUtil.getByte(0x00);
-
 	private final HashAlgorithm hashAlgorithm;
 	private final int rounds;
 
@@ -81,23 +80,34 @@ public class PBKDF2
 
 		return new RandomByteArraySequenceIterator() {
 
+			// the HMAC instance caches the state of the hash algorithm after processing the padded password
+			private final HMAC hmac = HMAC.getInstance(hashAlgorithm, password);
+			private final byte[] currentHash = new byte[hashAlgorithm.getByteLength()];
 			private int counter = 1;
 
 			@Override
 			public ByteArray abstractNext() {
-				ByteArray result = ByteArray.getInstance(BYTE_ZERO, hashAlgorithm.getByteLength());
-				ByteArray currentHash = salt.append(MathUtil.getByteArray(counter));
-				for (int i = 1; i <= rounds; i++) {
-					currentHash = hashAlgorithm.getHashValue(currentHash, password);
-					result = result.xor(currentHash);
+				byte[] result = new byte[hashAlgorithm.getByteLength()];
+				byte[] input = salt.append(MathUtil.getByteArray(this.counter)).getBytes();
+				this.hmac.getHashValue(input, 0, input.length, this.currentHash, 0);
+				PBKDF2.xor(result, this.currentHash);
+				for (int i = 2; i <= rounds; i++) {
+					this.hmac.getHashValue(this.currentHash, 0, this.currentHash.length, this.currentHash, 0);
+					PBKDF2.xor(result, this.currentHash);
 				}
-				counter++;
-				return result;
+				this.counter++;
+				return ByteArray.getInstance(result);
 			}
 
 		};
 	}
 
+	private static void xor(byte[] result, byte[] bytes) {
+		for (int i = 0; i < result.length; i++) {
+			result[i] ^= bytes[i];
+		}
+	}
+
 	/**
 	 * Returns a new factory for constructing new instances of this class. It uses the default hash algorithm, the
 	 * default number of rounds, and the default {@link StringToByteArray} converter.
@@ -46,7 +46,9 @@ import ch.bfh.unicrypt.UniCryptException;
 import ch.bfh.unicrypt.UniCryptRuntimeException;
 import ch.bfh.unicrypt.helper.converter.abstracts.AbstractBigIntegerConverter;
 import ch.bfh.unicrypt.helper.converter.interfaces.Converter;
+import ch.bfh.unicrypt.helper.math.FixedBaseExponentiation;
 import ch.bfh.unicrypt.helper.math.MathUtil;
+import ch.bfh.unicrypt.helper.math.MultiExponentiation;
 import ch.bfh.unicrypt.helper.math.Point;
 import ch.bfh.unicrypt.helper.random.RandomByteSequence;
 import ch.bfh.unicrypt.helper.sequence.Sequence;
@@ -55,6 +57,9 @@ import ch.bfh.unicrypt.math.algebra.additive.interfaces.ECElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModPrime;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.DualisticElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.FiniteField;
+import ch.bfh.unicrypt.math.algebra.general.abstracts.AbstractFixedBaseTable;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.FixedBaseTable;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.ZStarModPrime;
 import java.math.BigInteger;
@@ -80,6 +85,9 @@ public abstract class AbstractEC<F extends FiniteField<V>, V, DE extends Dualist
 	// the underlying finite field
 	private final F finiteField;
 
+	// precomputed multiples of the default generator for generating random elements
+	private transient volatile FixedBaseTable<Point<DE>> defaultGeneratorTable;
+
 	// the two curve parameters
 	private final DE a, b;
 
@@ -195,6 +203,26 @@ public abstract class AbstractEC<F extends FiniteField<V>, V, DE extends Dualist
 		return this.abstractAdd(element1.getX(), element1.getY(), element2.getX(), element2.getY());
 	}
 
+	@Override
+	protected EE defaultMultiSelfApplyAlgorithm(final Element[] elements, final BigInteger[] posAmounts) {
+		return (EE) MultiExponentiation.compute(elements, posAmounts,
+												(element1, element2) -> abstractApply((EE) element1, (EE) element2));
+	}
+
+	@Override
+	protected FixedBaseTable<Point<DE>> defaultPrecompute(final EE element, final int windowSize) {
+		final FixedBaseExponentiation<EE> exponentiation
+			   = FixedBaseExponentiation.getInstance(element, this.getOrder().bitLength(), windowSize, (element1, element2) -> abstractApply(element1, element2));
+		return new AbstractFixedBaseTable<EE, Point<DE>>(this, element, windowSize) {
+
+			@Override
+			protected EE abstractSelfApply(BigInteger positiveAmount) {
+				return exponentiation.compute(positiveAmount);
+			}
+
+		};
+	}
+
 	@Override
 	protected final EE abstractInvert(EE element) {
 		if (element.isZero()) {
@@ -241,7 +269,14 @@ public abstract class AbstractEC<F extends FiniteField<V>, V, DE extends Dualist
 	@Override
 	protected Sequence<EE> abstractGetRandomElements(RandomByteSequence randomByteSequence) {
 		return randomByteSequence.getRandomBigIntegerSequence(this.getOrder().subtract(MathUtil.ONE))
-			   .map(value -> selfApply(getDefaultGenerator(), value));
+			   .map(value -> (EE) getDefaultGeneratorTable().selfApply(value));
+	}
+
+	private FixedBaseTable<Point<DE>> getDefaultGeneratorTable() {
+		if (this.defaultGeneratorTable == null) {
+			this.defaultGeneratorTable = this.precompute(this.getDefaultGenerator());
+		}
+		return this.defaultGeneratorTable;
 	}
 
 	@Override
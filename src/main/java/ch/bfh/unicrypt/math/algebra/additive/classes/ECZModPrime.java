@@ -43,14 +43,28 @@ package ch.bfh.unicrypt.math.algebra.additive.classes;
 
 import ch.bfh.unicrypt.ErrorCode;
 import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
+import ch.bfh.unicrypt.helper.math.FixedBaseExponentiation;
 import ch.bfh.unicrypt.helper.math.MathUtil;
+import ch.bfh.unicrypt.helper.math.MultiExponentiation;
 import ch.bfh.unicrypt.helper.math.Point;
+import ch.bfh.unicrypt.helper.random.RandomByteSequence;
 import ch.bfh.unicrypt.helper.sequence.BigIntegerSequence;
+import ch.bfh.unicrypt.helper.sequence.Sequence;
 import ch.bfh.unicrypt.math.algebra.additive.abstracts.AbstractEC;
 import ch.bfh.unicrypt.math.algebra.additive.parameters.ECParameters;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModPrime;
+import ch.bfh.unicrypt.math.algebra.general.abstracts.AbstractFixedBaseTable;
+import ch.bfh.unicrypt.math.algebra.general.abstracts.AbstractSet;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementCodec;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementVector;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.FixedBaseTable;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.BinaryOperator;
 
 /**
  * y²=x³+ax+b
@@ -63,9 +77,25 @@ public class ECZModPrime
 
 	private static final long serialVersionUID = -5442792676496187516L;
 
+	// the maximal window size of the wNAF representation of the scalars
+	private static final int MAX_WNAF_WINDOW_SIZE = 8;
+
+	// Jacobian coordinates (X,Y,Z) represent the affine point (X/Z²,Y/Z³), the point at infinity is (1,1,0)
+	private static final BigInteger[] INFINITY = new BigInteger[]{MathUtil.ONE, MathUtil.ONE, MathUtil.ZERO};
+
+	private final BigInteger modulus;
+	private final BigInteger a;
+	private final boolean isAMinusThree;
+
+	// modular multiplication using Barrett reduction, which is created when needed for the first time
+	private transient BinaryOperator<BigInteger> multiplication;
+
 	protected ECZModPrime(ZModPrime finiteField, ZModElement a, ZModElement b, ZModElement gx, ZModElement gy,
 		   BigInteger subGroupOrder, BigInteger coFactor) {
 		super(finiteField, a, b, gx, gy, subGroupOrder, coFactor);
+		this.modulus = finiteField.getModulus();
+		this.a = a.getValue();
+		this.isAMinusThree = this.a.equals(this.modulus.subtract(MathUtil.THREE));
 	}
 
 	@Override
@@ -85,8 +115,7 @@ public class ECZModPrime
 
 	@Override
 	protected boolean abstractContains(ZModElement x, ZModElement y) {
-		// y²=x³+ax+b <=> x³+ax+b-y²=0
-		if (!x.power(3).add(this.getA().multiply(x)).add(this.getB()).subtract(y.square()).isZero()) {
+		if (!this.isOnCurve(x, y)) {
 			return false;
 		}
 		if (this.getCoFactor().intValue() > 1) {
@@ -98,11 +127,144 @@ public class ECZModPrime
 		return true;
 	}
 
+	@Override
+	protected boolean defaultContainsAll(ImmutableArray<Point<ZModElement>> values,
+		   RandomByteSequence randomByteSequence) {
+		ECZModElement zero = this.getZeroElement();
+		for (Point<ZModElement> value : values) {
+			if (!value.equals(zero.getValue()) && !this.isOnCurve(value.getX(), value.getY())) {
+				return false;
+			}
+		}
+		if (this.getCoFactor().intValue() == 1) {
+			return true;
+		}
+		// in each round, the sum of a random subset of the points is computed; if a point is not a member of the
+		// subgroup, the sum is not a member with probability at least 1/2 (the sums are computed in Jacobian
+		// coordinates, which requires no modular inversions at all)
+		BigInteger[][] sums = new BigInteger[BATCH_TEST_ROUNDS][];
+		Arrays.fill(sums, INFINITY);
+		long[] masks = AbstractSet.getRandomMasks(values.getLength(), randomByteSequence);
+		int i = 0;
+		for (Point<ZModElement> value : values) {
+			long mask = masks[i++];
+			if (value.equals(zero.getValue())) {
+				continue;
+			}
+			BigInteger[] point = this.getJacobian(this.abstractGetElement(value));
+			while (mask != 0) {
+				int round = Long.numberOfTrailingZeros(mask);
+				sums[round] = this.addJacobian(sums[round], point);
+				mask &= mask - 1;
+			}
+		}
+		for (BigInteger[] sum : sums) {
+			if (sum[2].signum() != 0 && this.multiplyJacobian(sum, this.getOrder())[2].signum() != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// y²=x³+ax+b <=> x³+ax+b-y²=0
+	private boolean isOnCurve(ZModElement x, ZModElement y) {
+		return x.power(3).add(this.getA().multiply(x)).add(this.getB()).subtract(y.square()).isZero();
+	}
+
 	@Override
 	protected ECZModElement abstractGetElement(Point<ZModElement> value) {
 		return new ECZModElement(this, value);
 	}
 
+	// the point at infinity is represented by the coordinates (p,p), which do not occur for other points
+	@Override
+	protected ElementVector.Layout<ECZModElement> defaultGetElementVectorLayout() {
+		return new ElementVector.Layout<ECZModElement>(this, 2, this.modulus.bitLength()) {
+
+			@Override
+			protected BigInteger[] abstractGetBigIntegers(ECZModElement element) {
+				if (element.isZero()) {
+					return new BigInteger[]{modulus, modulus};
+				}
+				return new BigInteger[]{element.getX().getValue(), element.getY().getValue()};
+			}
+
+			@Override
+			protected ECZModElement abstractGetElement(BigInteger[] values) {
+				if (values[0].equals(modulus)) {
+					return getZeroElement();
+				}
+				ZModPrime primeField = getFiniteField();
+				return ECZModPrime.this.abstractGetElement(Point.getInstance(primeField.getElement(values[0]),
+																			primeField.getElement(values[1])));
+			}
+
+		};
+	}
+
+	// points are encoded in compressed form, i.e., by a prefix byte 0x02 or 0x03 indicating the parity of y, followed by
+	// the fixed-width x-coordinate, the point at infinity is encoded by zeros only
+	@Override
+	protected ElementCodec<ECZModElement> defaultGetElementCodec() {
+		final int valueLength = (this.modulus.bitLength() + Byte.SIZE - 1) / Byte.SIZE;
+		return new ElementCodec<ECZModElement>(this, 1 + valueLength, "C" + valueLength + ":" + this.toString()) {
+
+			@Override
+			protected void abstractWrite(ECZModElement element, ByteBuffer buffer) {
+				if (element.isZero()) {
+					buffer.put((byte) 0);
+					writeBigInteger(buffer, MathUtil.ZERO, valueLength);
+				} else {
+					buffer.put((byte) (element.getY().getValue().testBit(0) ? 3 : 2));
+					writeBigInteger(buffer, element.getX().getValue(), valueLength);
+				}
+			}
+
+			@Override
+			protected ECZModElement abstractRead(ByteBuffer buffer) {
+				byte prefix = buffer.get();
+				BigInteger x = readBigInteger(buffer, valueLength);
+				if (prefix == 0) {
+					// the point at infinity has a unique encoding
+					if (x.signum() != 0) {
+						throw new UniCryptRuntimeException(ErrorCode.ELEMENT_CONSTRUCTION_FAILURE, this, x);
+					}
+					return getZeroElement();
+				}
+				BigInteger y = (prefix == 2 || prefix == 3) && x.compareTo(modulus) < 0 ? getY(x) : null;
+				if (y == null || (y.signum() == 0 && prefix == 3)) {
+					throw new UniCryptRuntimeException(ErrorCode.ELEMENT_CONSTRUCTION_FAILURE, this, x);
+				}
+				if (y.testBit(0) != (prefix == 3)) {
+					y = modulus.subtract(y);
+				}
+				ZModPrime primeField = getFiniteField();
+				return abstractGetElement(Point.getInstance(primeField.getElement(x), primeField.getElement(y)));
+			}
+
+		};
+	}
+
+	// returns one of the two y-coordinates for the given x-coordinate, or null if no such point exists
+	private BigInteger getY(BigInteger x) {
+		BinaryOperator<BigInteger> mul = this.getMultiplication();
+		// y²=x³+ax+b=(x²+a)x+b, the intermediate sums are reduced before each multiplication
+		BigInteger ySquare = mul.apply(mul.apply(x, x).add(this.a).mod(this.modulus), x).add(this.getB().getValue())
+			   .mod(this.modulus);
+		if (ySquare.signum() == 0) {
+			return ySquare;
+		}
+		if (this.modulus.testBit(1)) {
+			// for p=3 mod 4, the candidate is computed first and then checked
+			BigInteger y = MathUtil.sqrtModPrime(ySquare, this.modulus);
+			return mul.apply(y, y).equals(ySquare) ? y : null;
+		}
+		if (!MathUtil.isQuadraticResidue(ySquare, this.modulus)) {
+			return null;
+		}
+		return MathUtil.sqrtModPrime(ySquare, this.modulus);
+	}
+
 	@Override
 	protected ECZModElement abstractGetIdentityElement() {
 		return new ECZModElement(this);
@@ -126,6 +288,52 @@ public class ECZModPrime
 		return this.abstractGetElement(Point.getInstance(x, y));
 	}
 
+	// the points are added in Jacobian coordinates, which requires a single modular inversion at the end
+	@Override
+	protected ECZModElement defaultApply(final Sequence<Element> elements) {
+		if (elements.isInfinite()) {
+			throw new UniCryptRuntimeException(ErrorCode.UNSUPPORTED_OPERATION, this, elements);
+		}
+		BigInteger[] sum = INFINITY;
+		for (Element element : elements) {
+			if (!this.contains(element)) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, this, element);
+			}
+			sum = this.addJacobian(sum, this.getJacobian((ECZModElement) element));
+		}
+		return this.getAffineElement(sum);
+	}
+
+	// scalar multiplication in Jacobian coordinates using the wNAF representation of the scalar, which requires a single
+	// modular inversion at the end
+	@Override
+	protected ECZModElement defaultSelfApplyAlgorithm(ECZModElement element, BigInteger positiveAmount) {
+		return this.getAffineElement(this.multiplyJacobian(this.getJacobian(element), positiveAmount));
+	}
+
+	@Override
+	protected ECZModElement defaultMultiSelfApplyAlgorithm(Element[] elements, BigInteger[] posAmounts) {
+		BigInteger[][] points = new BigInteger[elements.length][];
+		for (int i = 0; i < elements.length; i++) {
+			points[i] = this.getJacobian((ECZModElement) elements[i]);
+		}
+		return this.getAffineElement(MultiExponentiation.compute(points, posAmounts, (point1, point2) -> addJacobian(point1, point2)));
+	}
+
+	@Override
+	protected FixedBaseTable<Point<ZModElement>> defaultPrecompute(final ECZModElement element, final int windowSize) {
+		final FixedBaseExponentiation<BigInteger[]> exponentiation
+			   = FixedBaseExponentiation.getInstance(this.getJacobian(element), this.getOrder().bitLength(), windowSize, (point1, point2) -> addJacobian(point1, point2));
+		return new AbstractFixedBaseTable<ECZModElement, Point<ZModElement>>(this, element, windowSize) {
+
+			@Override
+			protected ECZModElement abstractSelfApply(BigInteger positiveAmount) {
+				return getAffineElement(exponentiation.compute(positiveAmount));
+			}
+
+		};
+	}
+
 	@Override
 	protected ECZModElement abstractNegate(ZModElement x, ZModElement y) {
 		return this.abstractGetElement(Point.getInstance(x, y.negate()));
@@ -138,6 +346,176 @@ public class ECZModPrime
 		return this.getFiniteField().getSquareRoot(ySquare);
 	}
 
+	private BigInteger[] getJacobian(ECZModElement element) {
+		if (element.isZero()) {
+			return INFINITY;
+		}
+		return new BigInteger[]{element.getX().getValue(), element.getY().getValue(), MathUtil.ONE};
+	}
+
+	private ECZModElement getAffineElement(BigInteger[] point) {
+		if (point[2].signum() == 0) {
+			return this.getZeroElement();
+		}
+		BinaryOperator<BigInteger> mul = this.getMultiplication();
+		BigInteger zInv = MathUtil.modInv(point[2], this.modulus);
+		BigInteger zInv2 = mul.apply(zInv, zInv);
+		BigInteger x = mul.apply(point[0], zInv2);
+		BigInteger y = mul.apply(point[1], mul.apply(zInv2, zInv));
+		ZModPrime primeField = this.getFiniteField();
+		return this.abstractGetElement(Point.getInstance(primeField.getElement(x), primeField.getElement(y)));
+	}
+
+	// see "Guide to Elliptic Curve Cryptography", Algorithm 3.36
+	private BigInteger[] multiplyJacobian(BigInteger[] point, BigInteger positiveAmount) {
+		int windowSize = getWNafWindowSize(positiveAmount.bitLength());
+		int[] digits = getWNaf(positiveAmount, windowSize);
+		// odd multiples P, 3P, 5P, ..., (2^(w-1)-1)P
+		BigInteger[][] table = new BigInteger[1 << (windowSize - 2)][];
+		table[0] = point;
+		if (table.length > 1) {
+			BigInteger[] twice = this.doubleJacobian(point);
+			for (int i = 1; i < table.length; i++) {
+				table[i] = this.addJacobian(table[i - 1], twice);
+			}
+		}
+		BigInteger[] result = INFINITY;
+		for (int i = digits.length - 1; i >= 0; i--) {
+			result = this.doubleJacobian(result);
+			if (digits[i] > 0) {
+				result = this.addJacobian(result, table[digits[i] >> 1]);
+			} else if (digits[i] < 0) {
+				result = this.addJacobian(result, this.negateJacobian(table[-digits[i] >> 1]));
+			}
+		}
+		return result;
+	}
+
+	// see "Guide to Elliptic Curve Cryptography", Section 3.2.2 and http://hyperelliptic.org/EFD (add-1998-cmo-2)
+	private BigInteger[] addJacobian(BigInteger[] point1, BigInteger[] point2) {
+		if (point1[2].signum() == 0) {
+			return point2;
+		}
+		if (point2[2].signum() == 0) {
+			return point1;
+		}
+		BinaryOperator<BigInteger> mul = this.getMultiplication();
+		BigInteger z1 = point1[2];
+		BigInteger z2 = point2[2];
+		BigInteger z1z1 = mul.apply(z1, z1);
+		BigInteger u2 = mul.apply(point2[0], z1z1);
+		BigInteger s2 = mul.apply(point2[1], mul.apply(z1, z1z1));
+		BigInteger u1;
+		BigInteger s1;
+		boolean isZ2One = z2.equals(MathUtil.ONE);
+		if (isZ2One) {
+			u1 = point1[0];
+			s1 = point1[1];
+		} else {
+			BigInteger z2z2 = mul.apply(z2, z2);
+			u1 = mul.apply(point1[0], z2z2);
+			s1 = mul.apply(point1[1], mul.apply(z2, z2z2));
+		}
+		BigInteger h = this.subtract(u2, u1);
+		BigInteger r = this.subtract(s2, s1);
+		if (h.signum() == 0) {
+			if (r.signum() == 0) {
+				return this.doubleJacobian(point1);
+			}
+			return INFINITY;
+		}
+		BigInteger hh = mul.apply(h, h);
+		BigInteger hhh = mul.apply(h, hh);
+		BigInteger v = mul.apply(u1, hh);
+		// X3=r²-H³-2V, Y3=r(V-X3)-S1*H³, Z3=Z1*Z2*H
+		BigInteger x3 = this.subtract(this.subtract(mul.apply(r, r), hhh), this.reduce(v.shiftLeft(1)));
+		BigInteger y3 = this.subtract(mul.apply(r, this.subtract(v, x3)), mul.apply(s1, hhh));
+		BigInteger z3 = isZ2One ? mul.apply(z1, h) : mul.apply(mul.apply(z1, z2), h);
+		return new BigInteger[]{x3, y3, z3};
+	}
+
+	// see "Guide to Elliptic Curve Cryptography", Section 3.2.2 and http://hyperelliptic.org/EFD (dbl-1998-cmo-2)
+	private BigInteger[] doubleJacobian(BigInteger[] point) {
+		if (point[2].signum() == 0 || point[1].signum() == 0) {
+			return INFINITY;
+		}
+		BinaryOperator<BigInteger> mul = this.getMultiplication();
+		BigInteger x = point[0];
+		BigInteger y = point[1];
+		BigInteger z = point[2];
+		BigInteger yy = mul.apply(y, y);
+		BigInteger zz = mul.apply(z, z);
+		// S=4*X*Y², M=3X²+a*Z⁴ (or M=3(X-Z²)(X+Z²) for a=-3)
+		BigInteger s = this.reduce(mul.apply(x, yy).shiftLeft(2));
+		BigInteger m;
+		if (this.isAMinusThree) {
+			m = this.reduce(mul.apply(this.subtract(x, zz), this.reduce(x.add(zz))).multiply(MathUtil.THREE));
+		} else {
+			m = this.reduce(mul.apply(x, x).multiply(MathUtil.THREE).add(mul.apply(this.a, mul.apply(zz, zz))));
+		}
+		// X3=M²-2S, Y3=M(S-X3)-8Y⁴, Z3=2YZ
+		BigInteger x3 = this.subtract(mul.apply(m, m), this.reduce(s.shiftLeft(1)));
+		BigInteger y3 = this.subtract(mul.apply(m, this.subtract(s, x3)), this.reduce(mul.apply(yy, yy).shiftLeft(3)));
+		BigInteger z3 = this.reduce(mul.apply(y, z).shiftLeft(1));
+		return new BigInteger[]{x3, y3, z3};
+	}
+
+	private BigInteger[] negateJacobian(BigInteger[] point) {
+		return new BigInteger[]{point[0], this.subtract(MathUtil.ZERO, point[1]), point[2]};
+	}
+
+	// x-y mod p for 0<=x,y<p
+	private BigInteger subtract(BigInteger x, BigInteger y) {
+		BigInteger z = x.subtract(y);
+		return z.signum() < 0 ? z.add(this.modulus) : z;
+	}
+
+	// x mod p for small multiples x of values smaller than p
+	private BigInteger reduce(BigInteger x) {
+		while (x.compareTo(this.modulus) >= 0) {
+			x = x.subtract(this.modulus);
+		}
+		return x;
+	}
+
+	private BinaryOperator<BigInteger> getMultiplication() {
+		if (this.multiplication == null) {
+			this.multiplication = MathUtil.getModMultiplication(this.modulus);
+		}
+		return this.multiplication;
+	}
+
+	// the window size w minimizes the number of additions 2^(w-2)+b/(w+1)
+	private static int getWNafWindowSize(int bitLength) {
+		int best = 2;
+		for (int w = 3; w <= MAX_WNAF_WINDOW_SIZE; w++) {
+			if ((1 << (w - 2)) + bitLength / (w + 1) < (1 << (best - 2)) + bitLength / (best + 1)) {
+				best = w;
+			}
+		}
+		return best;
+	}
+
+	// see "Guide to Elliptic Curve Cryptography", Algorithm 3.35
+	private static int[] getWNaf(BigInteger k, int windowSize) {
+		int[] digits = new int[k.bitLength() + 1];
+		int mask = (1 << windowSize) - 1;
+		int i = 0;
+		while (k.signum() > 0) {
+			if (k.testBit(0)) {
+				int digit = k.intValue() & mask;
+				if (digit >= 1 << (windowSize - 1)) {
+					digit = digit - (1 << windowSize);
+				}
+				digits[i] = digit;
+				k = k.subtract(BigInteger.valueOf(digit));
+			}
+			k = k.shiftRight(1);
+			i++;
+		}
+		return Arrays.copyOf(digits, i);
+	}
+
 	/**
 	 * Returns a subgroup of an elliptic curve E(F_p):y²=x³+ax+b over a prime field F_p. Checking the curve parameters
 	 * is done according to "SEC1: Elliptic Curve Cryptography", Version 2.0, 2009 (Section 3.1.1.2.1, page 17-18).
@@ -50,7 +50,10 @@ import ch.bfh.unicrypt.helper.sequence.Sequence;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.CyclicRing;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.DualisticElement;
 import ch.bfh.unicrypt.math.algebra.general.abstracts.AbstractCyclicGroup;
+import ch.bfh.unicrypt.math.algebra.general.abstracts.AbstractFixedBaseTable;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.FixedBaseTable;
+import java.math.BigInteger;
 
 /**
  * This abstract class provides a basis implementation for objects of type {@link CyclicRing}. It inherits from
@@ -125,6 +128,29 @@ public abstract class AbstractCyclicRing<E extends DualisticElement<V>, V>
 		return this.abstractIsGenerator((E) element);
 	}
 
+	@Override
+	public final FixedBaseTable<V> precompute(Element element) {
+		return this.precompute(element, FixedBaseTable.DEFAULT_WINDOW_SIZE);
+	}
+
+	@Override
+	public final FixedBaseTable<V> precompute(Element element, int windowSize) {
+		AbstractFixedBaseTable.checkArguments(this, element, windowSize);
+		return this.defaultPrecompute((E) element, windowSize);
+	}
+
+	// the additive group of a cyclic ring offers a fast self-application algorithm, thus no values are precomputed
+	protected FixedBaseTable<V> defaultPrecompute(final E element, final int windowSize) {
+		return new AbstractFixedBaseTable<E, V>(this, element, windowSize) {
+
+			@Override
+			protected E abstractSelfApply(BigInteger positiveAmount) {
+				return defaultSelfApplyAlgorithm(element, positiveAmount);
+			}
+
+		};
+	}
+
 	// see Handbook of Applied Cryptography, Algorithm 4.80 and Note 4.81
 	protected Sequence<E> defaultGetRandomGenerators(RandomByteSequence randomByteSequence) {
 		return this.abstractGetRandomElements(randomByteSequence).filter(value -> isGenerator(value));
@@ -43,6 +43,9 @@ package ch.bfh.unicrypt.math.algebra.dualistic.abstracts;
 
 import ch.bfh.unicrypt.ErrorCode;
 import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
+import ch.bfh.unicrypt.helper.math.BatchInversion;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.DualisticElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.PrimeField;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
@@ -82,6 +85,12 @@ public abstract class AbstractPrimeField<E extends DualisticElement<V>, M extend
 		return this.multiplicativeGroup;
 	}
 
+	@Override
+	public final DenseArray<E> oneOverAll(final ImmutableArray<Element> elements) {
+		// Montgomery's trick: a single call to abstractOneOver for all elements
+		return BatchInversion.compute(this, elements, this::abstractMultiply, this::abstractOneOver);
+	}
+
 	@Override
 	public final E divide(Element element1, Element element2) {
 		return this.multiply(element1, this.oneOver(element2));
@@ -43,11 +43,15 @@ package ch.bfh.unicrypt.math.algebra.dualistic.abstracts;
 
 import ch.bfh.unicrypt.ErrorCode;
 import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.DualisticElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.Ring;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This abstract class provides a basis implementation for objects of type {@link Ring}.
@@ -75,6 +79,19 @@ public abstract class AbstractRing<E extends DualisticElement<V>, V>
 		return this.abstractInvert((E) element);
 	}
 
+	@Override
+	public final DenseArray<E> invertAll(final ImmutableArray<Element> elements) {
+		if (elements == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		for (Element element : elements) {
+			if (!this.contains(element)) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, this, element);
+			}
+		}
+		return this.defaultInvertAll(elements);
+	}
+
 	@Override
 	public final E applyInverse(Element element1, Element element2) {
 		return this.apply(element1, this.invert(element2));
@@ -163,6 +180,14 @@ public abstract class AbstractRing<E extends DualisticElement<V>, V>
 		return result;
 	}
 
+	protected DenseArray<E> defaultInvertAll(final ImmutableArray<Element> elements) {
+		List<E> results = new ArrayList<>(elements.getLength());
+		for (Element element : elements) {
+			results.add(this.abstractInvert((E) element));
+		}
+		return DenseArray.getInstance(results);
+	}
+
 	protected abstract E abstractInvert(E element);
 
 }
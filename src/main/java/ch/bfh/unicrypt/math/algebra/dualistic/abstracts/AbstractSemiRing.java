@@ -159,6 +159,7 @@ public abstract class AbstractSemiRing<E extends DualisticElement<V>, V>
 		return element.isEquivalent(this.getOneElement());
 	}
 
+	// this method is overridden in ZMod
 	protected E defaultMultiply(final Sequence<Element> elements) {
 		final SemiRing<V> semiGroup = this;
 		return (E) elements.reduce((element1, element2) -> semiGroup.multiply(element1, element2), this.getOneElement());
@@ -44,8 +44,11 @@ package ch.bfh.unicrypt.math.algebra.dualistic.classes;
 import ch.bfh.unicrypt.ErrorCode;
 import ch.bfh.unicrypt.UniCryptException;
 import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.converter.abstracts.AbstractBigIntegerConverter;
 import ch.bfh.unicrypt.helper.converter.interfaces.Converter;
+import ch.bfh.unicrypt.helper.math.BatchInversion;
 import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.helper.math.Polynomial;
 import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
@@ -192,6 +195,26 @@ public class PolynomialField
 		return this.getElement(this.modulo(result).getValue());
 	}
 
+	@Override
+	public DenseArray<PolynomialElement> oneOverAll(ImmutableArray<Element> elements) {
+		if (elements == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		// Montgomery's trick: a single polynomial inversion for all elements
+		PolynomialElement[] values = new PolynomialElement[elements.getLength()];
+		int i = 0;
+		for (Element element : elements) {
+			if (!this.contains(element)) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, this, element);
+			}
+			if (((PolynomialElement) element).isZero()) {
+				throw new UniCryptRuntimeException(ErrorCode.DIVISION_BY_ZERO, this, element);
+			}
+			values[i++] = (PolynomialElement) element;
+		}
+		return DenseArray.getInstance(BatchInversion.compute(values, this::multiply, this::oneOver));
+	}
+
 	@Override
 	public PolynomialElement divide(Element element1, Element element2) {
 		return this.multiply(element1, this.oneOver(element2));
@@ -43,6 +43,8 @@ package ch.bfh.unicrypt.math.algebra.dualistic.classes;
 
 import ch.bfh.unicrypt.ErrorCode;
 import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.helper.math.Polynomial;
 import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
@@ -52,7 +54,9 @@ import ch.bfh.unicrypt.math.algebra.general.classes.Pair;
 import ch.bfh.unicrypt.math.algebra.general.classes.Triple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -92,6 +96,18 @@ public class PolynomialRing
 		return this.abstractGetElement(coefficientMap);
 	}
 
+	@Override
+	public DenseArray<PolynomialElement> invertAll(ImmutableArray<Element> elements) {
+		if (elements == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		List<PolynomialElement> results = new ArrayList<>(elements.getLength());
+		for (Element element : elements) {
+			results.add(this.invert(element));
+		}
+		return DenseArray.getInstance(results);
+	}
+
 	@Override
 	public PolynomialElement applyInverse(Element element1, Element element2) {
 		return this.apply(element1, this.invert(element2));
@@ -52,6 +52,8 @@ import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
 import ch.bfh.unicrypt.helper.sequence.Sequence;
 import ch.bfh.unicrypt.math.algebra.dualistic.abstracts.AbstractCyclicRing;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.Ring;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementVector;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import java.math.BigInteger;
 
@@ -102,6 +104,11 @@ public class ZMod
 		return this.getElement(BigInteger.valueOf(integerValue));
 	}
 
+	@Override
+	protected ZModElement defaultMultiply(final Sequence<Element> elements) {
+		return this.abstractGetElement(this.computeModProduct(elements, this.modulus));
+	}
+
 	@Override
 	protected ZModElement defaultSelfApplyAlgorithm(ZModElement element, BigInteger posFactor) {
 		return this.abstractGetElement(element.getValue().multiply(posFactor).mod(this.modulus));
@@ -153,6 +160,23 @@ public class ZMod
 		return value.signum() >= 0 && value.compareTo(this.modulus) < 0;
 	}
 
+	@Override
+	protected ElementVector.Layout<ZModElement> defaultGetElementVectorLayout() {
+		return new ElementVector.Layout<ZModElement>(this, 1, this.modulus.bitLength()) {
+
+			@Override
+			protected BigInteger[] abstractGetBigIntegers(ZModElement element) {
+				return new BigInteger[]{element.getValue()};
+			}
+
+			@Override
+			protected ZModElement abstractGetElement(BigInteger[] values) {
+				return ZMod.this.abstractGetElement(values[0]);
+			}
+
+		};
+	}
+
 	@Override
 	protected ZModElement abstractGetElement(BigInteger value) {
 		return new ZModElement(this, value);
@@ -43,6 +43,8 @@ package ch.bfh.unicrypt.math.algebra.dualistic.classes;
 
 import ch.bfh.unicrypt.ErrorCode;
 import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.cache.Cache;
 import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.helper.prime.Prime;
@@ -51,6 +53,8 @@ import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.PrimeField;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.ZStarModPrime;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  *
@@ -152,6 +156,30 @@ public class ZModPrime
 		return this.abstractGetElement(MathUtil.modInv(zModElement.getValue(), this.modulus));
 	}
 
+	@Override
+	public DenseArray<ZModElement> oneOverAll(ImmutableArray<Element> elements) {
+		if (elements == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		BigInteger[] values = new BigInteger[elements.getLength()];
+		int i = 0;
+		for (Element element : elements) {
+			if (!this.contains(element)) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, this, element);
+			}
+			ZModElement zModElement = (ZModElement) element;
+			if (zModElement.isZero()) {
+				throw new UniCryptRuntimeException(ErrorCode.DIVISION_BY_ZERO, this);
+			}
+			values[i++] = zModElement.getValue();
+		}
+		List<ZModElement> results = new ArrayList<>(values.length);
+		for (BigInteger inverse : MathUtil.modInvAll(values, this.modulus)) {
+			results.add(this.abstractGetElement(inverse));
+		}
+		return DenseArray.getInstance(results);
+	}
+
 	@Override
 	public ZModPrime getZModOrder() {
 		return ZModPrime.getInstance(this.getOrder());
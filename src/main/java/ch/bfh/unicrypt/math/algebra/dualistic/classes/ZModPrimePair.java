@@ -44,8 +44,10 @@ package ch.bfh.unicrypt.math.algebra.dualistic.classes;
 import ch.bfh.unicrypt.ErrorCode;
 import ch.bfh.unicrypt.UniCryptRuntimeException;
 import ch.bfh.unicrypt.helper.cache.Cache;
+import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.helper.prime.Prime;
 import ch.bfh.unicrypt.helper.prime.PrimePair;
+import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.ZStarModPrimePair;
 import java.math.BigInteger;
 
@@ -58,11 +60,23 @@ public class ZModPrimePair
 
 	private static final Cache<BigInteger, ZModPrimePair> CACHE = new Cache<>(Cache.SIZE_S);
 
+	// the bit length of the random prime used for verifying the exponentiations based on the Chinese Remainder Theorem
+	private static final int FAULT_CHECK_BIT_LENGTH = 64;
+
 	private final PrimePair primePair;
 
+	// the prime factors p>q and the precomputed value q^{-1} mod p for the recombination by Garner's formula
+	private final BigInteger p, q, qInv;
+
+	// the random prime for verifying the exponentiations based on the Chinese Remainder Theorem
+	private transient volatile BigInteger faultCheckPrime;
+
 	protected ZModPrimePair(PrimePair primePair) {
 		super(primePair.getValue());
 		this.primePair = primePair;
+		this.p = primePair.getLargerPrimeFactor();
+		this.q = primePair.getSmallerPrimeFactor();
+		this.qInv = MathUtil.modInv(this.q, this.p);
 	}
 
 	public PrimePair getPrimePair() {
@@ -79,6 +93,55 @@ public class ZModPrimePair
 		return ZStarModPrimePair.getInstance(this.getPrimePair());
 	}
 
+	// Exponents of at least the bit length of q, such as RSA private keys, are processed modulo p and q separately
+	// using the Chinese Remainder Theorem, which is about 3-4 times faster than a single exponentiation modulo n=pq.
+	// Short exponents, such as RSA public keys, are processed as usual. A fault in one of the two exponentiations would
+	// reveal the factorization of n (Bellcore attack), the result is therefore verified before it is returned: by
+	// Shamir's countermeasure, both exponentiations are computed modulo p*r and q*r for a secret random prime r and
+	// must agree modulo r, and the recombined result must agree with both of them modulo p and q.
+	@Override
+	protected ZModElement defaultPowerAlgorithm(ZModElement element, BigInteger exponent) {
+		if (exponent.bitLength() < this.q.bitLength()) {
+			return super.defaultPowerAlgorithm(element, exponent);
+		}
+		BigInteger x = element.getValue();
+		BigInteger r = this.getFaultCheckPrime();
+		BigInteger xpr = this.powerModPrimeProduct(x, exponent, this.p, r);
+		BigInteger xqr = this.powerModPrimeProduct(x, exponent, this.q, r);
+		BigInteger xp = xpr.mod(this.p);
+		BigInteger xq = xqr.mod(this.q);
+		// Garner's formula: x^e = xq + q*((xp-xq)*q^{-1} mod p)
+		BigInteger h = xp.subtract(xq).multiply(this.qInv).mod(this.p);
+		BigInteger y = xq.add(h.multiply(this.q));
+		if (!xpr.mod(r).equals(xqr.mod(r)) || !y.mod(this.p).equals(xp) || !y.mod(this.q).equals(xq)) {
+			throw new UniCryptRuntimeException(ErrorCode.IMPOSSIBLE_STATE, this, element);
+		}
+		return this.abstractGetElement(y);
+	}
+
+	// the random prime r is chosen when needed for the first time, it is different from p and q and never revealed
+	private BigInteger getFaultCheckPrime() {
+		if (this.faultCheckPrime == null) {
+			this.faultCheckPrime = HybridRandomByteSequence.getInstance()
+				   .getRandomBigIntegerSequence(FAULT_CHECK_BIT_LENGTH)
+				   .find(value -> MathUtil.isPrime(value) && !value.equals(this.p) && !value.equals(this.q));
+		}
+		return this.faultCheckPrime;
+	}
+
+	// computes x^e mod s*r for distinct primes s and r and e>0, where the exponent is reduced modulo (s-1)(r-1) by
+	// Euler's theorem; a reduced exponent of 0 is replaced by (s-1)(r-1), which keeps the result correct for values x
+	// divisible by s or r
+	private BigInteger powerModPrimeProduct(BigInteger x, BigInteger exponent, BigInteger s, BigInteger r) {
+		BigInteger phi = s.subtract(MathUtil.ONE).multiply(r.subtract(MathUtil.ONE));
+		BigInteger reducedExponent = exponent.mod(phi);
+		if (reducedExponent.signum() == 0) {
+			reducedExponent = phi;
+		}
+		BigInteger modulus = s.multiply(r);
+		return MathUtil.modExp(x.mod(modulus), reducedExponent, modulus);
+	}
+
 	public static ZModPrimePair getInstance(final long prime1, final long prime2) {
 		return ZModPrimePair.getInstance(BigInteger.valueOf(prime1), BigInteger.valueOf(prime2));
 	}
@@ -41,6 +41,7 @@
  */
 package ch.bfh.unicrypt.math.algebra.dualistic.interfaces;
 
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.multiplicative.interfaces.MultiplicativeGroup;
 import java.math.BigInteger;
@@ -79,6 +80,15 @@ public interface Field<V>
 	 */
 	public DualisticElement<V> oneOver(Element element);
 
+	/**
+	 * Returns the multiplicative inverses of all given elements. Throws an exception if one of the given elements is
+	 * the zero element. Depending on the field, this is considerably faster than inverting the elements one by one.
+	 * <p>
+	 * @param elements The given elements
+	 * @return The array of multiplicative inverses of the given elements
+	 */
+	public ImmutableArray<? extends DualisticElement<V>> oneOverAll(ImmutableArray<Element> elements);
+
 	/**
 	 * Divides the first element over the second element.
 	 * <p>
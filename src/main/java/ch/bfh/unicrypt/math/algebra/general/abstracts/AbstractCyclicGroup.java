@@ -50,6 +50,8 @@ import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
 import ch.bfh.unicrypt.helper.sequence.Sequence;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.FixedBaseTable;
+import java.math.BigInteger;
 
 /**
  * This abstract class provides a base implementation for the interface {@link CyclicGroup}.
@@ -132,6 +134,17 @@ public abstract class AbstractCyclicGroup<E extends Element<V>, V>
 		return this.defaultIsGenerator((E) element);
 	}
 
+	@Override
+	public final FixedBaseTable<V> precompute(Element element) {
+		return this.precompute(element, FixedBaseTable.DEFAULT_WINDOW_SIZE);
+	}
+
+	@Override
+	public final FixedBaseTable<V> precompute(Element element, int windowSize) {
+		AbstractFixedBaseTable.checkArguments(this, element, windowSize);
+		return this.defaultPrecompute((E) element, windowSize);
+	}
+
 	// see Handbook of Applied Cryptography, Algorithm 4.80 and Note 4.81
 	protected Sequence<E> defaultGetRandomGenerators(RandomByteSequence randomByteSequence) {
 		return this.abstractGetRandomElements(randomByteSequence).filter(value -> isGenerator(value));
@@ -143,6 +156,18 @@ public abstract class AbstractCyclicGroup<E extends Element<V>, V>
 		return Sequence.getInstance(this.getDefaultGenerator(), element -> group.apply(group.getDefaultGenerator(), element)).limit(element -> group.getIdentityElement().equals(element));
 	}
 
+	// this method is overriden in GStarMod and AbstractEC, the default table contains no precomputed values
+	protected FixedBaseTable<V> defaultPrecompute(final E element, final int windowSize) {
+		return new AbstractFixedBaseTable<E, V>(this, element, windowSize) {
+
+			@Override
+			protected E abstractSelfApply(BigInteger positiveAmount) {
+				return defaultSelfApplyAlgorithm(element, positiveAmount);
+			}
+
+		};
+	}
+
 	// we return true by default, because we assume that most cyclic groups will be of prime order
 	protected boolean defaultIsGenerator(E element) {
 		return true;
@@ -0,0 +1,143 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.general.abstracts;
+
+import ch.bfh.unicrypt.ErrorCode;
+import ch.bfh.unicrypt.UniCrypt;
+import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.FixedBaseTable;
+import java.math.BigInteger;
+
+/**
+ * This abstract class provides a base implementation for the interface {@link FixedBaseTable}. It reduces the given
+ * amounts modulo the group order, such that implementing classes only need to deal with positive amounts smaller than
+ * the group order. For infinite groups or groups of unknown order, the computation is delegated to the group.
+ * <p>
+ * @param <E> The generic type of the fixed element
+ * @param <V> The generic type of the values representing the elements of the cyclic group
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public abstract class AbstractFixedBaseTable<E extends Element<V>, V>
+	   extends UniCrypt
+	   implements FixedBaseTable<V> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final CyclicGroup<V> cyclicGroup;
+	private final E base;
+	private final int windowSize;
+
+	protected AbstractFixedBaseTable(CyclicGroup<V> cyclicGroup, E base, int windowSize) {
+		this.cyclicGroup = cyclicGroup;
+		this.base = base;
+		this.windowSize = windowSize;
+	}
+
+	@Override
+	public final CyclicGroup<V> getCyclicGroup() {
+		return this.cyclicGroup;
+	}
+
+	@Override
+	public final E getBase() {
+		return this.base;
+	}
+
+	@Override
+	public final int getWindowSize() {
+		return this.windowSize;
+	}
+
+	@Override
+	public final E selfApply(Element<BigInteger> amount) {
+		if (amount == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		return this.selfApply(amount.getValue());
+	}
+
+	@Override
+	public final E selfApply(BigInteger amount) {
+		if (amount == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		if (!this.cyclicGroup.isFinite() || !this.cyclicGroup.hasKnownOrder()) {
+			return (E) this.cyclicGroup.selfApply(this.base, amount);
+		}
+		amount = amount.mod(this.cyclicGroup.getOrder());
+		if (amount.signum() == 0) {
+			return (E) this.cyclicGroup.getIdentityElement();
+		}
+		return this.abstractSelfApply(amount);
+	}
+
+	/**
+	 * Checks the arguments of {@link CyclicGroup#precompute(Element, int)}, i.e., that the given element belongs to
+	 * the given cyclic group and that the window size lies in the accepted range. This method is called by all
+	 * implementations of {@link CyclicGroup#precompute(Element, int)} before creating the table.
+	 * <p>
+	 * @param cyclicGroup The given cyclic group
+	 * @param element     The given element
+	 * @param windowSize  The given window size
+	 */
+	public static void checkArguments(CyclicGroup<?> cyclicGroup, Element element, int windowSize) {
+		if (!cyclicGroup.contains(element)) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, cyclicGroup, element);
+		}
+		if (windowSize < 1 || windowSize > FixedBaseTable.MAX_WINDOW_SIZE) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_ARGUMENT, cyclicGroup, windowSize);
+		}
+	}
+
+	@Override
+	protected String defaultToStringContent() {
+		return this.base.toString() + "," + this.windowSize;
+	}
+
+	// the amount is always positive and smaller than the group order
+	protected abstract E abstractSelfApply(BigInteger positiveAmount);
+
+}
@@ -43,10 +43,15 @@ package ch.bfh.unicrypt.math.algebra.general.abstracts;
 
 import ch.bfh.unicrypt.ErrorCode;
 import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Group;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * This abstract class provides a base implementation for the interface {@link Group}.
@@ -77,6 +82,19 @@ public abstract class AbstractGroup<E extends Element<V>, V>
 		return this.abstractInvert((E) element);
 	}
 
+	@Override
+	public final DenseArray<E> invertAll(final ImmutableArray<Element> elements) {
+		if (elements == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		for (Element element : elements) {
+			if (!this.contains(element)) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, this, element);
+			}
+		}
+		return this.defaultInvertAll(elements);
+	}
+
 	@Override
 	public final E applyInverse(Element element1, Element element2) {
 		return this.apply(element1, this.invert(element2));
@@ -143,6 +161,52 @@ public abstract class AbstractGroup<E extends Element<V>, V>
 		return this.invert(result);
 	}
 
+	@Override
+	protected E defaultMultiSelfApply(final Element[] elements, final BigInteger[] amounts) {
+		boolean reduceAmounts = this.isFinite() && this.hasKnownOrder();
+		Element[] positiveElements = new Element[elements.length];
+		BigInteger[] positiveAmounts = new BigInteger[amounts.length];
+		int n = 0;
+		for (int i = 0; i < elements.length; i++) {
+			Element element = elements[i];
+			BigInteger amount = amounts[i];
+			if (amount == null) {
+				throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+			}
+			if (!this.contains(element)) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, this, element);
+			}
+			if (reduceAmounts) {
+				amount = amount.mod(this.getOrder());
+			} else if (amount.signum() < 0) {
+				element = this.abstractInvert((E) element);
+				amount = amount.negate();
+			}
+			// zero amounts contribute the identity element
+			if (amount.signum() > 0) {
+				positiveElements[n] = element;
+				positiveAmounts[n] = amount;
+				n++;
+			}
+		}
+		if (n == 0) {
+			return this.getIdentityElement();
+		}
+		if (n == 1) {
+			return this.defaultSelfApplyAlgorithm((E) positiveElements[0], positiveAmounts[0]);
+		}
+		return this.defaultMultiSelfApplyAlgorithm(Arrays.copyOf(positiveElements, n), Arrays.copyOf(positiveAmounts, n));
+	}
+
+	// this method is overridden in GStarMod and ZStarMod
+	protected DenseArray<E> defaultInvertAll(final ImmutableArray<Element> elements) {
+		List<E> results = new ArrayList<>(elements.getLength());
+		for (Element element : elements) {
+			results.add(this.abstractInvert((E) element));
+		}
+		return DenseArray.getInstance(results);
+	}
+
 	protected abstract E abstractInvert(E element);
 
 }
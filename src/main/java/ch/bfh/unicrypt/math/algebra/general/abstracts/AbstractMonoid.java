@@ -91,6 +91,7 @@ public abstract class AbstractMonoid<E extends Element<V>, V>
 		return MathUtil.ONE;
 	}
 
+	// this method is overridden in GStarMod, ZStarMod, ECZModPrime, and ProductMonoid
 	@Override
 	protected E defaultApply(final Sequence<Element> elements) {
 		final SemiGroup<V> monoid = this;
@@ -157,7 +157,7 @@ public abstract class AbstractSemiGroup<E extends Element<V>, V>
 		return this.defaultSelfApplyAlgorithm(element, amount);
 	}
 
-	// this method is overriden in GStarMod, ZStarMod, ZMod, and PolynomialSemiRing
+	// this method is overriden in GStarMod, ZStarMod, ZMod, PolynomialSemiRing, and ECZModPrime
 	protected E defaultSelfApplyAlgorithm(E element, BigInteger positiveAmount) {
 		E result = element;
 		for (int i = positiveAmount.bitLength() - 2; i >= 0; i--) {
@@ -169,7 +169,7 @@ public abstract class AbstractSemiGroup<E extends Element<V>, V>
 		return result;
 	}
 
-	// this method is overriden in AbstractMonoid
+	// this method is overriden in AbstractMonoid and AbstractGroup
 	protected E defaultMultiSelfApply(final Element[] elements, final BigInteger[] amounts) {
 		if (elements.length == 0) {
 			throw new UniCryptRuntimeException(ErrorCode.INVALID_LENGTH, this, elements, amounts);
@@ -181,6 +181,15 @@ public abstract class AbstractSemiGroup<E extends Element<V>, V>
 		return this.apply(results);
 	}
 
+	// this method is overriden in GStarMod, ZStarMod, and AbstractEC
+	protected E defaultMultiSelfApplyAlgorithm(Element[] elements, BigInteger[] positiveAmounts) {
+		E result = this.defaultSelfApplyAlgorithm((E) elements[0], positiveAmounts[0]);
+		for (int i = 1; i < elements.length; i++) {
+			result = this.abstractApply(result, this.defaultSelfApplyAlgorithm((E) elements[i], positiveAmounts[i]));
+		}
+		return result;
+	}
+
 	protected abstract E abstractApply(E element1, E element2);
 
 }
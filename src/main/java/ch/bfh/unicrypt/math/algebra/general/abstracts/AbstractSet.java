@@ -50,6 +50,8 @@ import ch.bfh.unicrypt.helper.aggregator.classes.ByteArrayAggregator;
 import ch.bfh.unicrypt.helper.aggregator.classes.StringAggregator;
 import ch.bfh.unicrypt.helper.aggregator.interfaces.Aggregator;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.converter.classes.CompositeConverter;
 import ch.bfh.unicrypt.helper.converter.classes.ConvertMethod;
 import ch.bfh.unicrypt.helper.converter.classes.bytearray.BigIntegerToByteArray;
@@ -57,6 +59,7 @@ import ch.bfh.unicrypt.helper.converter.classes.string.BigIntegerToString;
 import ch.bfh.unicrypt.helper.converter.interfaces.Converter;
 import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.helper.random.RandomByteSequence;
+import ch.bfh.unicrypt.helper.random.RandomByteSequenceIterator;
 import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
 import ch.bfh.unicrypt.helper.sequence.BigIntegerSequence;
 import ch.bfh.unicrypt.helper.sequence.Sequence;
@@ -68,6 +71,8 @@ import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.Field;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.Ring;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.SemiRing;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementCodec;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementVector;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
@@ -78,6 +83,10 @@ import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.ZStarMod;
 import ch.bfh.unicrypt.math.algebra.multiplicative.interfaces.MultiplicativeSemiGroup;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This abstract class provides a base implementation for the interface {@link Set}. Non-abstract sub-classes need to
@@ -99,6 +108,13 @@ public abstract class AbstractSet<E extends Element<V>, V>
 
 	private static final long serialVersionUID = 1L;
 
+	// the number of rounds of the randomized batch membership test; each round detects an invalid value with
+	// probability at least 1/2
+	protected static final int BATCH_TEST_ROUNDS = Long.SIZE;
+
+	// the maximal number of random masks generated at once by getRandomMasks
+	private static final int MASK_CHUNK_SIZE = 1 << 16;
+
 	// the class of the values used to represent elements of this set
 	private final Class<?> valueClass;
 
@@ -113,6 +129,18 @@ public abstract class AbstractSet<E extends Element<V>, V>
 	private Converter<V, String> stringConverter;
 	private Converter<V, ByteArray> byteArrayConverter;
 
+	// the codec for the binary encoding of the elements, which is created when needed for the first time
+	private transient ElementCodec<E> elementCodec;
+
+	// the layout of the elements in element vectors, which is created when needed for the first time (null if not
+	// supported)
+	private transient ElementVector.Layout<E> elementVectorLayout;
+	private transient boolean elementVectorLayoutCreated;
+
+	// the last other set found to be equivalent to this set, which allows elements of that set to pass membership tests
+	// without repeating the (possibly expensive) equivalence test
+	private transient volatile Set<?> equivalentSet;
+
 	protected AbstractSet(Class<?> valueClass) {
 		this.valueClass = valueClass;
 	}
@@ -264,12 +292,117 @@ public abstract class AbstractSet<E extends Element<V>, V>
 		if (element == null) {
 			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
 		}
+		// elements constructed by this set are always valid
+		if (element.getSet() == this) {
+			return true;
+		}
 		if (!this.valueClass.isInstance(element.getValue())) {
 			return false;
 		}
 		return this.defaultContains((Element<V>) element);
 	}
 
+	@Override
+	public final boolean containsAll(ImmutableArray<V> values) {
+		return this.containsAll(values, HybridRandomByteSequence.getInstance());
+	}
+
+	@Override
+	public final boolean containsAll(ImmutableArray<V> values, RandomByteSequence randomByteSequence) {
+		if (values == null || randomByteSequence == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this, values, randomByteSequence);
+		}
+		for (V value : values) {
+			if (value == null) {
+				throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this, values);
+			}
+		}
+		return this.defaultContainsAll(values, randomByteSequence);
+	}
+
+	@Override
+	public final boolean containsAll(Sequence<V> values) {
+		if (values == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		if (values.isInfinite()) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_LENGTH, this, values);
+		}
+		return this.containsAll(DenseArray.getInstance(values));
+	}
+
+	@Override
+	public final int findNonMember(ImmutableArray<V> values) {
+		if (this.containsAll(values)) {
+			return -1;
+		}
+		int index = 0;
+		for (V value : values) {
+			if (!this.defaultContainsValue(value)) {
+				return index;
+			}
+			index++;
+		}
+		return -1;
+	}
+
+	@Override
+	public final ElementVector getElementVector(ImmutableArray<Element> elements) {
+		if (elements == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		if (elements instanceof ElementVector && this.isEquivalent(((ElementVector) elements).getSet())) {
+			return (ElementVector) elements;
+		}
+		ElementVector.Layout<E> layout = this.getElementVectorLayout();
+		if (layout == null) {
+			throw new UniCryptRuntimeException(ErrorCode.UNSUPPORTED_OPERATION, this);
+		}
+		for (Element element : elements) {
+			if (!this.contains(element)) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, this, element);
+			}
+		}
+		return ElementVector.getInstance(layout, elements);
+	}
+
+	@Override
+	public final ElementVector getElementVector(ByteArray byteArray) {
+		if (byteArray == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		ElementVector.Layout<E> layout = this.getElementVectorLayout();
+		if (layout == null) {
+			throw new UniCryptRuntimeException(ErrorCode.UNSUPPORTED_OPERATION, this);
+		}
+		ElementVector vector = ElementVector.getInstance(layout, byteArray);
+		List<V> values = new ArrayList<>(vector.getLength());
+		for (Element<V> element : vector) {
+			values.add(element.getValue());
+		}
+		if (!this.containsAll(DenseArray.getInstance(values))) {
+			throw new UniCryptRuntimeException(ErrorCode.ELEMENT_CONSTRUCTION_FAILURE, this, byteArray);
+		}
+		return vector;
+	}
+
+	@Override
+	public final ElementVector.Layout<E> getElementVectorLayout() {
+		if (!this.elementVectorLayoutCreated) {
+			this.elementVectorLayout = this.defaultGetElementVectorLayout();
+			this.elementVectorLayoutCreated = true;
+		}
+		return this.elementVectorLayout;
+	}
+
+	@Override
+	public final ElementCodec<E> getElementCodec() {
+		if (this.elementCodec == null) {
+			this.elementCodec = this.defaultGetElementCodec();
+		}
+		return this.elementCodec;
+	}
+
 	@Override
 	public final E getRandomElement() {
 		return this.getRandomElement(HybridRandomByteSequence.getInstance());
@@ -397,12 +530,16 @@ public abstract class AbstractSet<E extends Element<V>, V>
 		if (other == null) {
 			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
 		}
-		if (this == other) {
+		if (this == other || this.equivalentSet == other) {
 			return true;
 		}
 		// matchAll if this.getClass() is a superclass of other.getClass()
 		if (this.getClass().isAssignableFrom(other.getClass())) {
-			return this.defaultIsEquivalent(other);
+			if (this.defaultIsEquivalent(other)) {
+				this.equivalentSet = other;
+				return true;
+			}
+			return false;
 		}
 		// vice versa
 		if (other.getClass().isAssignableFrom(this.getClass())) {
@@ -504,6 +641,66 @@ public abstract class AbstractSet<E extends Element<V>, V>
 		return this.isEquivalent(element.getSet());
 	}
 
+	// this method is different only for ProductSet, it tests a single value in the same way as defaultContainsAll
+	protected boolean defaultContainsValue(V value) {
+		return this.abstractContains(value);
+	}
+
+	// this method is overridden in GStarMod, GStarModSafePrime, ECZModPrime, and ProductSet
+	protected boolean defaultContainsAll(ImmutableArray<V> values, RandomByteSequence randomByteSequence) {
+		for (V value : values) {
+			if (!this.abstractContains(value)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// computes the product of the values of the given elements of this set modulo the given modulus, without
+	// intermediate reductions by long divisions; this method is used in GStarMod, ZStarMod, and ZMod
+	protected final BigInteger computeModProduct(final Sequence<Element> elements, final BigInteger modulus) {
+		if (elements.isInfinite()) {
+			throw new UniCryptRuntimeException(ErrorCode.UNSUPPORTED_OPERATION, this, elements);
+		}
+		return MathUtil.modProduct(elements.map(element -> {
+			if (!this.contains(element)) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, this, element);
+			}
+			return (BigInteger) element.getValue();
+		}), modulus);
+	}
+
+	// returns a random bit mask of length BATCH_TEST_ROUNDS for each of n values, which determines the rounds of the
+	// randomized batch membership test in which the value is included; the masks are filled in bounded chunks, since
+	// the total number of random bytes may exceed the range of int
+	protected static long[] getRandomMasks(int n, RandomByteSequence randomByteSequence) {
+		long[] masks = new long[n];
+		RandomByteSequenceIterator iterator = randomByteSequence.iterator();
+		byte[] bytes = new byte[Math.min(n, MASK_CHUNK_SIZE) * Long.BYTES];
+		LongBuffer buffer = ByteBuffer.wrap(bytes).asLongBuffer();
+		for (int from = 0; from < n; from += MASK_CHUNK_SIZE) {
+			int length = Math.min(MASK_CHUNK_SIZE, n - from);
+			iterator.nextBytes(bytes, 0, length * Long.BYTES);
+			buffer.rewind();
+			buffer.get(masks, from, length);
+		}
+		return masks;
+	}
+
+	// this method is overridden in ZMod, ZStarMod, GStarMod, ECZModPrime, and ProductSet
+	protected ElementVector.Layout<E> defaultGetElementVectorLayout() {
+		return null;
+	}
+
+	// this method is overridden in ProductSet and ECZModPrime
+	protected ElementCodec<E> defaultGetElementCodec() {
+		ElementVector.Layout<E> layout = this.getElementVectorLayout();
+		if (layout != null) {
+			return ElementCodec.getInstance(layout);
+		}
+		return ElementCodec.getInstance(this, this.getByteArrayConverter(), value -> this.abstractGetElement(value));
+	}
+
 	// this method is overridden in ProductSet
 	protected <W> E defaultGetElementFrom(Tree<W> tree, ConvertMethod<W> convertMethod) throws UniCryptException {
 		if (!tree.isLeaf()) {
@@ -0,0 +1,598 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.general.classes;
+
+import ch.bfh.unicrypt.ErrorCode;
+import ch.bfh.unicrypt.UniCrypt;
+import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.converter.interfaces.Converter;
+import ch.bfh.unicrypt.helper.hash.HashAlgorithm;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * This abstract class defines a compact binary encoding of the elements of a given set, which is derived from the
+ * structure of the set. Elements of sets defining an {@link ElementVector.Layout}, such as {@code ZMod},
+ * {@code ZStarMod}, or {@code GStarMod}, are encoded as fixed-width big-endian integers. Points of elliptic curves
+ * over prime fields are encoded in compressed form, i.e., by their x-coordinate and the parity of the y-coordinate.
+ * The elements of a {@link ProductSet} are encoded by concatenating the encodings of their components, which requires
+ * no length information as long as all components have a fixed width. Elements of all other sets are encoded using the
+ * set's default {@link ByteArray} converter, prefixed by a 4-byte length.
+ * <p>
+ * An encoding produced by {@link #encode(Element)} starts with a header consisting of a version byte and a fingerprint
+ * of the codec's schema, which allows detecting attempts of decoding data with an incompatible codec. For storing a
+ * large number of elements, a single header can be written using {@link #writeHeader(ByteBuffer)}, followed by the
+ * headerless encodings of the elements written by {@link #write(Element, ByteBuffer)}. The elements are decoded
+ * directly from a {@link ByteBuffer}, for example from a memory-mapped file, without copying the buffer's content.
+ * <p>
+ * When decoding, the membership test of the decoded elements is optional. If enabled, it is performed once for all
+ * elements decoded in a single call, using the batch membership test {@link Set#containsAll(ImmutableArray)} of each
+ * involved set. Codecs are obtained from {@link Set#getElementCodec()}.
+ * <p>
+ * @param <E> The generic type of the encoded elements
+ * @see Set#getElementCodec()
+ * @author R. Haenni
+ * @version 2.0
+ */
+public abstract class ElementCodec<E extends Element>
+	   extends UniCrypt {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The version of the binary format, which is written as the first byte of each header.
+	 */
+	public static final byte VERSION = 1;
+
+	/**
+	 * The length of the fingerprint of the codec's schema in the header.
+	 */
+	public static final int FINGERPRINT_LENGTH = 8;
+
+	/**
+	 * The total length of the header.
+	 */
+	public static final int HEADER_LENGTH = 1 + FINGERPRINT_LENGTH;
+
+	/**
+	 * The value returned by {@link #getByteLength()} for codecs producing encodings of variable length.
+	 */
+	public static final int VARIABLE_LENGTH = -1;
+
+	private final Set set;
+	private final int byteLength;
+	private final String schema;
+	private byte[] fingerprint;
+
+	protected ElementCodec(Set set, int byteLength, String schema) {
+		if (set == null || schema == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		if (byteLength < VARIABLE_LENGTH) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_LENGTH, this, byteLength);
+		}
+		this.set = set;
+		this.byteLength = byteLength;
+		this.schema = schema;
+	}
+
+	/**
+	 * Returns the set of the elements encoded by this codec.
+	 * <p>
+	 * @return The set
+	 */
+	public final Set getSet() {
+		return this.set;
+	}
+
+	/**
+	 * Returns the length of the (headerless) encoding of the elements, if all encodings have the same length.
+	 * Otherwise, {@link #VARIABLE_LENGTH} is returned.
+	 * <p>
+	 * @return The length of the encoding or {@link #VARIABLE_LENGTH}
+	 */
+	public final int getByteLength() {
+		return this.byteLength;
+	}
+
+	/**
+	 * Returns the length of the (headerless) encoding of the given element.
+	 * <p>
+	 * @param element The given element
+	 * @return The length of the encoding
+	 */
+	public final int getByteLength(Element element) {
+		this.checkElement(element);
+		if (this.byteLength != VARIABLE_LENGTH) {
+			return this.byteLength;
+		}
+		return this.defaultGetByteLength((E) element);
+	}
+
+	/**
+	 * Returns a description of the structure of the encoding, from which the fingerprint in the header is derived.
+	 * <p>
+	 * @return The schema of this codec
+	 */
+	public final String getSchema() {
+		return this.schema;
+	}
+
+	/**
+	 * Encodes the given element, including the header.
+	 * <p>
+	 * @param element The given element
+	 * @return The encoding of the element
+	 */
+	public final ByteArray encode(Element element) {
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + this.getByteLength(element));
+		this.writeHeader(buffer);
+		this.abstractWrite((E) element, buffer);
+		return new SafeByteArray(buffer.array());
+	}
+
+	/**
+	 * Decodes the given encoding, which must include the header. The membership of the resulting element is tested.
+	 * <p>
+	 * @param byteArray The given encoding
+	 * @return The decoded element
+	 */
+	public final E decode(ByteArray byteArray) {
+		if (byteArray == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(byteArray.getBytes());
+		E element = this.decode(buffer, true);
+		if (buffer.hasRemaining()) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_LENGTH, this, byteArray.getLength());
+		}
+		return element;
+	}
+
+	/**
+	 * Decodes an element starting at the current position of the given buffer, which must include the header. The
+	 * position of the buffer is advanced to the end of the encoding.
+	 * <p>
+	 * @param buffer   The given buffer
+	 * @param validate {@code true}, if the membership of the decoded element is tested, {@code false} otherwise
+	 * @return The decoded element
+	 */
+	public final E decode(ByteBuffer buffer, boolean validate) {
+		this.readHeader(buffer);
+		return this.read(buffer, validate);
+	}
+
+	/**
+	 * Writes the header of this codec into the given buffer.
+	 * <p>
+	 * @param buffer The given buffer
+	 */
+	public final void writeHeader(ByteBuffer buffer) {
+		if (buffer == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		buffer.put(VERSION);
+		buffer.put(this.getFingerprint());
+	}
+
+	/**
+	 * Reads the header from the given buffer and checks that it matches with the header of this codec. Otherwise, an
+	 * exception is thrown.
+	 * <p>
+	 * @param buffer The given buffer
+	 */
+	public final void readHeader(ByteBuffer buffer) {
+		if (buffer == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		byte version = buffer.get();
+		byte[] fingerprint = new byte[FINGERPRINT_LENGTH];
+		buffer.get(fingerprint);
+		if (version != VERSION || !Arrays.equals(fingerprint, this.getFingerprint())) {
+			throw new UniCryptRuntimeException(ErrorCode.ELEMENT_CONSTRUCTION_FAILURE, this, version);
+		}
+	}
+
+	/**
+	 * Writes the (headerless) encoding of the given element into the given buffer.
+	 * <p>
+	 * @param element The given element
+	 * @param buffer  The given buffer
+	 */
+	public final void write(Element element, ByteBuffer buffer) {
+		this.checkElement(element);
+		if (buffer == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		this.abstractWrite((E) element, buffer);
+	}
+
+	/**
+	 * Reads the (headerless) encoding of an element starting at the current position of the given buffer. The position
+	 * of the buffer is advanced to the end of the encoding.
+	 * <p>
+	 * @param buffer   The given buffer
+	 * @param validate {@code true}, if the membership of the decoded element is tested, {@code false} otherwise
+	 * @return The decoded element
+	 */
+	public final E read(ByteBuffer buffer, boolean validate) {
+		return this.read(buffer, 1, validate).get(0);
+	}
+
+	/**
+	 * Reads the (headerless) encodings of a given number of consecutive elements starting at the current position of
+	 * the given buffer. If the membership of the decoded elements is tested, it is performed in a single batch for all
+	 * elements.
+	 * <p>
+	 * @param buffer   The given buffer
+	 * @param count    The number of elements
+	 * @param validate {@code true}, if the membership of the decoded elements is tested, {@code false} otherwise
+	 * @return The list of decoded elements
+	 */
+	public final List<E> read(ByteBuffer buffer, int count, boolean validate) {
+		if (buffer == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		if (count < 0) {
+			throw new UniCryptRuntimeException(ErrorCode.NEGATIVE_VALUE, this, count);
+		}
+		List<E> elements = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			elements.add(this.abstractRead(buffer));
+		}
+		if (validate && !this.defaultContainsAll(elements)) {
+			throw new UniCryptRuntimeException(ErrorCode.ELEMENT_CONSTRUCTION_FAILURE, this);
+		}
+		return elements;
+	}
+
+	@Override
+	protected String defaultToStringContent() {
+		return this.schema;
+	}
+
+	// this method is only called for codecs of variable length, it is overridden in the codecs for product sets and
+	// for sets without a fixed-width layout
+	protected int defaultGetByteLength(E element) {
+		throw new UniCryptRuntimeException(ErrorCode.IMPOSSIBLE_STATE, this);
+	}
+
+	// tests the membership of the decoded elements in a single batch, this method is overridden in the codec for
+	// product sets
+	protected boolean defaultContainsAll(List<E> elements) {
+		List<Object> values = new ArrayList<>(elements.size());
+		for (E element : elements) {
+			values.add(element.getValue());
+		}
+		return this.set.containsAll(DenseArray.getInstance(values));
+	}
+
+	// the element is a member of the set and the buffer has enough remaining bytes
+	protected abstract void abstractWrite(E element, ByteBuffer buffer);
+
+	// the element is constructed without testing its membership
+	protected abstract E abstractRead(ByteBuffer buffer);
+
+	private void checkElement(Element element) {
+		if (element == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		if (!this.set.contains(element)) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, this, element);
+		}
+	}
+
+	private byte[] getFingerprint() {
+		if (this.fingerprint == null) {
+			ByteArray schemaBytes = ByteArray.getInstance(this.schema.getBytes(StandardCharsets.UTF_8));
+			this.fingerprint = HashAlgorithm.getInstance().getHashValue(schemaBytes).extractPrefix(FINGERPRINT_LENGTH)
+				   .getBytes();
+		}
+		return this.fingerprint;
+	}
+
+	/**
+	 * Writes the given non-negative integer into the given buffer using exactly {@code byteLength} bytes in big-endian
+	 * order.
+	 * <p>
+	 * @param buffer     The given buffer
+	 * @param value      The given integer
+	 * @param byteLength The number of bytes
+	 */
+	protected static void writeBigInteger(ByteBuffer buffer, BigInteger value, int byteLength) {
+		byte[] bytes = value.toByteArray();
+		// the first byte may only contain the sign bit
+		int offset = (bytes.length > 1 && bytes[0] == 0) ? 1 : 0;
+		int length = bytes.length - offset;
+		if (value.signum() < 0 || length > byteLength) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, value);
+		}
+		for (int i = length; i < byteLength; i++) {
+			buffer.put((byte) 0);
+		}
+		buffer.put(bytes, offset, length);
+	}
+
+	/**
+	 * Reads a non-negative integer of {@code byteLength} bytes in big-endian order from the given buffer.
+	 * <p>
+	 * @param buffer     The given buffer
+	 * @param byteLength The number of bytes
+	 * @return The integer
+	 */
+	protected static BigInteger readBigInteger(ByteBuffer buffer, int byteLength) {
+		byte[] bytes = new byte[byteLength];
+		buffer.get(bytes);
+		return new BigInteger(1, bytes);
+	}
+
+	/**
+	 * Returns a codec encoding the elements of the layout's set as fixed-width integers.
+	 * <p>
+	 * @param <E>    The generic type of the elements
+	 * @param layout The layout of the elements
+	 * @return The codec
+	 */
+	public static <E extends Element> ElementCodec<E> getInstance(final ElementVector.Layout<E> layout) {
+		if (layout == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER);
+		}
+		final int components = layout.getComponents();
+		final int valueLength = (layout.getBitLength() + Byte.SIZE - 1) / Byte.SIZE;
+		return new ElementCodec<E>(layout.getSet(), components * valueLength, "F" + valueLength + "^" + components + ":"
+								   + layout.getSet().toString()) {
+
+			@Override
+			protected void abstractWrite(E element, ByteBuffer buffer) {
+				for (BigInteger value : layout.abstractGetBigIntegers(element)) {
+					writeBigInteger(buffer, value, valueLength);
+				}
+			}
+
+			@Override
+			protected E abstractRead(ByteBuffer buffer) {
+				BigInteger[] values = new BigInteger[components];
+				for (int i = 0; i < components; i++) {
+					values[i] = readBigInteger(buffer, valueLength);
+				}
+				return layout.abstractGetElement(values);
+			}
+
+		};
+	}
+
+	/**
+	 * Returns a codec encoding the elements of the given set by their representation under the given converter,
+	 * prefixed by a 4-byte length. The given function constructs the elements from their values without testing their
+	 * membership.
+	 * <p>
+	 * @param <E>       The generic type of the elements
+	 * @param <V>       The generic type of the values of the elements
+	 * @param set       The given set
+	 * @param converter The given converter
+	 * @param function  The function for constructing the elements
+	 * @return The codec
+	 */
+	public static <E extends Element<V>, V> ElementCodec<E> getInstance(Set<V> set,
+		   final Converter<V, ByteArray> converter, final Function<V, E> function) {
+		if (set == null || converter == null || function == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER);
+		}
+		return new ElementCodec<E>(set, VARIABLE_LENGTH, "V:" + set.toString()) {
+
+			@Override
+			protected int defaultGetByteLength(E element) {
+				return Integer.BYTES + converter.convert(element.getValue()).getLength();
+			}
+
+			@Override
+			protected void abstractWrite(E element, ByteBuffer buffer) {
+				byte[] bytes = converter.convert(element.getValue()).getBytes();
+				buffer.putInt(bytes.length);
+				buffer.put(bytes);
+			}
+
+			@Override
+			protected E abstractRead(ByteBuffer buffer) {
+				int length = buffer.getInt();
+				if (length < 0 || length > buffer.remaining()) {
+					throw new UniCryptRuntimeException(ErrorCode.INVALID_LENGTH, this, length);
+				}
+				byte[] bytes = new byte[length];
+				buffer.get(bytes);
+				try {
+					return function.apply(converter.reconvert(ByteArray.getInstance(bytes)));
+				} catch (RuntimeException exception) {
+					throw new UniCryptRuntimeException(ErrorCode.ELEMENT_CONSTRUCTION_FAILURE, exception, this);
+				}
+			}
+
+		};
+	}
+
+	/**
+	 * Returns a codec for the given product set, which concatenates the encodings of the components. The codecs of the
+	 * components are obtained from the component sets. If the product set is uniform, only a single codec is used for
+	 * all components.
+	 * <p>
+	 * @param productSet The given product set
+	 * @return The codec
+	 */
+	public static ElementCodec<Tuple> getInstance(ProductSet productSet) {
+		if (productSet == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER);
+		}
+		return new ProductCodec(productSet);
+	}
+
+	// the components of the tuples are encoded one after another, without any length information
+	private static class ProductCodec
+		   extends ElementCodec<Tuple> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ProductSet productSet;
+		private final ElementCodec[] codecs;
+
+		private ProductCodec(ProductSet productSet) {
+			this(productSet, ProductCodec.getCodecs(productSet));
+		}
+
+		private ProductCodec(ProductSet productSet, ElementCodec[] codecs) {
+			super(productSet, ProductCodec.getByteLength(productSet, codecs), ProductCodec.getSchema(productSet, codecs));
+			this.productSet = productSet;
+			this.codecs = codecs;
+		}
+
+		@Override
+		protected int defaultGetByteLength(Tuple element) {
+			int byteLength = 0;
+			for (int i = 0; i < element.getArity(); i++) {
+				ElementCodec codec = this.getCodec(i);
+				if (codec.getByteLength() == VARIABLE_LENGTH) {
+					byteLength = byteLength + codec.defaultGetByteLength(element.getAt(i));
+				} else {
+					byteLength = byteLength + codec.getByteLength();
+				}
+			}
+			return byteLength;
+		}
+
+		@Override
+		protected void abstractWrite(Tuple element, ByteBuffer buffer) {
+			for (int i = 0; i < element.getArity(); i++) {
+				this.getCodec(i).abstractWrite(element.getAt(i), buffer);
+			}
+		}
+
+		@Override
+		protected Tuple abstractRead(ByteBuffer buffer) {
+			int arity = this.productSet.getArity();
+			List<Element> elements = new ArrayList<>(arity);
+			for (int i = 0; i < arity; i++) {
+				elements.add(this.getCodec(i).abstractRead(buffer));
+			}
+			return this.productSet.abstractGetElement(DenseArray.getInstance(elements));
+		}
+
+		// the i-th components of all tuples are tested together, for uniform product sets all components of all tuples
+		// are tested together
+		@Override
+		protected boolean defaultContainsAll(List<Tuple> elements) {
+			int arity = this.productSet.getArity();
+			if (this.codecs.length == 1 && arity > 0) {
+				List<Element> components = new ArrayList<>(elements.size() * arity);
+				for (Tuple element : elements) {
+					for (Element component : element) {
+						components.add(component);
+					}
+				}
+				return this.codecs[0].defaultContainsAll(components);
+			}
+			for (int i = 0; i < arity; i++) {
+				List<Element> components = new ArrayList<>(elements.size());
+				for (Tuple element : elements) {
+					components.add(element.getAt(i));
+				}
+				if (!this.codecs[i].defaultContainsAll(components)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private ElementCodec getCodec(int index) {
+			return this.codecs.length == 1 ? this.codecs[0] : this.codecs[index];
+		}
+
+		private static ElementCodec[] getCodecs(ProductSet productSet) {
+			if (productSet.isUniform() && productSet.getArity() > 0) {
+				return new ElementCodec[]{productSet.getFirst().getElementCodec()};
+			}
+			ElementCodec[] codecs = new ElementCodec[productSet.getArity()];
+			for (int i = 0; i < codecs.length; i++) {
+				codecs[i] = productSet.getAt(i).getElementCodec();
+			}
+			return codecs;
+		}
+
+		private static int getByteLength(ProductSet productSet, ElementCodec[] codecs) {
+			long byteLength = 0;
+			for (int i = 0; i < productSet.getArity(); i++) {
+				ElementCodec codec = codecs.length == 1 ? codecs[0] : codecs[i];
+				if (codec.getByteLength() == VARIABLE_LENGTH) {
+					return VARIABLE_LENGTH;
+				}
+				byteLength = byteLength + codec.getByteLength();
+			}
+			if (byteLength > Integer.MAX_VALUE) {
+				return VARIABLE_LENGTH;
+			}
+			return (int) byteLength;
+		}
+
+		private static String getSchema(ProductSet productSet, ElementCodec[] codecs) {
+			if (productSet.isUniform() && productSet.getArity() > 0) {
+				return "(" + codecs[0].getSchema() + ")^" + productSet.getArity();
+			}
+			StringBuilder schema = new StringBuilder("(");
+			for (int i = 0; i < codecs.length; i++) {
+				if (i > 0) {
+					schema.append(",");
+				}
+				schema.append(codecs[i].getSchema());
+			}
+			return schema.append(")").toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,445 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.general.classes;
+
+import ch.bfh.unicrypt.ErrorCode;
+import ch.bfh.unicrypt.UniCrypt;
+import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
+import ch.bfh.unicrypt.helper.math.Permutation;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class is a compact implementation of a {@link DenseArray} of elements of the same set. Each element is
+ * represented by a fixed number of non-negative integers of bounded bit length, and all these integers are stored as
+ * fixed-width 64-bit limbs in a single contiguous {@code long[]}. Compared to a dense array of element objects, this
+ * saves several objects per entry and thus reduces memory consumption and garbage collection pressure for very large
+ * tuples. The elements are materialized lazily, each time they are accessed by {@link #getAt(int)}, without repeating
+ * the membership test. Permutations and the conversion into a byte array operate directly on the limbs.
+ * <p>
+ * Element vectors are constructed by {@link Set#getElementVector(ImmutableArray)}, which is supported by sets defining
+ * a fixed-width {@link Layout} of their elements. The layout of a product set concatenates the layouts of its sets.
+ * Tuples backed by element vectors are constructed explicitly by {@link ProductSet#getCompactElement(ImmutableArray)}
+ * or {@link Tuple#getInstance(DenseArray)}, they are never created implicitly. Operations such as appending or
+ * replacing values with elements of other sets return an ordinary dense array.
+ * <p>
+ * @see Tuple#getInstance(DenseArray)
+ * @author R. Haenni
+ * @version 2.0
+ */
+public class ElementVector
+	   extends DenseArray<Element> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Object[] NO_VALUES = new Object[0];
+
+	private final Layout layout;
+	private final long[] limbs;
+
+	protected ElementVector(Layout layout, long[] limbs, int length, int rangeOffset, boolean reverse) {
+		super(NO_VALUES, length, rangeOffset, reverse);
+		this.layout = layout;
+		this.limbs = limbs;
+	}
+
+	/**
+	 * Returns the set of the elements stored in this vector.
+	 * <p>
+	 * @return The set of the elements
+	 */
+	public Set getSet() {
+		return this.layout.getSet();
+	}
+
+	/**
+	 * Returns the integer stored at the given index of this vector, without materializing the element. This is only
+	 * possible for sets, in which each element is represented by a single integer.
+	 * <p>
+	 * @param index The given index
+	 * @return The integer stored at the given index
+	 */
+	public BigInteger getBigIntegerAt(int index) {
+		if (this.layout.components != 1) {
+			throw new UniCryptRuntimeException(ErrorCode.UNSUPPORTED_OPERATION, this);
+		}
+		return this.getBigIntegerAt(index, 0);
+	}
+
+	/**
+	 * Returns the integer stored for the given component of the element at the given index of this vector, without
+	 * materializing the element.
+	 * <p>
+	 * @param index     The given index
+	 * @param component The given component
+	 * @return The integer stored for the given component
+	 */
+	public BigInteger getBigIntegerAt(int index, int component) {
+		if (index < 0 || index >= this.length) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_INDEX, this, index);
+		}
+		if (component < 0 || component >= this.layout.components) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_INDEX, this, component);
+		}
+		int offset = this.getOffset(index) + component * this.layout.width;
+		return getBigInteger(this.limbs, offset, this.layout.width);
+	}
+
+	/**
+	 * Returns a new vector, in which the elements of this vector are permuted according to the given permutation. The
+	 * element at index {@code i} of the new vector is the element at index {@code permutation.permute(i)} of this
+	 * vector. The limbs are copied directly, i.e., no elements are materialized.
+	 * <p>
+	 * @param permutation The given permutation
+	 * @return The permuted vector
+	 */
+	public ElementVector permute(Permutation permutation) {
+		if (permutation == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		if (permutation.getSize() != this.length) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_LENGTH, this, permutation);
+		}
+		int stride = this.layout.stride;
+		long[] result = new long[this.length * stride];
+		for (int i = 0; i < this.length; i++) {
+			System.arraycopy(this.limbs, this.getOffset(permutation.permute(i)), result, i * stride, stride);
+		}
+		return ElementVector.getInstance(this.layout, result, this.length);
+	}
+
+	/**
+	 * Returns the fixed-width representation of this vector as a byte array. Each integer representing an element is
+	 * written in big-endian order using {@code ceil(bitLength/8)} bytes, where {@code bitLength} is the maximal bit
+	 * length defined by the set's layout. The result can be turned back into a vector by
+	 * {@link Set#getElementVector(ByteArray)}.
+	 * <p>
+	 * @return The byte array representation of this vector
+	 */
+	public ByteArray getByteArray() {
+		int byteLength = this.layout.byteLength;
+		int width = this.layout.width;
+		byte[] bytes = new byte[this.length * this.layout.components * byteLength];
+		int position = 0;
+		for (int i = 0; i < this.length; i++) {
+			int offset = this.getOffset(i);
+			for (int j = 0; j < this.layout.components; j++) {
+				// the limbs are stored in little-endian order
+				for (int k = byteLength - 1; k >= 0; k--) {
+					bytes[position++] = (byte) (this.limbs[offset + (k >> 3)] >>> ((k & 7) << 3));
+				}
+				offset += width;
+			}
+		}
+		return ByteArray.getInstance(bytes);
+	}
+
+	/**
+	 * Creates a new element vector from the given elements, which must all be members of the layout's set. This method
+	 * is called by {@link Set#getElementVector(ImmutableArray)}, which is the recommended way of constructing element
+	 * vectors.
+	 * <p>
+	 * @param layout   The layout of the elements
+	 * @param elements The given elements
+	 * @return The new element vector
+	 */
+	public static ElementVector getInstance(Layout layout, ImmutableArray<? extends Element> elements) {
+		if (layout == null || elements == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER);
+		}
+		int stride = layout.stride;
+		long[] limbs = new long[elements.getLength() * stride];
+		int offset = 0;
+		for (Element element : elements) {
+			for (BigInteger value : layout.abstractGetBigIntegers(element)) {
+				setBigInteger(limbs, offset, layout.width, value);
+				offset += layout.width;
+			}
+		}
+		return ElementVector.getInstance(layout, limbs, elements.getLength());
+	}
+
+	/**
+	 * Creates a new element vector from its fixed-width representation as a byte array (see {@link #getByteArray()}).
+	 * This method does not check whether the resulting elements are members of the layout's set. This is done by
+	 * {@link Set#getElementVector(ByteArray)}, which is the recommended way of constructing element vectors.
+	 * <p>
+	 * @param layout    The layout of the elements
+	 * @param byteArray The given byte array
+	 * @return The new element vector
+	 */
+	public static ElementVector getInstance(Layout layout, ByteArray byteArray) {
+		if (layout == null || byteArray == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER);
+		}
+		int byteLength = layout.byteLength;
+		int elementLength = layout.components * byteLength;
+		if (elementLength == 0 || byteArray.getLength() % elementLength != 0) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_LENGTH, byteArray);
+		}
+		int length = byteArray.getLength() / elementLength;
+		byte[] bytes = byteArray.getBytes();
+		long[] limbs = new long[length * layout.stride];
+		int position = 0;
+		for (int offset = 0; offset < limbs.length; offset += layout.width) {
+			for (int k = byteLength - 1; k >= 0; k--) {
+				limbs[offset + (k >> 3)] |= (bytes[position++] & 0xFFL) << ((k & 7) << 3);
+			}
+		}
+		return ElementVector.getInstance(layout, limbs, length);
+	}
+
+	private static ElementVector getInstance(Layout layout, long[] limbs, int length) {
+		ElementVector vector = new ElementVector(layout, limbs, length, 0, false);
+		// uniformity is determined on the limbs, such that no elements need to be materialized
+		vector.uniform = isUniform(limbs, layout.stride);
+		return vector;
+	}
+
+	@Override
+	protected Element abstractGetAt(int index) {
+		int offset = this.getOffset(index);
+		BigInteger[] values = new BigInteger[this.layout.components];
+		for (int j = 0; j < values.length; j++) {
+			values[j] = getBigInteger(this.limbs, offset, this.layout.width);
+			offset += this.layout.width;
+		}
+		return this.layout.abstractGetElement(values);
+	}
+
+	@Override
+	protected DenseArray<Element> abstractExtract(int index, int length) {
+		int offset = this.rangeOffset + (this.reverse ? this.length - index - length : index);
+		return new ElementVector(this.layout, this.limbs, length, offset, this.reverse);
+	}
+
+	@Override
+	protected DenseArray<Element> abstractAppend(ImmutableArray<Element> other) {
+		if (!this.layout.containsAll(other)) {
+			List<Element> elements = this.getElements();
+			for (Element element : other) {
+				elements.add(element);
+			}
+			return DenseArray.getInstance(elements);
+		}
+		ElementVector vector;
+		if (other instanceof ElementVector) {
+			vector = (ElementVector) other;
+		} else {
+			vector = ElementVector.getInstance(this.layout, other);
+		}
+		return this.copy(this.length, 0, vector.copy(vector.length, 0, new long[0]).limbs);
+	}
+
+	@Override
+	protected DenseArray<Element> abstractInsertAt(int index, Element element) {
+		if (!this.layout.getSet().contains(element)) {
+			List<Element> elements = this.getElements();
+			elements.add(index, element);
+			return DenseArray.getInstance(elements);
+		}
+		return this.copy(index, 0, ElementVector.getInstance(this.layout, DenseArray.getInstance(element)).limbs);
+	}
+
+	@Override
+	protected DenseArray<Element> abstractReplaceAt(int index, Element element) {
+		if (!this.layout.getSet().contains(element)) {
+			List<Element> elements = this.getElements();
+			elements.set(index, element);
+			return DenseArray.getInstance(elements);
+		}
+		return this.copy(index, 1, ElementVector.getInstance(this.layout, DenseArray.getInstance(element)).limbs);
+	}
+
+	@Override
+	protected DenseArray<Element> abstractReverse() {
+		ElementVector vector = new ElementVector(this.layout, this.limbs, this.length, this.rangeOffset, !this.reverse);
+		vector.uniform = this.uniform;
+		return vector;
+	}
+
+	// returns a copy of this vector in natural order, in which the elements at positions index,...,index+removed-1
+	// are replaced by the given limbs
+	private ElementVector copy(int index, int removed, long[] inserted) {
+		int stride = this.layout.stride;
+		int newLength = this.length - removed + inserted.length / stride;
+		long[] result = new long[newLength * stride];
+		for (int i = 0; i < index; i++) {
+			System.arraycopy(this.limbs, this.getOffset(i), result, i * stride, stride);
+		}
+		System.arraycopy(inserted, 0, result, index * stride, inserted.length);
+		int shift = inserted.length / stride - removed;
+		for (int i = index + removed; i < this.length; i++) {
+			System.arraycopy(this.limbs, this.getOffset(i), result, (i + shift) * stride, stride);
+		}
+		return ElementVector.getInstance(this.layout, result, newLength);
+	}
+
+	private List<Element> getElements() {
+		List<Element> elements = new ArrayList<>(this.length + 1);
+		for (int i = 0; i < this.length; i++) {
+			elements.add(this.abstractGetAt(i));
+		}
+		return elements;
+	}
+
+	// returns the position of the first limb of the element at the given index
+	private int getOffset(int index) {
+		if (this.reverse) {
+			index = this.length - index - 1;
+		}
+		return (this.rangeOffset + index) * this.layout.stride;
+	}
+
+	private static boolean isUniform(long[] limbs, int stride) {
+		for (int i = stride; i < limbs.length; i++) {
+			if (limbs[i] != limbs[i % stride]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// the value is written into limbs[offset],...,limbs[offset+width-1] in little-endian order
+	private static void setBigInteger(long[] limbs, int offset, int width, BigInteger value) {
+		if (value.signum() < 0 || value.bitLength() > width * Long.SIZE) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, value);
+		}
+		byte[] bytes = value.toByteArray();
+		int j = bytes.length;
+		for (int i = 0; i < width && j > 0; i++) {
+			long limb = 0;
+			for (int k = 0; k < Long.SIZE && j > 0; k += Byte.SIZE) {
+				limb |= (bytes[--j] & 0xFFL) << k;
+			}
+			limbs[offset + i] = limb;
+		}
+	}
+
+	private static BigInteger getBigInteger(long[] limbs, int offset, int width) {
+		byte[] bytes = new byte[width * Long.BYTES];
+		int j = bytes.length;
+		for (int i = 0; i < width; i++) {
+			long limb = limbs[offset + i];
+			for (int k = 0; k < Long.SIZE; k += Byte.SIZE) {
+				bytes[--j] = (byte) (limb >>> k);
+			}
+		}
+		return new BigInteger(1, bytes);
+	}
+
+	/**
+	 * This abstract class describes the fixed-width representation of the elements of a set in an element vector. Each
+	 * element is represented by {@code components} non-negative integers of at most {@code bitLength} bits. Sets
+	 * supporting element vectors provide an implementation of this class, which can construct elements from their
+	 * integer representation without repeating the membership test.
+	 * <p>
+	 * @param <E> The generic type of the elements
+	 */
+	public static abstract class Layout<E extends Element>
+		   extends UniCrypt {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Set set;
+		private final int components;
+		private final int bitLength;
+		private final int width;
+		private final int stride;
+		private final int byteLength;
+
+		protected Layout(Set set, int components, int bitLength) {
+			if (set == null) {
+				throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+			}
+			if (components < 1 || bitLength < 1) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_ARGUMENT, this, components, bitLength);
+			}
+			this.set = set;
+			this.components = components;
+			this.bitLength = bitLength;
+			this.width = (bitLength + Long.SIZE - 1) / Long.SIZE;
+			this.stride = components * this.width;
+			this.byteLength = (bitLength + Byte.SIZE - 1) / Byte.SIZE;
+		}
+
+		public final Set getSet() {
+			return this.set;
+		}
+
+		public final int getComponents() {
+			return this.components;
+		}
+
+		public final int getBitLength() {
+			return this.bitLength;
+		}
+
+		private boolean containsAll(ImmutableArray<Element> elements) {
+			for (Element element : elements) {
+				if (!this.set.contains(element)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		protected String defaultToStringContent() {
+			return this.set.toString() + "," + this.components + "," + this.bitLength;
+		}
+
+		// the element is a member of the set, the result is an array of length components
+		protected abstract BigInteger[] abstractGetBigIntegers(E element);
+
+		// the values are the integers representing an element of the set
+		protected abstract E abstractGetElement(BigInteger[] values);
+
+	}
+
+}
@@ -0,0 +1,359 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.general.classes;
+
+import ch.bfh.unicrypt.ErrorCode;
+import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * This class is an implementation of a {@link DenseArray} of elements of the same set, which are stored in a file
+ * rather than in memory. The file consists of the header of the set's {@link ElementCodec} followed by the fixed-width
+ * encodings of the elements, which are accessed through one or several memory-mapped segments of at most 1 GB. The
+ * elements are decoded lazily, each time they are accessed by {@link #getAt(int)}. Since the file may be modified
+ * after it has been mapped, the membership of each decoded element is tested again. Therefore, the memory consumption of
+ * an array is independent of its length, and the operating system keeps only the recently accessed pages in memory. Extracting or reversing a sub-array returns a view of the same file, whereas
+ * other operations such as appending or replacing values return an ordinary dense array.
+ * <p>
+ * Mapped element arrays can be used wherever tuples of elements are expected, for example as input or output of a
+ * mixer or as public input of a shuffle proof (see {@link Tuple#getInstance(DenseArray)}). They are created by writing
+ * the elements with a {@link Writer}, or by mapping an existing file with {@link #getInstance(Path, Set)}. Only sets
+ * with fixed-width encodings are supported (see {@link ElementCodec#getByteLength()}). A file remains mapped until the
+ * array is garbage collected.
+ * <p>
+ * @see ElementCodec
+ * @author R. Haenni
+ * @version 2.0
+ */
+public class MappedElementArray
+	   extends DenseArray<Element> {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Object[] NO_VALUES = new Object[0];
+
+	// the maximal size of a single memory-mapped segment
+	private static final int MAX_SEGMENT_SIZE = 1 << 30;
+
+	// the number of elements validated in a single batch
+	private static final int VALIDATION_BATCH_SIZE = 1 << 12;
+
+	private final ElementCodec codec;
+	private final String fileName;
+	private final transient ByteBuffer[] segments;
+
+	protected MappedElementArray(ElementCodec codec, String fileName, ByteBuffer[] segments, int length, int rangeOffset,
+		   boolean reverse) {
+		super(NO_VALUES, length, rangeOffset, reverse);
+		this.codec = codec;
+		this.fileName = fileName;
+		this.segments = segments;
+	}
+
+	/**
+	 * Returns the set of the elements stored in this array.
+	 * <p>
+	 * @return The set of the elements
+	 */
+	public Set getSet() {
+		return this.codec.getSet();
+	}
+
+	/**
+	 * Returns the path of the file, in which the elements of this array are stored.
+	 * <p>
+	 * @return The path of the file
+	 */
+	public Path getPath() {
+		return Paths.get(this.fileName);
+	}
+
+	/**
+	 * Maps the given file into memory and returns the array of elements stored in the file. The membership of all
+	 * elements is tested in batches, which requires reading the whole file once.
+	 * <p>
+	 * @param path The path of the file
+	 * @param set  The set of the elements
+	 * @return The array of elements stored in the file
+	 * @throws IOException if the file cannot be read
+	 */
+	public static MappedElementArray getInstance(Path path, Set set) throws IOException {
+		return MappedElementArray.getInstance(path, set, true);
+	}
+
+	/**
+	 * Maps the given file into memory and returns the array of elements stored in the file. If {@code validate} is
+	 * {@code true}, the membership of all elements is tested in batches, which requires reading the whole file once.
+	 * Independently of {@code validate}, the membership of each element is tested again when it is accessed.
+	 * <p>
+	 * @param path     The path of the file
+	 * @param set      The set of the elements
+	 * @param validate {@code true}, if the membership of the elements is tested, {@code false} otherwise
+	 * @return The array of elements stored in the file
+	 * @throws IOException if the file cannot be read
+	 */
+	public static MappedElementArray getInstance(Path path, Set set, boolean validate) throws IOException {
+		if (path == null || set == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER);
+		}
+		ElementCodec codec = MappedElementArray.getCodec(set);
+		int recordLength = codec.getByteLength();
+		ByteBuffer[] segments;
+		int length;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size() - ElementCodec.HEADER_LENGTH;
+			if (size < 0 || size % recordLength != 0 || size / recordLength > Integer.MAX_VALUE) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_LENGTH, path, channel.size());
+			}
+			length = (int) (size / recordLength);
+			codec.readHeader(channel.map(MapMode.READ_ONLY, 0, ElementCodec.HEADER_LENGTH));
+			segments = MappedElementArray.map(channel, MapMode.READ_ONLY, recordLength, length);
+		}
+		MappedElementArray array = new MappedElementArray(codec, path.toString(), segments, length, 0, false);
+		if (validate) {
+			array.validate();
+		}
+		return array;
+	}
+
+	/**
+	 * Creates a new file of the given length for elements of the given set and returns a writer for storing the
+	 * elements. An existing file is overwritten.
+	 * <p>
+	 * @param path   The path of the file
+	 * @param set    The set of the elements
+	 * @param length The number of elements
+	 * @return The writer
+	 * @throws IOException if the file cannot be created
+	 */
+	public static Writer getWriter(Path path, Set set, int length) throws IOException {
+		if (path == null || set == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER);
+		}
+		if (length < 0) {
+			throw new UniCryptRuntimeException(ErrorCode.NEGATIVE_VALUE, length);
+		}
+		ElementCodec codec = MappedElementArray.getCodec(set);
+		ByteBuffer[] segments;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+													StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			MappedByteBuffer header = channel.map(MapMode.READ_WRITE, 0, ElementCodec.HEADER_LENGTH);
+			codec.writeHeader(header);
+			header.force();
+			segments = MappedElementArray.map(channel, MapMode.READ_WRITE, codec.getByteLength(), length);
+		}
+		return new Writer(codec, path.toString(), segments, length);
+	}
+
+	@Override
+	protected Element abstractGetAt(int index) {
+		if (this.reverse) {
+			index = this.length - index - 1;
+		}
+		return this.codec.read(getRecord(this.codec, this.segments, this.rangeOffset + index), true);
+	}
+
+	@Override
+	protected DenseArray<Element> abstractExtract(int index, int length) {
+		int offset = this.rangeOffset + (this.reverse ? this.length - index - length : index);
+		return new MappedElementArray(this.codec, this.fileName, this.segments, length, offset, this.reverse);
+	}
+
+	@Override
+	protected DenseArray<Element> abstractReverse() {
+		return new MappedElementArray(this.codec, this.fileName, this.segments, this.length, this.rangeOffset,
+									  !this.reverse);
+	}
+
+	@Override
+	protected String defaultToStringContent() {
+		return this.fileName + "," + this.getSet() + "," + this.length;
+	}
+
+	// the segments are mapped and validated again when the array is de-serialized
+	private Object readResolve() throws ObjectStreamException {
+		try {
+			MappedElementArray array = MappedElementArray.getInstance(this.getPath(), this.getSet(), true);
+			if (this.length < 0 || this.rangeOffset < 0 || this.rangeOffset > array.length - this.length) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_LENGTH, this.fileName, array.length);
+			}
+			return new MappedElementArray(array.codec, array.fileName, array.segments, this.length, this.rangeOffset,
+										  this.reverse);
+		} catch (IOException | UniCryptRuntimeException exception) {
+			InvalidObjectException invalidObjectException = new InvalidObjectException(this.fileName);
+			invalidObjectException.initCause(exception);
+			throw invalidObjectException;
+		}
+	}
+
+	// the elements are decoded in batches, such that the batch membership test of the set can be applied
+	private void validate() {
+		int recordsPerSegment = getRecordsPerSegment(this.codec.getByteLength());
+		int index = 0;
+		while (index < this.length) {
+			// a batch must not cross the boundary of a segment
+			int count = Math.min(Math.min(VALIDATION_BATCH_SIZE, this.length - index),
+								 recordsPerSegment - index % recordsPerSegment);
+			this.codec.read(getRecord(this.codec, this.segments, index), count, true);
+			index = index + count;
+		}
+	}
+
+	private static ElementCodec getCodec(Set set) {
+		ElementCodec codec = set.getElementCodec();
+		if (codec.getByteLength() <= 0) {
+			throw new UniCryptRuntimeException(ErrorCode.UNSUPPORTED_OPERATION, set);
+		}
+		return codec;
+	}
+
+	// the number of records in a full segment, such that no record crosses the boundary of a segment
+	private static int getRecordsPerSegment(int recordLength) {
+		return Math.max(1, MAX_SEGMENT_SIZE / recordLength);
+	}
+
+	private static ByteBuffer[] map(FileChannel channel, MapMode mode, int recordLength, int length) throws
+		   IOException {
+		int recordsPerSegment = getRecordsPerSegment(recordLength);
+		ByteBuffer[] segments = new ByteBuffer[(length + recordsPerSegment - 1) / recordsPerSegment];
+		for (int i = 0; i < segments.length; i++) {
+			long position = ElementCodec.HEADER_LENGTH + (long) i * recordsPerSegment * recordLength;
+			int records = Math.min(recordsPerSegment, length - i * recordsPerSegment);
+			segments[i] = channel.map(mode, position, (long) records * recordLength);
+		}
+		return segments;
+	}
+
+	// returns an independent buffer positioned at the beginning of the record with the given index, which allows
+	// concurrent accesses
+	private static ByteBuffer getRecord(ElementCodec codec, ByteBuffer[] segments, int index) {
+		int recordsPerSegment = getRecordsPerSegment(codec.getByteLength());
+		ByteBuffer buffer = segments[index / recordsPerSegment].duplicate();
+		buffer.position((index % recordsPerSegment) * codec.getByteLength());
+		return buffer;
+	}
+
+	/**
+	 * Instances of this class store the elements into a new file created by
+	 * {@link MappedElementArray#getWriter(Path, Set, int)}. The elements can be written in arbitrary order and
+	 * concurrently by multiple threads, as long as each index is written by a single thread. After writing all
+	 * elements, the resulting array is obtained from {@link #getArray()}.
+	 */
+	public static class Writer {
+
+		private final ElementCodec codec;
+		private final String fileName;
+		private final ByteBuffer[] segments;
+		private final int length;
+
+		// the indices written so far
+		private final BitSet written;
+
+		private Writer(ElementCodec codec, String fileName, ByteBuffer[] segments, int length) {
+			this.codec = codec;
+			this.fileName = fileName;
+			this.segments = segments;
+			this.length = length;
+			this.written = new BitSet(length);
+		}
+
+		/**
+		 * Returns the number of elements of the file.
+		 * <p>
+		 * @return The number of elements
+		 */
+		public int getLength() {
+			return this.length;
+		}
+
+		/**
+		 * Writes the given element at the given index of the file.
+		 * <p>
+		 * @param index   The given index
+		 * @param element The given element
+		 */
+		public void setAt(int index, Element element) {
+			if (index < 0 || index >= this.length) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_INDEX, this, index);
+			}
+			this.codec.write(element, getRecord(this.codec, this.segments, index));
+			synchronized (this.written) {
+				this.written.set(index);
+			}
+		}
+
+		/**
+		 * Flushes the written elements to the file and returns the array of elements stored in the file. An exception
+		 * is thrown if not all elements have been written.
+		 * <p>
+		 * @return The array of elements
+		 */
+		public MappedElementArray getArray() {
+			int count;
+			synchronized (this.written) {
+				count = this.written.cardinality();
+			}
+			if (count < this.length) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_LENGTH, this, count);
+			}
+			for (ByteBuffer segment : this.segments) {
+				((MappedByteBuffer) segment).force();
+			}
+			return new MappedElementArray(this.codec, this.fileName, this.segments, this.length, 0, false);
+		}
+
+	}
+
+}
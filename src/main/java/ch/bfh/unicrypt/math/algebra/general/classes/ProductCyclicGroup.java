@@ -50,9 +50,12 @@ import ch.bfh.unicrypt.helper.random.deterministic.DeterministicRandomByteSequen
 import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
 import ch.bfh.unicrypt.helper.sequence.Sequence;
 import ch.bfh.unicrypt.helper.sequence.SequenceIterator;
+import ch.bfh.unicrypt.math.algebra.general.abstracts.AbstractFixedBaseTable;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.FixedBaseTable;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import java.math.BigInteger;
 
 /**
  *
@@ -245,4 +248,31 @@ public class ProductCyclicGroup
 		return true;
 	}
 
+	@Override
+	public final FixedBaseTable<DenseArray<Element>> precompute(Element element) {
+		return this.precompute(element, FixedBaseTable.DEFAULT_WINDOW_SIZE);
+	}
+
+	@Override
+	public final FixedBaseTable<DenseArray<Element>> precompute(Element element, int windowSize) {
+		AbstractFixedBaseTable.checkArguments(this, element, windowSize);
+		Tuple tuple = (Tuple) element;
+		final FixedBaseTable[] tables = new FixedBaseTable[this.getArity()];
+		for (int i : this.getAllIndices()) {
+			tables[i] = this.getAt(i).precompute(tuple.getAt(i), windowSize);
+		}
+		return new AbstractFixedBaseTable<Tuple, DenseArray<Element>>(this, tuple, windowSize) {
+
+			@Override
+			protected Tuple abstractSelfApply(BigInteger positiveAmount) {
+				Element[] elements = new Element[tables.length];
+				for (int i = 0; i < tables.length; i++) {
+					elements[i] = tables[i].selfApply(positiveAmount);
+				}
+				return abstractGetElement(DenseArray.getInstance(elements));
+			}
+
+		};
+	}
+
 }
@@ -44,11 +44,14 @@ package ch.bfh.unicrypt.math.algebra.general.classes;
 import ch.bfh.unicrypt.ErrorCode;
 import ch.bfh.unicrypt.UniCryptRuntimeException;
 import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Group;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  *
@@ -168,6 +171,37 @@ public class ProductGroup
 		return this.abstractGetElement(DenseArray.getInstance(invertedElements));
 	}
 
+	@Override
+	public final DenseArray<Tuple> invertAll(ImmutableArray<Element> elements) {
+		if (elements == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		for (Element element : elements) {
+			if (!this.contains(element)) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, this, element);
+			}
+		}
+		// the components are inverted separately, such that each group can invert them all at once
+		final int length = elements.getLength();
+		final Element[][] invertedElements = new Element[length][this.getArity()];
+		for (int i : this.getAllIndices()) {
+			final Element[] components = new Element[length];
+			int j = 0;
+			for (Element element : elements) {
+				components[j++] = ((Tuple) element).getAt(i);
+			}
+			final ImmutableArray<Element> invertedComponents = this.getAt(i).invertAll(DenseArray.getInstance(components));
+			for (j = 0; j < length; j++) {
+				invertedElements[j][i] = invertedComponents.getAt(j);
+			}
+		}
+		final List<Tuple> results = new ArrayList<>(length);
+		for (Element[] invertedElement : invertedElements) {
+			results.add(this.abstractGetElement(DenseArray.getInstance(invertedElement)));
+		}
+		return DenseArray.getInstance(results);
+	}
+
 	@Override
 	public final Tuple applyInverse(Element element1, Element element2) {
 		return this.apply(element1, this.invert(element2));
@@ -253,11 +253,21 @@ public class ProductSemiGroup
 		if (elements.length == 0) {
 			throw new UniCryptRuntimeException(ErrorCode.INVALID_LENGTH, this, elements, amounts);
 		}
-		Element[] results = new Element[elements.length];
-		for (int i = 0; i < elements.length; i++) {
-			results[i] = this.selfApply(elements[i], amounts[i]);
+		for (Element element : elements) {
+			if (!this.contains(element)) {
+				throw new UniCryptRuntimeException(ErrorCode.INVALID_ELEMENT, this, element);
+			}
 		}
-		return this.apply(results);
+		// the computation is delegated component-wise to allow simultaneous algorithms in the underlying semigroups
+		final Element[] results = new Element[this.getArity()];
+		final Element[] components = new Element[elements.length];
+		for (int i : this.getAllIndices()) {
+			for (int j = 0; j < elements.length; j++) {
+				components[j] = ((Tuple) elements[j]).getAt(i);
+			}
+			results[i] = this.getAt(i).multiSelfApply(components, amounts);
+		}
+		return this.abstractGetElement(DenseArray.getInstance(results));
 	}
 
 }
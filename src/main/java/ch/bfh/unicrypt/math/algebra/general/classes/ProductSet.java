@@ -67,7 +67,10 @@ import ch.bfh.unicrypt.math.algebra.general.interfaces.Monoid;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.SemiGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.Function;
 
 /**
@@ -95,6 +98,30 @@ public class ProductSet
 		return this.getElement(DenseArray.getInstance(elements));
 	}
 
+	/**
+	 * Returns the tuple of this product set consisting of the given elements, which are stored compactly in an
+	 * {@link ElementVector} (see {@link Set#getElementVector(ImmutableArray)}) instead of a dense array of element
+	 * objects. This is only supported by non-empty uniform product sets, whose common set supports element vectors.
+	 * Since the elements of an element vector are materialized on each call of {@link Tuple#getAt(int)}, this
+	 * representation is meant for large tuples, which are mostly processed by operations working directly on the
+	 * vector, such as permutations or the conversion into a byte array.
+	 * <p>
+	 * @param elements The given elements
+	 * @return The tuple backed by an element vector
+	 */
+	public final Tuple getCompactElement(ImmutableArray<Element> elements) {
+		if (elements == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
+		}
+		if (this.isEmpty() || !this.isUniform()) {
+			throw new UniCryptRuntimeException(ErrorCode.UNSUPPORTED_OPERATION, this);
+		}
+		if (elements.getLength() != this.getLength()) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_LENGTH, this, elements);
+		}
+		return this.abstractGetElement(this.getFirst().getElementVector(elements));
+	}
+
 	public final Tuple getElementFrom(final int... values) throws UniCryptException {
 		if (values == null) {
 			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER, this);
@@ -187,6 +214,73 @@ public class ProductSet
 		return true;
 	}
 
+	// the i-th components of all tuples are tested together by the i-th set, for uniform product sets all components
+	// of all tuples are tested together by the first set
+	@Override
+	protected boolean defaultContainsAll(ImmutableArray<DenseArray<Element>> values,
+		   RandomByteSequence randomByteSequence) {
+		int arity = this.getArity();
+		for (DenseArray<Element> value : values) {
+			if (value.getLength() != arity) {
+				return false;
+			}
+		}
+		if (this.isUniform() && arity > 0) {
+			List<Element> components = new ArrayList<>(values.getLength() * arity);
+			for (DenseArray<Element> value : values) {
+				for (Element component : value) {
+					components.add(component);
+				}
+			}
+			return ProductSet.containsAll(this.getFirst(), components, randomByteSequence);
+		}
+		for (int i = 0; i < arity; i++) {
+			List<Element> components = new ArrayList<>(values.getLength());
+			for (DenseArray<Element> value : values) {
+				components.add(value.getAt(i));
+			}
+			if (!ProductSet.containsAll(this.getAt(i), components, randomByteSequence)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// unlike abstractContains, the values of the components are tested as well
+	@Override
+	protected boolean defaultContainsValue(DenseArray<Element> value) {
+		if (value.getLength() != this.getArity()) {
+			return false;
+		}
+		for (int i : this.getAllIndices()) {
+			Set set = this.getAt(i);
+			Element component = value.getAt(i);
+			if (component == null || !set.isEquivalent(component.getSet())) {
+				return false;
+			}
+			if (set instanceof ProductSet) {
+				if (!((ProductSet) set).defaultContainsValue((DenseArray<Element>) component.getValue())) {
+					return false;
+				}
+			} else if (!set.contains(component.getValue())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// the elements must belong to an equivalent set, their values are then tested in a single batch
+	private static boolean containsAll(Set set, List<Element> elements, RandomByteSequence randomByteSequence) {
+		List<Object> values = new ArrayList<>(elements.size());
+		for (Element element : elements) {
+			if (element == null || !set.isEquivalent(element.getSet())) {
+				return false;
+			}
+			values.add(element.getValue());
+		}
+		return set.containsAll(DenseArray.getInstance(values), randomByteSequence);
+	}
+
 	@Override
 	protected Tuple abstractGetElement(DenseArray<Element> value) {
 		if (this.getLength() == 1) {
@@ -309,6 +403,10 @@ public class ProductSet
 		if (this.getLength() != other.getLength()) {
 			return false;
 		}
+		// for uniform product sets, it is sufficient to compare the first sets
+		if (this.isUniform() && other.isUniform()) {
+			return this.isEmpty() || this.getFirst().isEquivalent(other.getFirst());
+		}
 		for (int i : this.getAllIndices()) {
 			if (!this.getAt(i).isEquivalent(other.getAt(i))) {
 				return false;
@@ -550,6 +648,52 @@ public class ProductSet
 		return result;
 	}
 
+	// the components of the sets are concatenated and stored with the maximal bit length among them
+	@Override
+	protected ElementVector.Layout<Tuple> defaultGetElementVectorLayout() {
+		if (this.isEmpty()) {
+			return null;
+		}
+		final ElementVector.Layout[] layouts = new ElementVector.Layout[this.getLength()];
+		int components = 0;
+		int bitLength = 0;
+		for (int i : this.getAllIndices()) {
+			layouts[i] = this.getAt(i).getElementVectorLayout();
+			if (layouts[i] == null) {
+				return null;
+			}
+			components += layouts[i].getComponents();
+			bitLength = Math.max(bitLength, layouts[i].getBitLength());
+		}
+		return new ElementVector.Layout<Tuple>(this, components, bitLength) {
+
+			@Override
+			protected BigInteger[] abstractGetBigIntegers(Tuple element) {
+				BigInteger[] values = new BigInteger[this.getComponents()];
+				int position = 0;
+				for (int i = 0; i < layouts.length; i++) {
+					BigInteger[] componentValues = layouts[i].abstractGetBigIntegers(element.getAt(i));
+					System.arraycopy(componentValues, 0, values, position, componentValues.length);
+					position += componentValues.length;
+				}
+				return values;
+			}
+
+			@Override
+			protected Tuple abstractGetElement(BigInteger[] values) {
+				Element[] elements = new Element[layouts.length];
+				int position = 0;
+				for (int i = 0; i < layouts.length; i++) {
+					int length = layouts[i].getComponents();
+					elements[i] = layouts[i].abstractGetElement(Arrays.copyOfRange(values, position, position + length));
+					position += length;
+				}
+				return ProductSet.this.abstractGetElement(DenseArray.getInstance(elements));
+			}
+
+		};
+	}
+
 	@Override
 	protected Sequence<Tuple> defaultGetElements() {
 		return MultiSequence.<Element>getInstance(this.getSequence()
@@ -564,6 +708,11 @@ public class ProductSet
 			   });
 	}
 
+	@Override
+	protected ElementCodec<Tuple> defaultGetElementCodec() {
+		return ElementCodec.getInstance(this);
+	}
+
 	@Override
 	protected String defaultToStringContent() {
 		if (this.isEmpty()) {
@@ -311,7 +311,13 @@ public class Tuple
 			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER);
 		}
 		ProductSet productSet;
-		if (elements.isUniform() && !elements.isEmpty()) {
+		if (elements instanceof ElementVector) {
+			// the elements of a vector are not materialized
+			productSet = ProductSet.getInstance(((ElementVector) elements).getSet(), elements.getLength());
+		} else if (elements instanceof MappedElementArray) {
+			// the elements stored in the file are not read
+			productSet = ProductSet.getInstance(((MappedElementArray) elements).getSet(), elements.getLength());
+		} else if (elements.isUniform() && !elements.isEmpty()) {
 			productSet = ProductSet.getInstance(elements.getFirst().getSet(), elements.getLength());
 		} else {
 			Set[] sets = new Set[elements.getLength()];
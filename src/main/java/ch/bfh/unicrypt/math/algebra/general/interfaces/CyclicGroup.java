@@ -128,4 +128,25 @@ public interface CyclicGroup<V>
 	 */
 	public boolean isGenerator(Element element);
 
+	/**
+	 * Precomputes a table of powers of the given element using the default window size
+	 * {@link FixedBaseTable#DEFAULT_WINDOW_SIZE}. This is a convenient method for
+	 * {@link CyclicGroup#precompute(Element, int)}.
+	 * <p>
+	 * @param element The given element
+	 * @return The table of precomputed powers
+	 */
+	public FixedBaseTable<V> precompute(Element element);
+
+	/**
+	 * Precomputes a table of powers of the given element, which allows computing {@code selfApply(element, amount)}
+	 * for many different amounts more efficiently. The window size determines the trade-off between the size of the
+	 * table and the speed of the computation. It must be between {@code 1} and {@link FixedBaseTable#MAX_WINDOW_SIZE}.
+	 * <p>
+	 * @param element    The given element
+	 * @param windowSize The window size
+	 * @return The table of precomputed powers
+	 */
+	public FixedBaseTable<V> precompute(Element element, int windowSize);
+
 }
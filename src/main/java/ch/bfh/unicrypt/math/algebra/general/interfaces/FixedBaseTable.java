@@ -0,0 +1,114 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.general.interfaces;
+
+import java.math.BigInteger;
+
+/**
+ * This interface represents a table of precomputed powers of a fixed element of a cyclic group, which is used to
+ * speed up repeated applications of {@link SemiGroup#selfApply(Element, BigInteger)} to the same element. Such tables
+ * are obtained from {@link CyclicGroup#precompute(Element, int)}. The result of {@link #selfApply(BigInteger)} is
+ * always the same as the result of {@code getCyclicGroup().selfApply(getBase(), amount)}. The larger the window size,
+ * the faster the computation, but the size of the table grows exponentially in the window size. Precomputing a table
+ * only pays off if it is used many times. Tables are immutable and can therefore be shared among multiple threads.
+ * The running time of {@link #selfApply(BigInteger)} depends on the digits of the amount, i.e., tables must not be
+ * used for secret amounts.
+ * <p>
+ * @param <V> The generic type of the values representing the elements of the cyclic group
+ * @see CyclicGroup#precompute(Element, int)
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public interface FixedBaseTable<V> {
+
+	/**
+	 * The window size used by {@link CyclicGroup#precompute(Element)}.
+	 */
+	public static final int DEFAULT_WINDOW_SIZE = 4;
+
+	/**
+	 * The maximal window size accepted by {@link CyclicGroup#precompute(Element, int)}.
+	 */
+	public static final int MAX_WINDOW_SIZE = 16;
+
+	/**
+	 * Returns the cyclic group of the fixed element.
+	 * <p>
+	 * @return The cyclic group
+	 */
+	public CyclicGroup<V> getCyclicGroup();
+
+	/**
+	 * Returns the fixed element, for which the powers have been precomputed.
+	 * <p>
+	 * @return The fixed element
+	 */
+	public Element<V> getBase();
+
+	/**
+	 * Returns the window size of the precomputed table.
+	 * <p>
+	 * @return The window size
+	 */
+	public int getWindowSize();
+
+	/**
+	 * Applies the binary operation of the cyclic group repeatedly to {@code amount} many instances of the fixed
+	 * element.
+	 * <p>
+	 * @param amount The number of instances of the fixed element
+	 * @return The result of applying the operation multiple times to the fixed element
+	 */
+	public Element<V> selfApply(BigInteger amount);
+
+	/**
+	 * Same as {@link FixedBaseTable#selfApply(BigInteger)}, except that the amount is given as an instance of
+	 * {@code Element<BigInteger>}, from which a {@code BigInteger} value can be extracted using
+	 * {@link Element#getValue()}.
+	 * <p>
+	 * @param amount The number of instances of the fixed element
+	 * @return The result of applying the operation multiple times to the fixed element
+	 */
+	public Element<V> selfApply(Element<BigInteger> amount);
+
+}
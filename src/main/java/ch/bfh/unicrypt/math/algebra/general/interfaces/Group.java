@@ -41,6 +41,7 @@
  */
 package ch.bfh.unicrypt.math.algebra.general.interfaces;
 
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import java.math.BigInteger;
 
 /**
@@ -67,6 +68,15 @@ public interface Group<V>
 	 */
 	public Element<V> invert(Element element);
 
+	/**
+	 * Computes and returns the inverses of all given group elements. Depending on the group, this is considerably
+	 * faster than inverting the elements one by one.
+	 * <p>
+	 * @param elements The given elements
+	 * @return The array of inverses of the given elements
+	 */
+	public ImmutableArray<? extends Element<V>> invertAll(ImmutableArray<Element> elements);
+
 	/**
 	 * Applies the binary operation to the first and the inverse of the second element.
 	 * <p>
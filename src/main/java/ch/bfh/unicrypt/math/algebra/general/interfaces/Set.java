@@ -44,6 +44,7 @@ package ch.bfh.unicrypt.math.algebra.general.interfaces;
 import ch.bfh.unicrypt.UniCryptException;
 import ch.bfh.unicrypt.helper.aggregator.interfaces.Aggregator;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.converter.classes.ConvertMethod;
 import ch.bfh.unicrypt.helper.converter.interfaces.Converter;
 import ch.bfh.unicrypt.helper.random.RandomByteSequence;
@@ -55,6 +56,8 @@ import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.Field;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.Ring;
 import ch.bfh.unicrypt.math.algebra.dualistic.interfaces.SemiRing;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementCodec;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementVector;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.ZStarMod;
 import ch.bfh.unicrypt.math.algebra.multiplicative.interfaces.MultiplicativeSemiGroup;
 import java.math.BigInteger;
@@ -270,6 +273,48 @@ public interface Set<V> {
 	 */
 	public boolean contains(V value);
 
+	/**
+	 * Checks if all values of a given immutable array represent elements of this set. For some sets, this is done by a
+	 * randomized batch test, which is considerably faster than checking the values one by one. The probability that
+	 * the batch test accepts a value not belonging to this set is smaller than {@code 2^-64}. The randomness of the
+	 * batch test is taken from the default random byte sequence.
+	 * <p>
+	 * @param values The given immutable array of values
+	 * @return {@code true}, if all values represent elements of this set, {@code false} otherwise
+	 * @see Set#contains(Object)
+	 */
+	public boolean containsAll(ImmutableArray<V> values);
+
+	/**
+	 * Checks if all values of a given immutable array represent elements of this set. This method is the same as
+	 * {@link Set#containsAll(ImmutableArray)}, except that the randomness of the batch test is taken from the given
+	 * random byte sequence.
+	 * <p>
+	 * @param values             The given immutable array of values
+	 * @param randomByteSequence The given random byte sequence
+	 * @return {@code true}, if all values represent elements of this set, {@code false} otherwise
+	 */
+	public boolean containsAll(ImmutableArray<V> values, RandomByteSequence randomByteSequence);
+
+	/**
+	 * Checks if all values of a given finite sequence represent elements of this set. This method is the same as
+	 * {@link Set#containsAll(ImmutableArray)}, except that the values are given as a sequence.
+	 * <p>
+	 * @param values The given finite sequence of values
+	 * @return {@code true}, if all values represent elements of this set, {@code false} otherwise
+	 */
+	public boolean containsAll(Sequence<V> values);
+
+	/**
+	 * Returns the index of the first value of a given immutable array, which does not represent an element of this
+	 * set. If all values represent elements of this set, {@code -1} is returned. The values are checked one by one only
+	 * if the batch test of {@link Set#containsAll(ImmutableArray)} fails.
+	 * <p>
+	 * @param values The given immutable array of values
+	 * @return The index of the first invalid value or {@code -1}
+	 */
+	public int findNonMember(ImmutableArray<V> values);
+
 	/**
 	 * Returns the corresponding element for a given value, if such an element exists. Otherwise, an exception is
 	 * thrown.
@@ -280,6 +325,42 @@ public interface Set<V> {
 	 */
 	public Element<V> getElement(V value);
 
+	/**
+	 * Returns a compact vector of the given elements of this set, in which the elements are represented by fixed-width
+	 * integers stored in a single contiguous array (see {@link ElementVector}). If this set does not support such a
+	 * compact representation, an exception is thrown.
+	 * <p>
+	 * @param elements The given elements of this set
+	 * @return The vector of the given elements
+	 */
+	public ElementVector getElementVector(ImmutableArray<Element> elements);
+
+	/**
+	 * Returns the vector of elements of this set, which is represented by the given byte array (see
+	 * {@link ElementVector#getByteArray()}). If the byte array does not represent a vector of elements of this set, or
+	 * if this set does not support such a compact representation, an exception is thrown.
+	 * <p>
+	 * @param byteArray The given byte array
+	 * @return The corresponding vector of elements
+	 */
+	public ElementVector getElementVector(ByteArray byteArray);
+
+	/**
+	 * Returns the fixed-width layout of the elements of this set in an {@link ElementVector}. If this set does not
+	 * support such a compact representation, {@code null} is returned.
+	 * <p>
+	 * @return The layout of the elements or {@code null}
+	 */
+	public ElementVector.Layout<? extends Element<V>> getElementVectorLayout();
+
+	/**
+	 * Returns the codec for the compact binary encoding of the elements of this set (see {@link ElementCodec}). The
+	 * encoding is derived from the structure of this set.
+	 * <p>
+	 * @return The codec of this set
+	 */
+	public ElementCodec<? extends Element<V>> getElementCodec();
+
 	/**
 	 * Selects and returns a random set element using the library's default random byte sequence. For sets of finite
 	 * order, the element is selected uniformly at random. For sets of infinite order, an exception is thrown.
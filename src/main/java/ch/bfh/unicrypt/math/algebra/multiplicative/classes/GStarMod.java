@@ -44,21 +44,32 @@ package ch.bfh.unicrypt.math.algebra.multiplicative.classes;
 import ch.bfh.unicrypt.ErrorCode;
 import ch.bfh.unicrypt.UniCryptRuntimeException;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.converter.classes.biginteger.BigIntegerToBigInteger;
 import ch.bfh.unicrypt.helper.converter.classes.biginteger.ByteArrayToBigInteger;
 import ch.bfh.unicrypt.helper.converter.classes.bytearray.BigIntegerToByteArray;
 import ch.bfh.unicrypt.helper.converter.classes.bytearray.StringToByteArray;
 import ch.bfh.unicrypt.helper.converter.interfaces.Converter;
 import ch.bfh.unicrypt.helper.hash.HashMethod;
+import ch.bfh.unicrypt.helper.math.FixedBaseExponentiation;
 import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.helper.prime.Factorization;
 import ch.bfh.unicrypt.helper.prime.SpecialFactorization;
 import ch.bfh.unicrypt.helper.random.RandomByteSequence;
 import ch.bfh.unicrypt.helper.sequence.Sequence;
 import ch.bfh.unicrypt.helper.tree.Tree;
+import ch.bfh.unicrypt.math.algebra.general.abstracts.AbstractFixedBaseTable;
+import ch.bfh.unicrypt.math.algebra.general.abstracts.AbstractSet;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementVector;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.FixedBaseTable;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.algebra.multiplicative.abstracts.AbstractMultiplicativeCyclicGroup;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * This interface represents the concept of a sub-group G_m (of order m) of a cyclic group of integers Z*_n with the
@@ -187,11 +198,39 @@ public class GStarMod
 		});
 	}
 
+	@Override
+	protected GStarModElement defaultApply(final Sequence<Element> elements) {
+		return this.abstractGetElement(this.computeModProduct(elements, this.modulus));
+	}
+
 	@Override
 	protected GStarModElement defaultSelfApplyAlgorithm(final GStarModElement element, final BigInteger posExponent) {
 		return this.abstractGetElement(MathUtil.modExp(element.getValue(), posExponent, this.modulus));
 	}
 
+	@Override
+	protected GStarModElement defaultMultiSelfApplyAlgorithm(final Element[] elements, final BigInteger[] posExponents) {
+		final BigInteger[] values = new BigInteger[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			values[i] = ((GStarModElement) elements[i]).getValue();
+		}
+		return this.abstractGetElement(MathUtil.modMultiExp(values, posExponents, this.modulus));
+	}
+
+	@Override
+	protected FixedBaseTable<BigInteger> defaultPrecompute(final GStarModElement element, final int windowSize) {
+		final FixedBaseExponentiation<BigInteger> exponentiation
+			   = FixedBaseExponentiation.getInstance(element.getValue(), this.getOrder().bitLength(), windowSize, MathUtil.getModMultiplication(this.modulus));
+		return new AbstractFixedBaseTable<GStarModElement, BigInteger>(this, element, windowSize) {
+
+			@Override
+			protected GStarModElement abstractSelfApply(BigInteger positiveAmount) {
+				return abstractGetElement(exponentiation.compute(positiveAmount));
+			}
+
+		};
+	}
+
 	@Override
 	protected String defaultToStringContent() {
 		return this.getModulus().toString() + "," + this.getOrder().toString();
@@ -205,6 +244,52 @@ public class GStarMod
 			   && MathUtil.modExp(value, this.getOrder(), this.modulus).equals(MathUtil.ONE);
 	}
 
+	@Override
+	protected boolean defaultContainsAll(ImmutableArray<BigInteger> values, RandomByteSequence randomByteSequence) {
+		for (BigInteger value : values) {
+			if (value.signum() <= 0 || value.compareTo(this.modulus) >= 0) {
+				return false;
+			}
+		}
+		// in each round, the product of a random subset of the values is computed; if a value is not a member of the
+		// subgroup (or not relatively prime to the modulus), the product is not a member with probability at least 1/2
+		BigInteger[] products = new BigInteger[BATCH_TEST_ROUNDS];
+		Arrays.fill(products, MathUtil.ONE);
+		long[] masks = AbstractSet.getRandomMasks(values.getLength(), randomByteSequence);
+		int i = 0;
+		for (BigInteger value : values) {
+			long mask = masks[i++];
+			while (mask != 0) {
+				int round = Long.numberOfTrailingZeros(mask);
+				products[round] = products[round].multiply(value).mod(this.modulus);
+				mask &= mask - 1;
+			}
+		}
+		for (BigInteger product : products) {
+			if (!MathUtil.modExp(product, this.getOrder(), this.modulus).equals(MathUtil.ONE)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	protected ElementVector.Layout<GStarModElement> defaultGetElementVectorLayout() {
+		return new ElementVector.Layout<GStarModElement>(this, 1, this.modulus.bitLength()) {
+
+			@Override
+			protected BigInteger[] abstractGetBigIntegers(GStarModElement element) {
+				return new BigInteger[]{element.getValue()};
+			}
+
+			@Override
+			protected GStarModElement abstractGetElement(BigInteger[] values) {
+				return GStarMod.this.abstractGetElement(values[0]);
+			}
+
+		};
+	}
+
 	@Override
 	protected GStarModElement abstractGetElement(BigInteger value) {
 		return new GStarModElement(this, value);
@@ -241,6 +326,21 @@ public class GStarMod
 		return this.abstractGetElement(MathUtil.modInv(element.getValue(), this.modulus));
 	}
 
+	@Override
+	protected DenseArray<GStarModElement> defaultInvertAll(final ImmutableArray<Element> elements) {
+		// a single modular inversion for all elements
+		BigInteger[] values = new BigInteger[elements.getLength()];
+		int i = 0;
+		for (Element<BigInteger> element : elements) {
+			values[i++] = element.getValue();
+		}
+		List<GStarModElement> results = new ArrayList<>(values.length);
+		for (BigInteger value : MathUtil.modInvAll(values, this.modulus)) {
+			results.add(this.abstractGetElement(value));
+		}
+		return DenseArray.getInstance(results);
+	}
+
 	@Override
 	protected GStarModElement abstractGetDefaultGenerator() {
 		// see http://en.wikipedia.org/wiki/Schnorr_group
@@ -43,10 +43,12 @@ package ch.bfh.unicrypt.math.algebra.multiplicative.classes;
 
 import ch.bfh.unicrypt.ErrorCode;
 import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.cache.Cache;
 import ch.bfh.unicrypt.helper.math.MathUtil;
 import ch.bfh.unicrypt.helper.prime.Prime;
 import ch.bfh.unicrypt.helper.prime.SafePrime;
+import ch.bfh.unicrypt.helper.random.RandomByteSequence;
 import java.math.BigInteger;
 
 /**
@@ -75,6 +77,17 @@ public class GStarModSafePrime
 			   && MathUtil.isQuadraticResidue(value, this.modulus);
 	}
 
+	@Override
+	protected boolean defaultContainsAll(ImmutableArray<BigInteger> values, RandomByteSequence randomByteSequence) {
+		// testing the quadratic residuosity of each value is faster than the randomized batch test
+		for (BigInteger value : values) {
+			if (!this.abstractContains(value)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	public static GStarModSafePrime getInstance(long modulus) {
 		return GStarModSafePrime.getInstance(BigInteger.valueOf(modulus));
 	}
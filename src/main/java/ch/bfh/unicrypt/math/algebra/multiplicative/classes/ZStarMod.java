@@ -43,6 +43,8 @@ package ch.bfh.unicrypt.math.algebra.multiplicative.classes;
 
 import ch.bfh.unicrypt.ErrorCode;
 import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.cache.Cache;
 import ch.bfh.unicrypt.helper.converter.classes.biginteger.BigIntegerToBigInteger;
 import ch.bfh.unicrypt.helper.converter.interfaces.Converter;
@@ -51,9 +53,13 @@ import ch.bfh.unicrypt.helper.prime.Factorization;
 import ch.bfh.unicrypt.helper.random.RandomByteSequence;
 import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
 import ch.bfh.unicrypt.helper.sequence.Sequence;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementVector;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
 import ch.bfh.unicrypt.math.algebra.multiplicative.abstracts.AbstractMultiplicativeGroup;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This class implements the group of integers Z*_n with the operation of multiplication modulo n. Its identity element
@@ -120,11 +126,25 @@ public class ZStarMod
 		return this.getElement(BigInteger.valueOf(value));
 	}
 
+	@Override
+	protected ZStarModElement defaultApply(final Sequence<Element> elements) {
+		return this.abstractGetElement(this.computeModProduct(elements, this.modulus));
+	}
+
 	@Override
 	protected ZStarModElement defaultSelfApplyAlgorithm(final ZStarModElement element, final BigInteger posExponent) {
 		return this.abstractGetElement(MathUtil.modExp(element.getValue(), posExponent, this.modulus));
 	}
 
+	@Override
+	protected ZStarModElement defaultMultiSelfApplyAlgorithm(final Element[] elements, final BigInteger[] posExponents) {
+		final BigInteger[] values = new BigInteger[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			values[i] = ((ZStarModElement) elements[i]).getValue();
+		}
+		return this.abstractGetElement(MathUtil.modMultiExp(values, posExponents, this.modulus));
+	}
+
 	@Override
 	protected BigInteger defaultGetOrderUpperBound() {
 		return this.getModulus().subtract(MathUtil.ONE);
@@ -142,6 +162,23 @@ public class ZStarMod
 			   && MathUtil.areRelativelyPrime(value, this.modulus);
 	}
 
+	@Override
+	protected ElementVector.Layout<ZStarModElement> defaultGetElementVectorLayout() {
+		return new ElementVector.Layout<ZStarModElement>(this, 1, this.modulus.bitLength()) {
+
+			@Override
+			protected BigInteger[] abstractGetBigIntegers(ZStarModElement element) {
+				return new BigInteger[]{element.getValue()};
+			}
+
+			@Override
+			protected ZStarModElement abstractGetElement(BigInteger[] values) {
+				return ZStarMod.this.abstractGetElement(values[0]);
+			}
+
+		};
+	}
+
 	@Override
 	protected ZStarModElement abstractGetElement(BigInteger value) {
 		return new ZStarModElement(this, value);
@@ -184,6 +221,21 @@ public class ZStarMod
 		return this.abstractGetElement(MathUtil.modInv(element.getValue(), this.modulus));
 	}
 
+	@Override
+	protected DenseArray<ZStarModElement> defaultInvertAll(final ImmutableArray<Element> elements) {
+		// a single modular inversion for all elements
+		BigInteger[] values = new BigInteger[elements.getLength()];
+		int i = 0;
+		for (Element<BigInteger> element : elements) {
+			values[i++] = element.getValue();
+		}
+		List<ZStarModElement> results = new ArrayList<>(values.length);
+		for (BigInteger value : MathUtil.modInvAll(values, this.modulus)) {
+			results.add(this.abstractGetElement(value));
+		}
+		return DenseArray.getInstance(results);
+	}
+
 	@Override
 	protected boolean abstractEquals(final Set set) {
 		final ZStarMod zStarMod = (ZStarMod) set;
@@ -49,7 +49,9 @@ import ch.bfh.unicrypt.helper.random.RandomByteSequence;
 import ch.bfh.unicrypt.helper.random.deterministic.DeterministicRandomByteSequence;
 import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
 import ch.bfh.unicrypt.helper.sequence.Sequence;
+import ch.bfh.unicrypt.math.algebra.general.abstracts.AbstractFixedBaseTable;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.FixedBaseTable;
 import ch.bfh.unicrypt.math.algebra.multiplicative.interfaces.MultiplicativeCyclicGroup;
 import java.math.BigInteger;
 
@@ -124,6 +126,25 @@ public class ZStarModPrime
 		throw new UniCryptRuntimeException(ErrorCode.NOT_YET_IMPLEMENTED, this);
 	}
 
+	@Override
+	public final FixedBaseTable<BigInteger> precompute(Element element) {
+		return this.precompute(element, FixedBaseTable.DEFAULT_WINDOW_SIZE);
+	}
+
+	@Override
+	public final FixedBaseTable<BigInteger> precompute(Element element, int windowSize) {
+		AbstractFixedBaseTable.checkArguments(this, element, windowSize);
+		final ZStarModElement base = (ZStarModElement) element;
+		return new AbstractFixedBaseTable<ZStarModElement, BigInteger>(this, base, windowSize) {
+
+			@Override
+			protected ZStarModElement abstractSelfApply(BigInteger positiveAmount) {
+				return defaultSelfApplyAlgorithm(base, positiveAmount);
+			}
+
+		};
+	}
+
 	public static ZStarModPrime getInstance(final long modulus) {
 		return ZStarModPrime.getInstance(BigInteger.valueOf(modulus));
 	}
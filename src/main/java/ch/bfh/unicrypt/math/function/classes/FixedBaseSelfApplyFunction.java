@@ -0,0 +1,104 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.function.classes;
+
+import ch.bfh.unicrypt.ErrorCode;
+import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.cache.Cache;
+import ch.bfh.unicrypt.helper.random.RandomByteSequence;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.Pair;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.function.abstracts.AbstractFunction;
+
+/**
+ * This class represents the same function f:GxZ_q->G as {@link SelfApplyFunction} for a cyclic group G of order q.
+ * The difference is that it keeps an instance of {@link GeneratorFunction} for each of the most recently used input
+ * elements of G, with precomputation enabled. Computing f(x,z) repeatedly for the same x (for example for the same
+ * public key) therefore profits from the table of precomputed powers created by {@link GeneratorFunction}. Since the
+ * running time of a table lookup depends on z, this function must only be applied to public values of z, for example
+ * in a verification. For secret values of z, {@link SelfApplyFunction} must be used.
+ * <p>
+ * @see SelfApplyFunction
+ * @see GeneratorFunction
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public class FixedBaseSelfApplyFunction
+	   extends AbstractFunction<FixedBaseSelfApplyFunction, ProductSet, Pair, CyclicGroup, Element> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Cache<Element, GeneratorFunction> cache = new Cache<>(Cache.SIZE_XS);
+
+	private FixedBaseSelfApplyFunction(final ProductSet domain, final CyclicGroup coDomain) {
+		super(domain, coDomain);
+	}
+
+	@Override
+	protected Element abstractApply(final Pair element, final RandomByteSequence randomByteSequence) {
+		Element base = element.getFirst();
+		GeneratorFunction function = this.cache.get(base);
+		if (function == null) {
+			function = new GeneratorFunction((ZMod) this.getDomain().getAt(1), this.getCoDomain(), base, true);
+			this.cache.put(base, function);
+		}
+		return function.apply(element.getSecond());
+	}
+
+	/**
+	 * Returns a new instance of this class for a given cyclic group.
+	 * <p>
+	 * @param cyclicGroup The underlying cyclic group
+	 * @return Returns an instance of this class
+	 */
+	public static FixedBaseSelfApplyFunction getInstance(final CyclicGroup cyclicGroup) {
+		if (cyclicGroup == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER);
+		}
+		return new FixedBaseSelfApplyFunction(ProductSet.getInstance(cyclicGroup, cyclicGroup.getZModOrder()), cyclicGroup);
+	}
+
+}
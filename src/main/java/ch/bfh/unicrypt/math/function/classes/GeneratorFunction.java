@@ -48,10 +48,17 @@ import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModElement;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.FixedBaseTable;
 import ch.bfh.unicrypt.math.function.abstracts.AbstractFunction;
 
 /**
- *
+ * This class represents the function {@code x -> g^x}, which applies the operation of a cyclic group repeatedly to a
+ * fixed generator {@code g}. If precomputation is enabled, a table of precomputed powers of the generator is created
+ * using {@link CyclicGroup#precompute(Element)} after {@link GeneratorFunction#PRECOMPUTATION_THRESHOLD}
+ * applications, which speeds up all further applications of the function. Since the running time of a table lookup
+ * depends on the digits of the input, precomputation must only be enabled for functions applied to public inputs,
+ * for example by a verifier. By default, precomputation is disabled.
+ * <p>
  * @author R. Haenni
  */
 public class GeneratorFunction
@@ -59,17 +66,37 @@ public class GeneratorFunction
 
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The number of applications of the function, after which the table of precomputed powers is created (if
+	 * precomputation is enabled).
+	 */
+	public static final int PRECOMPUTATION_THRESHOLD = 16;
+
 	private Element generator;
+	private final boolean precomputation;
+
+	// the counter is not synchronized, since a few additional applications without the table do not matter
+	private transient int counter;
+	private transient volatile FixedBaseTable fixedBaseTable;
 
 	public GeneratorFunction(ZMod domain, CyclicGroup coDomain, Element generator) {
+		this(domain, coDomain, generator, false);
+	}
+
+	public GeneratorFunction(ZMod domain, CyclicGroup coDomain, Element generator, boolean precomputation) {
 		super(domain, coDomain);
 		this.generator = generator;
+		this.precomputation = precomputation;
 	}
 
 	public Element getGenerator() {
 		return this.generator;
 	}
 
+	public boolean hasPrecomputation() {
+		return this.precomputation;
+	}
+
 	@Override
 	protected boolean defaultIsEquivalent(GeneratorFunction other) {
 		return this.getGenerator().isEquivalent(other.getGenerator());
@@ -77,10 +104,40 @@ public class GeneratorFunction
 
 	@Override
 	protected Element abstractApply(ZModElement element, RandomByteSequence randomByteSequence) {
-		return generator.selfApply(element);
+		if (!this.precomputation) {
+			return this.generator.selfApply(element);
+		}
+		FixedBaseTable table = this.fixedBaseTable;
+		if (table == null) {
+			if (++this.counter < PRECOMPUTATION_THRESHOLD) {
+				return this.generator.selfApply(element);
+			}
+			table = this.getFixedBaseTable();
+		}
+		return table.selfApply(element);
+	}
+
+	private synchronized FixedBaseTable getFixedBaseTable() {
+		if (this.fixedBaseTable == null) {
+			this.fixedBaseTable = this.getCoDomain().precompute(this.generator);
+		}
+		return this.fixedBaseTable;
 	}
 
 	public static GeneratorFunction getInstance(Element generator) {
+		return GeneratorFunction.getInstance(generator, false);
+	}
+
+	/**
+	 * Returns a new instance of this class for a given generator. If {@code precomputation} is {@code true}, a table of
+	 * precomputed powers is created after {@link GeneratorFunction#PRECOMPUTATION_THRESHOLD} applications. This is
+	 * only safe if the function is never applied to secret inputs.
+	 * <p>
+	 * @param generator      The generator
+	 * @param precomputation {@code true} to enable precomputation, {@code false} otherwise
+	 * @return The new instance
+	 */
+	public static GeneratorFunction getInstance(Element generator, boolean precomputation) {
 		if (generator == null) {
 			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER);
 		}
@@ -88,7 +145,7 @@ public class GeneratorFunction
 			throw new UniCryptRuntimeException(ErrorCode.INVALID_ARGUMENT, generator);
 		}
 		CyclicGroup cyclicGroup = (CyclicGroup) generator.getSet();
-		return new GeneratorFunction(cyclicGroup.getZModOrder(), cyclicGroup, generator);
+		return new GeneratorFunction(cyclicGroup.getZModOrder(), cyclicGroup, generator, precomputation);
 	}
 
 	public static GeneratorFunction getInstance(CyclicGroup cyclicGroup) {
@@ -0,0 +1,112 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm): Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (c) 2016 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.function.classes;
+
+import ch.bfh.unicrypt.ErrorCode;
+import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.random.RandomByteSequence;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
+import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.function.abstracts.AbstractFunction;
+import java.math.BigInteger;
+
+/**
+ * This class represents the function {@code (x_1,...,x_n) -> g_1^x_1*...*g_n^x_n} for fixed generators
+ * {@code g_1,...,g_n} of a cyclic group. It computes the same result as the composition of a product of
+ * {@link GeneratorFunction} instances with an {@link ApplyFunction}, but the computation is performed simultaneously
+ * using {@link CyclicGroup#multiSelfApply(Element[], BigInteger[])}. Unlike {@link GeneratorFunction}, no tables of
+ * precomputed powers are created, since their total size grows linearly with the number of generators. The running
+ * time of the simultaneous computation depends on the input, i.e., this function must only be applied to public
+ * values. For secret values, the composition of {@link GeneratorFunction} instances must be used.
+ * <p>
+ * @author R. Haenni
+ * @version 2.0
+ */
+public class MultiGeneratorFunction
+	   extends AbstractFunction<MultiGeneratorFunction, ProductGroup, Tuple, CyclicGroup, Element> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Tuple generators;
+
+	private MultiGeneratorFunction(ProductGroup domain, CyclicGroup coDomain, Tuple generators) {
+		super(domain, coDomain);
+		this.generators = generators;
+	}
+
+	public Tuple getGenerators() {
+		return this.generators;
+	}
+
+	@Override
+	protected boolean defaultIsEquivalent(MultiGeneratorFunction other) {
+		return this.getGenerators().isEquivalent(other.getGenerators());
+	}
+
+	@Override
+	protected Element abstractApply(Tuple element, RandomByteSequence randomByteSequence) {
+		int arity = element.getArity();
+		Element[] elements = new Element[arity];
+		BigInteger[] amounts = new BigInteger[arity];
+		for (int i = 0; i < arity; i++) {
+			elements[i] = this.generators.getAt(i);
+			amounts[i] = ((Element<BigInteger>) element.getAt(i)).getValue();
+		}
+		return this.getCoDomain().multiSelfApply(elements, amounts);
+	}
+
+	public static MultiGeneratorFunction getInstance(Tuple generators) {
+		if (generators == null) {
+			throw new UniCryptRuntimeException(ErrorCode.NULL_POINTER);
+		}
+		if (generators.getArity() < 1 || !generators.getSet().isUniform() || !generators.getFirst().getSet().isCyclic()) {
+			throw new UniCryptRuntimeException(ErrorCode.INVALID_ARGUMENT, generators);
+		}
+		CyclicGroup cyclicGroup = (CyclicGroup) generators.getFirst().getSet();
+		ProductGroup domain = ProductSet.getInstance(cyclicGroup.getZModOrder(), generators.getArity());
+		return new MultiGeneratorFunction(domain, cyclicGroup, generators);
+	}
+
+}
@@ -45,6 +45,7 @@ import ch.bfh.unicrypt.ErrorCode;
 import ch.bfh.unicrypt.UniCryptRuntimeException;
 import ch.bfh.unicrypt.helper.math.Permutation;
 import ch.bfh.unicrypt.helper.random.RandomByteSequence;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementVector;
 import ch.bfh.unicrypt.math.algebra.general.classes.Pair;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationElement;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationGroup;
@@ -87,6 +88,10 @@ public class PermutationFunction
 	protected Tuple abstractApply(final Pair element, final RandomByteSequence randomByteSequence) {
 		final Tuple elements = (Tuple) element.getFirst();
 		final Permutation permutation = ((PermutationElement) element.getSecond()).getValue();
+		if (elements.getValue() instanceof ElementVector) {
+			// the permutation is applied directly to the limbs of the vector
+			return Tuple.getInstance(((ElementVector) elements.getValue()).permute(permutation));
+		}
 		final Element[] result = new Element[elements.getArity()];
 		for (int i = 0; i < elements.getArity(); i++) {
 			result[i] = elements.getAt(permutation.permute(i));
@@ -43,9 +43,12 @@ package ch.bfh.unicrypt.crypto.mixer;
 
 import ch.bfh.unicrypt.crypto.mixer.classes.ReEncryptionMixer;
 import ch.bfh.unicrypt.crypto.schemes.encryption.classes.ElGamalEncryptionScheme;
+import ch.bfh.unicrypt.helper.concurrent.ConcurrentUtil;
 import ch.bfh.unicrypt.helper.math.Permutation;
 import ch.bfh.unicrypt.helper.prime.SafePrime;
+import ch.bfh.unicrypt.helper.random.deterministic.DeterministicRandomByteSequence;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementVector;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationElement;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationGroup;
 import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
@@ -53,7 +56,17 @@ import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import org.junit.Test;
 
 /**
@@ -180,4 +193,103 @@ public class ReEncryptionMixerTest {
 		}
 	}
 
+	@Test
+	public void testReEncryptionMixerParallel() {
+
+		CyclicGroup G_q = GStarModSafePrime.getInstance(SafePrime.getSmallestInstance(128));
+		Element g = G_q.getDefaultGenerator();
+		Element pk = g.selfApply(G_q.getZModOrder().getElement(7));
+		int size = 50;
+
+		ElGamalEncryptionScheme es = ElGamalEncryptionScheme.getInstance(g);
+		Tuple messages = ProductGroup.getInstance(G_q, size).getRandomElement(DeterministicRandomByteSequence.getInstance());
+		Tuple ciphertexts = es.encryptBatch(pk, messages, DeterministicRandomByteSequence.getInstance());
+
+		ReEncryptionMixer mixer = ReEncryptionMixer.getInstance(es, pk, size);
+		Tuple shuffledCiphertexts1 = mixer.shuffle(ciphertexts, DeterministicRandomByteSequence.getInstance());
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		Tuple shuffledCiphertexts2 = mixer.shuffle(ciphertexts, DeterministicRandomByteSequence.getInstance(), executor);
+		executor.shutdown();
+		assertEquals(shuffledCiphertexts1, shuffledCiphertexts2);
+
+		PermutationElement permutation = PermutationGroup.getInstance(size).getRandomElement();
+		Tuple randomizations = mixer.generateRandomizations();
+		assertEquals(mixer.getPermutationFunction().apply(mixer.shuffle(ciphertexts, PermutationGroup.getInstance(size).getIdentityElement(), randomizations), permutation),
+					 mixer.shuffle(ciphertexts, permutation, randomizations, ConcurrentUtil.getDefaultExecutor()));
+	}
+
+	@Test
+	public void testReEncryptionMixerVector() {
+
+		CyclicGroup G_q = GStarModSafePrime.getInstance(167);
+		Element g = G_q.getDefaultGenerator();
+		Element pk = g.selfApply(G_q.getZModOrder().getElement(7));
+		int size = 1000;
+
+		ElGamalEncryptionScheme es = ElGamalEncryptionScheme.getInstance(g);
+		ProductGroup messageSpace = ProductGroup.getInstance(G_q, size);
+		Tuple messages = messageSpace.getRandomElement(DeterministicRandomByteSequence.getInstance());
+		Tuple ciphertexts = es.encryptBatch(pk, messageSpace.getCompactElement(messages.getValue()),
+											DeterministicRandomByteSequence.getInstance());
+		assertEquals(es.encryptBatch(pk, messages, DeterministicRandomByteSequence.getInstance()), ciphertexts);
+
+		ReEncryptionMixer mixer = ReEncryptionMixer.getInstance(es, pk, size);
+		PermutationElement permutation = PermutationGroup.getInstance(size).getRandomElement();
+		Tuple randomizations = mixer.generateRandomizations();
+		Tuple shuffledCiphertexts = mixer.shuffle(ciphertexts, permutation, randomizations);
+
+		// the ciphertexts are stored compactly, since the messages are stored compactly
+		assertTrue(ciphertexts.getValue() instanceof ElementVector);
+		assertTrue(shuffledCiphertexts.getValue() instanceof ElementVector);
+		assertFalse(es.encryptBatch(pk, messages).getValue() instanceof ElementVector);
+		for (int i = 0; i < size; i++) {
+			int j = permutation.getValue().permute(i);
+			assertEquals(es.reEncrypt(pk, ciphertexts.getAt(j), randomizations.getAt(j)), shuffledCiphertexts.getAt(i));
+		}
+	}
+
+	@Test
+	public void testReEncryptionMixerMapped() throws IOException {
+
+		CyclicGroup G_q = GStarModSafePrime.getInstance(SafePrime.getSmallestInstance(128));
+		Element g = G_q.getDefaultGenerator();
+		Element pk = g.selfApply(G_q.getZModOrder().getElement(7));
+		int size = 50;
+
+		ElGamalEncryptionScheme es = ElGamalEncryptionScheme.getInstance(g);
+		Tuple messages = ProductGroup.getInstance(G_q, size).getRandomElement(DeterministicRandomByteSequence.getInstance());
+		Tuple ciphertexts = es.encryptBatch(pk, messages, DeterministicRandomByteSequence.getInstance());
+
+		ReEncryptionMixer mixer = ReEncryptionMixer.getInstance(es, pk, size);
+		Path folder = Files.createTempDirectory("mixer");
+		try {
+			Tuple randomizations1 = mixer.generateRandomizations(DeterministicRandomByteSequence.getInstance());
+			Tuple randomizations2 = mixer.generateRandomizations(DeterministicRandomByteSequence.getInstance(), folder.resolve("r"));
+			assertEquals(randomizations1, randomizations2);
+			if (folder.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+				assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(folder.resolve("r")));
+			}
+
+			// existing files are not overwritten
+			try {
+				mixer.generateRandomizations(DeterministicRandomByteSequence.getInstance(), folder.resolve("r"));
+				fail();
+			} catch (FileAlreadyExistsException exception) {
+			}
+
+			// the mapped output can be used as input of the next shuffle
+			PermutationElement permutation = PermutationGroup.getInstance(size).getRandomElement();
+			Tuple shuffledCiphertexts1 = mixer.shuffle(ciphertexts, permutation, randomizations1);
+			Tuple shuffledCiphertexts2 = mixer.shuffle(ciphertexts, permutation, randomizations2, ConcurrentUtil.getDefaultExecutor(), folder.resolve("c1"));
+			assertEquals(shuffledCiphertexts1, shuffledCiphertexts2);
+			assertEquals(mixer.shuffle(shuffledCiphertexts1, permutation, randomizations1),
+						 mixer.shuffle(shuffledCiphertexts2, permutation, randomizations2, ConcurrentUtil.getDefaultExecutor(), folder.resolve("c2")));
+		} finally {
+			for (String name : new String[]{"r", "c1", "c2"}) {
+				Files.deleteIfExists(folder.resolve(name));
+			}
+			Files.delete(folder);
+		}
+	}
+
 }
@@ -58,6 +58,9 @@ import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
 import java.lang.reflect.Field;
 import java.math.BigInteger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
@@ -123,6 +126,34 @@ public class PermutationCommitmentProofSystemTest {
 		assertTrue(v);
 	}
 
+	@Test
+	public void testPermutationCommitemntProofGenerator_Parallel() {
+
+		final CyclicGroup G_q = GStarModSafePrime.getInstance(new BigInteger(P2, 10));
+		final DeterministicRandomByteSequence rbs = DeterministicRandomByteSequence.getInstance();
+
+		final int size = 30;
+
+		// Permutation
+		PermutationElement pi = PermutationGroup.getInstance(size).getRandomElement();
+
+		PermutationCommitmentScheme pcs = PermutationCommitmentScheme.getInstance(G_q, size, rbs);
+
+		Tuple sV = pcs.getRandomizationSpace().getRandomElement();
+		Tuple cPiV = pcs.commit(pi, sV);
+
+		// Permutation commitment proof generator
+		PermutationCommitmentProofSystem pcpg = PermutationCommitmentProofSystem.getInstance(G_q, size, rbs);
+
+		// Proof and verify
+		Tuple proof1 = pcpg.generate(Pair.getInstance(pi, sV), cPiV, DeterministicRandomByteSequence.getInstance());
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		Tuple proof2 = pcpg.generate(Pair.getInstance(pi, sV), cPiV, DeterministicRandomByteSequence.getInstance(), executor);
+		executor.shutdown();
+		assertEquals(proof1, proof2);
+		assertTrue(pcpg.verify(proof2, cPiV));
+	}
+
 	@Test
 	public void testPermutationCommitemntProofGenerator_Invalid() {
 
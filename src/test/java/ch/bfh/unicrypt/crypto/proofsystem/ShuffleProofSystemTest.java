@@ -41,12 +41,17 @@
  */
 package ch.bfh.unicrypt.crypto.proofsystem;
 
+import ch.bfh.unicrypt.crypto.mixer.classes.ReEncryptionMixer;
+import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.classes.FiatShamirSigmaChallengeGenerator;
+import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.classes.MultiValuesNonInteractiveChallengeGenerator;
 import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.interfaces.ChallengeGenerator;
 import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.interfaces.SigmaChallengeGenerator;
+import ch.bfh.unicrypt.crypto.proofsystem.classes.BatchVerifier;
 import ch.bfh.unicrypt.crypto.proofsystem.classes.PermutationCommitmentProofSystem;
 import ch.bfh.unicrypt.crypto.proofsystem.classes.ReEncryptionShuffleProofSystem;
 import ch.bfh.unicrypt.crypto.schemes.commitment.classes.PermutationCommitmentScheme;
 import ch.bfh.unicrypt.crypto.schemes.encryption.classes.ElGamalEncryptionScheme;
+import ch.bfh.unicrypt.helper.concurrent.ConcurrentUtil;
 import ch.bfh.unicrypt.helper.math.Alphabet;
 import ch.bfh.unicrypt.helper.math.Permutation;
 import ch.bfh.unicrypt.helper.random.RandomByteSequence;
@@ -55,6 +60,7 @@ import ch.bfh.unicrypt.helper.random.deterministic.DeterministicRandomByteSequen
 import ch.bfh.unicrypt.helper.random.hybrid.HybridRandomByteSequence;
 import ch.bfh.unicrypt.math.algebra.concatenative.classes.StringMonoid;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.MappedElementArray;
 import ch.bfh.unicrypt.math.algebra.general.classes.Pair;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationElement;
 import ch.bfh.unicrypt.math.algebra.general.classes.PermutationGroup;
@@ -63,8 +69,16 @@ import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarMod;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.ZStarMod;
 import ch.bfh.unicrypt.math.function.classes.PermutationFunction;
+import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
@@ -165,6 +179,153 @@ public class ShuffleProofSystemTest {
 		assertTrue(v);
 	}
 
+	@Test
+	public void testShuffleProofGenerator_Parallel() {
+
+		final GStarMod G_q = GStarModSafePrime.getInstance(new BigInteger(P2, 10));
+		final ZMod Z_q = G_q.getZModOrder();
+		final DeterministicRandomByteSequence rbs = DeterministicRandomByteSequence.getInstance();
+
+		final int size = 30;
+		final Element encryptionPK = G_q.getElement(4);
+		final Element g = G_q.getIndependentGenerators(rbs).get(0);
+
+		// Permutation
+		PermutationElement pi = PermutationGroup.getInstance(size).getRandomElement();
+		PermutationCommitmentScheme pcs = PermutationCommitmentScheme.getInstance(G_q, size, rbs);
+
+		Tuple sV = pcs.getRandomizationSpace().getRandomElement();
+		Tuple cPiV = pcs.commit(pi, sV);
+
+		// Ciphertexts
+		Tuple rV = ProductGroup.getInstance(Z_q, size).getRandomElement();
+		ProductGroup uVSpace = ProductGroup.getInstance(ProductGroup.getInstance(G_q, 2), size);
+		Tuple uV = uVSpace.getRandomElement();
+		Element[] uPrimes = new Element[size];
+		for (int i = 0; i < size; i++) {
+			uPrimes[i] = uV.getAt(i).apply(Tuple.getInstance(g.selfApply(rV.getAt(i)), encryptionPK.selfApply(rV.getAt(i))));
+		}
+		Tuple uPrimeV = PermutationFunction.getInstance(ProductGroup.getInstance(G_q, 2), size).apply(Tuple.getInstance(uPrimes), pi);
+
+		// Shuffle Proof Generator
+		ElGamalEncryptionScheme encryptionScheme = ElGamalEncryptionScheme.getInstance(g);
+		ReEncryptionShuffleProofSystem spg = ReEncryptionShuffleProofSystem.getInstance(size, encryptionScheme, encryptionPK, rbs);
+
+		// Proof and verify
+		Tuple privateInput = Tuple.getInstance(pi, sV, rV);
+		Tuple publicInput = Tuple.getInstance(cPiV, uV, uPrimeV);
+
+		Tuple proof1 = spg.generate(privateInput, publicInput, DeterministicRandomByteSequence.getInstance());
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		Tuple proof2 = spg.generate(privateInput, publicInput, DeterministicRandomByteSequence.getInstance(), executor);
+		executor.shutdown();
+		assertEquals(proof1, proof2);
+		assertTrue(spg.verify(proof2, publicInput));
+	}
+
+	@Test
+	public void testShuffleProofGenerator_Chunked() {
+
+		final GStarMod G_q = GStarModSafePrime.getInstance(new BigInteger(P2, 10));
+		final ZMod Z_q = G_q.getZModOrder();
+		final DeterministicRandomByteSequence rbs = DeterministicRandomByteSequence.getInstance();
+
+		final int size = 30;
+		final Element encryptionPK = G_q.getElement(4);
+		final Element g = G_q.getIndependentGenerators(rbs).get(0);
+
+		// Permutation
+		PermutationElement pi = PermutationGroup.getInstance(size).getRandomElement();
+		PermutationCommitmentScheme pcs = PermutationCommitmentScheme.getInstance(G_q, size, rbs);
+
+		Tuple sV = pcs.getRandomizationSpace().getRandomElement();
+		Tuple cPiV = pcs.commit(pi, sV);
+
+		// Ciphertexts
+		Tuple rV = ProductGroup.getInstance(Z_q, size).getRandomElement();
+		ProductGroup uVSpace = ProductGroup.getInstance(ProductGroup.getInstance(G_q, 2), size);
+		Tuple uV = uVSpace.getRandomElement();
+		Element[] uPrimes = new Element[size];
+		for (int i = 0; i < size; i++) {
+			uPrimes[i] = uV.getAt(i).apply(Tuple.getInstance(g.selfApply(rV.getAt(i)), encryptionPK.selfApply(rV.getAt(i))));
+		}
+		Tuple uPrimeV = PermutationFunction.getInstance(ProductGroup.getInstance(G_q, 2), size).apply(Tuple.getInstance(uPrimes), pi);
+
+		// Shuffle Proof Generators: the first two share the hash value of the public input, the third does not
+		ElGamalEncryptionScheme encryptionScheme = ElGamalEncryptionScheme.getInstance(g);
+		ReEncryptionShuffleProofSystem spg1 = ReEncryptionShuffleProofSystem.getInstance(size, encryptionScheme, encryptionPK, rbs);
+		ReEncryptionShuffleProofSystem spg2 = ReEncryptionShuffleProofSystem.getInstance(size, encryptionScheme, encryptionPK, proverId, 60, 60, 20, rbs);
+		ReEncryptionShuffleProofSystem spg3 = ReEncryptionShuffleProofSystem.getInstance(
+			   FiatShamirSigmaChallengeGenerator.getInstance(Z_q), MultiValuesNonInteractiveChallengeGenerator.getInstance(Z_q, size), size, encryptionScheme, encryptionPK);
+
+		// Proof and verify
+		Tuple privateInput = Tuple.getInstance(pi, sV, rV);
+		Tuple publicInput = Tuple.getInstance(cPiV, uV, uPrimeV);
+		Tuple otherPublicInput = Tuple.getInstance(cPiV, uPrimeV, uV);
+
+		for (ReEncryptionShuffleProofSystem spg : new ReEncryptionShuffleProofSystem[]{spg1, spg2, spg3}) {
+			Tuple proof1 = spg.generate(privateInput, publicInput, DeterministicRandomByteSequence.getInstance());
+			for (int chunkSize : new int[]{1, 7, size, 100}) {
+				Tuple proof2 = spg.generate(privateInput, publicInput, DeterministicRandomByteSequence.getInstance(), chunkSize);
+				assertEquals(proof1, proof2);
+				assertTrue(spg.verify(proof2, publicInput, chunkSize));
+				assertFalse(spg.verify(proof2, otherPublicInput, chunkSize));
+			}
+		}
+	}
+
+	@Test
+	public void testShuffleProofGenerator_Mapped() throws IOException {
+
+		final GStarMod G_q = GStarModSafePrime.getInstance(new BigInteger(P2, 10));
+		final ZMod Z_q = G_q.getZModOrder();
+		final DeterministicRandomByteSequence rbs = DeterministicRandomByteSequence.getInstance();
+
+		final int size = 30;
+		final Element encryptionPK = G_q.getElement(4);
+		final Element g = G_q.getIndependentGenerators(rbs).get(0);
+
+		// Permutation
+		PermutationElement pi = PermutationGroup.getInstance(size).getRandomElement();
+		PermutationCommitmentScheme pcs = PermutationCommitmentScheme.getInstance(G_q, size, rbs);
+
+		Tuple sV = pcs.getRandomizationSpace().getRandomElement();
+		Tuple cPiV = pcs.commit(pi, sV);
+
+		// Ciphertexts, the input and output of the shuffle are stored in files
+		ElGamalEncryptionScheme encryptionScheme = ElGamalEncryptionScheme.getInstance(g);
+		ReEncryptionMixer mixer = ReEncryptionMixer.getInstance(encryptionScheme, encryptionPK, size);
+		Tuple uV = ProductGroup.getInstance(ProductGroup.getInstance(G_q, 2), size).getRandomElement();
+		Tuple rV = mixer.generateRandomizations();
+		Path folder = Files.createTempDirectory("shuffle");
+		try {
+			MappedElementArray.Writer writer = MappedElementArray.getWriter(folder.resolve("u"), ProductGroup.getInstance(G_q, 2), size);
+			for (int i = 0; i < size; i++) {
+				writer.setAt(i, uV.getAt(i));
+			}
+			Tuple uVMapped = Tuple.getInstance(writer.getArray());
+			Tuple uPrimeV = mixer.shuffle(uV, pi, rV);
+			Tuple uPrimeVMapped = mixer.shuffle(uVMapped, pi, rV, ConcurrentUtil.getDefaultExecutor(), folder.resolve("uPrime"));
+
+			// Shuffle Proof Generator
+			ReEncryptionShuffleProofSystem spg = ReEncryptionShuffleProofSystem.getInstance(size, encryptionScheme, encryptionPK, rbs);
+
+			// Proof and verify
+			Tuple privateInput = Tuple.getInstance(pi, sV, rV);
+			Tuple publicInput = Tuple.getInstance(cPiV, uV, uPrimeV);
+			Tuple publicInputMapped = Tuple.getInstance(cPiV, uVMapped, uPrimeVMapped);
+
+			Tuple proof1 = spg.generate(privateInput, publicInput, DeterministicRandomByteSequence.getInstance());
+			Tuple proof2 = spg.generate(privateInput, publicInputMapped, DeterministicRandomByteSequence.getInstance());
+			assertEquals(proof1, proof2);
+			assertTrue(spg.verify(proof2, publicInputMapped));
+		} finally {
+			Files.deleteIfExists(folder.resolve("u"));
+			Files.deleteIfExists(folder.resolve("uPrime"));
+			Files.delete(folder);
+		}
+	}
+
 	@Test
 	public void testShuffleProofGenerator_Invalid() {
 
@@ -288,4 +449,80 @@ public class ShuffleProofSystemTest {
 
 	}
 
+	@Test
+	public void testProofOfShuffle_Batch() {
+
+		final GStarMod G_q = GStarModSafePrime.getInstance(new BigInteger(P2, 10));
+		final ZMod Z_q = G_q.getZModOrder();
+		final DeterministicRandomByteSequence rbs = DeterministicRandomByteSequence.getInstance();
+
+		final int size = 10;
+		final int nodes = 3;
+		final Element encryptionPK = G_q.getElement(4);
+		final Element g = G_q.getIndependentGenerators(rbs).get(0);
+
+		PermutationCommitmentScheme pcs = PermutationCommitmentScheme.getInstance(G_q, size, rbs);
+		PermutationCommitmentProofSystem pcpg = PermutationCommitmentProofSystem.getInstance(G_q, size, rbs);
+		ElGamalEncryptionScheme encryptionScheme = ElGamalEncryptionScheme.getInstance(g);
+		ReEncryptionShuffleProofSystem spg = ReEncryptionShuffleProofSystem.getInstance(size, encryptionScheme, encryptionPK, rbs);
+
+		// Mix cascade: the output of each node is the input of the next node
+		ProductGroup uVSpace = ProductGroup.getInstance(ProductGroup.getInstance(G_q, 2), size);
+		Tuple uV = uVSpace.getRandomElement();
+		Element[] permutationProofs = new Element[nodes];
+		Element[] cPiVs = new Element[nodes];
+		Element[] shuffleProofs = new Element[nodes];
+		Element[] publicInputs = new Element[nodes];
+		for (int k = 0; k < nodes; k++) {
+			PermutationElement pi = PermutationGroup.getInstance(size).getRandomElement();
+			Tuple sV = pcs.getRandomizationSpace().getRandomElement();
+			Tuple cPiV = pcs.commit(pi, sV);
+			Tuple rV = ProductGroup.getInstance(Z_q, size).getRandomElement();
+			Element[] uPrimes = new Element[size];
+			for (int i = 0; i < size; i++) {
+				uPrimes[i] = uV.getAt(i).apply(Tuple.getInstance(g.selfApply(rV.getAt(i)), encryptionPK.selfApply(rV.getAt(i))));
+			}
+			Tuple uPrimeV = PermutationFunction.getInstance(ProductGroup.getInstance(G_q, 2), size).apply(Tuple.getInstance(uPrimes), pi);
+			Tuple publicInput = Tuple.getInstance(cPiV, uV, uPrimeV);
+
+			permutationProofs[k] = pcpg.generate(Pair.getInstance(pi, sV), cPiV);
+			cPiVs[k] = cPiV;
+			shuffleProofs[k] = spg.generate(Tuple.getInstance(pi, sV, rV), publicInput);
+			publicInputs[k] = publicInput;
+			uV = uPrimeV;
+		}
+
+		// Verify
+		assertTrue(pcpg.verifyBatch(Tuple.getInstance(permutationProofs), Tuple.getInstance(cPiVs)));
+		assertTrue(spg.verifyBatch(Tuple.getInstance(shuffleProofs), Tuple.getInstance(publicInputs)));
+		BatchVerifier verifier = BatchVerifier.getInstance();
+		for (int k = 0; k < nodes; k++) {
+			pcpg.addVerificationEquations(verifier, permutationProofs[k], cPiVs[k]);
+			spg.addVerificationEquations(verifier, shuffleProofs[k], publicInputs[k]);
+		}
+		assertTrue(verifier.verify());
+
+		// Invalid: proofs and public inputs of different nodes
+		Tuple swappedCPiVs = Tuple.getInstance(cPiVs[1], cPiVs[0], cPiVs[2]);
+		assertFalse(pcpg.verifyBatch(Tuple.getInstance(permutationProofs), swappedCPiVs));
+		Tuple swappedPublicInputs = Tuple.getInstance(publicInputs[0], publicInputs[2], publicInputs[1]);
+		assertFalse(spg.verifyBatch(Tuple.getInstance(shuffleProofs), swappedPublicInputs));
+
+		// Invalid: a single output ciphertext of the last node is modified
+		Tuple publicInput = (Tuple) publicInputs[nodes - 1];
+		Tuple uPrimeV = (Tuple) publicInput.getAt(2);
+		Tuple uPrimeVInvalid = uPrimeV.replaceAt(0, uPrimeV.getAt(0).apply(uPrimeV.getAt(1)));
+		publicInputs[nodes - 1] = publicInput.replaceAt(2, uPrimeVInvalid);
+		assertFalse(spg.verifyBatch(Tuple.getInstance(shuffleProofs), Tuple.getInstance(publicInputs)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBatchVerifierCompositeOrder() {
+		// Z*_15 has order 8, i.e., the soundness bound does not hold
+		ZStarMod group = ZStarMod.getInstance(15);
+		BatchVerifier verifier = BatchVerifier.getInstance();
+		verifier.addEquation(new Element[]{group.getElement(4), group.getElement(4)},
+							 new BigInteger[]{BigInteger.ONE, BigInteger.ONE});
+	}
+
 }
@@ -43,7 +43,14 @@ package ch.bfh.unicrypt.crypto.schemes.encryption;
 
 import ch.bfh.unicrypt.crypto.schemes.encryption.classes.AESEncryptionScheme;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.concurrent.ConcurrentUtil;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Assert;
 import static org.junit.Assert.assertFalse;
 import org.junit.Test;
@@ -167,4 +174,131 @@ public class AESEncryptionSchemeTest {
 		assertFalse(message.equals(expectedMessage));
 	}
 
+	@Test
+	public void testEncryptionCTR() {
+		// NIST SP 800-38A, F.5.1
+		AESEncryptionScheme aes = AESEncryptionScheme.getInstance(
+			   AESEncryptionScheme.KeyLength.KEY128,
+			   AESEncryptionScheme.Mode.CTR,
+			   ByteArray.getInstance("F0|F1|F2|F3|F4|F5|F6|F7|F8|F9|FA|FB|FC|FD|FE|FF"));
+		Element<ByteArray> message = aes.getMessageSpace().getElement("6B|C1|BE|E2|2E|40|9F|96|E9|3D|7E|11|73|93|17|2A|AE|2D|8A|57|1E|03|AC|9C|9E|B7|6F|AC|45|AF|8E|51|30|C8|1C|46|A3|5C|E4|11|E5|FB|C1|19|1A|0A|52|EF|F6|9F|24|45|DF|4F|9B|17|AD|2B|41|7B|E6|6C|37|10");
+		Element<ByteArray> key = aes.getSecretKeyGenerator().getSecretKeySpace().getElement("2B|7E|15|16|28|AE|D2|A6|AB|F7|15|88|09|CF|4F|3C");
+		// the initial counter block precedes the encryption
+		Element<ByteArray> encryption = aes.getEncryptionSpace().getElement("F0|F1|F2|F3|F4|F5|F6|F7|F8|F9|FA|FB|FC|FD|FE|FF|87|4D|61|91|B6|20|E3|26|1B|EF|68|64|99|0D|B6|CE|98|06|F6|6B|79|70|FD|FF|86|17|18|7B|B9|FF|FD|FF|5A|E4|DF|3E|DB|D5|D3|5E|5B|4F|09|02|0D|B0|3E|AB|1E|03|1D|DA|2F|BE|03|D1|79|21|70|A0|F3|00|9C|EE");
+		Assert.assertEquals(message, aes.decrypt(key, encryption));
+		Element<ByteArray> encryptedMessage = aes.encrypt(key, message);
+		Assert.assertEquals(message.getValue().getLength() + AESEncryptionScheme.NONCE_LENGTH, encryptedMessage.getValue().getLength());
+		Assert.assertEquals(message, aes.decrypt(key, encryptedMessage));
+	}
+
+	@Test
+	public void testEncryptionCTRFreshCounter() {
+		AESEncryptionScheme aes = AESEncryptionScheme.getInstance(AESEncryptionScheme.KeyLength.KEY128,
+																  AESEncryptionScheme.Mode.CTR, AESEncryptionScheme.DEFAULT_IV);
+		Element<ByteArray> key = aes.getSecretKeyGenerator().generateSecretKey();
+		Element<ByteArray> message = aes.getMessageSpace().getRandomElement(64);
+		Element<ByteArray> encryption1 = aes.encrypt(key, message);
+		Element<ByteArray> encryption2 = aes.encrypt(key, message);
+		Assert.assertNotEquals(encryption1, encryption2);
+		Assert.assertEquals(message, aes.decrypt(key, encryption1));
+		Assert.assertEquals(message, aes.decrypt(key, encryption2));
+
+		// the same holds for the encryption of byte buffers
+		byte[] bytes = message.getValue().getBytes();
+		ByteBuffer output1 = ByteBuffer.allocate(bytes.length + AESEncryptionScheme.NONCE_LENGTH);
+		ByteBuffer output2 = ByteBuffer.allocate(bytes.length + AESEncryptionScheme.NONCE_LENGTH);
+		aes.encrypt(key, ByteBuffer.wrap(bytes), output1);
+		aes.encrypt(key, ByteBuffer.wrap(bytes), output2);
+		Assert.assertFalse(Arrays.equals(output1.array(), output2.array()));
+	}
+
+	@Test
+	public void testEncryptionDecryptionByteBuffer() {
+		for (AESEncryptionScheme.Mode mode : AESEncryptionScheme.Mode.values()) {
+			AESEncryptionScheme aes = AESEncryptionScheme.getInstance(AESEncryptionScheme.KeyLength.KEY256, mode,
+																	  AESEncryptionScheme.DEFAULT_IV);
+			Element<ByteArray> key = aes.getSecretKeyGenerator().generateSecretKey();
+			Element<ByteArray> message = aes.getMessageSpace().getRandomElement(64);
+			int nonceLength = mode == AESEncryptionScheme.Mode.CTR ? AESEncryptionScheme.NONCE_LENGTH : 0;
+			ByteBuffer input = ByteBuffer.wrap(message.getValue().getBytes());
+			ByteBuffer output = ByteBuffer.allocateDirect(input.remaining() + nonceLength);
+			aes.encrypt(key, input, output);
+			Assert.assertFalse(input.hasRemaining());
+			Assert.assertFalse(output.hasRemaining());
+			output.flip();
+			byte[] encryption = new byte[output.remaining()];
+			output.get(encryption);
+			Element<ByteArray> encryptionElement = aes.getEncryptionSpace().getElement(encryption);
+			Assert.assertEquals(message, aes.decrypt(key, encryptionElement));
+			if (mode != AESEncryptionScheme.Mode.CTR) {
+				Assert.assertEquals(aes.encrypt(key, message), encryptionElement);
+			}
+
+			// in-place decryption
+			ByteBuffer buffer = ByteBuffer.wrap(encryption);
+			aes.decrypt(key, buffer.duplicate(), buffer);
+			Assert.assertEquals(message.getValue(), ByteArray.getInstance(encryption).extractPrefix(message.getValue().getLength()));
+		}
+	}
+
+	@Test
+	public void testEncryptionDecryptionParallel() {
+		int length = 3 * (1 << 20) + 80;
+		byte[] message = new byte[length];
+		new Random(0).nextBytes(message);
+		for (AESEncryptionScheme.Mode mode : AESEncryptionScheme.Mode.values()) {
+			// the initialization vector is not used in CTR mode, where each encryption starts at a random counter block
+			AESEncryptionScheme aes = AESEncryptionScheme.getInstance(AESEncryptionScheme.KeyLength.KEY128, mode,
+																	  ByteArray.getInstance("00|00|00|00|00|00|00|00|FF|FF|FF|FF|FF|FF|FF|F0"));
+			Element<ByteArray> key = aes.getSecretKeyGenerator().generateSecretKey();
+			int nonceLength = mode == AESEncryptionScheme.Mode.CTR ? AESEncryptionScheme.NONCE_LENGTH : 0;
+			ByteBuffer sequential = ByteBuffer.allocate(length + nonceLength);
+			aes.encrypt(key, ByteBuffer.wrap(message), sequential);
+			ByteBuffer parallel = ByteBuffer.allocate(length + nonceLength + 16);
+			parallel.position(16);
+			aes.encrypt(key, ByteBuffer.wrap(message), parallel, ConcurrentUtil.getDefaultExecutor());
+			Assert.assertFalse(parallel.hasRemaining());
+			parallel.position(16);
+			sequential.flip();
+			if (mode != AESEncryptionScheme.Mode.CTR) {
+				Assert.assertEquals(sequential, parallel);
+			}
+
+			// both encryptions are decrypted in parallel and sequentially
+			ByteBuffer decryption = ByteBuffer.allocate(length);
+			aes.decrypt(key, parallel, decryption, ConcurrentUtil.getDefaultExecutor());
+			Assert.assertArrayEquals(message, decryption.array());
+			decryption.clear();
+			aes.decrypt(key, sequential, decryption, ConcurrentUtil.getDefaultExecutor());
+			Assert.assertArrayEquals(message, decryption.array());
+			decryption.clear();
+			parallel.position(16);
+			aes.decrypt(key, parallel, decryption);
+			Assert.assertArrayEquals(message, decryption.array());
+		}
+	}
+
+	@Test
+	public void testEncryptionDecryptionConcurrent() throws Exception {
+		final AESEncryptionScheme aes = AESEncryptionScheme.getInstance();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			Future<?>[] futures = new Future<?>[8];
+			for (int i = 0; i < futures.length; i++) {
+				futures[i] = executor.submit(() -> {
+					for (int j = 0; j < 50; j++) {
+						Element message = aes.getMessageSpace().getRandomElement(64);
+						Element key = aes.getSecretKeyGenerator().generateSecretKey();
+						Assert.assertEquals(message, aes.decrypt(key, aes.encrypt(key, message)));
+					}
+				});
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 }
@@ -0,0 +1,147 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.crypto.schemes.encryption;
+
+import ch.bfh.unicrypt.crypto.schemes.encryption.classes.ElGamalEncryptionScheme;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.prime.SafePrime;
+import ch.bfh.unicrypt.helper.random.deterministic.DeterministicRandomByteSequence;
+import ch.bfh.unicrypt.math.algebra.additive.classes.ECZModPrime;
+import ch.bfh.unicrypt.math.algebra.additive.parameters.ECZModPrimeParameters;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementCodec;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
+import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.CyclicGroup;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author R. Haenni
+ */
+public class ElGamalEncryptionSchemeTest {
+
+	@Test
+	public void testEncryptDecryptBatch() {
+		CyclicGroup[] groups = new CyclicGroup[]{
+			GStarModSafePrime.getInstance(SafePrime.getSmallestInstance(128)),
+			ECZModPrime.getInstance(ECZModPrimeParameters.SECP192r1)};
+		for (CyclicGroup group : groups) {
+			ElGamalEncryptionScheme elGamal = ElGamalEncryptionScheme.getInstance(group);
+			Element privateKey = elGamal.getKeyPairGenerator().generatePrivateKey(DeterministicRandomByteSequence.getInstance());
+			Element publicKey = elGamal.getKeyPairGenerator().generatePublicKey(privateKey);
+			for (int n : new int[]{0, 1, 40}) {
+				Tuple messages = Tuple.getInstance(group.getRandomElements(DeterministicRandomByteSequence.getInstance()).limit(n));
+				DeterministicRandomByteSequence randomByteSequence = DeterministicRandomByteSequence.getInstance();
+				Element[] expected = new Element[n];
+				for (int i = 0; i < n; i++) {
+					expected[i] = elGamal.encrypt(publicKey, messages.getAt(i), randomByteSequence);
+				}
+				Tuple encryptions1 = elGamal.encryptBatch(publicKey, messages, DeterministicRandomByteSequence.getInstance());
+				ExecutorService executor = Executors.newFixedThreadPool(3);
+				Tuple encryptions2 = elGamal.encryptBatch(publicKey, messages, DeterministicRandomByteSequence.getInstance(), executor);
+				executor.shutdown();
+				assertEquals(Tuple.getInstance(expected), encryptions1);
+				assertEquals(encryptions1, encryptions2);
+				assertEquals(messages, elGamal.decryptBatch(privateKey, encryptions1));
+				for (int i = 0; i < n; i++) {
+					assertEquals(messages.getAt(i), elGamal.decrypt(privateKey, encryptions2.getAt(i)));
+				}
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testEncryptBatchInvalidMessage() {
+		GStarModSafePrime group = GStarModSafePrime.getInstance(SafePrime.getSmallestInstance(128));
+		ElGamalEncryptionScheme elGamal = ElGamalEncryptionScheme.getInstance(group);
+		Element publicKey = elGamal.getKeyPairGenerator().generatePublicKey(elGamal.getKeyPairGenerator().generatePrivateKey());
+		Tuple messages = Tuple.getInstance(group.getDefaultGenerator(), group.getZModOrder().getOneElement());
+		elGamal.encryptBatch(publicKey, messages);
+	}
+
+	@Test
+	public void testContainsAllEncryptions() {
+		GStarModSafePrime group = GStarModSafePrime.getInstance(SafePrime.getSmallestInstance(128));
+		ElGamalEncryptionScheme elGamal = ElGamalEncryptionScheme.getInstance(group);
+		Element publicKey = elGamal.getKeyPairGenerator().generatePublicKey(elGamal.getKeyPairGenerator().generatePrivateKey());
+		Tuple messages = Tuple.getInstance(group.getRandomElements(DeterministicRandomByteSequence.getInstance()).limit(40));
+		Tuple encryptions = elGamal.encryptBatch(publicKey, messages);
+		ProductGroup encryptionSpace = elGamal.getEncryptionSpace();
+		List<DenseArray<Element>> values = new ArrayList<>();
+		for (Element encryption : encryptions) {
+			values.add(((Tuple) encryption).getValue());
+		}
+		assertTrue(encryptionSpace.containsAll(DenseArray.getInstance(values)));
+		assertEquals(-1, encryptionSpace.findNonMember(DenseArray.getInstance(values)));
+		assertTrue(ProductGroup.getInstance(encryptionSpace, 40).containsAll(DenseArray.getInstance(encryptions.getValue())));
+
+		// -1 is not a quadratic residue modulo a safe prime, the decoded encryption is not validated
+		ElementCodec codec = encryptionSpace.getElementCodec();
+		byte[] bytes = codec.encode(encryptions.getAt(0)).getBytes();
+		byte[] minusOne = group.getModulus().subtract(BigInteger.ONE).toByteArray();
+		System.arraycopy(minusOne, minusOne.length - 16, bytes, ElementCodec.HEADER_LENGTH + 16, 16);
+		Tuple invalid = (Tuple) codec.decode(ByteBuffer.wrap(bytes), false);
+		values.add(7, invalid.getValue());
+		assertFalse(encryptionSpace.containsAll(DenseArray.getInstance(values)));
+		assertEquals(7, encryptionSpace.findNonMember(DenseArray.getInstance(values)));
+		encryptions = encryptions.insertAt(7, invalid);
+		assertFalse(ProductGroup.getInstance(encryptionSpace, 41).containsAll(DenseArray.getInstance(encryptions.getValue())));
+
+		// the components of the encryptions must belong to the group
+		values.set(7, DenseArray.getInstance((Element) group.getDefaultGenerator(),
+											 group.getZModOrder().getOneElement()));
+		assertFalse(encryptionSpace.containsAll(DenseArray.getInstance(values)));
+		assertEquals(7, encryptionSpace.findNonMember(DenseArray.getInstance(values)));
+	}
+
+}
@@ -340,6 +340,14 @@ public class ByteArrayTest {
 		}
 	}
 
+	@Test
+	public void test_getHashValue() {
+		ByteArray byteArray = ByteArray.getInstance(ByteArray.getInstance(BYTE_ONE, 32), ByteArray.getInstance(BYTE_ZERO, 32));
+		ByteArray prefix = byteArray.extractPrefix(55);
+		Assert.assertEquals(ByteArray.getInstance(prefix.getBytes()).getHashValue(), prefix.getHashValue());
+		Assert.assertEquals(ByteArray.getInstance(byteArray.getBytes()).getHashValue(), byteArray.getHashValue());
+	}
+
 	@Test
 	public void test_andOrXor() {
 		for (int i = 0; i < byteArrayList.size(); i++) {
@@ -42,6 +42,7 @@
 package ch.bfh.unicrypt.helper.hash;
 
 import ch.bfh.unicrypt.helper.aggregator.classes.BigIntegerAggregator;
+import ch.bfh.unicrypt.helper.aggregator.classes.ByteArrayAggregator;
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.converter.classes.bytearray.BigIntegerToByteArray;
 import ch.bfh.unicrypt.helper.math.MathUtil;
@@ -65,6 +66,7 @@ public class BigIntegerHashMethodTest {
 	Tree<BigInteger> t3 = Tree.getInstance(t1, t2);
 	Tree<BigInteger> t4 = Tree.getInstance();
 	Tree<BigInteger> t5 = Tree.getInstance(t3, t4);
+	Tree<BigInteger> t6 = Tree.getInstance(t5, t1, Tree.getInstance(t4, t3), t2);
 
 	HashAlgorithm hashAlgorithm = HashAlgorithm.SHA256;
 	BigIntegerToByteArray converter = BigIntegerToByteArray.getInstance();
@@ -108,4 +110,17 @@ public class BigIntegerHashMethodTest {
 
 	}
 
+	@Test
+	public void ByteArrayHashMethodTest3() {
+
+		ByteArrayAggregator aggregator = ByteArrayAggregator.getInstance();
+		HashMethod<BigInteger> hashMethod = HashMethod.getInstance(hashAlgorithm, converter, aggregator);
+
+		for (Tree<BigInteger> tree : new Tree[]{t1, t2, t3, t4, t5, t6}) {
+			ByteArray byteArray = aggregator.aggregate(converter.convert(tree));
+			Assert.assertEquals(hashAlgorithm.getHashValue(byteArray), hashMethod.getHashValue(tree));
+		}
+
+	}
+
 }
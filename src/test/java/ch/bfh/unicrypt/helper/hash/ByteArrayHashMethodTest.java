@@ -104,4 +104,22 @@ public class ByteArrayHashMethodTest {
 
 	}
 
+	@Test
+	public void ByteArrayHashMethodTest3() {
+
+		HashMethod<ByteArray> hashMethod = HashMethod.getInstance(hashAlgorithm);
+		Assert.assertTrue(hashMethod.isRecursive());
+
+		ByteArray hash1 = hashMethod.getHashValue(t1);
+		ByteArray hash2 = hashMethod.getHashValue(t2);
+		ByteArray hash3 = hashMethod.getNodeHashValue(hash1, hash2);
+		ByteArray hash4 = hashMethod.getNodeHashValue();
+		Assert.assertEquals(hashMethod.getHashValue(t3), hash3);
+		Assert.assertEquals(hashMethod.getHashValue(t4), hash4);
+		Assert.assertEquals(hashMethod.getHashValue(t5), hashMethod.getNodeHashValue(hash3, hash4));
+
+		Assert.assertFalse(HashMethod.getInstance(hashAlgorithm, ByteArrayAggregator.getInstance()).isRecursive());
+
+	}
+
 }
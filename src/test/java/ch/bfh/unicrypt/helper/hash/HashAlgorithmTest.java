@@ -42,7 +42,11 @@
 package ch.bfh.unicrypt.helper.hash;
 
 import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import java.security.MessageDigest;
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.Assert;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
@@ -189,4 +193,71 @@ public class HashAlgorithmTest {
 
 	}
 
+	// test vectors taken from RFC 4231
+	@Test
+	public void HashAlgorithmTest_HMAC() {
+		ByteArray key = ByteArray.getInstance("0b|0b|0b|0b|0b|0b|0b|0b|0b|0b|0b|0b|0b|0b|0b|0b|0b|0b|0b|0b".toUpperCase());
+		ByteArray data = ByteArray.getInstance("48|69|20|54|68|65|72|65".toUpperCase());
+		ByteArray hash = ByteArray.getInstance("b0|34|4c|61|d8|db|38|53|5c|a8|af|ce|af|0b|f1|2b|88|1d|c2|00|c9|83|3d|a7|26|e9|37|6c|2e|32|cf|f7".toUpperCase());
+		HMAC hmac = HMAC.getInstance(HashAlgorithm.SHA256, key);
+		// the cached state must not be modified by previous computations
+		Assert.assertEquals(hash, hmac.getHashValue(data));
+		Assert.assertEquals(hash, hmac.getHashValue(data));
+		byte[] buffer = new byte[40];
+		System.arraycopy(data.getBytes(), 0, buffer, 3, data.getLength());
+		hmac.getHashValue(buffer, 3, data.getLength(), buffer, 5);
+		Assert.assertArrayEquals(hash.getBytes(), Arrays.copyOfRange(buffer, 5, 37));
+		// iterated computation in place
+		byte[] value = hash.getBytes();
+		hmac.getHashValue(value, 0, value.length, value, 0);
+		Assert.assertEquals(hmac.getHashValue(hash), ByteArray.getInstance(value));
+
+		// key larger than the block length
+		ByteArray longKey = ByteArray.getInstance((byte) 0xAA, 131);
+		ByteArray longData = ByteArray.getInstance("54|65|73|74|20|55|73|69|6e|67|20|4c|61|72|67|65|72|20|54|68|61|6e|20|42|6c|6f|63|6b|2d|53|69|7a|65|20|4b|65|79|20|2d|20|48|61|73|68|20|4b|65|79|20|46|69|72|73|74".toUpperCase());
+		ByteArray longHash = ByteArray.getInstance("60|e4|31|59|1e|e0|b6|7f|0d|8a|26|aa|cb|f5|b7|7f|8e|0b|c6|21|37|28|c5|14|05|46|04|0f|0e|e3|7f|54".toUpperCase());
+		Assert.assertEquals(longHash, HMAC.getInstance(HashAlgorithm.SHA256, longKey).getHashValue(longData));
+	}
+
+	@Test
+	public void HashAlgorithmTest_HashValue_Buffer() {
+		byte[] bytes = ByteArray.getInstance("00|61|62|63|00".toUpperCase()).getBytes();
+		byte[] hash = ByteArray.getInstance("ba|78|16|bf|8f|01|cf|ea|41|41|40|de|5d|ae|22|23|b0|03|61|a3|96|17|7a|9c|b4|10|ff|61|f2|00|15|ad".toUpperCase()).getBytes();
+		byte[] buffer = new byte[34];
+		HashAlgorithm.SHA256.getHashValue(bytes, 1, 3, buffer, 1);
+		Assert.assertArrayEquals(hash, Arrays.copyOfRange(buffer, 1, 33));
+		Assert.assertEquals(0, buffer[0]);
+		Assert.assertEquals(0, buffer[33]);
+
+		MessageDigest messageDigest = HashAlgorithm.SHA256.createMessageDigest();
+		messageDigest.update(bytes, 1, 1);
+		messageDigest.update(bytes, 2, 2);
+		Assert.assertArrayEquals(hash, messageDigest.digest());
+		try {
+			HashAlgorithm.SHA256.getHashValue(bytes, 1, 3, buffer, 3);
+			fail();
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	@Test
+	public void HashAlgorithmTest_HashValue_Concurrent() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		Future<?>[] futures = new Future<?>[8];
+		for (int i = 0; i < futures.length; i++) {
+			final byte[] bytes = new byte[1000 + i];
+			Arrays.fill(bytes, (byte) i);
+			final byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+			futures[i] = executor.submit(() -> {
+				for (int j = 0; j < 1000; j++) {
+					Assert.assertArrayEquals(hash, HashAlgorithm.SHA256.getHashValue(bytes));
+				}
+			});
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+	}
+
 }
@@ -43,7 +43,9 @@ package ch.bfh.unicrypt.helper.math;
 
 import ch.bfh.unicrypt.helper.prime.Factorization;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import org.junit.Assert;
 import org.junit.Test;
@@ -752,4 +754,25 @@ public class MathUtilTest {
 		}
 	}
 
+	@Test
+	public void modInvAllTest() {
+		for (int m : new int[]{2, 7, 12, 23, 100}) {
+			BigInteger bigM = BigInteger.valueOf(m);
+			Assert.assertEquals(0, MathUtil.modInvAll(new BigInteger[0], bigM).length);
+			List<BigInteger> values = new ArrayList<>();
+			for (int x = 1; x < m; x++) {
+				if (BigInteger.valueOf(x).gcd(bigM).equals(ONE)) {
+					values.add(BigInteger.valueOf(x));
+				}
+			}
+			BigInteger[] xs = values.toArray(new BigInteger[0]);
+			BigInteger[] inverses = MathUtil.modInvAll(xs, bigM);
+			Assert.assertEquals(xs.length, inverses.length);
+			for (int i = 0; i < xs.length; i++) {
+				Assert.assertEquals(values.get(i), xs[i]);
+				Assert.assertEquals(xs[i].modInverse(bigM), inverses[i]);
+			}
+		}
+	}
+
 }
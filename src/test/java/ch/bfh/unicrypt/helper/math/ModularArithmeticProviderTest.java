@@ -0,0 +1,162 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.math;
+
+import ch.bfh.unicrypt.UniCryptRuntimeException;
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("static-method")
+public class ModularArithmeticProviderTest {
+
+	private static final String[] NAMES = {ModularArithmeticProvider.AUTO, ModularArithmeticProvider.GMP,
+		ModularArithmeticProvider.JAVA, ModularArithmeticProvider.MONTGOMERY};
+
+	private static final int[] BIT_LENGTHS = {1, 2, 17, 64, 256, 700, 2048};
+
+	@Test
+	public void testGetInstance() {
+		for (String name : NAMES) {
+			Assert.assertEquals(name, ModularArithmeticProvider.getInstance(name).getName());
+			Assert.assertSame(ModularArithmeticProvider.getInstance(name), ModularArithmeticProvider.getInstance(name.toUpperCase()));
+		}
+		Assert.assertNotNull(MathUtil.getModularArithmeticProvider());
+	}
+
+	@Test(expected = UniCryptRuntimeException.class)
+	public void testGetInstanceUnknown() {
+		ModularArithmeticProvider.getInstance("unknown");
+	}
+
+	@Test
+	public void testAdaptive() {
+		AdaptiveArithmeticProvider provider = AdaptiveArithmeticProvider.getInstance();
+		Assert.assertSame(JavaArithmeticProvider.getInstance(), provider.getProvider(AdaptiveArithmeticProvider.SMALL_BIT_LENGTH));
+		ModularArithmeticProvider large = provider.getProvider(AdaptiveArithmeticProvider.SMALL_BIT_LENGTH + 1);
+		Assert.assertSame(GmpArithmeticProvider.isAvailable() ? GmpArithmeticProvider.getInstance() : JavaArithmeticProvider.getInstance(), large);
+		if (!Boolean.getBoolean(AdaptiveArithmeticProvider.VARIABLE_TIME_PROPERTY)) {
+			Assert.assertSame(large, provider.getModExpProvider(1));
+			Assert.assertSame(large, provider.getModExpProvider(AdaptiveArithmeticProvider.SMALL_BIT_LENGTH));
+		}
+	}
+
+	@Test
+	public void testModExp() {
+		Random random = new Random(0);
+		for (String name : this.getAvailableNames()) {
+			ModularArithmeticProvider provider = ModularArithmeticProvider.getInstance(name);
+			for (int bitLength : BIT_LENGTHS) {
+				for (int i = 0; i < 10; i++) {
+					BigInteger m = new BigInteger(bitLength, random).add(MathUtil.ONE);
+					BigInteger b = new BigInteger(bitLength + 4, random).mod(m);
+					BigInteger e = new BigInteger(bitLength, random);
+					Assert.assertEquals(b.modPow(e, m), provider.modExp(b, e, m));
+					Assert.assertEquals(b.modPow(MathUtil.ZERO, m), provider.modExp(b, MathUtil.ZERO, m));
+					m = m.setBit(0);
+					Assert.assertEquals(b.modPow(e, m), provider.modExp(b, e, m));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testGcdAndModInv() {
+		Random random = new Random(1);
+		for (String name : this.getAvailableNames()) {
+			ModularArithmeticProvider provider = ModularArithmeticProvider.getInstance(name);
+			for (int bitLength : BIT_LENGTHS) {
+				for (int i = 0; i < 10; i++) {
+					BigInteger x = new BigInteger(bitLength, random).add(MathUtil.ONE);
+					BigInteger m = new BigInteger(bitLength, random).add(MathUtil.TWO);
+					Assert.assertEquals(x.gcd(m), provider.gcd(x, m));
+					if (x.gcd(m).equals(MathUtil.ONE)) {
+						Assert.assertEquals(x.modInverse(m), provider.modInv(x, m));
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testKronecker() {
+		Random random = new Random(2);
+		ModularArithmeticProvider java = JavaArithmeticProvider.getInstance();
+		// (x/7) for x=0,...,6 and (x/8) for x=0,...,7
+		int[] expected7 = {0, 1, 1, -1, 1, -1, -1};
+		int[] expected8 = {0, 1, 0, -1, 0, -1, 0, 1};
+		for (int x = 0; x < 7; x++) {
+			Assert.assertEquals(expected7[x], java.kronecker(BigInteger.valueOf(x), BigInteger.valueOf(7)));
+			Assert.assertEquals(expected7[x], java.kronecker(BigInteger.valueOf(x + 7), BigInteger.valueOf(7)));
+		}
+		for (int x = 0; x < 8; x++) {
+			Assert.assertEquals(expected8[x], java.kronecker(BigInteger.valueOf(x), BigInteger.valueOf(8)));
+		}
+		// Legendre symbol by Euler's criterion
+		BigInteger p = BigInteger.probablePrime(127, random);
+		for (int i = 0; i < 100; i++) {
+			BigInteger x = new BigInteger(126, random);
+			BigInteger euler = x.modPow(p.shiftRight(1), p);
+			int expected = euler.equals(MathUtil.ONE) ? 1 : (euler.signum() == 0 ? 0 : -1);
+			Assert.assertEquals(expected, java.kronecker(x, p));
+		}
+		if (GmpArithmeticProvider.isAvailable()) {
+			ModularArithmeticProvider gmp = GmpArithmeticProvider.getInstance();
+			for (int i = 0; i < 1000; i++) {
+				BigInteger x = new BigInteger(1 + random.nextInt(100), random);
+				BigInteger n = new BigInteger(1 + random.nextInt(100), random);
+				x = random.nextBoolean() ? x.negate() : x;
+				n = random.nextBoolean() ? n.negate() : n;
+				Assert.assertEquals(gmp.kronecker(x, n), java.kronecker(x, n));
+			}
+		}
+	}
+
+	private String[] getAvailableNames() {
+		if (GmpArithmeticProvider.isAvailable()) {
+			return NAMES;
+		}
+		return new String[]{ModularArithmeticProvider.AUTO, ModularArithmeticProvider.JAVA, ModularArithmeticProvider.MONTGOMERY};
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.math;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("static-method")
+public class MontgomeryArithmeticTest {
+
+	private static final int[] BIT_LENGTHS = {2, 31, 32, 33, 64, 127, 256, 1024, 2048};
+
+	@Test
+	public void testMultiply() {
+		Random random = new Random(0);
+		for (int bitLength : BIT_LENGTHS) {
+			BigInteger modulus = new BigInteger(bitLength, random).setBit(bitLength - 1).setBit(0);
+			MontgomeryArithmetic montgomery = MontgomeryArithmetic.getInstance(modulus);
+			Assert.assertEquals(MathUtil.ONE, montgomery.convertFrom(montgomery.getOne()));
+			for (int i = 0; i < 50; i++) {
+				BigInteger x = new BigInteger(bitLength + 8, random).mod(modulus);
+				BigInteger y = new BigInteger(bitLength + 8, random).mod(modulus);
+				long[] mx = montgomery.convertTo(x);
+				long[] my = montgomery.convertTo(y);
+				Assert.assertEquals(x, montgomery.convertFrom(mx));
+				Assert.assertEquals(x, montgomery.getValue(montgomery.getLimbs(x)));
+				Assert.assertEquals(x.multiply(y).mod(modulus), montgomery.convertFrom(montgomery.multiply(mx, my)));
+			}
+			// largest residue
+			BigInteger max = modulus.subtract(MathUtil.ONE);
+			long[] mMax = montgomery.convertTo(max);
+			Assert.assertEquals(MathUtil.ONE, montgomery.convertFrom(montgomery.multiply(mMax, mMax)));
+		}
+	}
+
+	@Test
+	public void testProduct() {
+		Random random = new Random(1);
+		for (int bitLength : BIT_LENGTHS) {
+			BigInteger modulus = new BigInteger(bitLength, random).setBit(bitLength - 1).setBit(0);
+			MontgomeryArithmetic montgomery = MontgomeryArithmetic.getInstance(modulus);
+			List<BigInteger> values = new ArrayList<>();
+			BigInteger expected = MathUtil.ONE.mod(modulus);
+			for (int n = 0; n < 20; n++) {
+				Assert.assertEquals(expected, montgomery.product(values));
+				Assert.assertEquals(expected, MathUtil.modProduct(values, modulus));
+				BigInteger value = new BigInteger(bitLength + 8, random).mod(modulus);
+				values.add(value);
+				expected = expected.multiply(value).mod(modulus);
+			}
+		}
+	}
+
+	@Test
+	public void testModProduct() {
+		Random random = new Random(2);
+		for (BigInteger modulus : new BigInteger[]{MathUtil.ONE, MathUtil.TWO, BigInteger.valueOf(1000), MathUtil.powerOfTwo(300).add(MathUtil.ONE)}) {
+			List<BigInteger> values = new ArrayList<>();
+			BigInteger expected = MathUtil.ONE.mod(modulus);
+			for (int n = 0; n < 10; n++) {
+				BigInteger value = new BigInteger(modulus.bitLength() + 8, random).mod(modulus);
+				values.add(value);
+				expected = expected.multiply(value).mod(modulus);
+			}
+			Assert.assertEquals(expected, MathUtil.modProduct(values, modulus));
+			Assert.assertEquals(MathUtil.ONE.mod(modulus), MathUtil.modProduct(Collections.emptyList(), modulus));
+		}
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testEvenModulus() {
+		MontgomeryArithmetic.getInstance(BigInteger.valueOf(1000));
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.math;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("static-method")
+public class MultiExponentiationTest {
+
+	private static final BigInteger MODULUS = new BigInteger("170141183460469231731687303715884105727"); // 2^127-1
+
+	@Test
+	public void testCompute() {
+		Random random = new Random(0);
+		BinaryOperator<BigInteger> operator = (x, y) -> x.multiply(y).mod(MODULUS);
+		for (int n : new int[]{1, 2, 3, 10, 50, 200}) {
+			for (int bitLength : new int[]{1, 5, 64, 127}) {
+				BigInteger[] bases = new BigInteger[n];
+				BigInteger[] exponents = new BigInteger[n];
+				for (int i = 0; i < n; i++) {
+					bases[i] = new BigInteger(126, random).add(MathUtil.ONE);
+					exponents[i] = new BigInteger(bitLength, random);
+				}
+				exponents[0] = exponents[0].setBit(bitLength - 1); // at least one positive exponent
+				BigInteger expected = MathUtil.ONE;
+				for (int i = 0; i < n; i++) {
+					expected = expected.multiply(bases[i].modPow(exponents[i], MODULUS)).mod(MODULUS);
+				}
+				Assert.assertEquals(expected, MultiExponentiation.compute(bases, exponents, operator));
+				Assert.assertEquals(expected, MultiExponentiation.computeInterleaved(bases, exponents, operator));
+				Assert.assertEquals(expected, MultiExponentiation.computeBucketed(bases, exponents, operator));
+			}
+		}
+	}
+
+	@Test
+	public void testModMultiExp() {
+		Random random = new Random(1);
+		for (int n : new int[]{1, 2, 20, 500}) {
+			BigInteger[] bases = new BigInteger[n];
+			BigInteger[] exponents = new BigInteger[n];
+			BigInteger expected = MathUtil.ONE;
+			for (int i = 0; i < n; i++) {
+				bases[i] = new BigInteger(126, random);
+				exponents[i] = new BigInteger(127, random).add(MathUtil.ONE);
+				expected = expected.multiply(bases[i].modPow(exponents[i], MODULUS)).mod(MODULUS);
+			}
+			Assert.assertEquals(expected, MathUtil.modMultiExp(bases, exponents, MODULUS));
+		}
+	}
+
+}
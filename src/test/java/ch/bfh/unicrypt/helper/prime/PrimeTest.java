@@ -41,7 +41,10 @@
  */
 package ch.bfh.unicrypt.helper.prime;
 
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
 import ch.bfh.unicrypt.helper.math.MathUtil;
+import ch.bfh.unicrypt.helper.random.deterministic.CTR_DRBG;
+import ch.bfh.unicrypt.helper.random.deterministic.DeterministicRandomByteSequence;
 import java.math.BigInteger;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -131,6 +134,22 @@ public class PrimeTest {
 		}
 	}
 
+	@Test
+	public void testGetRandomInstance_int_RandomByteSequence() {
+		for (int bitLength : new int[]{24, 64, 512}) {
+			for (int i = 0; i < 3; i++) {
+				ByteArray seed = ByteArray.getInstance((byte) i, CTR_DRBG.getFactory().getSeedByteLength());
+				DeterministicRandomByteSequence rbs1 = DeterministicRandomByteSequence.getInstance(seed);
+				DeterministicRandomByteSequence rbs2 = DeterministicRandomByteSequence.getInstance(seed);
+				Prime p1 = Prime.getRandomInstance(bitLength, rbs1);
+				Prime p2 = Prime.getRandomInstance(bitLength, rbs2);
+				assertEquals(p1, p2);
+				assertEquals(bitLength, p1.getValue().bitLength());
+				assertTrue(MathUtil.isPrime(p1.getValue()));
+			}
+		}
+	}
+
 	@Test
 	public void testGetSmallestInstance_int() {
 		try {
@@ -113,4 +113,37 @@ public class Hash_DRBGTest {
 		Assert.assertEquals(expected, si.next(128));
 	}
 
+	@Test
+	public void hashMacSequenceFirstCallTest() {
+		//
+		// same test vector as above, the returned bits of the first generate call are not listed in the NIST file
+		//
+		// V = 6e2f8fe3cdcd8942bc19890b70e89dd37ef46dfbdc17c209941b1b236417b3704ae2e5bbbf289500068fd45b6b40b69c78944f611255cf
+		// ReturnedBits = Hash(V) || Hash(V+1) || Hash(V+2) || Hash(V+3) (see "10.1.1.4 Hashgen" in NIST SP 800-90A)
+		//
+		final ByteArray entropyInputAndNonce = ByteArray.getInstance("a6|5a|d0|f3|45|db|4e|0e|ff|e8|75|c3|a2|e7|1f|42|c7|12|9d|62|0f|f5|c1|19|a9|ef|55|f0|51|85|e0|fb|85|81|f9|31|75|17|27|6e|06|e9|60|7d|db|cb|cc|2e".toUpperCase());
+
+		// used to simulate the entropy source
+		RandomByteSequenceIterator iterator = new RandomByteSequenceIterator() {
+
+			private int i = 0;
+
+			@Override
+			protected Byte abstractNext() {
+				Byte next = entropyInputAndNonce.getAt(i);
+				this.i = (this.i + 1) % entropyInputAndNonce.getLength();
+				return next;
+			}
+
+		};
+
+		NonDeterministicRandomByteSequence ndrbs = new NonDeterministicRandomByteSequence(iterator) {
+		};
+
+		ByteArray expected = ByteArray.getInstance("55|16|2A|C2|6C|63|E1|6B|BE|9A|04|E7|73|F3|6E|03|C1|2C|DC|2F|0E|BD|DD|17|73|96|4D|3E|2F|32|4C|C3|76|7F|10|73|81|B2|15|88|36|27|07|F1|3A|8C|A4|D7|3C|34|61|9C|4A|31|74|CC|68|FF|93|DC|3F|E0|B0|FA|25|D5|E1|06|DD|D6|FA|92|76|F3|1B|E3|2E|21|5B|4F|86|D2|85|A1|0E|41|9F|92|8B|C2|4C|3B|74|72|BD|94|42|05|03|BE|2A|66|9C|B6|D5|A2|D9|A8|44|6F|7C|8D|AF|60|03|D0|AD|71|B9|29|4B|D2|87|CC|59|50|60|C2");
+
+		SequenceIterator si = Hash_DRBG.getFactory().getInstance(ndrbs).getRandomByteSequence().iterator();
+		Assert.assertEquals(expected, si.next(128));
+	}
+
 }
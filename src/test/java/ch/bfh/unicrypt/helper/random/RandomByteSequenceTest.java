@@ -0,0 +1,113 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.helper.random;
+
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.math.MathUtil;
+import ch.bfh.unicrypt.helper.random.deterministic.CTR_DRBG;
+import ch.bfh.unicrypt.helper.random.deterministic.DeterministicRandomByteSequence;
+import ch.bfh.unicrypt.helper.random.deterministic.OFB_DRBG;
+import ch.bfh.unicrypt.helper.sequence.Sequence;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Iterator;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ *
+ * @author R. Haenni
+ */
+public class RandomByteSequenceTest {
+
+	@Test
+	public void testNextBytes() {
+		for (DeterministicRandomByteSequence rbs : new DeterministicRandomByteSequence[]{
+			DeterministicRandomByteSequence.getInstance(CTR_DRBG.getFactory()),
+			DeterministicRandomByteSequence.getInstance(OFB_DRBG.getFactory())}) {
+			RandomByteSequenceIterator iterator1 = rbs.iterator();
+			byte[] expected = new byte[200];
+			for (int i = 0; i < expected.length; i++) {
+				expected[i] = iterator1.next();
+			}
+			RandomByteSequenceIterator iterator2 = rbs.iterator();
+			byte[] bytes = new byte[210];
+			int offset = 5;
+			for (int length : new int[]{1, 7, 32, 33, 0, 64, 63}) {
+				iterator2.nextBytes(bytes, offset, length);
+				offset += length;
+			}
+			assertArrayEquals(expected, Arrays.copyOfRange(bytes, 5, 205));
+			assertEquals(ByteArray.getInstance(expected), rbs.iterator().next(200));
+			assertEquals(ByteArray.getInstance(Arrays.copyOf(expected, 50)), rbs.group(50).get());
+		}
+	}
+
+	@Test
+	public void testGetRandomBigIntegerSequence() {
+		DeterministicRandomByteSequence rbs = DeterministicRandomByteSequence.getInstance();
+		for (int bitLength : new int[]{1, 7, 8, 9, 100, 3072}) {
+			final BigInteger minValue = MathUtil.powerOfTwo(bitLength - 1);
+			final BigInteger maxValue = minValue.add(minValue.divide(MathUtil.THREE));
+			// reference implementation based on the byte array sequence
+			final int length = maxValue.subtract(minValue).bitLength();
+			final int shift = MathUtil.divideUp(length, 8) * 8 - length;
+			Sequence<BigInteger> expected = rbs.group(MathUtil.divideUp(length, 8))
+				   .map(byteArray -> {
+					   if (length == 0) {
+						   return minValue;
+					   }
+					   byte[] bytes = byteArray.getBytes();
+					   bytes[0] = MathUtil.shiftRight(MathUtil.shiftLeft(bytes[0], shift), shift);
+					   return new BigInteger(1, bytes).add(minValue);
+				   })
+				   .filter(value -> value.compareTo(maxValue) <= 0);
+			Iterator<BigInteger> iterator1 = expected.iterator();
+			Iterator<BigInteger> iterator2 = rbs.getRandomBigIntegerSequence(minValue, maxValue).iterator();
+			for (int i = 0; i < 20; i++) {
+				assertEquals(iterator1.next(), iterator2.next());
+			}
+		}
+	}
+
+}
@@ -1,11 +1,18 @@
 package ch.bfh.unicrypt.math.algebra.additive;
 
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.math.Point;
+import ch.bfh.unicrypt.helper.random.deterministic.DeterministicRandomByteSequence;
 import ch.bfh.unicrypt.math.algebra.additive.classes.ECZModElement;
 import ch.bfh.unicrypt.math.algebra.additive.classes.ECZModPrime;
 import ch.bfh.unicrypt.math.algebra.additive.parameters.ECZModPrimeParameters;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModElement;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModPrime;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.FixedBaseTable;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -86,4 +93,113 @@ public class ECZModPrimeTest {
 
 	}
 
+	@Test
+	public void multiSelfApplyTest() throws Exception {
+		ECZModPrime ec = ECZModPrime.getInstance(ECZModPrimeParameters.SECP192r1);
+		DeterministicRandomByteSequence randomByteSequence = DeterministicRandomByteSequence.getInstance();
+		for (int n : new int[]{1, 2, 5, 40}) {
+			Element[] elements = new Element[n];
+			BigInteger[] amounts = new BigInteger[n];
+			ECZModElement expected = ec.getZeroElement();
+			for (int i = 0; i < n; i++) {
+				elements[i] = ec.getRandomElement(randomByteSequence);
+				amounts[i] = ec.getZModOrder().getRandomElement(randomByteSequence).getValue();
+				if (i % 3 == 1) {
+					amounts[i] = amounts[i].negate();
+				}
+				expected = expected.add(elements[i].selfApply(amounts[i]));
+			}
+			assertEquals(expected, ec.multiSelfApply(elements, amounts));
+		}
+		assertEquals(ec.getZeroElement(), ec.multiSelfApply(new Element[]{ec.getDefaultGenerator()},
+																 new BigInteger[]{ec.getOrder()}));
+	}
+
+	@Test
+	public void precomputeTest() throws Exception {
+		ECZModPrime ec = ECZModPrime.getInstance(ECZModPrimeParameters.SECP192r1);
+		DeterministicRandomByteSequence randomByteSequence = DeterministicRandomByteSequence.getInstance();
+		ECZModElement element = ec.getRandomElement(randomByteSequence);
+		FixedBaseTable<Point<ZModElement>> table = ec.precompute(element);
+		assertEquals(ec.getZeroElement(), table.selfApply(ec.getOrder()));
+		assertEquals(element, table.selfApply(BigInteger.ONE));
+		assertEquals(element.negate(), table.selfApply(BigInteger.ONE.negate()));
+		for (int i = 0; i < 20; i++) {
+			BigInteger amount = ec.getZModOrder().getRandomElement(randomByteSequence).getValue();
+			assertEquals(element.selfApply(amount), table.selfApply(amount));
+		}
+	}
+
+	@Test
+	public void selfApplyTest() throws Exception {
+		DeterministicRandomByteSequence randomByteSequence = DeterministicRandomByteSequence.getInstance();
+		for (ECZModPrimeParameters parameters : new ECZModPrimeParameters[]{ECZModPrimeParameters.TEST23, ECZModPrimeParameters.SECP256k1, ECZModPrimeParameters.SECP256r1}) {
+			ECZModPrime ec = ECZModPrime.getInstance(parameters);
+			ECZModElement element = ec.getRandomElement(randomByteSequence);
+			// compare with repeated (affine) additions
+			ECZModElement expected = ec.getZeroElement();
+			for (int i = 1; i <= 50; i++) {
+				expected = expected.add(element);
+				assertEquals(expected, element.selfApply(i));
+			}
+			for (int i = 0; i < 10; i++) {
+				BigInteger amount1 = ec.getZModOrder().getRandomElement(randomByteSequence).getValue();
+				BigInteger amount2 = ec.getZModOrder().getRandomElement(randomByteSequence).getValue();
+				assertEquals(element.selfApply(amount1).add(element.selfApply(amount2)), element.selfApply(amount1.add(amount2)));
+			}
+			assertEquals(ec.getZeroElement(), element.selfApply(ec.getOrder()));
+		}
+	}
+
+	@Test
+	public void containsAllTest() throws Exception {
+		DeterministicRandomByteSequence randomByteSequence = DeterministicRandomByteSequence.getInstance();
+		for (ECZModPrimeParameters parameters : new ECZModPrimeParameters[]{ECZModPrimeParameters.TEST11, ECZModPrimeParameters.TEST23, ECZModPrimeParameters.TEST29}) {
+			ECZModPrime ec = ECZModPrime.getInstance(parameters);
+			ZModPrime zmod = ec.getFiniteField();
+			List<Point<ZModElement>> members = new ArrayList<>();
+			List<Point<ZModElement>> nonMembers = new ArrayList<>();
+			members.add(ec.getZeroElement().getValue());
+			for (ZModElement x : zmod.getElements()) {
+				for (ZModElement y : zmod.getElements()) {
+					Point<ZModElement> point = Point.getInstance(x, y);
+					if (ec.contains(point)) {
+						members.add(point);
+					} else {
+						nonMembers.add(point);
+					}
+				}
+			}
+			assertTrue(ec.containsAll(DenseArray.getInstance(members), randomByteSequence));
+			assertEquals(-1, ec.findNonMember(DenseArray.getInstance(members)));
+			for (Point<ZModElement> nonMember : nonMembers) {
+				for (int index : new int[]{0, members.size()}) {
+					List<Point<ZModElement>> values = new ArrayList<>(members);
+					values.add(index, nonMember);
+					assertFalse(ec.containsAll(DenseArray.getInstance(values), randomByteSequence));
+					assertEquals(index, ec.findNonMember(DenseArray.getInstance(values)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void addAllTest() throws Exception {
+		DeterministicRandomByteSequence randomByteSequence = DeterministicRandomByteSequence.getInstance();
+		for (ECZModPrimeParameters parameters : new ECZModPrimeParameters[]{ECZModPrimeParameters.TEST23, ECZModPrimeParameters.SECP256r1}) {
+			ECZModPrime ec = ECZModPrime.getInstance(parameters);
+			List<ECZModElement> elements = new ArrayList<>();
+			ec.getRandomElements(randomByteSequence).limit(20).forEach(elements::add);
+			elements.add(ec.getZeroElement());
+			elements.add(elements.get(0));
+			elements.add(elements.get(1).negate());
+			ECZModElement expected = ec.getZeroElement();
+			for (int i = 0; i < elements.size(); i++) {
+				expected = expected.add(elements.get(i));
+				assertEquals(expected, ec.add(elements.subList(0, i + 1).toArray(new ECZModElement[0])));
+			}
+			assertEquals(ec.getZeroElement(), ec.add(elements.get(2), elements.get(2).negate(), ec.getZeroElement()));
+		}
+	}
+
 }
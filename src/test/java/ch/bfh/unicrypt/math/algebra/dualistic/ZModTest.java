@@ -41,8 +41,15 @@
  */
 package ch.bfh.unicrypt.math.algebra.dualistic;
 
+import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModElement;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModPrime;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZModPrimePair;
 import java.math.BigInteger;
+import java.util.Arrays;
 import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 
@@ -108,6 +115,58 @@ public class ZModTest {
 		}
 	}
 
+	@Test
+	public void testMultiplyAll() {
+		for (int i = min; i <= max; i++) {
+			ZMod zMod = zMods[i];
+			ZModElement[] elements = new ZModElement[i];
+			int expected = 1 % i;
+			assertEquals(expected, zMod.multiply(new ZModElement[0]).getValue().intValue());
+			for (int x = 0; x < i; x++) {
+				elements[x] = zMod.getElement((x * 7 + 1) % i);
+				expected = mod(expected * ((x * 7 + 1) % i), i);
+				assertEquals(expected, zMod.multiply(Arrays.copyOf(elements, x + 1)).getValue().intValue());
+			}
+		}
+	}
+
+	@Test
+	public void testOneOverAll() {
+		for (int p : new int[]{2, 3, 5, 7, 11, 13, 17, 19, 23}) {
+			ZModPrime zModPrime = ZModPrime.getInstance(p);
+			ZModElement[] elements = new ZModElement[2 * p];
+			for (int x = 0; x < elements.length; x++) {
+				elements[x] = zModPrime.getElement(x % (p - 1) + 1);
+			}
+			ImmutableArray<ZModElement> inverses = zModPrime.oneOverAll(DenseArray.getInstance(elements));
+			assertEquals(elements.length, inverses.getLength());
+			for (int x = 0; x < elements.length; x++) {
+				assertEquals(elements[x].oneOver(), inverses.getAt(x));
+			}
+		}
+	}
+
+	@Test(expected = UniCryptRuntimeException.class)
+	public void testOneOverAllZero() {
+		ZModPrime zModPrime = ZModPrime.getInstance(7);
+		zModPrime.oneOverAll(DenseArray.getInstance(zModPrime.getElement(3), zModPrime.getZeroElement()));
+	}
+
+	@Test
+	public void testPowerPrimePair() {
+		ZModPrimePair zMod = ZModPrimePair.getInstance(1009, 2003);
+		BigInteger modulus = zMod.getModulus();
+		BigInteger[] exponents = new BigInteger[]{BigInteger.valueOf(3), BigInteger.valueOf(65537),
+			BigInteger.valueOf(1008 * 2002), BigInteger.valueOf(1008 * 2002 + 1), BigInteger.valueOf(1234567),
+			modulus.multiply(modulus).add(BigInteger.TEN)};
+		for (int x : new int[]{0, 1, 2, 1009, 2003, 3 * 1009, 5 * 2003, 123456, 1009 * 2003 - 1}) {
+			BigInteger xb = BigInteger.valueOf(x);
+			for (BigInteger exponent : exponents) {
+				assertEquals(xb.modPow(exponent, modulus), zMod.power(zMod.getElement(xb), exponent).getValue());
+			}
+		}
+	}
+
 	@Test
 	public void testPower() {
 		for (int i = min; i <= max; i++) {
@@ -0,0 +1,240 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.general;
+
+import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.classes.FiatShamirSigmaChallengeGenerator;
+import ch.bfh.unicrypt.crypto.proofsystem.challengegenerator.interfaces.SigmaChallengeGenerator;
+import ch.bfh.unicrypt.crypto.proofsystem.classes.PlainPreimageProofSystem;
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.prime.SafePrime;
+import ch.bfh.unicrypt.helper.random.deterministic.DeterministicRandomByteSequence;
+import ch.bfh.unicrypt.math.algebra.additive.classes.ECZModPrime;
+import ch.bfh.unicrypt.math.algebra.additive.parameters.ECZModPrimeParameters;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.Z;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementCodec;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
+import ch.bfh.unicrypt.math.algebra.general.classes.Triple;
+import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Monoid;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.ZStarMod;
+import ch.bfh.unicrypt.math.function.classes.GeneratorFunction;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author R. Haenni
+ */
+public class ElementCodecTest {
+
+	private static final GStarModSafePrime G_Q = GStarModSafePrime.getInstance(SafePrime.getSmallestInstance(256));
+
+	private static final Set[] SETS = new Set[]{
+		ZMod.getInstance(17),
+		ZMod.getInstance(BigInteger.ONE.shiftLeft(130).add(BigInteger.ONE)),
+		ZStarMod.getInstance(35),
+		G_Q,
+		ECZModPrime.getInstance(ECZModPrimeParameters.TEST23),
+		ECZModPrime.getInstance(ECZModPrimeParameters.SECP256r1),
+		ProductSet.getInstance(G_Q, G_Q.getZModOrder(), ECZModPrime.getInstance(ECZModPrimeParameters.SECP256r1)),
+		ProductSet.getInstance(ProductSet.getInstance(G_Q, 2), 10)};
+
+	private static List<Element> getElements(Set set, int n) {
+		List<Element> elements = new ArrayList<>();
+		for (Object element : set.getRandomElements(DeterministicRandomByteSequence.getInstance()).limit(n)) {
+			elements.add((Element) element);
+		}
+		if (set.isMonoid()) {
+			elements.add(((Monoid) set).getIdentityElement());
+		}
+		return elements;
+	}
+
+	@Test
+	public void testEncodeDecode() {
+		for (Set set : SETS) {
+			ElementCodec codec = set.getElementCodec();
+			Assert.assertSame(codec, set.getElementCodec());
+			Assert.assertEquals(set, codec.getSet());
+			Assert.assertTrue(codec.getByteLength() > 0);
+			for (Element element : getElements(set, 20)) {
+				ByteArray encoding = codec.encode(element);
+				Assert.assertEquals(ElementCodec.HEADER_LENGTH + codec.getByteLength(), encoding.getLength());
+				Element decoded = codec.decode(encoding);
+				Assert.assertEquals(element, decoded);
+				Assert.assertEquals(set, decoded.getSet());
+			}
+		}
+	}
+
+	@Test
+	public void testByteLength() {
+		Assert.assertEquals(1, ZMod.getInstance(17).getElementCodec().getByteLength());
+		Assert.assertEquals(32, G_Q.getElementCodec().getByteLength());
+		Assert.assertEquals(33, ECZModPrime.getInstance(ECZModPrimeParameters.SECP256r1).getElementCodec().getByteLength());
+		Assert.assertEquals(2 * 32 * 1000, ProductSet.getInstance(ProductSet.getInstance(G_Q, 2), 1000).getElementCodec()
+							.getByteLength());
+		Assert.assertEquals(ElementCodec.VARIABLE_LENGTH, Z.getInstance().getElementCodec().getByteLength());
+	}
+
+	@Test
+	public void testVariableLength() {
+		Z z = Z.getInstance();
+		ProductSet productSet = ProductSet.getInstance(z, G_Q, z);
+		ElementCodec codec = productSet.getElementCodec();
+		Assert.assertEquals(ElementCodec.VARIABLE_LENGTH, codec.getByteLength());
+		Tuple tuple = productSet.getElement(z.getElement(-5), G_Q.getDefaultGenerator(),
+											z.getElement(BigInteger.ONE.shiftLeft(300)));
+		ByteArray encoding = codec.encode(tuple);
+		Assert.assertEquals(ElementCodec.HEADER_LENGTH + codec.getByteLength(tuple), encoding.getLength());
+		Assert.assertEquals(tuple, codec.decode(encoding));
+	}
+
+	@Test
+	public void testWriteRead() {
+		ProductSet ciphertextSpace = ProductSet.getInstance(G_Q, 2);
+		ElementCodec codec = ciphertextSpace.getElementCodec();
+		List<Element> elements = getElements(ciphertextSpace, 100);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(ElementCodec.HEADER_LENGTH + elements.size() * codec.getByteLength());
+		codec.writeHeader(buffer);
+		for (Element element : elements) {
+			codec.write(element, buffer);
+		}
+		Assert.assertFalse(buffer.hasRemaining());
+		buffer.flip();
+		codec.readHeader(buffer);
+		Assert.assertEquals(elements, codec.read(buffer.duplicate(), elements.size(), true));
+		Assert.assertEquals(elements, codec.read(buffer, elements.size(), false));
+		Assert.assertFalse(buffer.hasRemaining());
+	}
+
+	@Test
+	public void testValidation() {
+		ElementCodec codec = ProductSet.getInstance(G_Q, 3).getElementCodec();
+		Element element = ProductSet.getInstance(G_Q, 3).getRandomElement();
+		byte[] bytes = codec.encode(element).getBytes();
+
+		// -1 is not a quadratic residue modulo a safe prime
+		byte[] minusOne = G_Q.getModulus().subtract(BigInteger.ONE).toByteArray();
+		System.arraycopy(minusOne, minusOne.length - 32, bytes, ElementCodec.HEADER_LENGTH + 32, 32);
+		try {
+			codec.decode(ByteArray.getInstance(bytes));
+			Assert.fail();
+		} catch (UniCryptRuntimeException exception) {
+		}
+		Assert.assertNotNull(codec.decode(ByteBuffer.wrap(bytes), false));
+
+		// header of a different codec
+		ByteArray encoding = G_Q.getZModOrder().getElementCodec().encode(G_Q.getZModOrder().getElement(5));
+		try {
+			G_Q.getElementCodec().decode(encoding);
+			Assert.fail();
+		} catch (UniCryptRuntimeException exception) {
+		}
+	}
+
+	@Test
+	public void testCompressedPoints() {
+		ECZModPrime curve = ECZModPrime.getInstance(ECZModPrimeParameters.SECP256r1);
+		ElementCodec codec = curve.getElementCodec();
+		Element point = curve.getDefaultGenerator().selfApply(12345);
+		byte[] bytes = codec.encode(point).getBytes();
+		Assert.assertTrue(bytes[ElementCodec.HEADER_LENGTH] == 2 || bytes[ElementCodec.HEADER_LENGTH] == 3);
+		Assert.assertEquals(point, codec.decode(ByteArray.getInstance(bytes)));
+
+		// flipping the parity results in the inverse point
+		bytes[ElementCodec.HEADER_LENGTH] ^= 1;
+		Assert.assertEquals(point.invert(), codec.decode(ByteArray.getInstance(bytes)));
+
+		// x-coordinate outside the field
+		for (int i = ElementCodec.HEADER_LENGTH + 1; i < bytes.length; i++) {
+			bytes[i] = (byte) 0xFF;
+		}
+		try {
+			codec.decode(ByteArray.getInstance(bytes));
+			Assert.fail();
+		} catch (UniCryptRuntimeException exception) {
+		}
+	}
+
+	@Test
+	public void testInfinity() {
+		ECZModPrime curve = ECZModPrime.getInstance(ECZModPrimeParameters.SECP256r1);
+		ElementCodec codec = curve.getElementCodec();
+		byte[] bytes = codec.encode(curve.getZeroElement()).getBytes();
+		Assert.assertEquals(0, bytes[ElementCodec.HEADER_LENGTH]);
+		Assert.assertEquals(curve.getZeroElement(), codec.decode(ByteArray.getInstance(bytes)));
+
+		// tampered x-coordinate
+		bytes[bytes.length - 1] = 1;
+		try {
+			codec.decode(ByteArray.getInstance(bytes));
+			Assert.fail();
+		} catch (UniCryptRuntimeException exception) {
+		}
+	}
+
+	@Test
+	public void testProof() {
+		GeneratorFunction function = GeneratorFunction.getInstance(G_Q.getDefaultGenerator());
+		SigmaChallengeGenerator challengeGenerator = FiatShamirSigmaChallengeGenerator.getInstance(function);
+		PlainPreimageProofSystem proofSystem = PlainPreimageProofSystem.getInstance(challengeGenerator, function);
+		Element privateInput = G_Q.getZModOrder().getElement(17);
+		Element publicInput = function.apply(privateInput);
+		Triple proof = proofSystem.generate(privateInput, publicInput);
+
+		ElementCodec codec = proofSystem.getProofSpace().getElementCodec();
+		Element decoded = codec.decode(codec.encode(proof));
+		Assert.assertEquals(proof, decoded);
+		Assert.assertTrue(proofSystem.verify(decoded, publicInput));
+	}
+
+}
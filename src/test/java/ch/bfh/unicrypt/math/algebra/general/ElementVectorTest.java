@@ -0,0 +1,252 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.general;
+
+import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.classes.ByteArray;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.math.Permutation;
+import ch.bfh.unicrypt.helper.prime.SafePrime;
+import ch.bfh.unicrypt.helper.random.deterministic.DeterministicRandomByteSequence;
+import ch.bfh.unicrypt.math.algebra.additive.classes.ECZModPrime;
+import ch.bfh.unicrypt.math.algebra.additive.parameters.ECZModPrimeParameters;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.Z;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.ElementVector;
+import ch.bfh.unicrypt.math.algebra.general.classes.Pair;
+import ch.bfh.unicrypt.math.algebra.general.classes.PermutationElement;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
+import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Group;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Monoid;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.ZStarMod;
+import ch.bfh.unicrypt.math.function.classes.PermutationFunction;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ *
+ * @author R. Haenni
+ */
+public class ElementVectorTest {
+
+	private static final Set[] SETS = new Set[]{
+		ZMod.getInstance(17),
+		ZMod.getInstance(BigInteger.ONE.shiftLeft(130).add(BigInteger.ONE)),
+		ZStarMod.getInstance(35),
+		GStarModSafePrime.getInstance(SafePrime.getSmallestInstance(256)),
+		ECZModPrime.getInstance(ECZModPrimeParameters.TEST23),
+		ECZModPrime.getInstance(ECZModPrimeParameters.SECP256r1),
+		ProductSet.getInstance(GStarModSafePrime.getInstance(SafePrime.getSmallestInstance(256)), 2),
+		ProductSet.getInstance(ZMod.getInstance(17), ECZModPrime.getInstance(ECZModPrimeParameters.TEST23))};
+
+	private static DenseArray<Element> getElements(Set set, int n) {
+		List<Element> elements = new ArrayList<>();
+		for (Object element : set.getRandomElements(DeterministicRandomByteSequence.getInstance()).limit(n)) {
+			elements.add((Element) element);
+		}
+		if (set.isMonoid()) {
+			elements.add(((Monoid) set).getIdentityElement());
+		}
+		return DenseArray.getInstance(elements);
+	}
+
+	@Test
+	public void testGetAt() {
+		for (Set set : SETS) {
+			DenseArray<Element> elements = getElements(set, 50);
+			ElementVector vector = set.getElementVector(elements);
+			Assert.assertEquals(set, vector.getSet());
+			Assert.assertEquals(elements.getLength(), vector.getLength());
+			Assert.assertEquals(elements, vector);
+			for (int i = 0; i < elements.getLength(); i++) {
+				Assert.assertEquals(elements.getAt(i), vector.getAt(i));
+			}
+			Assert.assertEquals(elements.reverse(), vector.reverse());
+			Assert.assertEquals(elements.extract(10, 20), vector.extract(10, 20));
+			Assert.assertEquals(elements.extract(10, 20).reverse(), vector.extract(10, 20).reverse());
+			Assert.assertEquals(elements.reverse().extract(5, 30), vector.reverse().extract(5, 30));
+			Assert.assertSame(vector, set.getElementVector(vector));
+			Assert.assertTrue(set.getElementVector(DenseArray.getInstance()).isEmpty());
+		}
+	}
+
+	@Test
+	public void testGetBigIntegerAt() {
+		ZMod zMod = ZMod.getInstance(1000);
+		ElementVector vector = zMod.getElementVector(DenseArray.getInstance(zMod.getElement(3), zMod.getElement(999)));
+		Assert.assertEquals(BigInteger.valueOf(3), vector.getBigIntegerAt(0));
+		Assert.assertEquals(BigInteger.valueOf(999), ((ElementVector) vector.reverse()).getBigIntegerAt(0));
+	}
+
+	@Test
+	public void testUniform() {
+		for (Set set : SETS) {
+			Element element = getElements(set, 1).getFirst();
+			Assert.assertTrue(set.getElementVector(DenseArray.getInstance(element, 10)).isUniform());
+			Assert.assertFalse(set.getElementVector(getElements(set, 10)).isUniform());
+		}
+	}
+
+	@Test
+	public void testModify() {
+		for (Set set : SETS) {
+			DenseArray<Element> elements = getElements(set, 20);
+			ElementVector vector = set.getElementVector(elements);
+			Element element = elements.getAt(3);
+			Assert.assertEquals(elements.append(elements.reverse()), vector.append(vector.reverse()));
+			Assert.assertEquals(elements.append(elements), vector.append(elements));
+			Assert.assertEquals(elements.insertAt(5, element), vector.insertAt(5, element));
+			Assert.assertEquals(elements.replaceAt(5, element), vector.replaceAt(5, element));
+			Assert.assertEquals(elements.reverse().replaceAt(5, element), vector.reverse().replaceAt(5, element));
+			Assert.assertEquals(elements.removeAt(7), vector.removeAt(7));
+			Assert.assertTrue(vector.append(vector) instanceof ElementVector);
+			Assert.assertTrue(vector.insertAt(5, element) instanceof ElementVector);
+			// elements of other sets lead to ordinary dense arrays
+			Element other = Z.getInstance().getElement(5);
+			Assert.assertEquals(elements.insertAt(5, other), vector.insertAt(5, other));
+			Assert.assertEquals(elements.replaceAt(5, other), vector.replaceAt(5, other));
+			Assert.assertEquals(elements.add(other), vector.add(other));
+			Assert.assertFalse(vector.add(other) instanceof ElementVector);
+		}
+	}
+
+	@Test
+	public void testPermute() {
+		for (Set set : SETS) {
+			DenseArray<Element> elements = getElements(set, 30);
+			ElementVector vector = set.getElementVector(elements);
+			Permutation permutation = Permutation.getInstance(elements.getLength(), BigInteger.valueOf(123456789));
+			ElementVector permuted = vector.permute(permutation);
+			for (int i = 0; i < elements.getLength(); i++) {
+				Assert.assertEquals(elements.getAt(permutation.permute(i)), permuted.getAt(i));
+			}
+			PermutationFunction function = PermutationFunction.getInstance(set, elements.getLength());
+			PermutationElement permutationElement = PermutationElement.getInstance(permutation);
+			Tuple expected = function.apply(Pair.getInstance(Tuple.getInstance(elements), permutationElement));
+			Tuple result = function.apply(Pair.getInstance(Tuple.getInstance(vector), permutationElement));
+			Assert.assertTrue(result.getValue() instanceof ElementVector);
+			Assert.assertEquals(expected, result);
+		}
+	}
+
+	@Test
+	public void testTuple() {
+		for (Set set : SETS) {
+			DenseArray<Element> elements = getElements(set, 20);
+			Tuple tuple = Tuple.getInstance(set.getElementVector(elements));
+			Assert.assertEquals(Tuple.getInstance(elements), tuple);
+			Assert.assertTrue(tuple.getSet().contains(Tuple.getInstance(elements)));
+			Assert.assertEquals(Tuple.getInstance(elements).convertToByteArray(), tuple.convertToByteArray());
+		}
+	}
+
+	@Test
+	public void testCompactElement() {
+		int n = 1024;
+		for (Set set : SETS) {
+			ProductGroup group = ProductGroup.getInstance((Group) set, n);
+			Tuple tuple1 = group.getRandomElement(DeterministicRandomByteSequence.getInstance());
+			Tuple tuple2 = group.getRandomElement();
+			// large tuples are not stored in element vectors implicitly
+			Assert.assertFalse(tuple1.getValue() instanceof ElementVector);
+			Assert.assertFalse(group.apply(tuple1, tuple2).getValue() instanceof ElementVector);
+			Tuple compact1 = group.getCompactElement(tuple1.getValue());
+			Assert.assertTrue(compact1.getValue() instanceof ElementVector);
+			Assert.assertEquals(tuple1, compact1);
+			Assert.assertEquals(group.apply(tuple1, tuple2), group.apply(compact1, tuple2));
+			Assert.assertSame(compact1.getValue(), group.getCompactElement(compact1.getValue()).getValue());
+		}
+		try {
+			ProductGroup.getInstance(Z.getInstance(), n).getCompactElement(DenseArray.getInstance(Z.getInstance().getElement(3), n));
+			Assert.fail();
+		} catch (UniCryptRuntimeException exception) {
+		}
+		try {
+			ProductGroup.getInstance(ZMod.getInstance(17), n).getCompactElement(DenseArray.getInstance(ZMod.getInstance(17).getElement(3), n - 1));
+			Assert.fail();
+		} catch (UniCryptRuntimeException exception) {
+		}
+	}
+
+	@Test
+	public void testByteArray() {
+		for (Set set : SETS) {
+			ElementVector vector = set.getElementVector(getElements(set, 20));
+			ByteArray byteArray = vector.getByteArray();
+			Assert.assertEquals(vector, set.getElementVector(byteArray));
+			Assert.assertEquals(vector.reverse(), set.getElementVector(((ElementVector) vector.reverse()).getByteArray()));
+			Assert.assertEquals(vector.extract(3, 5), set.getElementVector(((ElementVector) vector.extract(3, 5)).getByteArray()));
+		}
+		ZMod zMod = ZMod.getInstance(1000);
+		ElementVector vector = zMod.getElementVector(DenseArray.getInstance(zMod.getElement(3), zMod.getElement(999)));
+		Assert.assertEquals(ByteArray.getInstance(new byte[]{0, 3, 3, (byte) 231}), vector.getByteArray());
+	}
+
+	@Test(expected = UniCryptRuntimeException.class)
+	public void testInvalidByteArray() {
+		ZMod.getInstance(1000).getElementVector(ByteArray.getInstance(new byte[]{0, 3, 3, (byte) 232}));
+	}
+
+	@Test(expected = UniCryptRuntimeException.class)
+	public void testInvalidLength() {
+		ZMod.getInstance(1000).getElementVector(ByteArray.getInstance(0, 3, 3));
+	}
+
+	@Test(expected = UniCryptRuntimeException.class)
+	public void testInvalidElement() {
+		ZMod.getInstance(1000).getElementVector(DenseArray.getInstance(ZMod.getInstance(999).getElement(3)));
+	}
+
+	@Test(expected = UniCryptRuntimeException.class)
+	public void testUnsupportedSet() {
+		Z.getInstance().getElementVector(DenseArray.getInstance(Z.getInstance().getElement(3)));
+	}
+
+}
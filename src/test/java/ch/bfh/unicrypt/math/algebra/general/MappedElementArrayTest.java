@@ -0,0 +1,234 @@
+/*
+ * UniCrypt
+ *
+ *  UniCrypt(tm) : Cryptographical framework allowing the implementation of cryptographic protocols e.g. e-voting
+ *  Copyright (C) 2014 Bern University of Applied Sciences (BFH), Research Institute for
+ *  Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *  Quellgasse 21, CH-2501 Biel, Switzerland
+ *
+ *  Licensed under Dual License consisting of:
+ *  1. GNU Affero General Public License (AGPL) v3
+ *  and
+ *  2. Commercial license
+ *
+ *
+ *  1. This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ *  2. Licensees holding valid commercial licenses for UniCrypt may use this file in
+ *   accordance with the commercial license agreement provided with the
+ *   Software or, alternatively, in accordance with the terms contained in
+ *   a written agreement between you and Bern University of Applied Sciences (BFH), Research Institute for
+ *   Security in the Information Society (RISIS), E-Voting Group (EVG)
+ *   Quellgasse 21, CH-2501 Biel, Switzerland.
+ *
+ *
+ *   For further information contact <e-mail: unicrypt@bfh.ch>
+ *
+ *
+ * Redistributions of files must retain the above copyright notice.
+ */
+package ch.bfh.unicrypt.math.algebra.general;
+
+import ch.bfh.unicrypt.UniCryptRuntimeException;
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.prime.SafePrime;
+import ch.bfh.unicrypt.helper.random.deterministic.DeterministicRandomByteSequence;
+import ch.bfh.unicrypt.math.algebra.additive.classes.ECZModPrime;
+import ch.bfh.unicrypt.math.algebra.additive.parameters.ECZModPrimeParameters;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.Z;
+import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.MappedElementArray;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductSet;
+import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Set;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author R. Haenni
+ */
+public class MappedElementArrayTest {
+
+	private static final GStarModSafePrime G_Q = GStarModSafePrime.getInstance(SafePrime.getSmallestInstance(256));
+
+	private static final Set[] SETS = new Set[]{
+		ZMod.getInstance(17),
+		G_Q,
+		ECZModPrime.getInstance(ECZModPrimeParameters.SECP256r1),
+		ProductSet.getInstance(G_Q, 2)};
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static DenseArray<Element> getElements(Set set, int n) {
+		List<Element> elements = new ArrayList<>();
+		for (Object element : set.getRandomElements(DeterministicRandomByteSequence.getInstance()).limit(n)) {
+			elements.add((Element) element);
+		}
+		return DenseArray.getInstance(elements);
+	}
+
+	private static MappedElementArray write(Path path, Set set, DenseArray<Element> elements) throws IOException {
+		MappedElementArray.Writer writer = MappedElementArray.getWriter(path, set, elements.getLength());
+		// the elements are written in reverse order
+		for (int i = elements.getLength() - 1; i >= 0; i--) {
+			writer.setAt(i, elements.getAt(i));
+		}
+		return writer.getArray();
+	}
+
+	@Test
+	public void testWriteRead() throws IOException {
+		for (Set set : SETS) {
+			Path path = this.folder.newFile().toPath();
+			DenseArray<Element> elements = getElements(set, 50);
+			MappedElementArray array = write(path, set, elements);
+			Assert.assertEquals(set, array.getSet());
+			Assert.assertEquals(path, array.getPath());
+			Assert.assertEquals(elements, array);
+			Assert.assertEquals(elements.reverse(), array.reverse());
+			Assert.assertEquals(elements.extract(10, 20), array.extract(10, 20));
+			Assert.assertEquals(elements.extract(10, 20).reverse(), array.extract(10, 20).reverse());
+			Assert.assertEquals(elements.reverse().extract(5, 30), array.reverse().extract(5, 30));
+			Assert.assertEquals(elements.append(elements), array.append(elements));
+
+			MappedElementArray reloaded = MappedElementArray.getInstance(path, set);
+			Assert.assertEquals(elements, reloaded);
+			Assert.assertEquals(elements, MappedElementArray.getInstance(path, set, false));
+
+			Tuple tuple = Tuple.getInstance(reloaded);
+			Assert.assertEquals(ProductSet.getInstance(set, elements.getLength()), tuple.getSet());
+			Assert.assertEquals(Tuple.getInstance(elements), tuple);
+		}
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		Path path = this.folder.newFile().toPath();
+		MappedElementArray array = MappedElementArray.getWriter(path, G_Q, 0).getArray();
+		Assert.assertTrue(array.isEmpty());
+		Assert.assertTrue(MappedElementArray.getInstance(path, G_Q).isEmpty());
+	}
+
+	@Test
+	public void testValidation() throws IOException {
+		Path path = this.folder.newFile().toPath();
+		write(path, G_Q, getElements(G_Q, 20));
+
+		// records of a different set
+		try {
+			MappedElementArray.getInstance(path, G_Q.getZModOrder());
+			Assert.fail();
+		} catch (UniCryptRuntimeException exception) {
+		}
+
+		// -1 is not a quadratic residue modulo a safe prime
+		byte[] minusOne = G_Q.getModulus().subtract(BigInteger.ONE).toByteArray();
+		try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+			file.seek(path.toFile().length() - 32);
+			file.write(minusOne, minusOne.length - 32, 32);
+		}
+		try {
+			MappedElementArray.getInstance(path, G_Q);
+			Assert.fail();
+		} catch (UniCryptRuntimeException exception) {
+		}
+		MappedElementArray unvalidated = MappedElementArray.getInstance(path, G_Q, false);
+		Assert.assertEquals(20, unvalidated.getLength());
+		Assert.assertEquals(G_Q, unvalidated.getAt(0).getSet());
+		try {
+			unvalidated.getAt(19);
+			Assert.fail();
+		} catch (UniCryptRuntimeException exception) {
+		}
+
+		// incomplete record
+		try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+			file.setLength(file.length() - 1);
+		}
+		try {
+			MappedElementArray.getInstance(path, G_Q, false);
+			Assert.fail();
+		} catch (UniCryptRuntimeException exception) {
+		}
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		Path path = this.folder.newFile().toPath();
+		ZMod zMod = ZMod.getInstance(17);
+		DenseArray<Element> elements = getElements(zMod, 20);
+		MappedElementArray array = write(path, zMod, elements);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+			output.writeObject(array.extract(5, 10));
+		}
+		try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			Assert.assertEquals(elements.extract(5, 10), input.readObject());
+		}
+
+		// the file is validated again when the array is de-serialized
+		try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+			file.seek(path.toFile().length() - 1);
+			file.write(17);
+		}
+		try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			input.readObject();
+			Assert.fail();
+		} catch (InvalidObjectException exception) {
+		}
+	}
+
+	@Test
+	public void testIncompleteWriter() throws IOException {
+		Path path = this.folder.newFile().toPath();
+		DenseArray<Element> elements = getElements(G_Q, 10);
+		MappedElementArray.Writer writer = MappedElementArray.getWriter(path, G_Q, elements.getLength());
+		for (int i = 0; i < elements.getLength() - 1; i++) {
+			writer.setAt(i, elements.getAt(i));
+		}
+		// writing the same index twice does not count twice
+		writer.setAt(0, elements.getAt(0));
+		try {
+			writer.getArray();
+			Assert.fail();
+		} catch (UniCryptRuntimeException exception) {
+		}
+		writer.setAt(elements.getLength() - 1, elements.getAt(elements.getLength() - 1));
+		Assert.assertEquals(elements, writer.getArray());
+	}
+
+	@Test(expected = UniCryptRuntimeException.class)
+	public void testVariableLength() throws IOException {
+		MappedElementArray.getWriter(this.folder.newFile().toPath(), Z.getInstance(), 10);
+	}
+
+}
@@ -42,6 +42,7 @@
 package ch.bfh.unicrypt.math.algebra.general;
 
 import ch.bfh.unicrypt.math.algebra.dualistic.classes.ZMod;
+import ch.bfh.unicrypt.math.algebra.general.classes.ProductGroup;
 import ch.bfh.unicrypt.math.algebra.general.classes.Tuple;
 import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import org.junit.Assert;
@@ -66,4 +67,29 @@ public class TupleTest {
 		}
 	}
 
+	@Test
+	public void tupleContainsTest() {
+		ZMod zMod1 = ZMod.getInstance(17);
+		ZMod zMod2 = ZMod.getInstance(19);
+		Tuple tuple = ProductGroup.getInstance(ProductGroup.getInstance(zMod1, 2), 100).getIdentityElement();
+		ProductGroup group1 = ProductGroup.getInstance(ProductGroup.getInstance(zMod1, 2), 100);
+		ProductGroup group2 = ProductGroup.getInstance(ProductGroup.getInstance(zMod2, 2), 100);
+		ProductGroup group3 = ProductGroup.getInstance(ProductGroup.getInstance(zMod1, 2), 99);
+		ProductGroup group4 = ProductGroup.getInstance(ProductGroup.getInstance(zMod1, zMod2), 100);
+		for (int i = 0; i < 2; i++) {
+			Assert.assertTrue(tuple.getSet().contains(tuple));
+			Assert.assertTrue(group1.contains(tuple));
+			Assert.assertFalse(group2.contains(tuple));
+			Assert.assertFalse(group3.contains(tuple));
+			Assert.assertFalse(group4.contains(tuple));
+			Assert.assertTrue(group1.isEquivalent(tuple.getSet()));
+			Assert.assertTrue(tuple.getSet().isEquivalent(group1));
+			Assert.assertFalse(group2.isEquivalent(group1));
+		}
+		Tuple tuple1 = Tuple.getInstance(zMod1.getElement(1), zMod2.getElement(1));
+		Tuple tuple2 = Tuple.getInstance(zMod1.getElement(1), zMod1.getElement(1));
+		Assert.assertFalse(tuple1.getSet().isEquivalent(tuple2.getSet()));
+		Assert.assertFalse(tuple2.getSet().isEquivalent(tuple1.getSet()));
+	}
+
 }
@@ -42,8 +42,13 @@
 package ch.bfh.unicrypt.math.algebra.multiplicative;
 
 import ch.bfh.unicrypt.UniCryptException;
+import ch.bfh.unicrypt.helper.prime.SafePrime;
+import ch.bfh.unicrypt.helper.random.deterministic.DeterministicRandomByteSequence;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.FixedBaseTable;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModElement;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import java.math.BigInteger;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 import org.junit.Test;
@@ -71,4 +76,42 @@ public class GStarModSafePrimeTest {
 		}
 	}
 
+	@Test
+	public void testMultiSelfApply() {
+		GStarModSafePrime group = GStarModSafePrime.getInstance(SafePrime.getSmallestInstance(256));
+		DeterministicRandomByteSequence randomByteSequence = DeterministicRandomByteSequence.getInstance();
+		for (int n : new int[]{0, 1, 2, 10, 300}) {
+			Element[] elements = new Element[n];
+			BigInteger[] amounts = new BigInteger[n];
+			GStarModElement expected = group.getOneElement();
+			for (int i = 0; i < n; i++) {
+				elements[i] = group.getRandomElement(randomByteSequence);
+				amounts[i] = group.getZModOrder().getRandomElement(randomByteSequence).getValue();
+				if (i % 3 == 1) {
+					amounts[i] = amounts[i].negate();
+				}
+				expected = expected.multiply(elements[i].selfApply(amounts[i]));
+			}
+			assertEquals(expected, group.multiSelfApply(elements, amounts));
+			assertEquals(expected, group.productOfPowers(elements, amounts));
+		}
+	}
+
+	@Test
+	public void testPrecompute() {
+		GStarModSafePrime group = GStarModSafePrime.getInstance(SafePrime.getSmallestInstance(256));
+		DeterministicRandomByteSequence randomByteSequence = DeterministicRandomByteSequence.getInstance();
+		GStarModElement element = group.getRandomElement(randomByteSequence);
+		for (int windowSize : new int[]{1, 4, 7}) {
+			FixedBaseTable<BigInteger> table = group.precompute(element, windowSize);
+			for (BigInteger amount : new BigInteger[]{BigInteger.ZERO, BigInteger.ONE, group.getOrder(), group.getOrder().negate().add(BigInteger.TEN)}) {
+				assertEquals(element.selfApply(amount), table.selfApply(amount));
+			}
+			for (int i = 0; i < 20; i++) {
+				BigInteger amount = group.getZModOrder().getRandomElement(randomByteSequence).getValue();
+				assertEquals(element.selfApply(amount), table.selfApply(amount));
+			}
+		}
+	}
+
 }
@@ -41,10 +41,20 @@
  */
 package ch.bfh.unicrypt.math.algebra.multiplicative;
 
+import ch.bfh.unicrypt.helper.array.classes.DenseArray;
+import ch.bfh.unicrypt.helper.array.interfaces.ImmutableArray;
 import ch.bfh.unicrypt.helper.prime.Prime;
+import ch.bfh.unicrypt.helper.prime.SafePrime;
+import ch.bfh.unicrypt.helper.random.deterministic.DeterministicRandomByteSequence;
 import ch.bfh.unicrypt.helper.sequence.Sequence;
+import ch.bfh.unicrypt.math.algebra.general.interfaces.Element;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarMod;
 import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModElement;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModPrime;
+import ch.bfh.unicrypt.math.algebra.multiplicative.classes.GStarModSafePrime;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -63,4 +73,69 @@ public class GStarModTest {
 		});
 	}
 
+	@Test
+	public void testApplyAll() {
+		// small moduli are multiplied in the Montgomery domain, large moduli by Barrett multiplications
+		for (GStarMod group : new GStarMod[]{GStarModPrime.getInstance(211, 7),
+			GStarModSafePrime.getInstance(SafePrime.getSmallestInstance(256)),
+			GStarModSafePrime.getInstance(SafePrime.getSmallestInstance(320))}) {
+			List<GStarModElement> elements = new ArrayList<>();
+			group.getRandomElements(DeterministicRandomByteSequence.getInstance()).limit(100).forEach(elements::add);
+			GStarModElement expected = group.getIdentityElement();
+			Assert.assertEquals(expected, group.apply(new GStarModElement[0]));
+			for (int i = 0; i < elements.size(); i++) {
+				expected = expected.apply(elements.get(i));
+				Assert.assertEquals(expected, group.apply(elements.subList(0, i + 1).toArray(new GStarModElement[0])));
+			}
+			Assert.assertEquals(expected, group.apply(Sequence.getInstance(elements.toArray(new GStarModElement[0]))));
+		}
+	}
+
+	@Test
+	public void testInvertAll() {
+		for (GStarMod group : new GStarMod[]{GStarModPrime.getInstance(211, 7),
+			GStarModSafePrime.getInstance(SafePrime.getSmallestInstance(256))}) {
+			List<GStarModElement> elements = new ArrayList<>();
+			group.getRandomElements(DeterministicRandomByteSequence.getInstance()).limit(50).forEach(elements::add);
+			ImmutableArray<GStarModElement> inverses = group.invertAll(DenseArray.getInstance(elements.toArray(new Element[0])));
+			Assert.assertEquals(elements.size(), inverses.getLength());
+			for (int i = 0; i < elements.size(); i++) {
+				Assert.assertEquals(elements.get(i).invert(), inverses.getAt(i));
+			}
+			Assert.assertTrue(group.invertAll(DenseArray.getInstance()).isEmpty());
+		}
+	}
+
+	@Test
+	public void testContainsAll() {
+		DeterministicRandomByteSequence randomByteSequence = DeterministicRandomByteSequence.getInstance();
+		for (GStarMod group : new GStarMod[]{GStarModPrime.getInstance(43, 7), GStarModPrime.getInstance(211, 7),
+			GStarModSafePrime.getInstance(23)}) {
+			List<BigInteger> members = new ArrayList<>();
+			List<BigInteger> nonMembers = new ArrayList<>();
+			for (long i = 0; i <= group.getModulus().longValue(); i++) {
+				BigInteger value = BigInteger.valueOf(i);
+				if (group.contains(value)) {
+					members.add(value);
+				} else {
+					nonMembers.add(value);
+				}
+			}
+			// repeated members
+			List<BigInteger> values = new ArrayList<>(members);
+			values.addAll(members);
+			Assert.assertTrue(group.containsAll(DenseArray.getInstance(values), randomByteSequence));
+			Assert.assertTrue(group.containsAll(DenseArray.getInstance(values)));
+			Assert.assertEquals(-1, group.findNonMember(DenseArray.getInstance(values)));
+			for (BigInteger nonMember : nonMembers) {
+				for (int index : new int[]{0, members.size(), values.size()}) {
+					List<BigInteger> invalidValues = new ArrayList<>(values);
+					invalidValues.add(index, nonMember);
+					Assert.assertFalse(group.containsAll(DenseArray.getInstance(invalidValues), randomByteSequence));
+					Assert.assertEquals(index, group.findNonMember(DenseArray.getInstance(invalidValues)));
+				}
+			}
+		}
+	}
+
 }